@@ -3,10 +3,10 @@ package org.omnaest.utils;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.Buffer;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.nio.ByteBuffer;
-import java.nio.IntBuffer;
-import java.nio.LongBuffer;
+import java.nio.ByteOrder;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -30,6 +30,9 @@ import org.omnaest.utils.stream.Streamable;
  */
 public class ByteArrayUtils
 {
+    private static final VarHandle INTEGER_VIEW = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle LONG_VIEW    = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
     public static byte[][] splitIntoTwoPotencySubArrays(byte[] array, int initialSize)
     {
         if (initialSize <= 0)
@@ -90,46 +93,411 @@ public class ByteArrayUtils
 
     public static int[] decodeIntegersFromByteArray(byte[] array)
     {
-        Buffer buffer = ByteBuffer.wrap(array);
-        return IntBuffer.allocate(array.length / Integer.BYTES)
-                        .put(((ByteBuffer) buffer.position(0)).asIntBuffer())
-                        .array();
+        return readIntegers(array, 0, new int[array.length / Integer.BYTES]);
     }
 
     public static long[] decodeLongsFromByteArray(byte[] array)
     {
-        Buffer buffer = ByteBuffer.wrap(array);
-        return LongBuffer.allocate(array.length / Long.BYTES)
-                         .put(((ByteBuffer) buffer.position(0)).asLongBuffer())
-                         .array();
+        return readLongs(array, 0, new long[array.length / Long.BYTES]);
     }
 
     public static byte[] encodeIntegerAsByteArray(int value)
     {
-        return ByteBuffer.allocate(Integer.BYTES)
-                         .putInt(value)
-                         .array();
+        byte[] result = new byte[Integer.BYTES];
+        writeInteger(result, 0, value);
+        return result;
     }
 
     public static byte[] encodeLongAsByteArray(long value)
     {
-        return ByteBuffer.allocate(Long.BYTES)
-                         .putLong(value)
-                         .array();
+        byte[] result = new byte[Long.BYTES];
+        writeLong(result, 0, value);
+        return result;
+    }
+
+    public static byte[] encodeIntegersAsByteArray(int[] values)
+    {
+        return writeIntegers(values, new byte[values.length * Integer.BYTES], 0);
+    }
+
+    public static byte[] encodeLongsAsByteArray(long[] values)
+    {
+        return writeLongs(values, new byte[values.length * Long.BYTES], 0);
     }
 
     public static int decodeIntegerFromByteArray(byte[] array)
     {
-        return ByteBuffer.allocate(Integer.BYTES)
-                         .put(array)
-                         .getInt(0);
+        return readInteger(array.length >= Integer.BYTES ? array : ensureMinimumSize(array, Integer.BYTES), 0);
     }
 
     public static long decodeLongFromByteArray(byte[] array)
     {
-        return ByteBuffer.allocate(Long.BYTES)
-                         .put(array)
-                         .getLong(0);
+        return readLong(array.length >= Long.BYTES ? array : ensureMinimumSize(array, Long.BYTES), 0);
+    }
+
+    /**
+     * Writes the given int value in big endian byte order into the given array at the given offset without any intermediate allocation.
+     * 
+     * @param array
+     * @param offset
+     * @param value
+     * @return the offset after the written value
+     */
+    public static int writeInteger(byte[] array, int offset, int value)
+    {
+        INTEGER_VIEW.set(array, offset, value);
+        return offset + Integer.BYTES;
+    }
+
+    /**
+     * Reads a big endian int value from the given array at the given offset
+     * 
+     * @see #writeInteger(byte[], int, int)
+     * @param array
+     * @param offset
+     * @return
+     */
+    public static int readInteger(byte[] array, int offset)
+    {
+        return (int) INTEGER_VIEW.get(array, offset);
+    }
+
+    /**
+     * Writes the given long value in big endian byte order into the given array at the given offset without any intermediate allocation.
+     * 
+     * @param array
+     * @param offset
+     * @param value
+     * @return the offset after the written value
+     */
+    public static int writeLong(byte[] array, int offset, long value)
+    {
+        LONG_VIEW.set(array, offset, value);
+        return offset + Long.BYTES;
+    }
+
+    /**
+     * Reads a big endian long value from the given array at the given offset
+     * 
+     * @see #writeLong(byte[], int, long)
+     * @param array
+     * @param offset
+     * @return
+     */
+    public static long readLong(byte[] array, int offset)
+    {
+        return (long) LONG_VIEW.get(array, offset);
+    }
+
+    /**
+     * Writes all given int values in big endian byte order into the given array starting at the given offset
+     * 
+     * @param values
+     * @param array
+     * @param offset
+     * @return the given array
+     */
+    public static byte[] writeIntegers(int[] values, byte[] array, int offset)
+    {
+        for (int ii = 0; ii < values.length; ii++)
+        {
+            INTEGER_VIEW.set(array, offset + ii * Integer.BYTES, values[ii]);
+        }
+        return array;
+    }
+
+    /**
+     * Fills the given int array with the big endian int values read from the given byte array starting at the given offset
+     * 
+     * @param array
+     * @param offset
+     * @param values
+     * @return the given int array
+     */
+    public static int[] readIntegers(byte[] array, int offset, int[] values)
+    {
+        for (int ii = 0; ii < values.length; ii++)
+        {
+            values[ii] = (int) INTEGER_VIEW.get(array, offset + ii * Integer.BYTES);
+        }
+        return values;
+    }
+
+    /**
+     * Writes all given long values in big endian byte order into the given array starting at the given offset
+     * 
+     * @param values
+     * @param array
+     * @param offset
+     * @return the given array
+     */
+    public static byte[] writeLongs(long[] values, byte[] array, int offset)
+    {
+        for (int ii = 0; ii < values.length; ii++)
+        {
+            LONG_VIEW.set(array, offset + ii * Long.BYTES, values[ii]);
+        }
+        return array;
+    }
+
+    /**
+     * Fills the given long array with the big endian long values read from the given byte array starting at the given offset
+     * 
+     * @param array
+     * @param offset
+     * @param values
+     * @return the given long array
+     */
+    public static long[] readLongs(byte[] array, int offset, long[] values)
+    {
+        for (int ii = 0; ii < values.length; ii++)
+        {
+            values[ii] = (long) LONG_VIEW.get(array, offset + ii * Long.BYTES);
+        }
+        return values;
+    }
+
+    /**
+     * Writes the given value as unsigned variable length integer (7 bits per byte, least significant group first) into the given array at the given
+     * offset. Negative values always take 5 bytes, use {@link #encodeZigZag(int)} for small negative values.
+     * 
+     * @see #readVarInteger(byte[], int)
+     * @see #determineVarIntegerSize(int)
+     * @param array
+     * @param offset
+     * @param value
+     * @return the offset after the written value
+     */
+    public static int writeVarInteger(byte[] array, int offset, int value)
+    {
+        int position = offset;
+        int remaining = value;
+        while ((remaining & ~0x7F) != 0)
+        {
+            array[position++] = (byte) ((remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+        array[position++] = (byte) remaining;
+        return position;
+    }
+
+    /**
+     * Reads an unsigned variable length integer written by {@link #writeVarInteger(byte[], int, int)}. The number of consumed bytes can be determined
+     * by {@link #determineVarIntegerSize(int)} of the returned value.
+     * 
+     * @param array
+     * @param offset
+     * @return
+     */
+    public static int readVarInteger(byte[] array, int offset)
+    {
+        int result = 0;
+        int position = offset;
+        for (int shift = 0; shift < 32; shift += 7)
+        {
+            byte value = array[position++];
+            result |= (value & 0x7F) << shift;
+            if ((value & 0x80) == 0)
+            {
+                return result;
+            }
+        }
+        throw new IllegalArgumentException("Malformed variable length integer at offset " + offset);
+    }
+
+    /**
+     * Writes the given value as unsigned variable length long (7 bits per byte, least significant group first) into the given array at the given
+     * offset.
+     * 
+     * @see #readVarLong(byte[], int)
+     * @see #determineVarLongSize(long)
+     * @param array
+     * @param offset
+     * @param value
+     * @return the offset after the written value
+     */
+    public static int writeVarLong(byte[] array, int offset, long value)
+    {
+        int position = offset;
+        long remaining = value;
+        while ((remaining & ~0x7FL) != 0)
+        {
+            array[position++] = (byte) ((remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+        array[position++] = (byte) remaining;
+        return position;
+    }
+
+    /**
+     * Reads an unsigned variable length long written by {@link #writeVarLong(byte[], int, long)}
+     * 
+     * @param array
+     * @param offset
+     * @return
+     */
+    public static long readVarLong(byte[] array, int offset)
+    {
+        long result = 0;
+        int position = offset;
+        for (int shift = 0; shift < 64; shift += 7)
+        {
+            byte value = array[position++];
+            result |= (long) (value & 0x7F) << shift;
+            if ((value & 0x80) == 0)
+            {
+                return result;
+            }
+        }
+        throw new IllegalArgumentException("Malformed variable length long at offset " + offset);
+    }
+
+    /**
+     * Writes the given value as unsigned variable length integer at the current position of the given {@link ByteBuffer}
+     * 
+     * @see #writeVarInteger(byte[], int, int)
+     * @param buffer
+     * @param value
+     * @return the given {@link ByteBuffer}
+     */
+    public static ByteBuffer writeVarInteger(ByteBuffer buffer, int value)
+    {
+        int remaining = value;
+        while ((remaining & ~0x7F) != 0)
+        {
+            buffer.put((byte) ((remaining & 0x7F) | 0x80));
+            remaining >>>= 7;
+        }
+        return buffer.put((byte) remaining);
+    }
+
+    /**
+     * Reads an unsigned variable length integer at the current position of the given {@link ByteBuffer} and moves the position behind it
+     * 
+     * @param buffer
+     * @return
+     */
+    public static int readVarInteger(ByteBuffer buffer)
+    {
+        int result = 0;
+        for (int shift = 0; shift < 32; shift += 7)
+        {
+            byte value = buffer.get();
+            result |= (value & 0x7F) << shift;
+            if ((value & 0x80) == 0)
+            {
+                return result;
+            }
+        }
+        throw new IllegalArgumentException("Malformed variable length integer before position " + buffer.position());
+    }
+
+    /**
+     * Writes the given value as unsigned variable length long at the current position of the given {@link ByteBuffer}
+     * 
+     * @see #writeVarLong(byte[], int, long)
+     * @param buffer
+     * @param value
+     * @return the given {@link ByteBuffer}
+     */
+    public static ByteBuffer writeVarLong(ByteBuffer buffer, long value)
+    {
+        long remaining = value;
+        while ((remaining & ~0x7FL) != 0)
+        {
+            buffer.put((byte) ((remaining & 0x7F) | 0x80));
+            remaining >>>= 7;
+        }
+        return buffer.put((byte) remaining);
+    }
+
+    /**
+     * Reads an unsigned variable length long at the current position of the given {@link ByteBuffer} and moves the position behind it
+     * 
+     * @param buffer
+     * @return
+     */
+    public static long readVarLong(ByteBuffer buffer)
+    {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7)
+        {
+            byte value = buffer.get();
+            result |= (long) (value & 0x7F) << shift;
+            if ((value & 0x80) == 0)
+            {
+                return result;
+            }
+        }
+        throw new IllegalArgumentException("Malformed variable length long before position " + buffer.position());
+    }
+
+    /**
+     * Returns the number of bytes the given value takes as variable length integer
+     * 
+     * @param value
+     * @return
+     */
+    public static int determineVarIntegerSize(int value)
+    {
+        return Math.max(1, (Integer.SIZE - Integer.numberOfLeadingZeros(value) + 6) / 7);
+    }
+
+    /**
+     * Returns the number of bytes the given value takes as variable length long
+     * 
+     * @param value
+     * @return
+     */
+    public static int determineVarLongSize(long value)
+    {
+        return Math.max(1, (Long.SIZE - Long.numberOfLeadingZeros(value) + 6) / 7);
+    }
+
+    /**
+     * Maps signed int values to unsigned ones, so that values with a small absolute value have a small encoded value, e.g. 0 -> 0, -1 -> 1, 1 -> 2, -2
+     * -> 3
+     * 
+     * @see #decodeZigZag(int)
+     * @param value
+     * @return
+     */
+    public static int encodeZigZag(int value)
+    {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    /**
+     * Reverse operation of {@link #encodeZigZag(int)}
+     * 
+     * @param value
+     * @return
+     */
+    public static int decodeZigZag(int value)
+    {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Long variant of {@link #encodeZigZag(int)}
+     * 
+     * @param value
+     * @return
+     */
+    public static long encodeZigZag(long value)
+    {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    /**
+     * Long variant of {@link #decodeZigZag(int)}
+     * 
+     * @param value
+     * @return
+     */
+    public static long decodeZigZag(long value)
+    {
+        return (value >>> 1) ^ -(value & 1);
     }
 
     public static byte[] ensureMinimumSize(byte[] array, int size)
@@ -24,8 +24,11 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BinaryOperator;
 import java.util.function.Consumer;
@@ -36,6 +39,9 @@ import java.util.stream.Stream;
 
 import org.omnaest.utils.ConsumerUtils.ListAddingConsumer;
 import org.omnaest.utils.exception.handler.ExceptionHandler;
+import org.omnaest.utils.executor.ExecutorRegistry;
+import org.omnaest.utils.executor.InstrumentedExecutorService;
+import org.omnaest.utils.executor.internal.BoundedExecutorServiceView;
 
 /**
  * Helper for {@link ExecutorService} instances and to achieve parallel execution.
@@ -59,6 +65,48 @@ public class ExecutorUtils
 
         public ParallelExecution withTimeout(long duration, TimeUnit timeUnit);
 
+        /**
+         * Runs the tasks on the given long living {@link ExecutorService}, which is never shut down by the {@link ParallelExecution}. The number of
+         * concurrently running tasks is still limited by {@link #withNumberOfThreads(int)}. By default the {@link ExecutorUtils#sharedCachedThreadPool()}
+         * is used.
+         * 
+         * @param executorService
+         * @return
+         */
+        public ParallelExecution withExecutorService(ExecutorService executorService);
+
+        /**
+         * Runs the tasks on the {@link InstrumentedExecutorService} with the given name from the {@link ExecutorRegistry}
+         * 
+         * @see #withExecutorService(ExecutorService)
+         * @param name
+         * @return
+         * @throws IllegalArgumentException
+         *             if no {@link ExecutorService} with the given name is registered
+         */
+        public ParallelExecution withSharedExecutor(String name);
+
+        /**
+         * Runs every task on its own virtual thread, if supported by the running java version, otherwise on the
+         * {@link ExecutorUtils#sharedCachedThreadPool()}. Use {@link #withNumberOfThreads(int)} or {@link #withConcurrencyLimiter(Semaphore)} to bound
+         * the number of concurrently running tasks.
+         * 
+         * @see ExecutorUtils#sharedVirtualThreadExecutor()
+         * @return
+         */
+        public ParallelExecution withVirtualThreads();
+
+        /**
+         * Every task acquires a permit of the given {@link Semaphore} before it is handed over to a thread and releases it after it has run. Tasks without
+         * a permit stay queued and neither block the submitting thread nor occupy a pool thread. Sharing a {@link Semaphore} between multiple
+         * {@link ParallelExecution}s and {@link StreamUtils#parallel(Stream, java.util.function.Function, StreamUtils.Parallelism)} calls allows to bound
+         * the total pressure on a downstream resource. Permits of a shared {@link Semaphore} must not be held by any other code.
+         * 
+         * @param semaphore
+         * @return
+         */
+        public ParallelExecution withConcurrencyLimiter(Semaphore semaphore);
+
         public ParallelExecution execute(Consumer<ParallelExecutionCollector> collectorConsumer);
 
         public <R> ParallelExecutionAndResult<R> executeTasks(Collection<Callable<R>> tasks);
@@ -158,6 +206,99 @@ public class ExecutorUtils
         return Executors.newFixedThreadPool(numberOfThreads);
     }
 
+    private static class SharedExecutorServiceHolder
+    {
+        private static final ExecutorService CACHED_THREAD_POOL = executorRegistry().getOrCreateCached(ExecutorRegistry.SHARED_CACHED_POOL_NAME);
+        private static final ExecutorService VIRTUAL_THREADS    = executorRegistry().getOrCreateVirtual(ExecutorRegistry.SHARED_VIRTUAL_POOL_NAME);
+    }
+
+    /**
+     * Returns the {@link ExecutorRegistry} of named {@link ExecutorService}s which live for the whole application lifetime
+     * 
+     * @return
+     */
+    public static ExecutorRegistry executorRegistry()
+    {
+        return ExecutorRegistry.getInstance();
+    }
+
+    /**
+     * Returns a long living {@link ExecutorService} with daemon threads, which are reused across all callers. The number of threads is not limited, so
+     * callers have to limit the number of concurrently submitted tasks themselves. The returned {@link ExecutorService} must not be shut down.
+     * 
+     * @return
+     */
+    public static ExecutorService sharedCachedThreadPool()
+    {
+        return SharedExecutorServiceHolder.CACHED_THREAD_POOL;
+    }
+
+    /**
+     * Returns a long living {@link ExecutorService} which runs every task on a new virtual thread. If virtual threads are not supported by the running
+     * java version, the {@link #sharedCachedThreadPool()} is returned instead. The returned {@link ExecutorService} must not be shut down.
+     * 
+     * @return
+     */
+    public static ExecutorService sharedVirtualThreadExecutor()
+    {
+        return SharedExecutorServiceHolder.VIRTUAL_THREADS;
+    }
+
+    /**
+     * Returns a {@link ThreadFactory} which creates daemon threads with the given name prefix followed by a sequence number
+     * 
+     * @param namePrefix
+     * @return
+     */
+    public static ThreadFactory newDaemonThreadFactory(String namePrefix)
+    {
+        AtomicLong counter = new AtomicLong();
+        return runnable ->
+        {
+            Thread thread = new Thread(runnable, namePrefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Returns an {@link ExecutorService} which starts a new virtual thread for every task, if the running java version supports virtual threads (java 21
+     * or later). Otherwise {@link Optional#empty()} is returned.
+     * 
+     * @return
+     */
+    public static Optional<ExecutorService> newVirtualThreadPerTaskExecutor()
+    {
+        try
+        {
+            return Optional.of((ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor")
+                                                                .invoke(null));
+        }
+        catch (ReflectiveOperationException e)
+        {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Returns true, if the running java version supports virtual threads
+     * 
+     * @see #newVirtualThreadPerTaskExecutor()
+     * @return
+     */
+    public static boolean isVirtualThreadSupported()
+    {
+        try
+        {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        }
+        catch (NoSuchMethodException e)
+        {
+            return false;
+        }
+    }
+
     public static int calculateNumberOfThreadsByPerCPU(double numberOfThreadsPerCPUCore)
     {
         return (int) Math.max(1, Math.round(Runtime.getRuntime()
@@ -167,7 +308,10 @@ public class ExecutorUtils
 
     private static class ParallelExecutionImpl implements ParallelExecution, AsynchronousParallelExecution
     {
-        private Supplier<ExecutorService> executorServiceFactory = () -> Executors.newCachedThreadPool();
+        private Supplier<ExecutorService> executorServiceFactory = () -> new BoundedExecutorServiceView(this.determineExecutorService(),
+                                                                                                        this.numberOfThreads, this.concurrencyLimiter);
+        private ExecutorService           executorService        = null;
+        private Semaphore                 concurrencyLimiter     = null;
         private int                       numberOfThreads        = Integer.MAX_VALUE;
         private long                      timeout                = Integer.MAX_VALUE;
         private TimeUnit                  timeoutTimeUnit        = TimeUnit.SECONDS;
@@ -178,17 +322,43 @@ public class ExecutorUtils
         public ParallelExecution withNumberOfThreads(int numberOfThreads)
         {
             this.numberOfThreads = numberOfThreads;
-            if (numberOfThreads < Integer.MAX_VALUE)
-            {
-                this.executorServiceFactory = () -> Executors.newFixedThreadPool(numberOfThreads);
-            }
-            else
-            {
-                this.executorServiceFactory = () -> Executors.newCachedThreadPool();
-            }
             return this;
         }
 
+        @Override
+        public ParallelExecution withExecutorService(ExecutorService executorService)
+        {
+            this.executorService = executorService;
+            return this;
+        }
+
+        @Override
+        public ParallelExecution withSharedExecutor(String name)
+        {
+            return this.withExecutorService(executorRegistry().get(name)
+                                                              .orElseThrow(() -> new IllegalArgumentException("No shared executor registered with name: "
+                                                                      + name)));
+        }
+
+        @Override
+        public ParallelExecution withVirtualThreads()
+        {
+            return this.withExecutorService(sharedVirtualThreadExecutor());
+        }
+
+        @Override
+        public ParallelExecution withConcurrencyLimiter(Semaphore semaphore)
+        {
+            this.concurrencyLimiter = semaphore;
+            return this;
+        }
+
+        private ExecutorService determineExecutorService()
+        {
+            return Optional.ofNullable(this.executorService)
+                           .orElseGet(ExecutorUtils::sharedCachedThreadPool);
+        }
+
         @Override
         public ParallelExecution withUnlimitedNumberOfThreads()
         {
@@ -293,9 +463,7 @@ public class ExecutorUtils
             Runnable mainExecutorServiceShutdownOperation = this.createExecutorServiceAwaitAndShutdownNowOperation(executorService);
             if (this.asynchronousExecution)
             {
-                ExecutorService shutdownExecutor = Executors.newSingleThreadExecutor();
-                shutdownExecutor.execute(mainExecutorServiceShutdownOperation);
-                shutdownExecutor.shutdown();
+                sharedCachedThreadPool().execute(mainExecutorServiceShutdownOperation);
             }
             else
             {
@@ -48,13 +48,13 @@ import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Reader;
 import java.io.Writer;
-import java.nio.Buffer;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
-import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -68,7 +68,6 @@ import java.util.function.LongSupplier;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.regex.Pattern;
-import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import org.apache.commons.io.LineIterator;
@@ -966,9 +965,9 @@ public class FileUtils
 
     private static class RandomFileAccessorImpl implements RandomFileAccessor
     {
-        private final File file;
-        private long       position       = 0;
-        private long       markedPosition = 0;
+        protected final File file;
+        private long         position       = 0;
+        private long         markedPosition = 0;
 
         private RandomFileAccessorImpl(File file)
         {
@@ -990,15 +989,9 @@ public class FileUtils
 
             if (data != null)
             {
-                ensureParentFolderExists(this.file);
-                Path filePath = RandomFileAccessorImpl.this.file.toPath();
-
-                ByteBuffer buffer = ByteBuffer.wrap(data);
-
-                try (FileChannel fileChannel = (FileChannel.open(filePath, StandardOpenOption.CREATE, StandardOpenOption.WRITE)))
+                try
                 {
-                    fileChannel.position(this.position);
-                    fileChannel.write(buffer);
+                    this.writeBuffer(ByteBuffer.wrap(data), this.position);
                     newPosition += data.length;
                 }
                 catch (IOException e)
@@ -1017,9 +1010,7 @@ public class FileUtils
         @Override
         public FileAccessPosition write(int[] data)
         {
-            IntStream.range(0, data.length)
-                     .forEach(index -> this.write(data[index]));
-            return this;
+            return this.write(ByteArrayUtils.encodeIntegersAsByteArray(data));
         }
 
         @Override
@@ -1116,13 +1107,10 @@ public class FileUtils
         @Override
         public byte[] readBytes(int length)
         {
-            Path filePath = this.file.toPath();
             ByteBuffer buffer = ByteBuffer.allocate(length);
-            try (FileChannel fileChannel = (FileChannel.open(filePath, StandardOpenOption.READ)))
+            try
             {
-                fileChannel.position(this.position);
-                fileChannel.read(buffer);
-                ((Buffer) buffer).flip();
+                this.readBuffer(buffer, this.position);
                 this.atPosition(this.position + length);
                 return buffer.array();
             }
@@ -1130,9 +1118,419 @@ public class FileUtils
             {
                 throw new RuntimeIOException(e);
             }
-            catch (Exception e)
+        }
+
+        @Override
+        public FileAccessPosition readInto(ByteBuffer buffer)
+        {
+            int length = buffer.remaining();
+            try
+            {
+                this.readBuffer(buffer, this.position);
+            }
+            catch (IOException e)
+            {
+                throw new RuntimeIOException(e);
+            }
+            return this.skip(length);
+        }
+
+        @Override
+        public FileAccessPosition write(ByteBuffer buffer)
+        {
+            int length = buffer.remaining();
+            try
+            {
+                this.writeBuffer(buffer, this.position);
+            }
+            catch (IOException e)
+            {
+                throw new RuntimeIOException("Exception writing data(lengeth=" + length + ") at position " + this.position, e);
+            }
+            return this.skip(length);
+        }
+
+        @Override
+        public FileAccessPosition readScattering(ByteBuffer[] buffers)
+        {
+            long length = determineRemaining(buffers);
+            try
+            {
+                this.readBuffers(buffers, this.position);
+            }
+            catch (IOException e)
+            {
+                throw new RuntimeIOException(e);
+            }
+            return this.atPosition(this.position + length);
+        }
+
+        @Override
+        public FileAccessPosition writeGathering(ByteBuffer[] buffers)
+        {
+            long length = determineRemaining(buffers);
+            try
+            {
+                this.writeBuffers(buffers, this.position);
+            }
+            catch (IOException e)
+            {
+                throw new RuntimeIOException("Exception writing data(lengeth=" + length + ") at position " + this.position, e);
+            }
+            return this.atPosition(this.position + length);
+        }
+
+        /**
+         * Writes all remaining bytes of the given {@link ByteBuffer}s in a single gathering operation starting at the given position
+         * 
+         * @param buffers
+         * @param position
+         * @throws IOException
+         */
+        protected void writeBuffers(ByteBuffer[] buffers, long position) throws IOException
+        {
+            ensureParentFolderExists(this.file);
+            try (FileChannel fileChannel = (FileChannel.open(this.file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE)))
+            {
+                writeFully(fileChannel, buffers, position);
+            }
+        }
+
+        /**
+         * Fills the given {@link ByteBuffer}s in a single scattering operation starting at the given position
+         * 
+         * @param buffers
+         * @param position
+         * @throws IOException
+         */
+        protected void readBuffers(ByteBuffer[] buffers, long position) throws IOException
+        {
+            try (FileChannel fileChannel = (FileChannel.open(this.file.toPath(), StandardOpenOption.READ)))
+            {
+                readFully(fileChannel, buffers, position);
+            }
+        }
+
+        /**
+         * Writes all remaining bytes of the given {@link ByteBuffer} at the given position. This opens and closes a new {@link FileChannel} for every
+         * call.
+         * 
+         * @param buffer
+         * @param position
+         * @throws IOException
+         */
+        protected void writeBuffer(ByteBuffer buffer, long position) throws IOException
+        {
+            ensureParentFolderExists(this.file);
+            try (FileChannel fileChannel = (FileChannel.open(this.file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE)))
+            {
+                writeFully(fileChannel, buffer, position);
+            }
+        }
+
+        /**
+         * Reads from the given position into the given {@link ByteBuffer} until it is full or the end of the {@link File} is reached. This opens and closes
+         * a new {@link FileChannel} for every call.
+         * 
+         * @param buffer
+         * @param position
+         * @throws IOException
+         */
+        protected void readBuffer(ByteBuffer buffer, long position) throws IOException
+        {
+            try (FileChannel fileChannel = (FileChannel.open(this.file.toPath(), StandardOpenOption.READ)))
+            {
+                readFully(fileChannel, buffer, position);
+            }
+        }
+    }
+
+    private static void writeFully(FileChannel fileChannel, ByteBuffer buffer, long position) throws IOException
+    {
+        long currentPosition = position;
+        while (buffer.hasRemaining())
+        {
+            currentPosition += fileChannel.write(buffer, currentPosition);
+        }
+    }
+
+    private static void writeFully(FileChannel fileChannel, ByteBuffer[] buffers, long position) throws IOException
+    {
+        fileChannel.position(position);
+        long remaining = determineRemaining(buffers);
+        while (remaining > 0)
+        {
+            remaining -= fileChannel.write(buffers);
+        }
+    }
+
+    private static void readFully(FileChannel fileChannel, ByteBuffer[] buffers, long position) throws IOException
+    {
+        fileChannel.position(position);
+        long remaining = determineRemaining(buffers);
+        while (remaining > 0)
+        {
+            long numberOfReadBytes = fileChannel.read(buffers);
+            if (numberOfReadBytes < 0)
+            {
+                break;
+            }
+            remaining -= numberOfReadBytes;
+        }
+    }
+
+    private static long determineRemaining(ByteBuffer[] buffers)
+    {
+        long remaining = 0;
+        for (ByteBuffer buffer : buffers)
+        {
+            remaining += buffer.remaining();
+        }
+        return remaining;
+    }
+
+    private static void readFully(FileChannel fileChannel, ByteBuffer buffer, long position) throws IOException
+    {
+        long currentPosition = position;
+        while (buffer.hasRemaining())
+        {
+            int numberOfReadBytes = fileChannel.read(buffer, currentPosition);
+            if (numberOfReadBytes < 0)
+            {
+                break;
+            }
+            currentPosition += numberOfReadBytes;
+        }
+    }
+
+    /**
+     * Similar to {@link #toRandomFileAccessor(File)} but keeps the underlying {@link FileChannel} open until {@link RandomFileAccessorSession#close()} is
+     * called. This avoids the open and close cost of every single read and write operation, which dominates small random accesses.
+     * 
+     * @see RandomFileAccessorSession#withMemoryMapping(int)
+     * @param file
+     * @return
+     */
+    public static RandomFileAccessorSession toRandomFileAccessorSession(File file)
+    {
+        return new RandomFileAccessorSessionImpl(file);
+    }
+
+    private static class RandomFileAccessorSessionImpl extends RandomFileAccessorImpl implements RandomFileAccessorSession
+    {
+        private FileChannel            fileChannel;
+        private boolean                writable         = false;
+        private long                   size             = -1;
+        private int                    mappedRegionSize = 0;
+        private List<MappedByteBuffer> mappedRegions    = new ArrayList<>();
+
+        private RandomFileAccessorSessionImpl(File file)
+        {
+            super(file);
+        }
+
+        @Override
+        public RandomFileAccessorSession withMemoryMapping(int regionSize)
+        {
+            this.mappedRegionSize = Math.max(0, regionSize);
+            this.mappedRegions.clear();
+            return this;
+        }
+
+        @Override
+        public long size()
+        {
+            if (this.size < 0)
+            {
+                this.size = this.file.exists() ? this.file.length() : 0;
+            }
+            return this.size;
+        }
+
+        private FileChannel getFileChannel(boolean write) throws IOException
+        {
+            if (this.fileChannel == null || (write && !this.writable))
+            {
+                this.closeFileChannel();
+                if (write)
+                {
+                    ensureParentFolderExists(this.file);
+                    this.fileChannel = FileChannel.open(this.file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                    this.writable = true;
+                }
+                else
+                {
+                    this.fileChannel = FileChannel.open(this.file.toPath(), StandardOpenOption.READ);
+                }
+                this.size = this.fileChannel.size();
+            }
+            return this.fileChannel;
+        }
+
+        @Override
+        protected void writeBuffer(ByteBuffer buffer, long position) throws IOException
+        {
+            FileChannel fileChannel = this.getFileChannel(true);
+            long endPosition = position + buffer.remaining();
+            if (this.mappedRegionSize > 0)
+            {
+                this.transferMapped(buffer, position, true);
+            }
+            else
+            {
+                writeFully(fileChannel, buffer, position);
+            }
+            this.size = Math.max(this.size, endPosition);
+        }
+
+        @Override
+        protected void readBuffer(ByteBuffer buffer, long position) throws IOException
+        {
+            FileChannel fileChannel = this.getFileChannel(false);
+            if (this.mappedRegionSize > 0)
+            {
+                this.transferMapped(buffer, position, false);
+            }
+            else
+            {
+                readFully(fileChannel, buffer, position);
+            }
+        }
+
+        @Override
+        protected void writeBuffers(ByteBuffer[] buffers, long position) throws IOException
+        {
+            if (this.mappedRegionSize > 0)
+            {
+                this.transferMapped(buffers, position, true);
+            }
+            else
+            {
+                writeFully(this.getFileChannel(true), buffers, position);
+                this.size = Math.max(this.size, this.fileChannel.position());
+            }
+        }
+
+        @Override
+        protected void readBuffers(ByteBuffer[] buffers, long position) throws IOException
+        {
+            if (this.mappedRegionSize > 0)
+            {
+                this.transferMapped(buffers, position, false);
+            }
+            else
+            {
+                readFully(this.getFileChannel(false), buffers, position);
+            }
+        }
+
+        private void transferMapped(ByteBuffer[] buffers, long position, boolean write) throws IOException
+        {
+            long currentPosition = position;
+            for (ByteBuffer buffer : buffers)
+            {
+                int length = buffer.remaining();
+                if (write)
+                {
+                    this.writeBuffer(buffer, currentPosition);
+                }
+                else
+                {
+                    this.readBuffer(buffer, currentPosition);
+                }
+                currentPosition += length;
+            }
+        }
+
+        private void transferMapped(ByteBuffer buffer, long position, boolean write) throws IOException
+        {
+            long currentPosition = position;
+            while (buffer.hasRemaining())
+            {
+                MappedByteBuffer region = this.getMappedRegion((int) (currentPosition / this.mappedRegionSize));
+                int offset = (int) (currentPosition % this.mappedRegionSize);
+                if (region == null || offset >= region.limit())
+                {
+                    break;
+                }
+
+                int length = Math.min(buffer.remaining(), region.limit() - offset);
+                ByteBuffer regionView = region.duplicate();
+                regionView.position(offset)
+                          .limit(offset + length);
+                if (write)
+                {
+                    ByteBuffer source = buffer.duplicate();
+                    source.limit(source.position() + length);
+                    regionView.put(source);
+                    buffer.position(buffer.position() + length);
+                }
+                else
+                {
+                    buffer.put(regionView);
+                }
+                currentPosition += length;
+            }
+        }
+
+        /**
+         * Returns the mapped region of the given index. Writable sessions map full regions and therefore grow the {@link File}, which is truncated to
+         * its logical size again on {@link #close()}. Read only sessions map only the existing part of the {@link File} and return null for regions
+         * beyond its end.
+         * 
+         * @param regionIndex
+         * @return
+         * @throws IOException
+         */
+        private MappedByteBuffer getMappedRegion(int regionIndex) throws IOException
+        {
+            while (this.mappedRegions.size() <= regionIndex)
+            {
+                this.mappedRegions.add(null);
+            }
+
+            MappedByteBuffer region = this.mappedRegions.get(regionIndex);
+            if (region == null)
+            {
+                long regionPosition = (long) regionIndex * this.mappedRegionSize;
+                if (this.writable)
+                {
+                    region = this.fileChannel.map(MapMode.READ_WRITE, regionPosition, this.mappedRegionSize);
+                }
+                else if (regionPosition < this.size)
+                {
+                    region = this.fileChannel.map(MapMode.READ_ONLY, regionPosition, Math.min(this.mappedRegionSize, this.size - regionPosition));
+                }
+                this.mappedRegions.set(regionIndex, region);
+            }
+            return region;
+        }
+
+        private void closeFileChannel() throws IOException
+        {
+            if (this.fileChannel != null)
+            {
+                if (this.writable && !this.mappedRegions.isEmpty())
+                {
+                    this.fileChannel.truncate(this.size);
+                }
+                this.mappedRegions.clear();
+                this.fileChannel.close();
+                this.fileChannel = null;
+                this.writable = false;
+            }
+        }
+
+        @Override
+        public void close()
+        {
+            try
             {
-                throw e;
+                this.closeFileChannel();
+            }
+            catch (IOException e)
+            {
+                throw new RuntimeIOException(e);
             }
         }
     }
@@ -1142,6 +1540,34 @@ public class FileUtils
 
     }
 
+    /**
+     * {@link RandomFileAccessor} which keeps the underlying {@link FileChannel} open until {@link #close()} is called.
+     * 
+     * @see FileUtils#toRandomFileAccessorSession(File)
+     * @author omnaest
+     */
+    public static interface RandomFileAccessorSession extends RandomFileAccessor, AutoCloseable
+    {
+        /**
+         * Enables memory mapping of the underlying {@link File} in regions of the given size. A region is mapped when it is accessed first, and the
+         * {@link File} grows region by region when written to. A region size of zero disables the memory mapping.
+         * 
+         * @param regionSize
+         * @return
+         */
+        public RandomFileAccessorSession withMemoryMapping(int regionSize);
+
+        /**
+         * Returns the logical size of the {@link File} including all writes of this session
+         * 
+         * @return
+         */
+        public long size();
+
+        @Override
+        public void close();
+    }
+
     public static interface FileAccessPosition extends LongSupplier
     {
         public FileAccessPosition write(String text);
@@ -1170,6 +1596,38 @@ public class FileUtils
 
         public FileAccessPosition readBytesInto(int length, Consumer<byte[]> consumer);
 
+        /**
+         * Reads the remaining bytes of the given {@link ByteBuffer} from the current position and moves the position forward by that number of bytes
+         * 
+         * @param buffer
+         * @return
+         */
+        public FileAccessPosition readInto(ByteBuffer buffer);
+
+        /**
+         * Writes the remaining bytes of the given {@link ByteBuffer} at the current position and moves the position forward by that number of bytes
+         * 
+         * @param buffer
+         * @return
+         */
+        public FileAccessPosition write(ByteBuffer buffer);
+
+        /**
+         * Similar to {@link #readInto(ByteBuffer)} but fills all given {@link ByteBuffer}s one after another in a single scattering read operation
+         * 
+         * @param buffers
+         * @return
+         */
+        public FileAccessPosition readScattering(ByteBuffer[] buffers);
+
+        /**
+         * Similar to {@link #write(ByteBuffer)} but writes all given {@link ByteBuffer}s one after another in a single gathering write operation
+         * 
+         * @param buffers
+         * @return
+         */
+        public FileAccessPosition writeGathering(ByteBuffer[] buffers);
+
         public FileAccessPosition markPosition();
 
         public FileAccessPosition resetPositionToLastMark();
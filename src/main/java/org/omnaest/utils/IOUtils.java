@@ -44,6 +44,7 @@ import java.util.zip.ZipOutputStream;
 
 import org.apache.commons.io.Charsets;
 import org.apache.commons.io.LineIterator;
+import org.omnaest.utils.compression.CompressionCodec;
 import org.omnaest.utils.counter.Counter;
 import org.omnaest.utils.exception.RuntimeIOException;
 
@@ -222,6 +223,33 @@ public class IOUtils
 
     }
 
+    /**
+     * Compresses the given data with the given {@link CompressionCodec}. In contrast to {@link #compress(byte[])}, {@link CompressionCodec#deflate()}
+     * avoids the zip archive framing, which dominates the size and cost for small data.
+     * 
+     * @see #uncompress(byte[], CompressionCodec)
+     * @param data
+     * @param compressionCodec
+     * @return
+     */
+    public static byte[] compress(byte[] data, CompressionCodec compressionCodec)
+    {
+        return compressionCodec.compress(data);
+    }
+
+    /**
+     * Uncompresses the given data with the given {@link CompressionCodec}, which has to be the same as used for
+     * {@link #compress(byte[], CompressionCodec)}
+     * 
+     * @param data
+     * @param compressionCodec
+     * @return
+     */
+    public static byte[] uncompress(byte[] data, CompressionCodec compressionCodec)
+    {
+        return compressionCodec.uncompress(data);
+    }
+
     /**
      * Returns a {@link Stream} of lines for the given {@link InputStream} and {@link Charset}
      * 
@@ -15,17 +15,25 @@
  ******************************************************************************/
 package org.omnaest.utils;
 
+import java.io.File;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.omnaest.utils.element.bi.BiElement;
+import org.omnaest.utils.join.HashJoiner;
+import org.omnaest.utils.join.SortMergeJoiner;
 
 /**
  * Helper to perform joins on {@link Stream}s and {@link Collection}s
+ * <br>
+ * <br>
+ * Key based joins are hash joins: one side is collected into a hash table, the other side is streamed against it. If both sides are given as
+ * {@link Collection}s, the smaller one is used as build side, otherwise the joined elements given via {@link Joiner#with(Stream)} are collected. If both
+ * sides are already sorted by their key, {@link KeyJoiner#usingSortedKey(Function, Function)} streams both sides without collecting any of them.
  * 
  * @see #join(Collection)
  * @author omnaest
@@ -41,63 +49,279 @@ public class JoinerUtils
 
     public static interface JoinerWithElements<E1, E2>
     {
+        /**
+         * Returns only pairs of elements with matching keys
+         * 
+         * @return
+         */
         public InnerJoiner<E1, E2> inner();
 
+        /**
+         * Returns all pairs of elements with matching keys and additionally all left elements without any match together with a null right element
+         * 
+         * @return
+         */
+        public KeyJoiner<E1, E2> leftOuter();
+
+        /**
+         * Returns all pairs of elements with matching keys and additionally all right elements without any match together with a null left element
+         * 
+         * @return
+         */
+        public KeyJoiner<E1, E2> rightOuter();
+
+        /**
+         * Returns all pairs of elements with matching keys and additionally all unmatched elements of both sides
+         * 
+         * @return
+         */
+        public KeyJoiner<E1, E2> fullOuter();
+
         public Stream<BiElement<E1, E2>> cartesian();
+
+        /**
+         * Limits the number of elements of the build side held in memory. If the build side exceeds this limit, both sides are spilled to disk into hash
+         * partitions, which requires {@link #withSpillSerializers(Function, Function, Function, Function)}. The order of the joined elements is then
+         * determined by the partitions.
+         * 
+         * @param maxNumberOfBuildElementsInMemory
+         * @return
+         */
+        public JoinerWithElements<E1, E2> withMaxNumberOfBuildElementsInMemory(int maxNumberOfBuildElementsInMemory);
+
+        public JoinerWithElements<E1, E2> withSpillSerializers(Function<E1, String> serializer1, Function<String, E1> deserializer1,
+                                                               Function<E2, String> serializer2, Function<String, E2> deserializer2);
+
+        public JoinerWithElements<E1, E2> withSpillDirectory(File spillDirectory);
+    }
+
+    public static interface KeyJoiner<E1, E2>
+    {
+        /**
+         * Joins the elements by the given keys using a hash join. Keys do not have to be unique, every matching pair is returned. Null keys never match.
+         * 
+         * @param keyMapper1
+         * @param keyMapper2
+         * @return
+         */
+        public <K> Stream<BiElement<E1, E2>> usingKey(Function<E1, K> keyMapper1, Function<E2, K> keyMapper2);
+
+        public default <PK> Stream<BiElement<E1, E2>> usingPrimaryKey(Function<E1, PK> primaryKeyMapper1, Function<E2, PK> primaryKeyMapper2)
+        {
+            return this.usingKey(primaryKeyMapper1, primaryKeyMapper2);
+        }
+
+        /**
+         * Joins the elements with a sort merge join, which requires both sides to be sorted ascending by their keys. Neither side is collected into
+         * memory, apart from the right elements sharing the current key.
+         * 
+         * @see #usingSortedKey(Function, Function, Comparator)
+         * @param keyMapper1
+         * @param keyMapper2
+         * @return
+         * @throws IllegalStateException
+         *             if the keys of a side are not sorted
+         */
+        public default <K extends Comparable<? super K>> Stream<BiElement<E1, E2>> usingSortedKey(Function<E1, K> keyMapper1, Function<E2, K> keyMapper2)
+        {
+            return this.usingSortedKey(keyMapper1, keyMapper2, Comparator.naturalOrder());
+        }
+
+        public <K> Stream<BiElement<E1, E2>> usingSortedKey(Function<E1, K> keyMapper1, Function<E2, K> keyMapper2, Comparator<? super K> comparator);
     }
 
-    public static interface InnerJoiner<E1, E2>
+    public static interface InnerJoiner<E1, E2> extends KeyJoiner<E1, E2>
     {
-        public <PK> Stream<BiElement<E1, E2>> usingPrimaryKey(Function<E1, PK> primaryKeyMapper1, Function<E2, PK> primaryKeyMapper2);
     }
 
     public static <E> Joiner<E> join(Collection<E> elements)
     {
-        return join(elements.stream());
+        return new JoinerImpl<>(elements.stream(), elements.size());
     }
 
     public static <E> Joiner<E> join(Stream<E> elements)
     {
-        return new Joiner<E>() {
+        return new JoinerImpl<>(elements, -1);
+    }
 
-            @Override
-            public <E2> JoinerWithElements<E, E2> with(Collection<E2> joinElements)
+    private static class JoinerImpl<E1> implements Joiner<E1>
+    {
+        private final Stream<E1> elements;
+        private final int        size;
+
+        public JoinerImpl(Stream<E1> elements, int size)
+        {
+            super();
+            this.elements = elements;
+            this.size = size;
+        }
+
+        @Override
+        public <E2> JoinerWithElements<E1, E2> with(Collection<E2> joinElements)
+        {
+            return new JoinerWithElementsImpl<>(this.elements, this.size, joinElements.stream(), joinElements.size());
+        }
+
+        @Override
+        public <E2> JoinerWithElements<E1, E2> with(Stream<E2> joinElements)
+        {
+            return new JoinerWithElementsImpl<>(this.elements, this.size, joinElements, -1);
+        }
+    }
+
+    private static class JoinerWithElementsImpl<E1, E2> implements JoinerWithElements<E1, E2>
+    {
+        private final Stream<E1>     elements1;
+        private final int            size1;
+        private final Stream<E2>     elements2;
+        private final int            size2;
+
+        private int                  maxNumberOfBuildElementsInMemory = Integer.MAX_VALUE;
+        private File                 spillDirectory;
+        private Function<E1, String> serializer1;
+        private Function<String, E1> deserializer1;
+        private Function<E2, String> serializer2;
+        private Function<String, E2> deserializer2;
+
+        public JoinerWithElementsImpl(Stream<E1> elements1, int size1, Stream<E2> elements2, int size2)
+        {
+            super();
+            this.elements1 = elements1;
+            this.size1 = size1;
+            this.elements2 = elements2;
+            this.size2 = size2;
+        }
+
+        @Override
+        public InnerJoiner<E1, E2> inner()
+        {
+            return new KeyJoinerImpl(false, false);
+        }
+
+        @Override
+        public KeyJoiner<E1, E2> leftOuter()
+        {
+            return new KeyJoinerImpl(true, false);
+        }
+
+        @Override
+        public KeyJoiner<E1, E2> rightOuter()
+        {
+            return new KeyJoinerImpl(false, true);
+        }
+
+        @Override
+        public KeyJoiner<E1, E2> fullOuter()
+        {
+            return new KeyJoinerImpl(true, true);
+        }
+
+        @Override
+        public Stream<BiElement<E1, E2>> cartesian()
+        {
+            List<E2> joinElementList = this.elements2.collect(Collectors.toList());
+            return this.elements1.flatMap(element1 -> joinElementList.stream()
+                                                                     .map(element2 -> BiElement.of(element1, element2)));
+        }
+
+        @Override
+        public JoinerWithElements<E1, E2> withMaxNumberOfBuildElementsInMemory(int maxNumberOfBuildElementsInMemory)
+        {
+            this.maxNumberOfBuildElementsInMemory = maxNumberOfBuildElementsInMemory;
+            return this;
+        }
+
+        @Override
+        public JoinerWithElements<E1, E2> withSpillSerializers(Function<E1, String> serializer1, Function<String, E1> deserializer1,
+                                                               Function<E2, String> serializer2, Function<String, E2> deserializer2)
+        {
+            this.serializer1 = serializer1;
+            this.deserializer1 = deserializer1;
+            this.serializer2 = serializer2;
+            this.deserializer2 = deserializer2;
+            return this;
+        }
+
+        @Override
+        public JoinerWithElements<E1, E2> withSpillDirectory(File spillDirectory)
+        {
+            this.spillDirectory = spillDirectory;
+            return this;
+        }
+
+        private boolean isLeftSideSmaller()
+        {
+            return this.size1 >= 0 && this.size2 >= 0 && this.size1 < this.size2;
+        }
+
+        private class KeyJoinerImpl implements InnerJoiner<E1, E2>
+        {
+            private final boolean includeUnmatchedLeft;
+            private final boolean includeUnmatchedRight;
+
+            public KeyJoinerImpl(boolean includeUnmatchedLeft, boolean includeUnmatchedRight)
             {
-                return this.with(joinElements.stream());
+                super();
+                this.includeUnmatchedLeft = includeUnmatchedLeft;
+                this.includeUnmatchedRight = includeUnmatchedRight;
             }
 
             @Override
-            public <E2> JoinerWithElements<E, E2> with(Stream<E2> joinElements)
+            public <K> Stream<BiElement<E1, E2>> usingKey(Function<E1, K> keyMapper1, Function<E2, K> keyMapper2)
             {
-                return new JoinerWithElements<E, E2>() {
-                    @Override
-                    public InnerJoiner<E, E2> inner()
+                JoinerWithElementsImpl<E1, E2> parent = JoinerWithElementsImpl.this;
+                if (parent.isLeftSideSmaller())
+                {
+                    HashJoiner<E2, E1, K> joiner = HashJoiner.of(parent.elements2, keyMapper2, parent.elements1, keyMapper1)
+                                                             .withMaxNumberOfBuildElementsInMemory(parent.maxNumberOfBuildElementsInMemory)
+                                                             .withSpillDirectory(parent.spillDirectory)
+                                                             .withSpillSerializers(parent.serializer2, parent.deserializer2, parent.serializer1,
+                                                                                   parent.deserializer1);
+                    if (this.includeUnmatchedRight)
                     {
-                        return new InnerJoiner<E, E2>() {
-                            @Override
-                            public <PK> Stream<BiElement<E, E2>> usingPrimaryKey(Function<E, PK> primaryKeyMapper1, Function<E2, PK> primaryKeyMapper2)
-                            {
-                                Map<PK, E> left = elements.collect(CollectorUtils.groupingByUnique(primaryKeyMapper1));
-                                Map<PK, E2> right = joinElements.collect(CollectorUtils.groupingByUnique(primaryKeyMapper2));
-
-                                return SetUtils.merge(left.keySet(), right.keySet())
-                                               .stream()
-                                               .map(key -> BiElement.of(left.get(key), right.get(key)));
-                            }
-                        };
+                        joiner.withUnmatchedProbeElements();
                     }
-
-                    @Override
-                    public Stream<BiElement<E, E2>> cartesian()
+                    if (this.includeUnmatchedLeft)
                     {
-                        List<E2> joinElementList = joinElements.collect(Collectors.toList());
-                        return elements.flatMap(element1 -> joinElementList.stream()
-                                                                           .map(element2 -> BiElement.of(element1, element2)));
+                        joiner.withUnmatchedBuildElements();
                     }
-
-                };
+                    return joiner.join()
+                                 .map(BiElement::reverse);
+                }
+                else
+                {
+                    HashJoiner<E1, E2, K> joiner = HashJoiner.of(parent.elements1, keyMapper1, parent.elements2, keyMapper2)
+                                                             .withMaxNumberOfBuildElementsInMemory(parent.maxNumberOfBuildElementsInMemory)
+                                                             .withSpillDirectory(parent.spillDirectory)
+                                                             .withSpillSerializers(parent.serializer1, parent.deserializer1, parent.serializer2,
+                                                                                   parent.deserializer2);
+                    if (this.includeUnmatchedLeft)
+                    {
+                        joiner.withUnmatchedProbeElements();
+                    }
+                    if (this.includeUnmatchedRight)
+                    {
+                        joiner.withUnmatchedBuildElements();
+                    }
+                    return joiner.join();
+                }
             }
 
-        };
+            @Override
+            public <K> Stream<BiElement<E1, E2>> usingSortedKey(Function<E1, K> keyMapper1, Function<E2, K> keyMapper2, Comparator<? super K> comparator)
+            {
+                JoinerWithElementsImpl<E1, E2> parent = JoinerWithElementsImpl.this;
+                SortMergeJoiner<E1, E2, K> joiner = SortMergeJoiner.of(parent.elements1, keyMapper1, parent.elements2, keyMapper2, comparator);
+                if (this.includeUnmatchedLeft)
+                {
+                    joiner.withUnmatchedLeftElements();
+                }
+                if (this.includeUnmatchedRight)
+                {
+                    joiner.withUnmatchedRightElements();
+                }
+                return joiner.join();
+            }
+        }
     }
 }
@@ -40,6 +40,7 @@ import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.apache.commons.lang3.RandomUtils;
 import org.omnaest.utils.BeanUtils.BeanAnalyzer;
@@ -50,6 +51,9 @@ import org.omnaest.utils.element.bi.UnaryBiElement;
 import org.omnaest.utils.element.tri.TriElement;
 import org.omnaest.utils.list.ComparableList;
 import org.omnaest.utils.list.ComparableListDecorator;
+import org.omnaest.utils.list.combinatorics.CombinationSpliterator;
+import org.omnaest.utils.list.combinatorics.PermutationSpliterator;
+import org.omnaest.utils.list.combinatorics.SubsetSpliterator;
 import org.omnaest.utils.list.crud.CRUDList;
 import org.omnaest.utils.list.crud.CRUDListToListAdapter;
 import org.omnaest.utils.list.crud.ReadList;
@@ -706,31 +710,77 @@ public class ListUtils
                                             .collect(Collectors.toSet());
     }
 
+    /**
+     * Returns all non empty subsets of the given {@link List}
+     * 
+     * @see #combinations(List)
+     * @param list
+     * @return
+     */
     public static <E> Set<Set<E>> allCombinations(List<E> list)
     {
-        Set<Set<E>> result = new HashSet<>();
-
-        if (list != null && !list.isEmpty())
+        if (list == null)
         {
-            IntStream.range(0, list.size())
-                     .forEach(index ->
-                     {
-                         TriElement<E, List<E>, List<E>> splits = ListUtils.removeAtAndSplit(list, index);
-
-                         E element = splits.getFirst();
-                         List<E> mergedRest = ListUtils.mergedList(splits.getSecond(), splits.getThird());
-
-                         result.add(Arrays.asList(element)
-                                          .stream()
-                                          .collect(Collectors.toSet()));
-
-                         result.addAll(allCombinations(mergedRest).stream()
-                                                                  .map(set -> SetUtils.addToNew(set, element))
-                                                                  .collect(Collectors.toList()));
-                     });
+            return new HashSet<>();
         }
 
-        return result;
+        return combinations(list).map(HashSet::new)
+                                 .collect(Collectors.toSet());
+    }
+
+    /**
+     * Returns a lazy {@link Stream} of all non empty subsets of the given {@link List} in Gray code order, so two consecutive subsets differ by exactly one
+     * element. The elements within a subset keep the order of the given {@link List}. The {@link Stream} can be split for parallel processing.
+     * 
+     * @see SubsetSpliterator
+     * @param list
+     * @return
+     * @throws IllegalArgumentException
+     *             if the {@link List} has more than {@link SubsetSpliterator#MAX_NUMBER_OF_ELEMENTS} elements
+     */
+    public static <E> Stream<List<E>> combinations(List<E> list)
+    {
+        return StreamSupport.stream(SubsetSpliterator.of(list), false);
+    }
+
+    /**
+     * Returns a lazy {@link Stream} of all combinations of k elements of the given {@link List} in lexicographic order of the element positions. The
+     * {@link Stream} can be split for parallel processing.
+     * 
+     * @see #nthCombination(List, int, long)
+     * @see #numberOfCombinations(int, int)
+     * @param list
+     * @param k
+     * @return
+     */
+    public static <E> Stream<List<E>> combinations(List<E> list, int k)
+    {
+        return StreamSupport.stream(CombinationSpliterator.of(list, k), false);
+    }
+
+    /**
+     * Returns the combination at the given index of {@link #combinations(List, int)} without enumerating the preceding combinations
+     * 
+     * @param list
+     * @param k
+     * @param index
+     * @return
+     */
+    public static <E> List<E> nthCombination(List<E> list, int k, long index)
+    {
+        return CombinationSpliterator.nthCombination(list, k, index);
+    }
+
+    /**
+     * Returns n choose k
+     * 
+     * @param numberOfElements
+     * @param k
+     * @return
+     */
+    public static long numberOfCombinations(int numberOfElements, int k)
+    {
+        return CombinationSpliterator.numberOfCombinations(numberOfElements, k);
     }
 
     public static <E> TriElement<E, List<E>, List<E>> removeAtAndSplit(Collection<E> collection, int index)
@@ -766,27 +816,51 @@ public class ListUtils
 
     public static <E> Set<List<E>> allPermutations(Collection<E> collection)
     {
-        Set<List<E>> result = new HashSet<>();
+        if (collection.isEmpty())
+        {
+            return new HashSet<>();
+        }
 
-        IntStream.range(0, collection.size())
-                 .forEach(index ->
-                 {
-                     TriElement<E, List<E>, List<E>> splits = ListUtils.removeAtAndSplit(collection, index);
+        return permutations(collection).collect(Collectors.toSet());
+    }
 
-                     E element = splits.getFirst();
-                     List<E> rest = ListUtils.mergedList(splits.getSecond(), splits.getThird());
+    /**
+     * Returns a lazy {@link Stream} of all permutations of the given {@link Collection} in lexicographic order of the element positions. The {@link Stream}
+     * can be split for parallel processing, each split starts at its first permutation using {@link #nthPermutation(List, long)}.
+     * 
+     * @see PermutationSpliterator
+     * @param collection
+     * @return
+     * @throws IllegalArgumentException
+     *             if the {@link Collection} has more than {@link PermutationSpliterator#MAX_NUMBER_OF_ELEMENTS} elements
+     */
+    public static <E> Stream<List<E>> permutations(Collection<E> collection)
+    {
+        return StreamSupport.stream(PermutationSpliterator.of(collection), false);
+    }
 
-                     if (!rest.isEmpty())
-                     {
-                         allPermutations(rest).forEach(iElement -> result.add(ListUtils.addToNew(iElement, element)));
-                     }
-                     else
-                     {
-                         result.add(Arrays.asList(element));
-                     }
-                 });
+    /**
+     * Returns the permutation at the given index of {@link #permutations(Collection)} without enumerating the preceding permutations. This allows to shard
+     * the enumeration by index ranges.
+     * 
+     * @param list
+     * @param index
+     * @return
+     */
+    public static <E> List<E> nthPermutation(List<E> list, long index)
+    {
+        return PermutationSpliterator.nthPermutation(list, index);
+    }
 
-        return result;
+    /**
+     * Returns n!
+     * 
+     * @param numberOfElements
+     * @return
+     */
+    public static long numberOfPermutations(int numberOfElements)
+    {
+        return PermutationSpliterator.numberOfPermutations(numberOfElements);
     }
 
     public static <E> boolean equals(List<E> list1, List<E> list2)
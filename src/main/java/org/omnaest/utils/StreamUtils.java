@@ -49,12 +49,18 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Queue;
 import java.util.Spliterator;
 import java.util.Spliterators;
-import java.util.concurrent.Callable;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
@@ -70,14 +76,16 @@ import java.util.function.LongConsumer;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
+import java.util.stream.BaseStream;
 import java.util.stream.Collectors;
+import java.util.stream.DoubleStream;
 import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.RandomUtils;
-import org.omnaest.utils.ExecutorUtils.ParallelExecution;
 import org.omnaest.utils.buffer.CyclicBuffer;
 import org.omnaest.utils.counter.Counter;
 import org.omnaest.utils.counter.DurationProgressCounter;
@@ -89,9 +97,13 @@ import org.omnaest.utils.element.cached.CachedFunction;
 import org.omnaest.utils.element.cached.SingleKeyCachedElement;
 import org.omnaest.utils.element.lar.LeftAndRight;
 import org.omnaest.utils.functional.PredicateConsumer;
+import org.omnaest.utils.stream.BatchSpliterator;
 import org.omnaest.utils.stream.DefaultSupplierStream;
+import org.omnaest.utils.stream.ExternalSorter;
 import org.omnaest.utils.stream.FilterAllOnFirstFilterFailStreamDecorator;
 import org.omnaest.utils.stream.FilterMapper;
+import org.omnaest.utils.stream.FramingSpliterator;
+import org.omnaest.utils.stream.ParallelMappingIterator;
 import org.omnaest.utils.stream.StreamDecoratorLazyLoading;
 import org.omnaest.utils.stream.Streamable;
 import org.omnaest.utils.stream.SupplierStream;
@@ -165,8 +177,7 @@ public class StreamUtils
      */
     public static <E> Stream<E> fromIterator(Iterator<E> iterator)
     {
-        return StreamSupport.stream(((Iterable<E>) () -> iterator).spliterator(), false)
-                            .sequential();
+        return StreamSupport.stream(BatchSpliterator.of(iterator), false);
     }
 
     /**
@@ -553,9 +564,10 @@ public class StreamUtils
     }
 
     /**
-     * Similar to {@link #framedPreserveSize(int, Stream)} for an {@link IntStream}
+     * Similar to {@link #framedPreserveSize(int, Stream)} for an {@link IntStream}. The last frame is padded with zeros.
      * 
      * @see IntStream
+     * @see FramingSpliterator
      * @see #framedPreserveSize(int, Stream)
      * @param frameSize
      * @param stream
@@ -563,7 +575,42 @@ public class StreamUtils
      */
     public static Stream<int[]> framedPreserveSize(int frameSize, IntStream stream)
     {
-        return framedPreserveSize(frameSize, stream.mapToObj(Integer::valueOf)).map(array -> ArrayUtils.toPrimitive(array));
+        return stream != null ? toFramedStream(FramingSpliterator.of(stream.spliterator(), frameSize)
+                                                                 .withPreservedSize(),
+                                               stream)
+                : Stream.empty();
+    }
+
+    /**
+     * Similar to {@link #framedPreserveSize(int, Stream)} for a {@link LongStream}. The last frame is padded with zeros.
+     * 
+     * @see FramingSpliterator
+     * @param frameSize
+     * @param stream
+     * @return
+     */
+    public static Stream<long[]> framedPreserveSize(int frameSize, LongStream stream)
+    {
+        return stream != null ? toFramedStream(FramingSpliterator.of(stream.spliterator(), frameSize)
+                                                                 .withPreservedSize(),
+                                               stream)
+                : Stream.empty();
+    }
+
+    /**
+     * Similar to {@link #framedPreserveSize(int, Stream)} for a {@link DoubleStream}. The last frame is padded with zeros.
+     * 
+     * @see FramingSpliterator
+     * @param frameSize
+     * @param stream
+     * @return
+     */
+    public static Stream<double[]> framedPreserveSize(int frameSize, DoubleStream stream)
+    {
+        return stream != null ? toFramedStream(FramingSpliterator.of(stream.spliterator(), frameSize)
+                                                                 .withPreservedSize(),
+                                               stream)
+                : Stream.empty();
     }
 
     /**
@@ -644,7 +691,88 @@ public class StreamUtils
      */
     public static <E> Stream<int[]> framed(int frameSize, IntStream stream)
     {
-        return framed(frameSize, stream.boxed()).map(ArrayUtils::toPrimitive);
+        return stream != null ? toFramedStream(FramingSpliterator.of(stream.spliterator(), frameSize), stream) : Stream.empty();
+    }
+
+    /**
+     * Similar to {@link #framed(int, Stream)} for a given {@link LongStream}
+     * 
+     * @see FramingSpliterator
+     * @param frameSize
+     * @param stream
+     * @return
+     */
+    public static Stream<long[]> framed(int frameSize, LongStream stream)
+    {
+        return stream != null ? toFramedStream(FramingSpliterator.of(stream.spliterator(), frameSize), stream) : Stream.empty();
+    }
+
+    /**
+     * Similar to {@link #framed(int, Stream)} for a given {@link DoubleStream}
+     * 
+     * @see FramingSpliterator
+     * @param frameSize
+     * @param stream
+     * @return
+     */
+    public static Stream<double[]> framed(int frameSize, DoubleStream stream)
+    {
+        return stream != null ? toFramedStream(FramingSpliterator.of(stream.spliterator(), frameSize), stream) : Stream.empty();
+    }
+
+    /**
+     * Similar to {@link #framed(int, IntStream)} but writes all full frames into the same reused array, which is only valid until the next frame is
+     * emitted. The last frame is a new array reduced to the number of remaining elements. Each split of a parallel {@link Stream} uses its own array.
+     * 
+     * @see FramingSpliterator#withReusedFrame()
+     * @param frameSize
+     * @param stream
+     * @return
+     */
+    public static Stream<int[]> framedWithReusedFrame(int frameSize, IntStream stream)
+    {
+        return stream != null ? toFramedStream(FramingSpliterator.of(stream.spliterator(), frameSize)
+                                                                 .withReusedFrame(),
+                                               stream)
+                : Stream.empty();
+    }
+
+    /**
+     * Similar to {@link #framedWithReusedFrame(int, IntStream)} for a {@link LongStream}
+     * 
+     * @see FramingSpliterator#withReusedFrame()
+     * @param frameSize
+     * @param stream
+     * @return
+     */
+    public static Stream<long[]> framedWithReusedFrame(int frameSize, LongStream stream)
+    {
+        return stream != null ? toFramedStream(FramingSpliterator.of(stream.spliterator(), frameSize)
+                                                                 .withReusedFrame(),
+                                               stream)
+                : Stream.empty();
+    }
+
+    /**
+     * Similar to {@link #framedWithReusedFrame(int, IntStream)} for a {@link DoubleStream}
+     * 
+     * @see FramingSpliterator#withReusedFrame()
+     * @param frameSize
+     * @param stream
+     * @return
+     */
+    public static Stream<double[]> framedWithReusedFrame(int frameSize, DoubleStream stream)
+    {
+        return stream != null ? toFramedStream(FramingSpliterator.of(stream.spliterator(), frameSize)
+                                                                 .withReusedFrame(),
+                                               stream)
+                : Stream.empty();
+    }
+
+    private static <A> Stream<A> toFramedStream(FramingSpliterator<A, ?> spliterator, BaseStream<?, ?> stream)
+    {
+        return StreamSupport.stream(spliterator, stream.isParallel())
+                            .onClose(stream::close);
     }
 
     private static <E> Stream<E[]> framed(int frameSize, Stream<E> stream, boolean preserveTokens)
@@ -687,6 +815,13 @@ public class StreamUtils
         }
     }
 
+    /**
+     * Window of a {@link #windowed(Stream, int, int)} {@link Stream}. The {@link List}s returned by a {@link Window} are views on the underlying
+     * {@link CyclicBuffer} and only valid until the {@link Stream} has advanced to the next element. Use {@link #snapshot()} to retain a {@link Window}.
+     * 
+     * @author omnaest
+     * @param <E>
+     */
     public static interface Window<E>
     {
         public List<E> getBefore();
@@ -698,6 +833,58 @@ public class StreamUtils
         public List<E> getAll();
 
         public long getPosition();
+
+        /**
+         * Returns a copy of this {@link Window} which stays valid after the {@link Stream} has advanced
+         * 
+         * @return
+         */
+        public default Window<E> snapshot()
+        {
+            List<E> before = Collections.unmodifiableList(new ArrayList<>(this.getBefore()));
+            List<E> after = Collections.unmodifiableList(new ArrayList<>(this.getAfter()));
+            List<E> all = Collections.unmodifiableList(new ArrayList<>(this.getAll()));
+            E element = this.get();
+            long position = this.getPosition();
+            return new Window<E>()
+            {
+                @Override
+                public List<E> getBefore()
+                {
+                    return before;
+                }
+
+                @Override
+                public List<E> getAfter()
+                {
+                    return after;
+                }
+
+                @Override
+                public E get()
+                {
+                    return element;
+                }
+
+                @Override
+                public List<E> getAll()
+                {
+                    return all;
+                }
+
+                @Override
+                public long getPosition()
+                {
+                    return position;
+                }
+
+                @Override
+                public Window<E> snapshot()
+                {
+                    return this;
+                }
+            };
+        }
     }
 
     public static <E> Stream<Window<E>> windowed(Stream<E> stream, int before, int after)
@@ -766,6 +953,38 @@ public class StreamUtils
         return concat(merge(stream1, stream2).flatMap(synchronizer), synchronizer.remaining());
     }
 
+    /**
+     * Sorts the given {@link Stream} without holding all elements in memory: runs of at most maxNumberOfElementsInMemory elements are sorted in parallel,
+     * spilled into temporary files and merged lazily. Closing the returned {@link Stream} deletes the temporary files.
+     * 
+     * @see ExternalSorter
+     * @param stream
+     * @param comparator
+     * @param serializer
+     * @param deserializer
+     * @param maxNumberOfElementsInMemory
+     * @return
+     */
+    public static <E> Stream<E> sortedExternally(Stream<E> stream, Comparator<? super E> comparator, Function<E, String> serializer,
+                                                 Function<String, E> deserializer, int maxNumberOfElementsInMemory)
+    {
+        return ExternalSorter.of(stream, comparator, serializer, deserializer)
+                             .withMaxNumberOfElementsInMemory(maxNumberOfElementsInMemory)
+                             .sort();
+    }
+
+    /**
+     * Similar to {@link #sortedExternally(Stream, Comparator, Function, Function, int)} for {@link String} elements using their natural order
+     * 
+     * @param stream
+     * @param maxNumberOfElementsInMemory
+     * @return
+     */
+    public static Stream<String> sortedExternally(Stream<String> stream, int maxNumberOfElementsInMemory)
+    {
+        return sortedExternally(stream, Comparator.naturalOrder(), Function.identity(), Function.identity(), maxNumberOfElementsInMemory);
+    }
+
     public static <L, R> Stream<BiElement<L, R>> merge2(Stream<L> stream1, Stream<R> stream2)
     {
         return merge(stream1, stream2).map(lar -> lar.asBiElement());
@@ -1172,15 +1391,74 @@ public class StreamUtils
                        .map(element -> BiElement.of(counter.getAndIncrement(), element));
     }
 
+    /**
+     * Chops the given {@link Stream} into chunks, where each element matching the given {@link Predicate} starts a new chunk.<br>
+     * <br>
+     * E.g. [1,2,3,4] -> [1],[2,3,4] for a matcher of "2"
+     * <br>
+     * <br>
+     * The source {@link Stream} is traversed sequentially, but the returned {@link Stream} can be processed in parallel, since the chunks are split off in
+     * batches.
+     * 
+     * @see BatchSpliterator
+     * @param stream
+     * @param chopStartMatcher
+     * @return
+     */
     public static <E> Stream<List<E>> chop(Stream<E> stream, Predicate<E> chopStartMatcher)
     {
-        AtomicReference<List<E>> chunk = new AtomicReference<>();
-        return Stream.concat(stream.peek(element -> chunk.getAndUpdate(elements -> ListUtils.addTo(elements, element)))
-                                   .filter(chopStartMatcher)
-                                   .map((Function<E, List<E>>) element -> ListUtils.modified(chunk.getAndSet(ListUtils.of(ListUtils.last(chunk.get()))),
-                                                                                             list -> list.subList(0, list.size() - 1))),
-                             Stream.of(1)
-                                   .flatMap(i -> chunk.get() != null ? Stream.of(chunk.get()) : Stream.empty()));
+        Stream<E> sourceStream = Optional.ofNullable(stream)
+                                         .orElse(Stream.empty());
+        boolean parallel = sourceStream.isParallel();
+        Spliterator<E> sourceSpliterator = sourceStream.sequential()
+                                                       .spliterator();
+
+        Spliterator<List<E>> chunkSpliterator = new Spliterators.AbstractSpliterator<List<E>>(Long.MAX_VALUE,
+                                                                                              sourceSpliterator.characteristics() & Spliterator.ORDERED)
+        {
+            private List<E> chunk          = null;
+            private List<E> completedChunk = null;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super List<E>> action)
+            {
+                while (this.completedChunk == null && this.readNextElement())
+                {
+                    // read until a chunk is completed
+                }
+
+                if (this.completedChunk == null)
+                {
+                    return false;
+                }
+                action.accept(this.completedChunk);
+                this.completedChunk = null;
+                return true;
+            }
+
+            private boolean readNextElement()
+            {
+                boolean elementRead = sourceSpliterator.tryAdvance(element ->
+                {
+                    if (chopStartMatcher.test(element))
+                    {
+                        this.completedChunk = Optional.ofNullable(this.chunk)
+                                                      .orElseGet(ArrayList::new);
+                        this.chunk = null;
+                    }
+                    this.chunk = ListUtils.addTo(this.chunk, element);
+                });
+                if (!elementRead)
+                {
+                    this.completedChunk = this.chunk;
+                    this.chunk = null;
+                }
+                return elementRead;
+            }
+        };
+
+        return StreamSupport.stream(BatchSpliterator.of(chunkSpliterator), parallel)
+                            .onClose(sourceStream::close);
     }
 
     /**
@@ -1307,7 +1585,11 @@ public class StreamUtils
 
     public static class Parallelism
     {
-        private int numberOfThreads;
+        private int             numberOfThreads;
+        private int             maxInFlight     = -1;
+        private boolean         ordered         = true;
+        private ExecutorService executorService = null;
+        private Semaphore       semaphore       = null;
 
         public Parallelism()
         {
@@ -1332,10 +1614,97 @@ public class StreamUtils
             return this;
         }
 
+        /**
+         * Returns the maximum number of elements which are mapped at the same time. Defaults to the {@link #getNumberOfThreads()}.
+         * 
+         * @return
+         */
+        public int getMaxInFlight()
+        {
+            return this.maxInFlight > 0 ? this.maxInFlight : this.numberOfThreads;
+        }
+
+        /**
+         * @see #getMaxInFlight()
+         * @param maxInFlight
+         * @return
+         */
+        public Parallelism withMaxInFlight(int maxInFlight)
+        {
+            this.maxInFlight = maxInFlight;
+            return this;
+        }
+
+        public boolean isOrdered()
+        {
+            return this.ordered;
+        }
+
+        /**
+         * Returns the mapped elements in the order of their completion instead of the order of the source elements
+         * 
+         * @return
+         */
+        public Parallelism unordered()
+        {
+            this.ordered = false;
+            return this;
+        }
+
+        /**
+         * Runs the mapping on the given {@link ExecutorService}, which is not shut down afterwards. By default the
+         * {@link ExecutorUtils#sharedCachedThreadPool()} is used.
+         * 
+         * @param executorService
+         * @return
+         */
+        public Parallelism withExecutorService(ExecutorService executorService)
+        {
+            this.executorService = executorService;
+            return this;
+        }
+
+        /**
+         * Runs the mapping on virtual threads, if supported by the running java version
+         * 
+         * @see ExecutorUtils#sharedVirtualThreadExecutor()
+         * @return
+         */
+        public Parallelism withVirtualThreads()
+        {
+            return this.withExecutorService(ExecutorUtils.sharedVirtualThreadExecutor());
+        }
+
+        /**
+         * Every mapping acquires a permit of the given {@link Semaphore} before it is submitted and releases it after it has run, so mappings waiting for
+         * a permit do not occupy threads. Sharing a {@link Semaphore} between multiple parallel {@link Stream}s and
+         * {@link ExecutorUtils.ParallelExecution#withConcurrencyLimiter(Semaphore)} allows to bound the total pressure on a downstream resource, e.g. in
+         * combination with {@link #withVirtualThreads()}.
+         * 
+         * @param semaphore
+         * @return
+         */
+        public Parallelism withConcurrencyLimiter(Semaphore semaphore)
+        {
+            this.semaphore = semaphore;
+            return this;
+        }
+
+        public Optional<Semaphore> getConcurrencyLimiter()
+        {
+            return Optional.ofNullable(this.semaphore);
+        }
+
+        public ExecutorService getExecutorService()
+        {
+            return Optional.ofNullable(this.executorService)
+                           .orElseGet(ExecutorUtils::sharedCachedThreadPool);
+        }
+
         @Override
         public String toString()
         {
-            return "Parallelism [numberOfThreads=" + this.numberOfThreads + "]";
+            return "Parallelism [numberOfThreads=" + this.numberOfThreads + ", maxInFlight=" + this.maxInFlight + ", ordered=" + this.ordered + "]";
         }
 
     }
@@ -1345,23 +1714,25 @@ public class StreamUtils
         return parallel(stream, mappingFunction, new Parallelism());
     }
 
+    /**
+     * Maps the elements of the given {@link Stream} in parallel. At most {@link Parallelism#getMaxInFlight()} elements are mapped at the same time and
+     * a new element is taken from the source {@link Stream} as soon as a mapped element is consumed, so slow elements do not block the other threads.
+     * Exceptions of the mapping {@link Function} are rethrown to the consumer of the returned {@link Stream}.
+     * 
+     * @see Parallelism#unordered()
+     * @param stream
+     * @param mappingFunction
+     * @param parallelism
+     * @return
+     */
     public static <T, R> Stream<R> parallel(Stream<T> stream, Function<T, R> mappingFunction, Parallelism parallelism)
     {
-        ParallelExecution parallelExecution = ExecutorUtils.parallel()
-                                                           .withNumberOfThreads(parallelism.getNumberOfThreads());
-
-        return framedAsList(parallelism.getNumberOfThreads(), stream).flatMap(elements -> parallelExecution.executeTasks(elements.stream()
-                                                                                                                                 .map(element -> new Callable<R>()
-                                                                                                                                 {
-                                                                                                                                     @Override
-                                                                                                                                     public R call()
-                                                                                                                                             throws Exception
-                                                                                                                                     {
-                                                                                                                                         return mappingFunction.apply(element);
-                                                                                                                                     }
-                                                                                                                                 }))
-                                                                                                           .get());
-
+        ParallelMappingIterator<T, R> iterator = new ParallelMappingIterator<>(stream.iterator(), mappingFunction, parallelism.getExecutorService(),
+                                                                               parallelism.getMaxInFlight(), parallelism.isOrdered(),
+                                                                               parallelism.getConcurrencyLimiter()
+                                                                                          .orElse(null));
+        return fromIterator(iterator).onClose(iterator::close)
+                                     .onClose(stream::close);
     }
 
     public static interface StreamBuilder
@@ -1873,8 +2244,11 @@ public class StreamUtils
     }
 
     /**
-     * Allows to aggregate groups of elements which are identified by a start and end barrier {@link Predicate} matcher
+     * Allows to aggregate groups of elements which are identified by a start and end barrier {@link Predicate} matcher<br>
+     * <br>
+     * The source {@link Stream} is traversed sequentially. If it is parallel, the groups are split off in batches and aggregated in parallel.
      * 
+     * @see BatchSpliterator
      * @param stream
      * @param startBarrierMatcher
      * @param endBarrierMatcher
@@ -1884,57 +2258,85 @@ public class StreamUtils
     public static <E, A> Stream<A> aggregate(Stream<E> stream, Predicate<E> startBarrierMatcher, Predicate<E> endBarrierMatcher,
                                              Function<Stream<E>, Stream<A>> aggregationFunction)
     {
-        return Optional.ofNullable(stream)
-                       .map(s ->
-                       {
-                           AtomicReference<List<E>> currentFrame = new AtomicReference<>();
-                           AtomicReference<List<E>> completeFrame = new AtomicReference<>();
+        Stream<E> sourceStream = Optional.ofNullable(stream)
+                                         .orElse(Stream.empty());
+        boolean parallel = sourceStream.isParallel();
+        Spliterator<E> sourceSpliterator = sourceStream.sequential()
+                                                       .spliterator();
 
-                           Predicate<E> filter = element ->
-                           {
-                               boolean startBarrierReached = startBarrierMatcher.test(element);
-                               boolean endBarrierReached = endBarrierMatcher.test(element);
-                               boolean activeFrame = currentFrame.get() != null;
-                               boolean ejectFrameByNewStart = startBarrierReached && activeFrame;
-                               boolean ejectFrame = endBarrierReached || ejectFrameByNewStart;
+        Spliterator<List<E>> frameSpliterator = new Spliterators.AbstractSpliterator<List<E>>(Long.MAX_VALUE,
+                                                                                              sourceSpliterator.characteristics() & Spliterator.ORDERED)
+        {
+            private List<E> currentFrame  = null;
+            private List<E> completeFrame = null;
+            private boolean frameEjected  = false;
 
-                               if (ejectFrame && ejectFrameByNewStart)
-                               {
-                                   completeFrame.set(currentFrame.getAndSet(null));
-                               }
+            @Override
+            public boolean tryAdvance(Consumer<? super List<E>> action)
+            {
+                while (!this.frameEjected && this.readNextElement())
+                {
+                    // read until a frame is ejected
+                }
 
-                               if (startBarrierReached)
-                               {
-                                   currentFrame.set(new ArrayList<>());
-                               }
+                if (!this.frameEjected)
+                {
+                    return false;
+                }
+                action.accept(Optional.ofNullable(this.completeFrame)
+                                      .orElse(Collections.emptyList()));
+                this.completeFrame = null;
+                this.frameEjected = false;
+                return true;
+            }
 
-                               Optional.ofNullable(currentFrame.get())
-                                       .ifPresent(frame -> frame.add(element));
+            private boolean readNextElement()
+            {
+                boolean elementRead = sourceSpliterator.tryAdvance(element ->
+                {
+                    boolean startBarrierReached = startBarrierMatcher.test(element);
+                    boolean endBarrierReached = endBarrierMatcher.test(element);
+                    boolean activeFrame = this.currentFrame != null;
+                    boolean ejectFrameByNewStart = startBarrierReached && activeFrame;
+                    boolean ejectFrame = endBarrierReached || ejectFrameByNewStart;
 
-                               if (ejectFrame && !ejectFrameByNewStart)
-                               {
-                                   completeFrame.set(currentFrame.getAndSet(null));
-                               }
+                    if (ejectFrame && ejectFrameByNewStart)
+                    {
+                        this.completeFrame = this.currentFrame;
+                        this.currentFrame = null;
+                    }
 
-                               return ejectFrame;
-                           };
-                           Function<E, Stream<E>> completeFrameMapper = element -> Optional.ofNullable(completeFrame.getAndSet(null))
-                                                                                           .map(List::stream)
-                                                                                           .orElse(Stream.empty());
-                           Function<E, Stream<E>> currentFrameMapper = element -> Optional.ofNullable(currentFrame.getAndSet(null))
-                                                                                          .map(List::stream)
-                                                                                          .orElse(Stream.empty());
-
-                           Stream<A> retval = s.sequential()
-                                               .filter(filter)
-                                               .map(completeFrameMapper)
-                                               .flatMap(aggregationFunction);
-                           return Stream.concat(retval, Stream.of((E) null)
-                                                              .filter(e -> currentFrame.get() != null)
-                                                              .map(currentFrameMapper)
-                                                              .flatMap(aggregationFunction));
-                       })
-                       .orElse(Stream.empty());
+                    if (startBarrierReached)
+                    {
+                        this.currentFrame = new ArrayList<>();
+                    }
+
+                    if (this.currentFrame != null)
+                    {
+                        this.currentFrame.add(element);
+                    }
+
+                    if (ejectFrame && !ejectFrameByNewStart)
+                    {
+                        this.completeFrame = this.currentFrame;
+                        this.currentFrame = null;
+                    }
+
+                    this.frameEjected = ejectFrame;
+                });
+                if (!elementRead && this.currentFrame != null)
+                {
+                    this.completeFrame = this.currentFrame;
+                    this.currentFrame = null;
+                    this.frameEjected = true;
+                }
+                return elementRead;
+            }
+        };
+
+        return StreamSupport.stream(BatchSpliterator.of(frameSpliterator), parallel)
+                            .onClose(sourceStream::close)
+                            .flatMap(frame -> aggregationFunction.apply(frame.stream()));
     }
 
     /**
@@ -2267,9 +2669,8 @@ public class StreamUtils
      * all elements are returned.
      * <br>
      * <br>
-     * The returned {@link Stream} is inherently sequential, since the termination decision depends on the encounter order. It stays correct even if the caller
-     * invokes {@link Stream#parallel()} on it, but such a call will not result in any parallel execution of the operations before a further splitting
-     * intermediate operation.
+     * The termination decision is inherently sequential, since it depends on the encounter order. A {@link Stream#parallel()} call of the caller processes
+     * the taken elements in batches in parallel, while the source is still traversed sequentially.
      * <br>
      * <br>
      * The given {@link Predicate} is invoked at most once per element and never for elements after the terminating one. The source {@link Stream} is not
@@ -2541,7 +2942,7 @@ public class StreamUtils
             }
         };
 
-        return StreamSupport.stream(limitedSpliterator, false)
+        return StreamSupport.stream(BatchSpliterator.of(limitedSpliterator), false)
                             .onClose(sourceStream::close);
     }
 
@@ -2769,7 +3170,9 @@ public class StreamUtils
     {
         return new PagesProvider()
         {
-            private int pageSize = 100;
+            private int             pageSize                = 100;
+            private int             numberOfPrefetchedPages = 0;
+            private ExecutorService executorService         = ExecutorUtils.sharedCachedThreadPool();
 
             @Override
             public PagesProvider withPageSize(int pageSize)
@@ -2778,10 +3181,27 @@ public class StreamUtils
                 return this;
             }
 
+            @Override
+            public PagesProvider withPrefetch(int numberOfPages)
+            {
+                this.numberOfPrefetchedPages = Math.max(0, numberOfPages);
+                return this;
+            }
+
+            @Override
+            public PagesProvider withPrefetch(int numberOfPages, ExecutorService executorService)
+            {
+                this.executorService = executorService;
+                return this.withPrefetch(numberOfPages);
+            }
+
             @Override
             public <E> StreamablePages<E> usingPageProvider(Function<Paging, Page<E>> paging)
             {
-                return new StreamablePagesImpl<>(createStreamablePage(paging, this.pageSize), this.pageSize);
+                int pageSize = this.pageSize;
+                int numberOfPrefetchedPages = this.numberOfPrefetchedPages;
+                ExecutorService executorService = this.executorService;
+                return new StreamablePagesImpl<>(() -> new PagePrefetcher<>(paging, pageSize, numberOfPrefetchedPages, executorService), pageSize);
             }
         };
     }
@@ -2810,42 +3230,13 @@ public class StreamUtils
 
                 private Page<E> resolvePage(Function<Paging, Page<E>> pagingToPageMapper, int pageSize, int index)
                 {
-                    return pagingToPageMapper.apply(new Paging()
-                    {
-                        @Override
-                        public int getPageIndex()
-                        {
-                            return index;
-                        }
-
-                        @Override
-                        public int getPageSize()
-                        {
-                            return pageSize;
-                        }
-
-                        @Override
-                        public int getStartIndex()
-                        {
-                            return index * pageSize;
-                        }
-
-                        @Override
-                        public int getStopIndexExclusive()
-                        {
-                            return (index + 1) * pageSize;
-                        }
-                    });
+                    return pagingToPageMapper.apply(createPaging(index, pageSize));
                 }
 
                 @Override
                 public boolean isLastPage()
                 {
-                    // if the page does not declare it explicitly, a page which is not filled up to the page size is the last one
-                    return Optional.ofNullable(this.pageProvider.get()
-                                                                .getIsLastPage())
-                                   .orElseGet(() -> this.getElements()
-                                                        .size() < pageSize);
+                    return StreamUtils.isLastPage(this.pageProvider.get(), pageSize);
                 }
 
                 @Override
@@ -2869,6 +3260,154 @@ public class StreamUtils
         };
     }
 
+    private static Paging createPaging(int index, int pageSize)
+    {
+        return new Paging()
+        {
+            @Override
+            public int getPageIndex()
+            {
+                return index;
+            }
+
+            @Override
+            public int getPageSize()
+            {
+                return pageSize;
+            }
+
+            @Override
+            public int getStartIndex()
+            {
+                return index * pageSize;
+            }
+
+            @Override
+            public int getStopIndexExclusive()
+            {
+                return (index + 1) * pageSize;
+            }
+        };
+    }
+
+    private static <E> boolean isLastPage(Page<E> page, int pageSize)
+    {
+        // if the page does not declare it explicitly, a page which is not filled up to the page size is the last one
+        return Optional.ofNullable(page.getIsLastPage())
+                       .orElseGet(() -> Optional.ofNullable(page.getElements())
+                                                .orElse(Collections.emptyList())
+                                                .size() < pageSize);
+    }
+
+    /**
+     * Resolves the {@link Page}s of a single page {@link Stream}. If prefetching is enabled, the retrieval of the following {@link Page}s is submitted to an
+     * {@link ExecutorService} as soon as a {@link Page} is requested, so the following {@link Page}s are retrieved while the current one is consumed.<br>
+     * <br>
+     * At most the configured number of {@link Page}s are prefetched ahead of the last requested {@link Page}. Prefetched {@link Page}s which are skipped or
+     * which follow the last {@link Page} are cancelled, as are all outstanding retrievals when the page {@link Stream} is closed.
+     *
+     * @param <E>
+     */
+    private static class PagePrefetcher<E> implements Function<Paging, Page<E>>, AutoCloseable
+    {
+        private final Function<Paging, Page<E>>              pagingToPageMapper;
+        private final int                                    pageSize;
+        private final int                                    numberOfPrefetchedPages;
+        private final ExecutorService                        executorService;
+
+        private final NavigableMap<Integer, Future<Page<E>>> prefetchedPages = new TreeMap<>();
+        private int                                          lastPageIndex   = Integer.MAX_VALUE;
+        private boolean                                      closed          = false;
+
+        public PagePrefetcher(Function<Paging, Page<E>> pagingToPageMapper, int pageSize, int numberOfPrefetchedPages, ExecutorService executorService)
+        {
+            super();
+            this.pagingToPageMapper = pagingToPageMapper;
+            this.pageSize = pageSize;
+            this.numberOfPrefetchedPages = numberOfPrefetchedPages;
+            this.executorService = executorService;
+        }
+
+        @Override
+        public Page<E> apply(Paging paging)
+        {
+            if (this.numberOfPrefetchedPages <= 0)
+            {
+                return this.pagingToPageMapper.apply(paging);
+            }
+
+            int pageIndex = paging.getPageIndex();
+            Future<Page<E>> prefetchedPage = this.takePrefetchedPageAndPrefetchFollowingPages(pageIndex);
+            Page<E> page = prefetchedPage != null ? this.resolve(prefetchedPage) : this.pagingToPageMapper.apply(paging);
+
+            if (page != null && StreamUtils.isLastPage(page, this.pageSize))
+            {
+                this.cancelPagesAfter(pageIndex);
+            }
+            return page;
+        }
+
+        private synchronized Future<Page<E>> takePrefetchedPageAndPrefetchFollowingPages(int pageIndex)
+        {
+            // pages before the requested one have been skipped by the consumer
+            this.cancel(this.prefetchedPages.headMap(pageIndex, false));
+
+            Future<Page<E>> prefetchedPage = this.prefetchedPages.remove(pageIndex);
+            int lastPrefetchedPageIndex = (int) Math.min(this.lastPageIndex, (long) pageIndex + this.numberOfPrefetchedPages);
+            for (int index = pageIndex + 1; !this.closed && index <= lastPrefetchedPageIndex; index++)
+            {
+                if (!this.prefetchedPages.containsKey(index))
+                {
+                    Paging paging = createPaging(index, this.pageSize);
+                    this.prefetchedPages.put(index, this.executorService.submit(() -> this.pagingToPageMapper.apply(paging)));
+                }
+            }
+            return prefetchedPage;
+        }
+
+        private synchronized void cancelPagesAfter(int pageIndex)
+        {
+            this.lastPageIndex = Math.min(this.lastPageIndex, pageIndex);
+            this.cancel(this.prefetchedPages.tailMap(pageIndex, false));
+        }
+
+        private void cancel(Map<Integer, Future<Page<E>>> pages)
+        {
+            pages.values()
+                 .forEach(page -> page.cancel(true));
+            pages.clear();
+        }
+
+        private Page<E> resolve(Future<Page<E>> page)
+        {
+            try
+            {
+                return page.get();
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread()
+                      .interrupt();
+                throw new IllegalStateException("Interrupted while waiting for a prefetched page", e);
+            }
+            catch (ExecutionException e)
+            {
+                if (e.getCause() instanceof RuntimeException)
+                {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new IllegalStateException("Failed to retrieve a prefetched page", e.getCause());
+            }
+        }
+
+        @Override
+        public synchronized void close()
+        {
+            this.closed = true;
+            this.cancel(this.prefetchedPages);
+        }
+    }
+
     /**
      * {@link StreamablePage} decorator which signals the termination of the surrounding page {@link Stream} as soon as the consumer resolves a page which is
      * the last one. A page which is never touched by the consumer, e.g. because it has been skipped, does not signal anything and does not resolve the
@@ -2921,12 +3460,12 @@ public class StreamUtils
 
     private static class StreamablePagesImpl<E> implements StreamablePages<E>
     {
-        private final IntFunction<Supplier<StreamablePage<E>>> randomAccessPageProvider;
-        private final int                                      pageSize;
+        private final Supplier<PagePrefetcher<E>> pagePrefetcherFactory;
+        private final int                         pageSize;
 
-        public StreamablePagesImpl(IntFunction<Supplier<StreamablePage<E>>> randomAccessPageProvider, int pageSize)
+        public StreamablePagesImpl(Supplier<PagePrefetcher<E>> pagePrefetcherFactory, int pageSize)
         {
-            this.randomAccessPageProvider = randomAccessPageProvider;
+            this.pagePrefetcherFactory = pagePrefetcherFactory;
             this.pageSize = pageSize;
         }
 
@@ -2934,12 +3473,14 @@ public class StreamUtils
         public StreamablePageElements<E> asElements()
         {
             int pageSize = this.pageSize;
-            IntFunction<Supplier<StreamablePage<E>>> randomAccessPageProvider = this.randomAccessPageProvider;
+            Supplier<PagePrefetcher<E>> pagePrefetcherFactory = this.pagePrefetcherFactory;
             return new StreamablePageElements<E>()
             {
                 @Override
                 public Stream<E> stream()
                 {
+                    PagePrefetcher<E> pagePrefetcher = pagePrefetcherFactory.get();
+                    IntFunction<Supplier<StreamablePage<E>>> randomAccessPageProvider = createStreamablePage(pagePrefetcher, pageSize);
                     SingleKeyCachedElement<Integer, StreamablePage<E>> pageIndexToStreamablePage = new SingleKeyCachedElement<>();
                     AtomicReference<int[]> lastResolvedPosition = new AtomicReference<>();
 
@@ -3026,7 +3567,8 @@ public class StreamUtils
                     return StreamUtils.lazyLoading(elementProviderStream,
                                                    skipOffset -> anchorIndex.set((int) Math.min(Integer.MAX_VALUE, skipOffset)))
                                       .map(element -> element.map(Element::getValue)
-                                                             .orElse(null));
+                                                             .orElse(null))
+                                      .onClose(pagePrefetcher::close);
                 }
 
             };
@@ -3035,14 +3577,18 @@ public class StreamUtils
         @Override
         public Stream<StreamablePage<E>> stream()
         {
+            PagePrefetcher<E> pagePrefetcher = this.pagePrefetcherFactory.get();
+            IntFunction<Supplier<StreamablePage<E>>> randomAccessPageProvider = createStreamablePage(pagePrefetcher, this.pageSize);
+
             // the lazy loading decorator stays on the outside, so that a downstream skip discards the page providers without resolving any page
             return StreamUtils.lazyLoading(StreamUtils.takeUntilObservedTermination(StreamUtils.generate()
                                                                                                .intStream()
                                                                                                .unlimited()
                                                                                                .fromZero()
-                                                                                               .mapToObj(this.randomAccessPageProvider),
+                                                                                               .mapToObj(randomAccessPageProvider),
                                                                                     (pageProvider, terminationSignal) -> () -> new TerminationSignalingStreamablePage<>(pageProvider.get(),
-                                                                                                                                                                        terminationSignal)));
+                                                                                                                                                                        terminationSignal)))
+                              .onClose(pagePrefetcher::close);
         }
 
     }
@@ -3052,6 +3598,26 @@ public class StreamUtils
 
         public PagesProvider withPageSize(int pageSize);
 
+        /**
+         * Retrieves up to the given number of following pages concurrently on the {@link ExecutorUtils#sharedCachedThreadPool()} while the current page is
+         * consumed. Outstanding retrievals are cancelled when the {@link Stream} is closed. Since the last page is only known after its retrieval, up to the
+         * given number of pages beyond the last page can be requested. The default of 0 retrieves every page lazily on demand.
+         * 
+         * @see #withPrefetch(int, ExecutorService)
+         * @param numberOfPages
+         * @return
+         */
+        public PagesProvider withPrefetch(int numberOfPages);
+
+        /**
+         * Similar to {@link #withPrefetch(int)} using the given {@link ExecutorService} to retrieve the pages
+         * 
+         * @param numberOfPages
+         * @param executorService
+         * @return
+         */
+        public PagesProvider withPrefetch(int numberOfPages, ExecutorService executorService);
+
         public <E> StreamablePages<E> usingPageProvider(Function<Paging, Page<E>> page);
 
     }
@@ -55,6 +55,7 @@ import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import org.apache.commons.io.IOUtils;
@@ -545,7 +546,7 @@ public class StringUtils
      */
     public static Stream<String> splitToNGramsStream(String str, int size)
     {
-        return splitToNGramsStream(splitToStream(str), size);
+        return determineNGramStartIndexes(str, size).mapToObj(index -> str.substring(index, index + size));
     }
 
     /**
@@ -557,7 +558,12 @@ public class StringUtils
      */
     public static Stream<BiElement<Long, String>> splitToNGramsPositionStream(String str, int size)
     {
-        return splitToNGramsPositionStream(splitToStream(str), size);
+        return determineNGramStartIndexes(str, size).mapToObj(index -> BiElement.of((long) index + (size - 1) / 2, str.substring(index, index + size)));
+    }
+
+    private static IntStream determineNGramStartIndexes(String str, int size)
+    {
+        return str != null && size > 0 ? IntStream.rangeClosed(0, str.length() - size) : IntStream.empty();
     }
 
     /**
@@ -0,0 +1,169 @@
+/*******************************************************************************
+ * Copyright 2026 Danny Kunz
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.omnaest.utils.buffer;
+
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+
+/**
+ * Position handling of a cyclic buffer with a fixed capacity, which is independent from the type of the stored elements.<br>
+ * <br>
+ * Half of the buffer is read ahead from the source. The next source element is read lazily when the buffer advances to the next read position, so the
+ * window of the current read position stays valid until the next advance and no copy of the buffer is necessary. Windows detect if the source has been read
+ * further and fail with a {@link ConcurrentModificationException} instead of returning overwritten elements.
+ * 
+ * @author omnaest
+ */
+abstract class AbstractCyclicBuffer
+{
+    protected final int capacity;
+
+    private long        sourcePosition = 0;
+    private long        readPosition   = 0;
+    private boolean     pendingRead    = false;
+
+    protected AbstractCyclicBuffer(int capacity)
+    {
+        super();
+        this.capacity = capacity;
+    }
+
+    protected abstract boolean hasSourceElement();
+
+    /**
+     * Reads the next element from the source and writes it into the buffer at the given index
+     * 
+     * @param index
+     */
+    protected abstract void readSourceElementInto(int index);
+
+    protected void initializeBufferWithSource()
+    {
+        int halfWindowSize = (int) Math.round(this.capacity / 2.0);
+        for (int ii = 0; ii < halfWindowSize; ii++)
+        {
+            this.readFromSource();
+        }
+    }
+
+    private void readFromSource()
+    {
+        if (this.hasSourceElement())
+        {
+            this.readSourceElementInto(this.determineBufferIndex(this.sourcePosition++));
+        }
+    }
+
+    protected boolean hasUnreadElement()
+    {
+        if (this.pendingRead)
+        {
+            this.pendingRead = false;
+            this.readFromSource();
+        }
+        return this.readPosition < this.sourcePosition;
+    }
+
+    /**
+     * Advances to the next read position, which invalidates the window of the previous read position
+     * 
+     * @return
+     */
+    protected long advance()
+    {
+        if (!this.hasUnreadElement())
+        {
+            throw new NoSuchElementException();
+        }
+        this.pendingRead = true;
+        return this.readPosition++;
+    }
+
+    protected int determineBufferIndex(long position)
+    {
+        return (int) (position % this.capacity);
+    }
+
+    /**
+     * Returns the last position which has been read from the source so far
+     * 
+     * @return
+     */
+    protected long getLastSourcePosition()
+    {
+        return this.sourcePosition - 1;
+    }
+
+    protected int getMaxHalfWindowSize()
+    {
+        return (this.capacity - 1) / 2;
+    }
+
+    /**
+     * Range of positions of a window, which is limited to the available source positions
+     */
+    protected static class Range
+    {
+        private final long fromInclusive;
+        private final long toInclusive;
+
+        public Range(long fromInclusive, long toInclusive)
+        {
+            super();
+            this.fromInclusive = fromInclusive;
+            this.toInclusive = toInclusive;
+        }
+
+        public long getFromInclusive()
+        {
+            return this.fromInclusive;
+        }
+
+        public long getToInclusive()
+        {
+            return this.toInclusive;
+        }
+
+        public int size()
+        {
+            return (int) Math.max(0, this.toInclusive - this.fromInclusive + 1);
+        }
+    }
+
+    protected static Range determineRange(long position, long fromInclusive, long toInclusive, long lastAvailablePosition, int maxHalfWindowSize)
+    {
+        long from = Math.max(0, fromInclusive);
+        long to = Math.min(lastAvailablePosition, toInclusive);
+        if (position - from > maxHalfWindowSize || to - position > maxHalfWindowSize)
+        {
+            throw new IndexOutOfBoundsException("Window size is too small for requested size");
+        }
+        return new Range(from, to);
+    }
+
+    /**
+     * Throws a {@link ConcurrentModificationException} if the buffer has been advanced after the window of the given source position has been created
+     * 
+     * @param lastSourcePosition
+     */
+    protected void assertWindowIsValid(long lastSourcePosition)
+    {
+        if (this.getLastSourcePosition() != lastSourcePosition)
+        {
+            throw new ConcurrentModificationException("Window is no longer valid as the buffer has been advanced. Use snapshot() to retain a window.");
+        }
+    }
+}
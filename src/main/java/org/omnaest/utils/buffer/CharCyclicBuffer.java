@@ -0,0 +1,410 @@
+/*******************************************************************************
+ * Copyright 2026 Danny Kunz
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.omnaest.utils.buffer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.PrimitiveIterator;
+import java.util.stream.Stream;
+
+import org.omnaest.utils.StreamUtils;
+import org.omnaest.utils.exception.RuntimeIOException;
+
+/**
+ * Primitive {@link CyclicBuffer} for characters, which provides the windows as {@link CharSequence} views on the buffer.<br>
+ * <br>
+ * The {@link CharWindow}s and their {@link CharSequence}s are valid until the next source character is read, which happens with the next call of
+ * {@link Iterator#hasNext()} or {@link Iterator#next()} of the {@link #asIterator()}. Outdated views fail with a {@link ConcurrentModificationException}, use
+ * {@link CharWindow#snapshot()} or {@link CharSequence#toString()} to retain them.
+ * 
+ * @see CyclicBuffer
+ * @author omnaest
+ */
+public class CharCyclicBuffer extends AbstractCyclicBuffer
+{
+    private CharSource source;
+    private char[]     buffer;
+
+    public CharCyclicBuffer(int windowSize)
+    {
+        super(windowSize);
+        this.buffer = new char[windowSize];
+    }
+
+    public CharCyclicBuffer withSource(CharSequence source)
+    {
+        PrimitiveIterator.OfInt iterator = source.chars()
+                                                 .iterator();
+        return this.withSource(new CharSource()
+        {
+            @Override
+            public boolean hasNext()
+            {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public char next()
+            {
+                return (char) iterator.nextInt();
+            }
+        });
+    }
+
+    /**
+     * Reads the characters from the given {@link Reader}. The {@link Reader} is not closed.
+     * 
+     * @param source
+     * @return
+     * @throws RuntimeIOException
+     *             if the {@link Reader} fails
+     */
+    public CharCyclicBuffer withSource(Reader source)
+    {
+        return this.withSource(new CharSource()
+        {
+            private int nextCharacter = -2;
+
+            @Override
+            public boolean hasNext()
+            {
+                if (this.nextCharacter == -2)
+                {
+                    try
+                    {
+                        this.nextCharacter = source.read();
+                    }
+                    catch (IOException e)
+                    {
+                        throw new RuntimeIOException(e);
+                    }
+                }
+                return this.nextCharacter >= 0;
+            }
+
+            @Override
+            public char next()
+            {
+                this.hasNext();
+                char character = (char) this.nextCharacter;
+                this.nextCharacter = -2;
+                return character;
+            }
+        });
+    }
+
+    private CharCyclicBuffer withSource(CharSource source)
+    {
+        this.source = source;
+        this.initializeBufferWithSource();
+        return this;
+    }
+
+    private static interface CharSource
+    {
+        public boolean hasNext();
+
+        public char next();
+    }
+
+    /**
+     * Accessor of a single read window of a {@link CharCyclicBuffer}
+     * 
+     * @see CyclicBuffer.Window
+     * @author omnaest
+     */
+    public static interface CharWindow
+    {
+        /**
+         * Returns the character at the current read {@link #getPosition()}
+         * 
+         * @return
+         */
+        public char get();
+
+        /**
+         * Returns the character at the given offset relative to the current read {@link #getPosition()}. E.g. an offset of -1 returns the previous character.
+         * 
+         * @param offset
+         * @return
+         * @throws IndexOutOfBoundsException
+         *             if the offset is outside of the window or of the source
+         */
+        public char get(int offset);
+
+        /**
+         * Returns the current read position
+         * 
+         * @return
+         */
+        public long getPosition();
+
+        /**
+         * Returns the characters before the {@link #getPosition()} excluding the current character
+         * 
+         * @param size
+         * @return
+         */
+        public CharSequence getBefore(int size);
+
+        /**
+         * Returns the characters after the {@link #getPosition()} excluding the current character
+         * 
+         * @param size
+         * @return
+         */
+        public CharSequence getAfter(int size);
+
+        /**
+         * Returns the characters around the {@link #getPosition()} including the current character
+         * 
+         * @param left
+         * @param right
+         * @return
+         */
+        public CharSequence getWindow(int left, int right);
+
+        /**
+         * Returns a copy of this {@link CharWindow} which stays valid after the {@link CharCyclicBuffer} has been advanced
+         * 
+         * @return
+         */
+        public CharWindow snapshot();
+    }
+
+    @Override
+    protected boolean hasSourceElement()
+    {
+        return this.source.hasNext();
+    }
+
+    @Override
+    protected void readSourceElementInto(int index)
+    {
+        this.buffer[index] = this.source.next();
+    }
+
+    private char readPosition(long position)
+    {
+        return this.buffer[this.determineBufferIndex(position)];
+    }
+
+    private CharWindow readFromBuffer()
+    {
+        long position = this.advance();
+        return new BufferCharWindow(position, this.getLastSourcePosition());
+    }
+
+    private static abstract class AbstractCharWindow implements CharWindow
+    {
+        protected final long position;
+        protected final long lastAvailablePosition;
+        protected final int  maxHalfWindowSize;
+
+        protected AbstractCharWindow(long position, long lastAvailablePosition, int maxHalfWindowSize)
+        {
+            super();
+            this.position = position;
+            this.lastAvailablePosition = lastAvailablePosition;
+            this.maxHalfWindowSize = maxHalfWindowSize;
+        }
+
+        protected abstract char read(long position);
+
+        @Override
+        public char get()
+        {
+            return this.read(this.position);
+        }
+
+        @Override
+        public char get(int offset)
+        {
+            Range range = this.determineRange(this.position + offset, this.position + offset);
+            if (range.size() != 1)
+            {
+                throw new IndexOutOfBoundsException("Offset " + offset + " is outside of the source");
+            }
+            return this.read(range.getFromInclusive());
+        }
+
+        @Override
+        public long getPosition()
+        {
+            return this.position;
+        }
+
+        @Override
+        public CharSequence getBefore(int size)
+        {
+            return this.readFromTo(this.position - size, this.position - 1);
+        }
+
+        @Override
+        public CharSequence getAfter(int size)
+        {
+            return this.readFromTo(this.position + 1, this.position + size);
+        }
+
+        @Override
+        public CharSequence getWindow(int left, int right)
+        {
+            return this.readFromTo(this.position - left, this.position + right);
+        }
+
+        protected Range determineRange(long fromInclusive, long toInclusive)
+        {
+            return AbstractCyclicBuffer.determineRange(this.position, fromInclusive, toInclusive, this.lastAvailablePosition, this.maxHalfWindowSize);
+        }
+
+        private CharSequence readFromTo(long fromInclusive, long toInclusive)
+        {
+            Range range = this.determineRange(fromInclusive, toInclusive);
+            return new CharSequenceView(range.getFromInclusive(), range.size());
+        }
+
+        /**
+         * {@link CharSequence} view on a range of positions of the {@link CharWindow}
+         * 
+         * @author omnaest
+         */
+        private class CharSequenceView implements CharSequence
+        {
+            private final long from;
+            private final int  length;
+
+            private CharSequenceView(long from, int length)
+            {
+                super();
+                this.from = from;
+                this.length = length;
+            }
+
+            @Override
+            public int length()
+            {
+                return this.length;
+            }
+
+            @Override
+            public char charAt(int index)
+            {
+                if (index < 0 || index >= this.length)
+                {
+                    throw new IndexOutOfBoundsException("Index: " + index + ", Length: " + this.length);
+                }
+                return AbstractCharWindow.this.read(this.from + index);
+            }
+
+            @Override
+            public CharSequence subSequence(int start, int end)
+            {
+                if (start < 0 || end > this.length || start > end)
+                {
+                    throw new IndexOutOfBoundsException("Start: " + start + ", End: " + end + ", Length: " + this.length);
+                }
+                return new CharSequenceView(this.from + start, end - start);
+            }
+
+            @Override
+            public String toString()
+            {
+                char[] characters = new char[this.length];
+                for (int ii = 0; ii < this.length; ii++)
+                {
+                    characters[ii] = this.charAt(ii);
+                }
+                return new String(characters);
+            }
+        }
+    }
+
+    private class BufferCharWindow extends AbstractCharWindow
+    {
+        private BufferCharWindow(long position, long lastSourcePosition)
+        {
+            super(position, lastSourcePosition, CharCyclicBuffer.this.getMaxHalfWindowSize());
+        }
+
+        @Override
+        protected char read(long position)
+        {
+            CharCyclicBuffer.this.assertWindowIsValid(this.lastAvailablePosition);
+            return CharCyclicBuffer.this.readPosition(position);
+        }
+
+        @Override
+        public CharWindow snapshot()
+        {
+            Range range = this.determineRange(this.position - this.maxHalfWindowSize, this.position + this.maxHalfWindowSize);
+            char[] characters = new char[range.size()];
+            for (int ii = 0; ii < characters.length; ii++)
+            {
+                characters[ii] = this.read(range.getFromInclusive() + ii);
+            }
+            return new SnapshotCharWindow(this.position, range, this.maxHalfWindowSize, characters);
+        }
+    }
+
+    private static class SnapshotCharWindow extends AbstractCharWindow
+    {
+        private final long   firstPosition;
+        private final char[] characters;
+
+        private SnapshotCharWindow(long position, Range range, int maxHalfWindowSize, char[] characters)
+        {
+            super(position, range.getToInclusive(), maxHalfWindowSize);
+            this.firstPosition = range.getFromInclusive();
+            this.characters = characters;
+        }
+
+        @Override
+        protected char read(long position)
+        {
+            return this.characters[(int) (position - this.firstPosition)];
+        }
+
+        @Override
+        public CharWindow snapshot()
+        {
+            return this;
+        }
+    }
+
+    public Iterator<CharWindow> asIterator()
+    {
+        return new Iterator<CharWindow>() {
+            @Override
+            public boolean hasNext()
+            {
+                return CharCyclicBuffer.this.hasUnreadElement();
+            }
+
+            @Override
+            public CharWindow next()
+            {
+                return CharCyclicBuffer.this.readFromBuffer();
+            }
+        };
+    }
+
+    public Stream<CharWindow> asStream()
+    {
+        return StreamUtils.fromIterator(this.asIterator());
+    }
+}
@@ -15,20 +15,25 @@
  ******************************************************************************/
 package org.omnaest.utils.buffer;
 
+import java.util.AbstractList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.RandomAccess;
 import java.util.stream.Stream;
 
-import org.apache.commons.lang.ArrayUtils;
 import org.omnaest.utils.StreamUtils;
 
 /**
  * A cyclic buffer is based on a {@link Object} array which is filled by the elements read by a source {@link Iterator}. The buffer cycles the position the
- * elements are written from the source into the buffer, so that the buffer allows to read a window around the current read position.
+ * elements are written from the source into the buffer, so that the buffer allows to read a window around the current read position.<br>
+ * <br>
+ * The {@link Window}s are views on the buffer and do not copy any elements. A {@link Window} is valid until the next source element is read, which happens
+ * with the next call of {@link Iterator#hasNext()} or {@link Iterator#next()} of the {@link #asIterator()}. An outdated {@link Window} fails with a
+ * {@link ConcurrentModificationException}, use {@link Window#snapshot()} to retain a {@link Window} beyond that.
  * 
  * @see #withSource(Iterator)
  * @see #withSource(Stream)
@@ -38,16 +43,14 @@ import org.omnaest.utils.StreamUtils;
  * @author omnaest
  * @param <E>
  */
-public class CyclicBuffer<E>
+public class CyclicBuffer<E> extends AbstractCyclicBuffer
 {
     private Iterator<E> source;
-    private AtomicLong  sourcePosition = new AtomicLong();
-    private AtomicLong  readPosition   = new AtomicLong(0);
     private Object[]    buffer;
 
     public CyclicBuffer(int windowSize)
     {
-        super();
+        super(windowSize);
         this.buffer = new Object[windowSize];
     }
 
@@ -73,6 +76,7 @@ public class CyclicBuffer<E>
      * 
      * @see #get()
      * @see #getPosition()
+     * @see #snapshot()
      * @author omnaest
      * @param <E>
      */
@@ -117,6 +121,13 @@ public class CyclicBuffer<E>
          * @return
          */
         public List<E> getWindow(int left, int right);
+
+        /**
+         * Returns a copy of this {@link Window} which stays valid after the {@link CyclicBuffer} has been advanced
+         * 
+         * @return
+         */
+        public Window<E> snapshot();
     }
 
     public static interface BufferAccessor<E>
@@ -124,134 +135,212 @@ public class CyclicBuffer<E>
         public E get(int index);
     }
 
-    private void initializeBufferWithSource()
+    @Override
+    protected boolean hasSourceElement()
     {
-        int halfWindowSize = (int) Math.round(this.buffer.length / 2.0);
-        for (int ii = 0; ii < halfWindowSize; ii++)
-        {
-            this.readFromSource();
-        }
+        return this.source.hasNext();
     }
 
-    private void readFromSource()
+    @Override
+    protected void readSourceElementInto(int index)
     {
-        if (this.source.hasNext())
-        {
-            E element = this.source.next();
-            long position = this.sourcePosition.getAndIncrement();
+        this.buffer[index] = this.source.next();
+    }
 
-            int index = this.determineBufferIndex(position, this.buffer);
-            this.buffer[index] = element;
-        }
+    @SuppressWarnings("unchecked")
+    private E readPosition(long position)
+    {
+        return (E) this.buffer[this.determineBufferIndex(position)];
     }
 
     private Window<E> readFromBuffer()
     {
-        //
-        long position = this.readPosition.getAndIncrement();
+        long position = this.advance();
+        return new BufferWindow(position, this.getLastSourcePosition(), this.readPosition(position));
+    }
 
-        Window<E> retval = new Window<E>() {
-            private Object[] buffer = CyclicBuffer.this.cloneBuffer();
+    /**
+     * {@link Window} view on the {@link CyclicBuffer}
+     * 
+     * @author omnaest
+     */
+    private class BufferWindow implements Window<E>
+    {
+        private final long position;
+        private final long lastSourcePosition;
+        private final E    element;
 
-            @Override
-            public E get()
-            {
-                E element = this.readPosition(position);
-                return element;
-            }
+        private BufferWindow(long position, long lastSourcePosition, E element)
+        {
+            super();
+            this.position = position;
+            this.lastSourcePosition = lastSourcePosition;
+            this.element = element;
+        }
 
-            @Override
-            public List<E> getBefore(int size)
-            {
-                return this.readFromTo(position - size, position - 1);
-            }
+        @Override
+        public E get()
+        {
+            return this.element;
+        }
 
-            @Override
-            public List<E> getAfter(int size)
-            {
-                return this.readFromTo(position + 1, position + size);
-            }
+        @Override
+        public long getPosition()
+        {
+            return this.position;
+        }
 
-            @Override
-            public List<E> getWindow(int left, int right)
-            {
-                return this.readFromTo(position - left, position + right);
-            }
+        @Override
+        public List<E> getBefore(int size)
+        {
+            return this.readFromTo(this.position - size, this.position - 1);
+        }
 
-            @Override
-            public long getPosition()
-            {
-                return position;
-            }
+        @Override
+        public List<E> getAfter(int size)
+        {
+            return this.readFromTo(this.position + 1, this.position + size);
+        }
+
+        @Override
+        public List<E> getWindow(int left, int right)
+        {
+            return this.readFromTo(this.position - left, this.position + right);
+        }
 
-            @SuppressWarnings("unchecked")
-            private E readPosition(long position)
+        @Override
+        public Window<E> snapshot()
+        {
+            CyclicBuffer.this.assertWindowIsValid(this.lastSourcePosition);
+            int maxHalfWindowSize = CyclicBuffer.this.getMaxHalfWindowSize();
+            Range range = determineRange(this.position, this.position - maxHalfWindowSize, this.position + maxHalfWindowSize, this.lastSourcePosition,
+                                         maxHalfWindowSize);
+            Object[] elements = new Object[range.size()];
+            for (int ii = 0; ii < elements.length; ii++)
             {
-                int index = CyclicBuffer.this.determineBufferIndex(position, this.buffer);
-                E element = (E) this.buffer[index];
-                return element;
+                elements[ii] = CyclicBuffer.this.readPosition(range.getFromInclusive() + ii);
             }
+            return new SnapshotWindow<>(this.position, range, maxHalfWindowSize, elements);
+        }
 
-            @SuppressWarnings("unchecked")
-            private List<E> readFromTo(long fromInclusive, long toInclusive)
+        private List<E> readFromTo(long fromInclusive, long toInclusive)
+        {
+            CyclicBuffer.this.assertWindowIsValid(this.lastSourcePosition);
+            Range range = determineRange(this.position, fromInclusive, toInclusive, this.lastSourcePosition, CyclicBuffer.this.getMaxHalfWindowSize());
+            if (range.size() <= 0)
             {
-                //
-                List<E> retlist = Collections.emptyList();
-
-                //
-                fromInclusive = fromInclusive >= 0 ? fromInclusive : 0;
-                toInclusive = toInclusive <= CyclicBuffer.this.sourcePosition.get() - 1 ? toInclusive : CyclicBuffer.this.sourcePosition.get() - 1;
-
-                //
-                this.assertIndexPositionsInBufferRange(position, fromInclusive, toInclusive);
-
-                //
-                int size = (int) (toInclusive - fromInclusive + 1);
-                if (size > 0)
-                {
-                    Object[] retval = new Object[size];
-                    for (long ii = fromInclusive; ii <= toInclusive; ii++)
-                    {
-                        E element = this.readPosition(ii);
-                        retval[(int) (ii - fromInclusive)] = element;
-                    }
-                    retlist = (List<E>) Arrays.asList(retval);
-                }
-
-                //
-                return retlist;
+                return Collections.emptyList();
             }
+            return new BufferView(range, this.lastSourcePosition);
+        }
+    }
+
+    /**
+     * {@link List} view on a range of the buffer positions
+     * 
+     * @author omnaest
+     */
+    private class BufferView extends AbstractList<E> implements RandomAccess
+    {
+        private final Range range;
+        private final long  lastSourcePosition;
 
-            private void assertIndexPositionsInBufferRange(long position, long fromInclusive, long toInclusive)
+        private BufferView(Range range, long lastSourcePosition)
+        {
+            super();
+            this.range = range;
+            this.lastSourcePosition = lastSourcePosition;
+        }
+
+        @Override
+        public E get(int index)
+        {
+            if (index < 0 || index >= this.range.size())
             {
-                int maxHalfWindowSize = (this.buffer.length - 1) / 2;
-                if (position - fromInclusive > maxHalfWindowSize || toInclusive - position > maxHalfWindowSize)
-                {
-                    throw new IndexOutOfBoundsException("Window size is too small for requested size");
-                }
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.range.size());
             }
-        };
-
-        //
-        this.readFromSource();
+            CyclicBuffer.this.assertWindowIsValid(this.lastSourcePosition);
+            return CyclicBuffer.this.readPosition(this.range.getFromInclusive() + index);
+        }
 
-        //
-        return retval;
+        @Override
+        public int size()
+        {
+            return this.range.size();
+        }
     }
 
-    private Object[] cloneBuffer()
+    /**
+     * Detached {@link Window} holding a copy of all elements which were accessible by the original {@link Window}
+     * 
+     * @author omnaest
+     * @param <E>
+     */
+    private static class SnapshotWindow<E> implements Window<E>
     {
-        return ArrayUtils.clone(this.buffer);
-    }
+        private final long     position;
+        private final Range    range;
+        private final int      maxHalfWindowSize;
+        private final Object[] elements;
 
-    private int determineBufferIndex(long position, Object[] buffer)
-    {
-        return (int) (position % buffer.length);
-    }
+        private SnapshotWindow(long position, Range range, int maxHalfWindowSize, Object[] elements)
+        {
+            super();
+            this.position = position;
+            this.range = range;
+            this.maxHalfWindowSize = maxHalfWindowSize;
+            this.elements = elements;
+        }
 
-    private boolean hasUnreadElement()
-    {
-        return this.readPosition.get() < this.sourcePosition.get();
+        @Override
+        @SuppressWarnings("unchecked")
+        public E get()
+        {
+            return (E) this.elements[(int) (this.position - this.range.getFromInclusive())];
+        }
+
+        @Override
+        public long getPosition()
+        {
+            return this.position;
+        }
+
+        @Override
+        public List<E> getBefore(int size)
+        {
+            return this.readFromTo(this.position - size, this.position - 1);
+        }
+
+        @Override
+        public List<E> getAfter(int size)
+        {
+            return this.readFromTo(this.position + 1, this.position + size);
+        }
+
+        @Override
+        public List<E> getWindow(int left, int right)
+        {
+            return this.readFromTo(this.position - left, this.position + right);
+        }
+
+        @Override
+        public Window<E> snapshot()
+        {
+            return this;
+        }
+
+        @SuppressWarnings("unchecked")
+        private List<E> readFromTo(long fromInclusive, long toInclusive)
+        {
+            Range range = determineRange(this.position, fromInclusive, toInclusive, this.range.getToInclusive(), this.maxHalfWindowSize);
+            if (range.size() <= 0)
+            {
+                return Collections.emptyList();
+            }
+            int offset = (int) (range.getFromInclusive() - this.range.getFromInclusive());
+            return Collections.unmodifiableList((List<E>) Arrays.asList(this.elements)
+                                                                .subList(offset, offset + range.size()));
+        }
     }
 
     public Iterator<Window<E>> asIterator()
@@ -0,0 +1,296 @@
+/*******************************************************************************
+ * Copyright 2026 Danny Kunz
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.omnaest.utils.buffer;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.PrimitiveIterator;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.omnaest.utils.StreamUtils;
+
+/**
+ * Primitive {@link CyclicBuffer} for int values which avoids the boxing of each element.<br>
+ * <br>
+ * The {@link IntWindow}s are views on the buffer and valid until the next source element is read, which happens with the next call of
+ * {@link Iterator#hasNext()} or {@link Iterator#next()} of the {@link #asIterator()}. Outdated {@link IntWindow}s fail with a
+ * {@link ConcurrentModificationException}, use {@link IntWindow#snapshot()} to retain an {@link IntWindow}.
+ * 
+ * @see CyclicBuffer
+ * @author omnaest
+ */
+public class IntCyclicBuffer extends AbstractCyclicBuffer
+{
+    private PrimitiveIterator.OfInt source;
+    private int[]                   buffer;
+
+    public IntCyclicBuffer(int windowSize)
+    {
+        super(windowSize);
+        this.buffer = new int[windowSize];
+    }
+
+    public IntCyclicBuffer withSource(PrimitiveIterator.OfInt source)
+    {
+        this.source = source;
+        this.initializeBufferWithSource();
+        return this;
+    }
+
+    public IntCyclicBuffer withSource(IntStream source)
+    {
+        return this.withSource(source.iterator());
+    }
+
+    public IntCyclicBuffer withSource(int... source)
+    {
+        return this.withSource(IntStream.of(source));
+    }
+
+    /**
+     * Accessor of a single read window of an {@link IntCyclicBuffer}
+     * 
+     * @see CyclicBuffer.Window
+     * @author omnaest
+     */
+    public static interface IntWindow
+    {
+        /**
+         * Returns the value at the current read {@link #getPosition()}
+         * 
+         * @return
+         */
+        public int get();
+
+        /**
+         * Returns the value at the given offset relative to the current read {@link #getPosition()}. E.g. an offset of -1 returns the previous value.
+         * 
+         * @param offset
+         * @return
+         * @throws IndexOutOfBoundsException
+         *             if the offset is outside of the window or of the source
+         */
+        public int get(int offset);
+
+        /**
+         * Returns the current read position
+         * 
+         * @return
+         */
+        public long getPosition();
+
+        /**
+         * Returns the values before the {@link #getPosition()} excluding the current value
+         * 
+         * @param size
+         * @return
+         */
+        public IntStream getBefore(int size);
+
+        /**
+         * Returns the values after the {@link #getPosition()} excluding the current value
+         * 
+         * @param size
+         * @return
+         */
+        public IntStream getAfter(int size);
+
+        /**
+         * Returns the values around the {@link #getPosition()} including the current value
+         * 
+         * @param left
+         * @param right
+         * @return
+         */
+        public IntStream getWindow(int left, int right);
+
+        /**
+         * Returns a copy of this {@link IntWindow} which stays valid after the {@link IntCyclicBuffer} has been advanced
+         * 
+         * @return
+         */
+        public IntWindow snapshot();
+    }
+
+    @Override
+    protected boolean hasSourceElement()
+    {
+        return this.source.hasNext();
+    }
+
+    @Override
+    protected void readSourceElementInto(int index)
+    {
+        this.buffer[index] = this.source.nextInt();
+    }
+
+    private int readPosition(long position)
+    {
+        return this.buffer[this.determineBufferIndex(position)];
+    }
+
+    private IntWindow readFromBuffer()
+    {
+        long position = this.advance();
+        return new BufferIntWindow(position, this.getLastSourcePosition());
+    }
+
+    private static abstract class AbstractIntWindow implements IntWindow
+    {
+        protected final long position;
+        protected final long lastAvailablePosition;
+        protected final int  maxHalfWindowSize;
+
+        protected AbstractIntWindow(long position, long lastAvailablePosition, int maxHalfWindowSize)
+        {
+            super();
+            this.position = position;
+            this.lastAvailablePosition = lastAvailablePosition;
+            this.maxHalfWindowSize = maxHalfWindowSize;
+        }
+
+        protected abstract int read(long position);
+
+        @Override
+        public int get()
+        {
+            return this.read(this.position);
+        }
+
+        @Override
+        public int get(int offset)
+        {
+            Range range = this.determineRange(this.position + offset, this.position + offset);
+            if (range.size() != 1)
+            {
+                throw new IndexOutOfBoundsException("Offset " + offset + " is outside of the source");
+            }
+            return this.read(range.getFromInclusive());
+        }
+
+        @Override
+        public long getPosition()
+        {
+            return this.position;
+        }
+
+        @Override
+        public IntStream getBefore(int size)
+        {
+            return this.readFromTo(this.position - size, this.position - 1);
+        }
+
+        @Override
+        public IntStream getAfter(int size)
+        {
+            return this.readFromTo(this.position + 1, this.position + size);
+        }
+
+        @Override
+        public IntStream getWindow(int left, int right)
+        {
+            return this.readFromTo(this.position - left, this.position + right);
+        }
+
+        protected Range determineRange(long fromInclusive, long toInclusive)
+        {
+            return AbstractCyclicBuffer.determineRange(this.position, fromInclusive, toInclusive, this.lastAvailablePosition, this.maxHalfWindowSize);
+        }
+
+        private IntStream readFromTo(long fromInclusive, long toInclusive)
+        {
+            Range range = this.determineRange(fromInclusive, toInclusive);
+            long from = range.getFromInclusive();
+            return IntStream.range(0, range.size())
+                            .map(index -> this.read(from + index));
+        }
+    }
+
+    private class BufferIntWindow extends AbstractIntWindow
+    {
+        private BufferIntWindow(long position, long lastSourcePosition)
+        {
+            super(position, lastSourcePosition, IntCyclicBuffer.this.getMaxHalfWindowSize());
+        }
+
+        @Override
+        protected int read(long position)
+        {
+            IntCyclicBuffer.this.assertWindowIsValid(this.lastAvailablePosition);
+            return IntCyclicBuffer.this.readPosition(position);
+        }
+
+        @Override
+        public IntWindow snapshot()
+        {
+            Range range = this.determineRange(this.position - this.maxHalfWindowSize, this.position + this.maxHalfWindowSize);
+            int[] values = new int[range.size()];
+            for (int ii = 0; ii < values.length; ii++)
+            {
+                values[ii] = this.read(range.getFromInclusive() + ii);
+            }
+            return new SnapshotIntWindow(this.position, range, this.maxHalfWindowSize, values);
+        }
+    }
+
+    private static class SnapshotIntWindow extends AbstractIntWindow
+    {
+        private final long  firstPosition;
+        private final int[] values;
+
+        private SnapshotIntWindow(long position, Range range, int maxHalfWindowSize, int[] values)
+        {
+            super(position, range.getToInclusive(), maxHalfWindowSize);
+            this.firstPosition = range.getFromInclusive();
+            this.values = values;
+        }
+
+        @Override
+        protected int read(long position)
+        {
+            return this.values[(int) (position - this.firstPosition)];
+        }
+
+        @Override
+        public IntWindow snapshot()
+        {
+            return this;
+        }
+    }
+
+    public Iterator<IntWindow> asIterator()
+    {
+        return new Iterator<IntWindow>() {
+            @Override
+            public boolean hasNext()
+            {
+                return IntCyclicBuffer.this.hasUnreadElement();
+            }
+
+            @Override
+            public IntWindow next()
+            {
+                return IntCyclicBuffer.this.readFromBuffer();
+            }
+        };
+    }
+
+    public Stream<IntWindow> asStream()
+    {
+        return StreamUtils.fromIterator(this.asIterator());
+    }
+}
@@ -0,0 +1,112 @@
+/*******************************************************************************
+ * Copyright 2026 Danny Kunz
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.omnaest.utils.compression;
+
+import java.util.Collection;
+import java.util.zip.Deflater;
+
+import org.omnaest.utils.IOUtils;
+import org.omnaest.utils.compression.internal.DeflateCompressionCodec;
+import org.omnaest.utils.compression.internal.DictionaryTrainer;
+import org.omnaest.utils.compression.internal.NoCompressionCodec;
+import org.omnaest.utils.compression.internal.ZipCompressionCodec;
+
+/**
+ * Codec which compresses and uncompresses byte arrays. The compressed data of one codec can only be uncompressed by a codec with the same type and
+ * configuration.
+ * 
+ * @see #deflate()
+ * @see #zip()
+ * @see #none()
+ * @author omnaest
+ */
+public interface CompressionCodec
+{
+    public byte[] compress(byte[] data);
+
+    public byte[] uncompress(byte[] data);
+
+    /**
+     * Returns a {@link CompressionCodec} which does not alter the data at all
+     * 
+     * @return
+     */
+    public static CompressionCodec none()
+    {
+        return NoCompressionCodec.INSTANCE;
+    }
+
+    /**
+     * Returns a {@link CompressionCodec} which writes a full zip archive with a single entry, compatible to {@link IOUtils#compress(byte[])}
+     * 
+     * @return
+     */
+    public static CompressionCodec zip()
+    {
+        return ZipCompressionCodec.INSTANCE;
+    }
+
+    /**
+     * Returns a raw {@link Deflater} based {@link CompressionCodec} with the {@link Deflater#DEFAULT_COMPRESSION} level
+     * 
+     * @see #deflate(int)
+     * @return
+     */
+    public static CompressionCodec deflate()
+    {
+        return deflate(Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * Returns a raw {@link Deflater} based {@link CompressionCodec} without any zip framing. The {@link Deflater} instances are reused per
+     * {@link Thread}. Data which does not shrink by compression is stored as it is with a single byte of overhead.
+     * 
+     * @param level
+     *            {@link Deflater#BEST_SPEED} to {@link Deflater#BEST_COMPRESSION} or {@link Deflater#DEFAULT_COMPRESSION}
+     * @return
+     */
+    public static CompressionCodec deflate(int level)
+    {
+        return new DeflateCompressionCodec(level, null);
+    }
+
+    /**
+     * Similar to {@link #deflate(int)} but uses the given preset dictionary, which improves the compression of small data with content similar to the
+     * dictionary. The same dictionary has to be provided to uncompress the data again.
+     * 
+     * @see #trainDictionary(Collection, int)
+     * @param level
+     * @param dictionary
+     * @return
+     */
+    public static CompressionCodec deflate(int level, byte[] dictionary)
+    {
+        return new DeflateCompressionCodec(level, dictionary);
+    }
+
+    /**
+     * Builds a preset dictionary for {@link #deflate(int, byte[])} out of the byte sequences which occur most frequently in the given sample data
+     * 
+     * @param samples
+     * @param maximumDictionarySize
+     *            maximum size in bytes, values above 32768 are not utilized by the deflate algorithm
+     * @return
+     */
+    public static byte[] trainDictionary(Collection<byte[]> samples, int maximumDictionarySize)
+    {
+        return DictionaryTrainer.train(samples, maximumDictionarySize);
+    }
+}
@@ -0,0 +1,139 @@
+/*******************************************************************************
+ * Copyright 2026 Danny Kunz
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.omnaest.utils.compression.internal;
+
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.omnaest.utils.ByteArrayUtils;
+import org.omnaest.utils.compression.CompressionCodec;
+
+/**
+ * Raw {@link Deflater} based {@link CompressionCodec}. The compressed data starts with a single mode byte, followed by either the original data or the
+ * variable length encoded original size and the deflated data.
+ * 
+ * @author omnaest
+ */
+public class DeflateCompressionCodec implements CompressionCodec
+{
+    private static final byte           MODE_STORED   = 0;
+    private static final byte           MODE_DEFLATED = 1;
+
+    private final byte[]                dictionary;
+    private final ThreadLocal<Deflater> deflater;
+    private final ThreadLocal<Inflater> inflater      = ThreadLocal.withInitial(() -> new Inflater(true));
+
+    public DeflateCompressionCodec(int level, byte[] dictionary)
+    {
+        super();
+        this.dictionary = dictionary;
+        this.deflater = ThreadLocal.withInitial(() -> new Deflater(level, true));
+    }
+
+    @Override
+    public byte[] compress(byte[] data)
+    {
+        if (data == null)
+        {
+            return null;
+        }
+
+        int headerSize = Byte.BYTES + ByteArrayUtils.determineVarIntegerSize(data.length);
+        int storedSize = Byte.BYTES + data.length;
+
+        byte[] buffer = new byte[storedSize];
+        int offset = headerSize;
+        if (data.length > 0)
+        {
+            Deflater deflater = this.deflater.get();
+            deflater.reset();
+            if (this.dictionary != null)
+            {
+                deflater.setDictionary(this.dictionary);
+            }
+            deflater.setInput(data);
+            deflater.finish();
+            while (!deflater.finished() && offset < buffer.length)
+            {
+                offset += deflater.deflate(buffer, offset, buffer.length - offset);
+            }
+
+            if (deflater.finished() && offset < storedSize)
+            {
+                buffer[0] = MODE_DEFLATED;
+                ByteArrayUtils.writeVarInteger(buffer, Byte.BYTES, data.length);
+                return Arrays.copyOf(buffer, offset);
+            }
+        }
+
+        // compression does not pay off
+        buffer[0] = MODE_STORED;
+        System.arraycopy(data, 0, buffer, Byte.BYTES, data.length);
+        return buffer;
+    }
+
+    @Override
+    public byte[] uncompress(byte[] data)
+    {
+        if (data == null || data.length == 0)
+        {
+            return data;
+        }
+        else if (data[0] == MODE_STORED)
+        {
+            return Arrays.copyOfRange(data, Byte.BYTES, data.length);
+        }
+        else if (data[0] == MODE_DEFLATED)
+        {
+            int length = ByteArrayUtils.readVarInteger(data, Byte.BYTES);
+            int offset = Byte.BYTES + ByteArrayUtils.determineVarIntegerSize(length);
+
+            Inflater inflater = this.inflater.get();
+            inflater.reset();
+            if (this.dictionary != null)
+            {
+                inflater.setDictionary(this.dictionary);
+            }
+            inflater.setInput(data, offset, data.length - offset);
+
+            byte[] result = new byte[length];
+            int position = 0;
+            try
+            {
+                while (position < length)
+                {
+                    int numberOfInflatedBytes = inflater.inflate(result, position, length - position);
+                    if (numberOfInflatedBytes == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary()))
+                    {
+                        throw new IllegalStateException("Compressed data is truncated or has been compressed with a different dictionary");
+                    }
+                    position += numberOfInflatedBytes;
+                }
+            }
+            catch (DataFormatException e)
+            {
+                throw new IllegalStateException(e);
+            }
+            return result;
+        }
+        else
+        {
+            throw new IllegalArgumentException("Unknown compression mode: " + data[0]);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/*******************************************************************************
+ * Copyright 2026 Danny Kunz
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.omnaest.utils.compression.internal;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Builds a preset dictionary out of the byte sequences which occur in the most sample data
+ * 
+ * @author omnaest
+ */
+public class DictionaryTrainer
+{
+    private static final int SEQUENCE_LENGTH = 8;
+
+    public static byte[] train(Collection<byte[]> samples, int maximumDictionarySize)
+    {
+        Map<ByteBuffer, Integer> sequenceToSampleCount = new HashMap<>();
+        for (byte[] sample : Optional.ofNullable(samples)
+                                     .orElse(Collections.emptyList()))
+        {
+            Set<ByteBuffer> sampleSequences = new HashSet<>();
+            for (int ii = 0; ii + SEQUENCE_LENGTH <= sample.length; ii += SEQUENCE_LENGTH / 2)
+            {
+                sampleSequences.add(ByteBuffer.wrap(sample, ii, SEQUENCE_LENGTH)
+                                              .slice());
+            }
+            sampleSequences.forEach(sequence -> sequenceToSampleCount.merge(sequence, 1, Integer::sum));
+        }
+
+        // the deflate algorithm prefers matches with a small distance, so the most frequent sequences are placed at the end of the dictionary
+        List<ByteBuffer> sequences = sequenceToSampleCount.entrySet()
+                                                          .stream()
+                                                          .filter(entry -> entry.getValue() > 1)
+                                                          .sorted(Comparator.comparing((Map.Entry<ByteBuffer, Integer> entry) -> entry.getValue())
+                                                                            .reversed())
+                                                          .limit(Math.max(0, maximumDictionarySize / SEQUENCE_LENGTH))
+                                                          .map(Map.Entry::getKey)
+                                                          .collect(Collectors.toList());
+        Collections.reverse(sequences);
+
+        ByteArrayOutputStream dictionary = new ByteArrayOutputStream();
+        sequences.forEach(sequence -> dictionary.write(sequence.array(), sequence.arrayOffset(), sequence.remaining()));
+        return dictionary.toByteArray();
+    }
+}
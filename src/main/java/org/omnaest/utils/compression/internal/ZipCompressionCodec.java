@@ -0,0 +1,41 @@
+/*******************************************************************************
+ * Copyright 2026 Danny Kunz
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.omnaest.utils.compression.internal;
+
+import org.omnaest.utils.IOUtils;
+import org.omnaest.utils.compression.CompressionCodec;
+
+public class ZipCompressionCodec implements CompressionCodec
+{
+    public static final CompressionCodec INSTANCE = new ZipCompressionCodec();
+
+    private ZipCompressionCodec()
+    {
+        super();
+    }
+
+    @Override
+    public byte[] compress(byte[] data)
+    {
+        return IOUtils.compress(data);
+    }
+
+    @Override
+    public byte[] uncompress(byte[] data)
+    {
+        return IOUtils.uncompress(data);
+    }
+}
@@ -38,15 +38,23 @@ import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
 
+import org.omnaest.utils.duration.TimeDuration;
+import org.omnaest.utils.element.cached.internal.SingleFlightLoader;
+
 /**
+ * {@link CachedElement} based on an {@link AtomicReference}. If the element is not cached, concurrent callers of {@link #get()} do not race each other:
+ * exactly one of them invokes the {@link Supplier}, while the others wait for its result.
+ * 
  * @see CachedElement#of(Supplier)
+ * @see #withLoadTimeout(TimeDuration)
  * @author omnaest
  * @param <E>
  */
 public class AtomicCachedElementImpl<E> implements CachedElement<E>
 {
-    private AtomicReference<E>           element  = new AtomicReference<E>();
-    private AtomicReference<Supplier<E>> supplier = new AtomicReference<>();
+    private AtomicReference<E>             element  = new AtomicReference<E>();
+    private AtomicReference<Supplier<E>>   supplier = new AtomicReference<>();
+    private SingleFlightLoader<Boolean, E> loader   = new SingleFlightLoader<>();
 
     @SuppressWarnings("unchecked")
     public AtomicCachedElementImpl(Supplier<? extends E> supplier)
@@ -55,6 +63,19 @@ public class AtomicCachedElementImpl<E> implements CachedElement<E>
         this.supplier.set((Supplier<E>) supplier);
     }
 
+    /**
+     * Limits the time a caller of {@link #get()} waits for the {@link Supplier} invoked by another caller. If the timeout is exceeded an
+     * {@link IllegalStateException} is thrown.
+     * 
+     * @param timeout
+     * @return
+     */
+    public AtomicCachedElementImpl<E> withLoadTimeout(TimeDuration timeout)
+    {
+        this.loader.withTimeout(timeout);
+        return this;
+    }
+
     @Override
     public E get()
     {
@@ -67,9 +88,12 @@ public class AtomicCachedElementImpl<E> implements CachedElement<E>
     {
         if (retval == null)
         {
-            retval = this.element.updateAndGet(e -> e == null ? this.supplier.get()
-                                                                             .get()
-                    : e);
+            retval = this.loader.load(Boolean.TRUE, this.element::get, () ->
+            {
+                E value = this.supplier.get()
+                                       .get();
+                return this.element.updateAndGet(e -> e == null ? value : e);
+            });
         }
         return retval;
     }
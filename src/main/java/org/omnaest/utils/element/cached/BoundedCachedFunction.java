@@ -0,0 +1,862 @@
+/*******************************************************************************
+ * Copyright 2026 Danny Kunz
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.omnaest.utils.element.cached;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongBiFunction;
+
+import org.omnaest.utils.ExecutorUtils;
+import org.omnaest.utils.duration.TimeDuration;
+import org.omnaest.utils.element.cached.internal.FrequencySketch;
+
+/**
+ * {@link CachedFunction} with a bounded size or weight, time based expiry, optional refresh-ahead and hit/miss/eviction statistics. In contrast to
+ * {@link CachedFunction#of(Function, Map)} the memory consumption does not grow without limit.<br>
+ * <br>
+ * Reads are lock free: the entries are held in a {@link ConcurrentHashMap} and accesses are recorded into striped, lossy buffers, which are applied to the
+ * eviction policy in batches under a single lock. Each key is loaded at most once at a time, concurrent callers of the same key wait for the running load.
+ * <br>
+ * <br>
+ * Available {@link EvictionPolicy}s:
+ * <ul>
+ * <li>{@link EvictionPolicy#WINDOW_TINY_LFU}: new entries pass a small LRU window, afterwards they have to win against the eviction candidate of the main
+ * segmented LRU by their estimated access frequency. This protects frequently used entries from being flushed by scans. (default)</li>
+ * <li>{@link EvictionPolicy#SEGMENTED_LRU}: new entries start in a probation segment and are promoted into a protected segment on their second
+ * access</li>
+ * </ul>
+ * The configuration methods have to be called before the first {@link #apply(Object)}. Null keys bypass the cache and null values are not cached.
+ * 
+ * @see CachedFunction#bounded(Function, long)
+ * @author omnaest
+ * @param <T>
+ * @param <R>
+ */
+public class BoundedCachedFunction<T, R> implements CachedFunction<T, R>
+{
+    public static enum EvictionPolicy
+    {
+        SEGMENTED_LRU, WINDOW_TINY_LFU
+    }
+
+    private static final int                 NUMBER_OF_READ_BUFFERS = Integer.highestOneBit(2 * Runtime.getRuntime()
+                                                                                               .availableProcessors()
+            - 1);
+
+    private final Function<T, R>             function;
+    private final Map<T, Node<T, R>>         map                    = new ConcurrentHashMap<>();
+    private final ReentrantLock              evictionLock           = new ReentrantLock();
+    @SuppressWarnings("unchecked")
+    private final ReadBuffer<Node<T, R>>[]   readBuffers            = (ReadBuffer<Node<T, R>>[]) new ReadBuffer<?>[NUMBER_OF_READ_BUFFERS];
+
+    private long                             maximumWeight          = Long.MAX_VALUE;
+    private ToLongBiFunction<T, R>           weigher                = (key, value) -> 1;
+    private EvictionPolicy                   evictionPolicy         = EvictionPolicy.WINDOW_TINY_LFU;
+    private long                             expireAfterWriteNanos  = 0;
+    private long                             expireAfterAccessNanos = 0;
+    private long                             refreshAfterWriteNanos = 0;
+    private ExecutorService                  refreshExecutor;
+    private LongSupplier                     ticker                 = System::nanoTime;
+
+    private final LongAdder                  hitCount               = new LongAdder();
+    private final LongAdder                  missCount              = new LongAdder();
+    private final LongAdder                  loadSuccessCount       = new LongAdder();
+    private final LongAdder                  loadFailureCount       = new LongAdder();
+    private final LongAdder                  evictionCount          = new LongAdder();
+    private final LongAdder                  totalLoadTimeNanos     = new LongAdder();
+
+    // guarded by evictionLock
+    private final AccessOrderDeque<T, R>     window                 = new AccessOrderDeque<>();
+    private final AccessOrderDeque<T, R>     probation              = new AccessOrderDeque<>();
+    private final AccessOrderDeque<T, R>     protectedSegment       = new AccessOrderDeque<>();
+    private final WriteOrderDeque<T, R>      writeOrder             = new WriteOrderDeque<>();
+    private FrequencySketch                  frequencySketch;
+    private long                             totalWeight            = 0;
+
+    protected BoundedCachedFunction(Function<T, R> function)
+    {
+        super();
+        this.function = function;
+        for (int ii = 0; ii < this.readBuffers.length; ii++)
+        {
+            this.readBuffers[ii] = new ReadBuffer<>();
+        }
+    }
+
+    public static <T, R> BoundedCachedFunction<T, R> of(Function<T, R> function)
+    {
+        return new BoundedCachedFunction<>(function);
+    }
+
+    /**
+     * Limits the number of cached entries
+     * 
+     * @param maximumSize
+     * @return
+     */
+    public BoundedCachedFunction<T, R> withMaximumSize(long maximumSize)
+    {
+        return this.withMaximumWeight(maximumSize, (key, value) -> 1);
+    }
+
+    /**
+     * Limits the sum of the weights of all cached entries. The weight of an entry is determined once when it is loaded.
+     * 
+     * @param maximumWeight
+     * @param weigher
+     * @return
+     */
+    public BoundedCachedFunction<T, R> withMaximumWeight(long maximumWeight, ToLongBiFunction<T, R> weigher)
+    {
+        this.maximumWeight = Math.max(0, maximumWeight);
+        this.weigher = weigher;
+        return this;
+    }
+
+    public BoundedCachedFunction<T, R> withEvictionPolicy(EvictionPolicy evictionPolicy)
+    {
+        this.evictionPolicy = evictionPolicy;
+        return this;
+    }
+
+    /**
+     * Entries expire after the given {@link TimeDuration} since they have been loaded
+     * 
+     * @param timeDuration
+     * @return
+     */
+    public BoundedCachedFunction<T, R> withExpireAfterWrite(TimeDuration timeDuration)
+    {
+        this.expireAfterWriteNanos = timeDuration.as(TimeUnit.NANOSECONDS);
+        return this;
+    }
+
+    /**
+     * Entries expire after the given {@link TimeDuration} since their last access
+     * 
+     * @param timeDuration
+     * @return
+     */
+    public BoundedCachedFunction<T, R> withExpireAfterAccess(TimeDuration timeDuration)
+    {
+        this.expireAfterAccessNanos = timeDuration.as(TimeUnit.NANOSECONDS);
+        return this;
+    }
+
+    /**
+     * Accessing an entry which has been loaded longer ago than the given {@link TimeDuration} triggers an asynchronous reload, while the current value is
+     * returned immediately. If the reload fails, the current value is kept.
+     * 
+     * @see #withRefreshAfterWrite(TimeDuration, ExecutorService)
+     * @param timeDuration
+     * @return
+     */
+    public BoundedCachedFunction<T, R> withRefreshAfterWrite(TimeDuration timeDuration)
+    {
+        return this.withRefreshAfterWrite(timeDuration, ExecutorUtils.sharedCachedThreadPool());
+    }
+
+    public BoundedCachedFunction<T, R> withRefreshAfterWrite(TimeDuration timeDuration, ExecutorService executorService)
+    {
+        this.refreshAfterWriteNanos = timeDuration.as(TimeUnit.NANOSECONDS);
+        this.refreshExecutor = executorService;
+        return this;
+    }
+
+    /**
+     * Sets the nano time source, which allows to control the expiry in tests
+     * 
+     * @param ticker
+     * @return
+     */
+    BoundedCachedFunction<T, R> withTicker(LongSupplier ticker)
+    {
+        this.ticker = ticker;
+        return this;
+    }
+
+    @Override
+    public R apply(T key)
+    {
+        return this.get(key, this.function);
+    }
+
+    /**
+     * Similar to {@link #apply(Object)} but uses the given loader instead of the {@link Function} of this {@link BoundedCachedFunction}, if the key is not
+     * cached yet. Refreshes triggered by {@link #withRefreshAfterWrite(TimeDuration)} always use the {@link Function} of this {@link BoundedCachedFunction}.
+     * 
+     * @param key
+     * @param loader
+     * @return
+     */
+    public R get(T key, Function<? super T, ? extends R> loader)
+    {
+        if (key == null)
+        {
+            return loader.apply(key);
+        }
+
+        long now = this.ticker.getAsLong();
+        Node<T, R> node = this.map.get(key);
+        if (node != null && !this.isExpired(node, now))
+        {
+            this.hitCount.increment();
+            node.accessTime = now;
+            this.recordAccess(node);
+            this.refreshIfNecessary(node, now);
+            return node.value;
+        }
+
+        return this.load(key, loader, now);
+    }
+
+    private R load(T key, Function<? super T, ? extends R> loader, long now)
+    {
+        @SuppressWarnings("unchecked")
+        Node<T, R>[] createdAndReplacedNode = (Node<T, R>[]) new Node<?, ?>[2];
+        Node<T, R> node = this.map.compute(key, (k, existing) ->
+        {
+            if (existing != null && !this.isExpired(existing, now))
+            {
+                return existing;
+            }
+            createdAndReplacedNode[1] = existing;
+            this.missCount.increment();
+            R value = this.loadValue(k, loader);
+            createdAndReplacedNode[0] = value != null ? new Node<>(k, value, this.weigher.applyAsLong(k, value), this.ticker.getAsLong()) : null;
+            return createdAndReplacedNode[0];
+        });
+
+        if (createdAndReplacedNode[0] != null || createdAndReplacedNode[1] != null)
+        {
+            this.afterWrite(createdAndReplacedNode[0], createdAndReplacedNode[1]);
+        }
+        else if (node != null)
+        {
+            // loaded concurrently by another caller
+            this.hitCount.increment();
+        }
+        return node != null ? node.value : null;
+    }
+
+    private R loadValue(T key, Function<? super T, ? extends R> loader)
+    {
+        long start = this.ticker.getAsLong();
+        try
+        {
+            R value = loader.apply(key);
+            this.loadSuccessCount.increment();
+            return value;
+        }
+        catch (RuntimeException | Error e)
+        {
+            this.loadFailureCount.increment();
+            throw e;
+        }
+        finally
+        {
+            this.totalLoadTimeNanos.add(this.ticker.getAsLong() - start);
+        }
+    }
+
+    private boolean isExpired(Node<T, R> node, long now)
+    {
+        return (this.expireAfterWriteNanos > 0 && now - node.writeTime >= this.expireAfterWriteNanos)
+                || (this.expireAfterAccessNanos > 0 && now - node.accessTime >= this.expireAfterAccessNanos);
+    }
+
+    private void refreshIfNecessary(Node<T, R> node, long now)
+    {
+        if (this.refreshAfterWriteNanos > 0 && now - node.writeTime >= this.refreshAfterWriteNanos && node.refreshing.compareAndSet(false, true))
+        {
+            this.refreshExecutor.submit(() ->
+            {
+                try
+                {
+                    R value = this.loadValue(node.key, this.function);
+                    if (value != null)
+                    {
+                        Node<T, R> refreshedNode = new Node<>(node.key, value, this.weigher.applyAsLong(node.key, value), this.ticker.getAsLong());
+                        if (this.map.replace(node.key, node, refreshedNode))
+                        {
+                            this.afterWrite(refreshedNode, node);
+                        }
+                    }
+                    else if (this.map.remove(node.key, node))
+                    {
+                        this.afterWrite(null, node);
+                    }
+                }
+                catch (RuntimeException e)
+                {
+                    node.refreshing.set(false);
+                }
+            });
+        }
+    }
+
+    private void recordAccess(Node<T, R> node)
+    {
+        ReadBuffer<Node<T, R>> readBuffer = this.readBuffers[Thread.currentThread()
+                                                                   .hashCode()
+                & (this.readBuffers.length - 1)];
+        boolean recorded = readBuffer.offer(node);
+        if ((!recorded || readBuffer.isHalfFull()) && this.evictionLock.tryLock())
+        {
+            try
+            {
+                this.drainReadBuffers();
+            }
+            finally
+            {
+                this.evictionLock.unlock();
+            }
+        }
+    }
+
+    private void afterWrite(Node<T, R> addedNode, Node<T, R> removedNode)
+    {
+        this.evictionLock.lock();
+        try
+        {
+            this.drainReadBuffers();
+            if (removedNode != null)
+            {
+                this.removeFromPolicy(removedNode);
+            }
+            if (addedNode != null)
+            {
+                this.addToPolicy(addedNode);
+            }
+            this.expireEntries(this.ticker.getAsLong());
+            this.evictEntries();
+        }
+        finally
+        {
+            this.evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Removes the entry of the given key from the cache
+     * 
+     * @param key
+     * @return
+     */
+    public BoundedCachedFunction<T, R> invalidate(T key)
+    {
+        if (key != null)
+        {
+            Node<T, R> node = this.map.remove(key);
+            if (node != null)
+            {
+                this.afterWrite(null, node);
+            }
+        }
+        return this;
+    }
+
+    public BoundedCachedFunction<T, R> invalidateAll()
+    {
+        this.map.keySet()
+                .forEach(this::invalidate);
+        return this;
+    }
+
+    /**
+     * Applies all pending accesses and removes expired entries
+     * 
+     * @return
+     */
+    public BoundedCachedFunction<T, R> cleanUp()
+    {
+        this.afterWrite(null, null);
+        return this;
+    }
+
+    /**
+     * Returns the current number of cached entries
+     * 
+     * @return
+     */
+    public long size()
+    {
+        return this.map.size();
+    }
+
+    /**
+     * Returns the number of {@link Node}s tracked for {@link #withExpireAfterWrite(TimeDuration)}
+     * 
+     * @return
+     */
+    int getWriteOrderSize()
+    {
+        this.evictionLock.lock();
+        try
+        {
+            return this.writeOrder.size();
+        }
+        finally
+        {
+            this.evictionLock.unlock();
+        }
+    }
+
+    public CacheStatistics getStatistics()
+    {
+        return new CacheStatistics(this.hitCount.sum(), this.missCount.sum(), this.loadSuccessCount.sum(), this.loadFailureCount.sum(),
+                                   this.evictionCount.sum(), this.totalLoadTimeNanos.sum());
+    }
+
+    private void drainReadBuffers()
+    {
+        for (ReadBuffer<Node<T, R>> readBuffer : this.readBuffers)
+        {
+            readBuffer.drain(this::onAccess);
+        }
+    }
+
+    private boolean isWindowTinyLFU()
+    {
+        return this.evictionPolicy == EvictionPolicy.WINDOW_TINY_LFU && this.maximumWeight < Long.MAX_VALUE;
+    }
+
+    private long determineMaximumWindowWeight()
+    {
+        return this.isWindowTinyLFU() ? Math.max(1, this.maximumWeight / 100) : 0;
+    }
+
+    private long determineMaximumProtectedWeight()
+    {
+        return (this.maximumWeight - this.determineMaximumWindowWeight()) / 5 * 4;
+    }
+
+    private void addToPolicy(Node<T, R> node)
+    {
+        if (node.retired)
+        {
+            // the entry has already been removed from the map before it could be added
+            return;
+        }
+        node.alive = true;
+        this.totalWeight += node.weight;
+        if (this.isWindowTinyLFU())
+        {
+            if (this.frequencySketch == null)
+            {
+                this.frequencySketch = new FrequencySketch(this.maximumWeight);
+            }
+            this.frequencySketch.increment(node.key);
+
+            this.window.addLast(node, Node.WINDOW);
+            long maximumWindowWeight = this.determineMaximumWindowWeight();
+            while (this.window.getWeight() > maximumWindowWeight)
+            {
+                this.probation.addLast(this.window.removeFirst(), Node.PROBATION);
+            }
+        }
+        else
+        {
+            this.probation.addLast(node, Node.PROBATION);
+        }
+
+        if (this.expireAfterWriteNanos > 0)
+        {
+            this.writeOrder.addLast(node);
+        }
+    }
+
+    private void onAccess(Node<T, R> node)
+    {
+        if (!node.alive)
+        {
+            return;
+        }
+
+        if (this.frequencySketch != null)
+        {
+            this.frequencySketch.increment(node.key);
+        }
+
+        if (node.segment == Node.WINDOW)
+        {
+            this.window.moveToLast(node);
+        }
+        else if (node.segment == Node.PROBATION)
+        {
+            this.probation.remove(node);
+            this.protectedSegment.addLast(node, Node.PROTECTED);
+
+            long maximumProtectedWeight = this.determineMaximumProtectedWeight();
+            while (this.protectedSegment.getWeight() > maximumProtectedWeight && this.protectedSegment.getFirst() != node)
+            {
+                this.probation.addLast(this.protectedSegment.removeFirst(), Node.PROBATION);
+            }
+        }
+        else
+        {
+            this.protectedSegment.moveToLast(node);
+        }
+    }
+
+    private void removeFromPolicy(Node<T, R> node)
+    {
+        node.retired = true;
+        if (!node.alive)
+        {
+            return;
+        }
+        node.alive = false;
+        this.totalWeight -= node.weight;
+        this.dequeOf(node)
+            .remove(node);
+        this.writeOrder.remove(node);
+    }
+
+    private AccessOrderDeque<T, R> dequeOf(Node<T, R> node)
+    {
+        return node.segment == Node.WINDOW ? this.window : node.segment == Node.PROBATION ? this.probation : this.protectedSegment;
+    }
+
+    private void expireEntries(long now)
+    {
+        if (this.expireAfterWriteNanos > 0)
+        {
+            while (this.writeOrder.getFirst() != null && this.isExpired(this.writeOrder.getFirst(), now))
+            {
+                this.expire(this.writeOrder.getFirst());
+            }
+        }
+        if (this.expireAfterAccessNanos > 0)
+        {
+            this.expireEntries(this.window, now);
+            this.expireEntries(this.probation, now);
+            this.expireEntries(this.protectedSegment, now);
+        }
+    }
+
+    private void expireEntries(AccessOrderDeque<T, R> deque, long now)
+    {
+        while (deque.getFirst() != null && this.isExpired(deque.getFirst(), now))
+        {
+            this.expire(deque.getFirst());
+        }
+    }
+
+    private void expire(Node<T, R> node)
+    {
+        if (node.alive)
+        {
+            this.removeFromPolicy(node);
+            this.map.remove(node.key, node);
+        }
+        else
+        {
+            this.writeOrder.remove(node);
+        }
+    }
+
+    private void evictEntries()
+    {
+        while (this.totalWeight > this.maximumWeight)
+        {
+            Node<T, R> victim = this.selectVictim();
+            if (victim == null)
+            {
+                break;
+            }
+            this.removeFromPolicy(victim);
+            if (this.map.remove(victim.key, victim))
+            {
+                this.evictionCount.increment();
+            }
+        }
+    }
+
+    private Node<T, R> selectVictim()
+    {
+        Node<T, R> victim = this.probation.getFirst();
+        if (victim == null)
+        {
+            victim = this.protectedSegment.getFirst() != null ? this.protectedSegment.getFirst() : this.window.getFirst();
+        }
+        else if (this.frequencySketch != null)
+        {
+            // the most recent entry of the probation segment is the admission candidate, which has to be more frequent than the victim to be retained
+            Node<T, R> candidate = this.probation.getLast();
+            if (candidate != victim && this.frequencySketch.frequency(candidate.key) <= this.frequencySketch.frequency(victim.key))
+            {
+                victim = candidate;
+            }
+        }
+        return victim;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "BoundedCachedFunction [size=" + this.map.size() + ", maximumWeight=" + this.maximumWeight + ", evictionPolicy=" + this.evictionPolicy
+                + ", statistics=" + this.getStatistics() + "]";
+    }
+
+    private static class Node<T, R>
+    {
+        private static final int    WINDOW     = 0;
+        private static final int    PROBATION  = 1;
+        private static final int    PROTECTED  = 2;
+
+        private final T             key;
+        private final R             value;
+        private final long          weight;
+        private final long          writeTime;
+        private volatile long       accessTime;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        // guarded by evictionLock
+        private boolean             alive      = false;
+        private boolean             retired    = false;
+        private int                 segment;
+        private Node<T, R>          previous;
+        private Node<T, R>          next;
+        private Node<T, R>          previousInWriteOrder;
+        private Node<T, R>          nextInWriteOrder;
+
+        public Node(T key, R value, long weight, long writeTime)
+        {
+            super();
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+            this.writeTime = writeTime;
+            this.accessTime = writeTime;
+        }
+    }
+
+    /**
+     * Doubly linked list of {@link Node}s in access order, the first {@link Node} is the least recently used one
+     * 
+     * @author omnaest
+     */
+    private static class AccessOrderDeque<T, R>
+    {
+        private Node<T, R> first;
+        private Node<T, R> last;
+        private long       weight = 0;
+
+        public Node<T, R> getFirst()
+        {
+            return this.first;
+        }
+
+        public Node<T, R> getLast()
+        {
+            return this.last;
+        }
+
+        public long getWeight()
+        {
+            return this.weight;
+        }
+
+        public void addLast(Node<T, R> node, int segment)
+        {
+            node.segment = segment;
+            node.previous = this.last;
+            node.next = null;
+            if (this.last != null)
+            {
+                this.last.next = node;
+            }
+            else
+            {
+                this.first = node;
+            }
+            this.last = node;
+            this.weight += node.weight;
+        }
+
+        public Node<T, R> removeFirst()
+        {
+            Node<T, R> node = this.first;
+            this.remove(node);
+            return node;
+        }
+
+        public void remove(Node<T, R> node)
+        {
+            if (node.previous != null)
+            {
+                node.previous.next = node.next;
+            }
+            else
+            {
+                this.first = node.next;
+            }
+            if (node.next != null)
+            {
+                node.next.previous = node.previous;
+            }
+            else
+            {
+                this.last = node.previous;
+            }
+            node.previous = null;
+            node.next = null;
+            this.weight -= node.weight;
+        }
+
+        public void moveToLast(Node<T, R> node)
+        {
+            if (node != this.last)
+            {
+                this.remove(node);
+                this.addLast(node, node.segment);
+            }
+        }
+    }
+
+    /**
+     * Doubly linked list of {@link Node}s in write order, the first {@link Node} is the oldest one. Like the {@link AccessOrderDeque} the links are held
+     * by the {@link Node}s themselves, so a removed {@link Node} is unlinked immediately and not retained until it reaches the head.
+     * 
+     * @author omnaest
+     */
+    private static class WriteOrderDeque<T, R>
+    {
+        private Node<T, R> first;
+        private Node<T, R> last;
+        private int        size = 0;
+
+        public Node<T, R> getFirst()
+        {
+            return this.first;
+        }
+
+        public int size()
+        {
+            return this.size;
+        }
+
+        public void addLast(Node<T, R> node)
+        {
+            node.previousInWriteOrder = this.last;
+            node.nextInWriteOrder = null;
+            if (this.last != null)
+            {
+                this.last.nextInWriteOrder = node;
+            }
+            else
+            {
+                this.first = node;
+            }
+            this.last = node;
+            this.size++;
+        }
+
+        public void remove(Node<T, R> node)
+        {
+            if (node.previousInWriteOrder == null && this.first != node)
+            {
+                return;
+            }
+
+            if (node.previousInWriteOrder != null)
+            {
+                node.previousInWriteOrder.nextInWriteOrder = node.nextInWriteOrder;
+            }
+            else
+            {
+                this.first = node.nextInWriteOrder;
+            }
+            if (node.nextInWriteOrder != null)
+            {
+                node.nextInWriteOrder.previousInWriteOrder = node.previousInWriteOrder;
+            }
+            else
+            {
+                this.last = node.previousInWriteOrder;
+            }
+            node.previousInWriteOrder = null;
+            node.nextInWriteOrder = null;
+            this.size--;
+        }
+    }
+
+    /**
+     * Lossy ring buffer which records accesses without locking. If the buffer is full, further accesses are dropped until the buffer is drained.
+     * 
+     * @author omnaest
+     * @param <N>
+     */
+    private static class ReadBuffer<N>
+    {
+        private static final int              SIZE         = 16;
+        private static final int              MASK         = SIZE - 1;
+
+        private final AtomicReferenceArray<N> slots        = new AtomicReferenceArray<>(SIZE);
+        private final AtomicLong              writeCounter = new AtomicLong();
+        private volatile long                 readCounter  = 0;
+
+        public boolean offer(N node)
+        {
+            long writeIndex = this.writeCounter.get();
+            if (writeIndex - this.readCounter >= SIZE)
+            {
+                return false;
+            }
+            if (this.writeCounter.compareAndSet(writeIndex, writeIndex + 1))
+            {
+                this.slots.lazySet((int) (writeIndex & MASK), node);
+            }
+            return true;
+        }
+
+        public boolean isHalfFull()
+        {
+            return this.writeCounter.get() - this.readCounter >= SIZE / 2;
+        }
+
+        public void drain(Consumer<N> consumer)
+        {
+            long writeIndex = this.writeCounter.get();
+            long readIndex = this.readCounter;
+            while (readIndex < writeIndex)
+            {
+                int slot = (int) (readIndex & MASK);
+                N node = this.slots.get(slot);
+                if (node == null)
+                {
+                    // the write of this slot is not yet visible
+                    break;
+                }
+                this.slots.lazySet(slot, null);
+                consumer.accept(node);
+                readIndex++;
+            }
+            this.readCounter = readIndex;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright 2026 Danny Kunz
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.omnaest.utils.element.cached;
+
+/**
+ * Immutable snapshot of the statistics of a cache
+ * 
+ * @see BoundedCachedFunction#getStatistics()
+ * @author omnaest
+ */
+public class CacheStatistics
+{
+    private final long hitCount;
+    private final long missCount;
+    private final long loadSuccessCount;
+    private final long loadFailureCount;
+    private final long evictionCount;
+    private final long totalLoadTimeNanos;
+
+    public CacheStatistics(long hitCount, long missCount, long loadSuccessCount, long loadFailureCount, long evictionCount, long totalLoadTimeNanos)
+    {
+        super();
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.loadSuccessCount = loadSuccessCount;
+        this.loadFailureCount = loadFailureCount;
+        this.evictionCount = evictionCount;
+        this.totalLoadTimeNanos = totalLoadTimeNanos;
+    }
+
+    public long getHitCount()
+    {
+        return this.hitCount;
+    }
+
+    public long getMissCount()
+    {
+        return this.missCount;
+    }
+
+    public long getRequestCount()
+    {
+        return this.hitCount + this.missCount;
+    }
+
+    /**
+     * Returns the ratio of hits to requests or 1.0 if there was no request at all
+     * 
+     * @return
+     */
+    public double getHitRate()
+    {
+        long requestCount = this.getRequestCount();
+        return requestCount == 0 ? 1.0 : (double) this.hitCount / requestCount;
+    }
+
+    public long getLoadSuccessCount()
+    {
+        return this.loadSuccessCount;
+    }
+
+    public long getLoadFailureCount()
+    {
+        return this.loadFailureCount;
+    }
+
+    /**
+     * Returns the number of entries which have been removed because of the size or weight bound
+     * 
+     * @return
+     */
+    public long getEvictionCount()
+    {
+        return this.evictionCount;
+    }
+
+    public long getTotalLoadTimeNanos()
+    {
+        return this.totalLoadTimeNanos;
+    }
+
+    /**
+     * Returns the average duration of a load in nanoseconds
+     * 
+     * @return
+     */
+    public double getAverageLoadPenaltyNanos()
+    {
+        long loadCount = this.loadSuccessCount + this.loadFailureCount;
+        return loadCount == 0 ? 0.0 : (double) this.totalLoadTimeNanos / loadCount;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "CacheStatistics [hitCount=" + this.hitCount + ", missCount=" + this.missCount + ", loadSuccessCount=" + this.loadSuccessCount
+                + ", loadFailureCount=" + this.loadFailureCount + ", evictionCount=" + this.evictionCount + ", totalLoadTimeNanos=" + this.totalLoadTimeNanos
+                + "]";
+    }
+
+}
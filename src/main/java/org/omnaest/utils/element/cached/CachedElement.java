@@ -186,12 +186,13 @@ public interface CachedElement<E> extends Provider<E>
     }
 
     /**
-     * Returns a new {@link CachedElement} instances which wraps this one and enforces a cache eviction after a given {@link TimeDuration}
+     * Returns a new {@link CachedElement} instances which wraps this one and enforces a cache eviction after a given {@link TimeDuration}. The returned
+     * {@link DurationCachedElement} allows to configure an asynchronous refresh-ahead.
      * 
      * @param timeDuration
      * @return
      */
-    public default CachedElement<E> asDurationLimitedCachedElement(TimeDuration timeDuration)
+    public default DurationCachedElement<E> asDurationLimitedCachedElement(TimeDuration timeDuration)
     {
         return new DurationCachedElement<>(this, timeDuration);
     }
@@ -230,6 +231,35 @@ public interface CachedElement<E> extends Provider<E>
         return this;
     }
 
+    /**
+     * Similar to {@link #withFileCache(File, Function, Function)} with the given {@link FileCacheOptions}, which allow e.g. to keep the deserialized element
+     * in memory or to write updates asynchronously. If the element is kept in memory, all callers share the same instance, so a caller must not modify a
+     * returned element, but has to use {@link #updateValue(UnaryOperator)} instead.
+     * 
+     * @param file
+     * @param serializer
+     * @param deserializer
+     * @param options
+     * @return
+     */
+    public default CachedElement<E> withFileCache(File file, Function<E, String> serializer, Function<String, E> deserializer, FileCacheOptions options)
+    {
+        this.setSupplier(new FileCachedElementImpl<E>(this.asNonCachedSupplier(), file, serializer, deserializer, options));
+        return this;
+    }
+
+    public default CachedElement<E> withFileCache(File file, BiConsumer<E, Writer> serializer, Function<Reader, E> deserializer, FileCacheOptions options)
+    {
+        this.setSupplier(new FileCachedElementImpl<E>(this.asNonCachedSupplier(), file, serializer, deserializer, options));
+        return this;
+    }
+
+    public default CachedElement<E> withFileCache(File file, InputOutputStreamSerializerAndDeserializer<E> serializerAndDeserializer, FileCacheOptions options)
+    {
+        this.setSupplier(new FileCachedElementImpl<E>(this.asNonCachedSupplier(), file, serializerAndDeserializer, options));
+        return this;
+    }
+
     /**
      * Returns a new {@link CachedElement} which is {@link Thread}safe
      * 
@@ -242,6 +272,18 @@ public interface CachedElement<E> extends Provider<E>
         return new AtomicCachedElementImpl<>(supplier);
     }
 
+    /**
+     * Similar to {@link #of(Supplier)} but limits the time concurrent callers wait for the {@link Supplier} invoked by another caller
+     * 
+     * @param supplier
+     * @param loadTimeout
+     * @return
+     */
+    public static <E> CachedElement<E> of(Supplier<? extends E> supplier, TimeDuration loadTimeout)
+    {
+        return new AtomicCachedElementImpl<E>(supplier).withLoadTimeout(loadTimeout);
+    }
+
     /**
      * Returns a {@link CachedElement} which caches the value per {@link Thread}
      * 
@@ -15,9 +15,12 @@
  ******************************************************************************/
 package org.omnaest.utils.element.cached;
 
+import java.io.File;
 import java.util.Map;
 import java.util.function.Function;
 
+import org.omnaest.utils.duration.TimeDuration;
+
 /**
  * {@link Function} wrapper which is cached by a {@link Map}
  * 
@@ -38,4 +41,48 @@ public interface CachedFunction<T, R> extends Function<T, R>
     {
         return new MapCachedFunction<>(map, function);
     }
+
+    /**
+     * Similar to {@link #of(Function, Map)} but limits the time concurrent callers wait for the {@link Function} invoked by another caller for the same key
+     * 
+     * @param function
+     * @param map
+     * @param loadTimeout
+     * @return
+     */
+    public static <T, R> CachedFunction<T, R> of(Function<T, R> function, Map<T, R> map, TimeDuration loadTimeout)
+    {
+        return new MapCachedFunction<>(map, function).withLoadTimeout(loadTimeout);
+    }
+
+    /**
+     * Creates a new {@link BoundedCachedFunction} which caches at most the given number of results. Further limits like expiry can be configured on the
+     * returned instance.
+     * 
+     * @param function
+     * @param maximumSize
+     * @return
+     */
+    public static <T, R> BoundedCachedFunction<T, R> bounded(Function<T, R> function, long maximumSize)
+    {
+        return BoundedCachedFunction.of(function)
+                                    .withMaximumSize(maximumSize);
+    }
+
+    /**
+     * Creates a new {@link PersistentCachedFunction} which stores its results within the given directory, so that they survive a restart of the JVM. The
+     * returned instance should be closed to persist the set of most recently used keys, which is loaded into memory again on the next start.
+     * 
+     * @param function
+     * @param directory
+     * @param keySerializer
+     * @param valueSerializer
+     * @param valueDeserializer
+     * @return
+     */
+    public static <T, R> PersistentCachedFunction<T, R> persistent(Function<T, R> function, File directory, Function<T, String> keySerializer,
+                                                                   Function<R, String> valueSerializer, Function<String, R> valueDeserializer)
+    {
+        return PersistentCachedFunction.of(function, directory, keySerializer, valueSerializer, valueDeserializer);
+    }
 }
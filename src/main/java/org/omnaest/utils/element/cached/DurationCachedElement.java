@@ -16,63 +16,202 @@
 package org.omnaest.utils.element.cached;
 
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
 import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
 
-import org.omnaest.utils.duration.DurationCapture;
-import org.omnaest.utils.duration.DurationCapture.DurationMeasurement;
+import org.omnaest.utils.ExecutorUtils;
 import org.omnaest.utils.duration.TimeDuration;
 
 /**
- * {@link CachedElement} wrapper which caches only for a given {@link TimeDuration}
+ * {@link CachedElement} wrapper which caches only for a given {@link TimeDuration}<br>
+ * <br>
+ * By default the element is reset when the {@link TimeDuration} is exceeded, so the next caller has to wait for the reload. With
+ * {@link #withRefreshAhead(TimeDuration)} the element is reloaded asynchronously shortly before it expires and with {@link #withMaxStale(TimeDuration)} an
+ * expired element is still returned for a limited time while it is reloaded asynchronously. Both rely on {@link CachedElement#asNonCachedSupplier()} of
+ * the wrapped {@link CachedElement} to resolve the new element.
  * 
  * @author omnaest
  * @param <E>
  */
 public class DurationCachedElement<E> implements CachedElement<E>
 {
-    private CachedElement<E>                     cachedElement;
-    private TimeDuration                         timeDuration;
-    private AtomicReference<DurationMeasurement> measurement = new AtomicReference<>();
+    private static final long UNSET             = Long.MIN_VALUE;
+
+    private CachedElement<E>  cachedElement;
+    private long              durationNanos;
+    private AtomicLong        expiryTime        = new AtomicLong(UNSET);
+    private AtomicBoolean     refreshing        = new AtomicBoolean(false);
+
+    private long              refreshAheadNanos = 0;
+    private long              maxStaleNanos     = 0;
+    private double            jitter            = 0.0;
+    private ExecutorService   refreshExecutor   = null;
+    private LongSupplier      ticker            = System::nanoTime;
 
     public DurationCachedElement(CachedElement<E> cachedElement, TimeDuration timeDuration)
     {
         super();
         this.cachedElement = cachedElement;
-        this.timeDuration = timeDuration;
+        this.durationNanos = timeDuration.as(TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Reloads the element asynchronously, if it is accessed within the given {@link TimeDuration} before its expiry. Until the reload has finished the
+     * current element is returned.
+     * 
+     * @see #withRefreshAhead(TimeDuration, ExecutorService)
+     * @param refreshAhead
+     * @return
+     */
+    public DurationCachedElement<E> withRefreshAhead(TimeDuration refreshAhead)
+    {
+        this.refreshAheadNanos = refreshAhead.as(TimeUnit.NANOSECONDS);
+        return this;
+    }
+
+    public DurationCachedElement<E> withRefreshAhead(TimeDuration refreshAhead, ExecutorService refreshExecutor)
+    {
+        this.refreshExecutor = refreshExecutor;
+        return this.withRefreshAhead(refreshAhead);
+    }
+
+    /**
+     * Returns an expired element for at most the given {@link TimeDuration} after its expiry while it is reloaded asynchronously (stale-while-revalidate).
+     * Afterwards the element is reset and the next caller waits for the reload.
+     * 
+     * @param maxStale
+     * @return
+     */
+    public DurationCachedElement<E> withMaxStale(TimeDuration maxStale)
+    {
+        this.maxStaleNanos = maxStale.as(TimeUnit.NANOSECONDS);
+        return this;
+    }
+
+    /**
+     * Sets the {@link ExecutorService} for the asynchronous reloads. Default is {@link ExecutorUtils#sharedCachedThreadPool()}
+     * 
+     * @param refreshExecutor
+     * @return
+     */
+    public DurationCachedElement<E> withRefreshExecutor(ExecutorService refreshExecutor)
+    {
+        this.refreshExecutor = refreshExecutor;
+        return this;
+    }
+
+    /**
+     * Shortens each caching duration by a random fraction of up to the given jitter, e.g. 0.1 for up to 10%. This spreads the expiry of elements which have
+     * been loaded at the same time.
+     * 
+     * @param jitter
+     *            between 0.0 and 1.0
+     * @return
+     */
+    public DurationCachedElement<E> withJitter(double jitter)
+    {
+        this.jitter = Math.max(0.0, Math.min(1.0, jitter));
+        return this;
+    }
+
+    /**
+     * Sets the nano time source, which allows to control the expiry in tests
+     * 
+     * @param ticker
+     * @return
+     */
+    DurationCachedElement<E> withTicker(LongSupplier ticker)
+    {
+        this.ticker = ticker;
+        return this;
     }
 
     @Override
     public E get()
     {
-        this.resetIfDurationExceeded();
+        this.resetOrRefreshIfNecessary();
         return this.cachedElement.get();
     }
 
     @Override
     public Optional<E> getIfCached()
     {
-        this.resetIfDurationExceeded();
+        this.resetOrRefreshIfNecessary();
         return this.cachedElement.getIfCached();
     }
 
-    private void resetIfDurationExceeded()
+    private void resetOrRefreshIfNecessary()
     {
-        DurationMeasurement durationMeasurement = this.measurement.updateAndGet(previous -> Optional.ofNullable(previous)
-                                                                                                    .orElseGet(() -> DurationCapture.newInstance()
-                                                                                                                                    .start()));
-        if (durationMeasurement.stop()
-                               .isDurationLargerThan(this.timeDuration))
+        long now = this.ticker.getAsLong();
+        long expiryTime = this.expiryTime.get();
+        if (expiryTime == UNSET)
+        {
+            this.expiryTime.compareAndSet(UNSET, now + this.determineDuration());
+            return;
+        }
+
+        long remainingNanos = expiryTime - now;
+        if (remainingNanos > this.refreshAheadNanos)
+        {
+            return;
+        }
+
+        if (remainingNanos <= 0 && -remainingNanos >= this.maxStaleNanos)
         {
             this.reset();
         }
+        else
+        {
+            this.refreshAsynchronously();
+        }
+    }
+
+    private long determineDuration()
+    {
+        return this.jitter > 0.0 ? this.durationNanos - (long) (this.durationNanos * this.jitter * ThreadLocalRandom.current()
+                                                                                                                  .nextDouble())
+                : this.durationNanos;
+    }
+
+    private void refreshAsynchronously()
+    {
+        if (this.refreshing.compareAndSet(false, true))
+        {
+            try
+            {
+                ExecutorService executorService = this.refreshExecutor != null ? this.refreshExecutor : ExecutorUtils.sharedCachedThreadPool();
+                executorService.submit(() ->
+                {
+                    try
+                    {
+                        E element = this.cachedElement.asNonCachedSupplier()
+                                                      .get();
+                        this.cachedElement.set(element);
+                        this.resetDurationMeasurement();
+                    }
+                    finally
+                    {
+                        this.refreshing.set(false);
+                    }
+                });
+            }
+            catch (RejectedExecutionException e)
+            {
+                this.refreshing.set(false);
+            }
+        }
     }
 
     private void resetDurationMeasurement()
     {
-        this.measurement.set(DurationCapture.newInstance()
-                                            .start());
+        this.expiryTime.set(this.ticker.getAsLong() + this.determineDuration());
     }
 
     @Override
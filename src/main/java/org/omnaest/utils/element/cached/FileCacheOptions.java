@@ -0,0 +1,170 @@
+/*******************************************************************************
+ * Copyright 2026 Danny Kunz
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.omnaest.utils.element.cached;
+
+import java.io.File;
+import java.lang.ref.SoftReference;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.omnaest.utils.duration.TimeDuration;
+
+/**
+ * Options of a file cache of a {@link CachedElement}.<br>
+ * <br>
+ * By default the {@link File} is read and deserialized on every access and updates are written through to the {@link File}. With
+ * {@link #withMemoryTier(MemoryTier)} the deserialized value can be kept in memory, e.g. by a {@link SoftReference}, and is validated against the size and
+ * modification time of the {@link File}, so the {@link File} is only parsed again if it has been changed. In this case all callers share the same value
+ * instance, so modifications of a returned value are visible to later callers, but are not written to the {@link File}.
+ * 
+ * @see CachedElement#withFileCache(File, java.util.function.Function, java.util.function.Function, FileCacheOptions)
+ * @author omnaest
+ */
+public class FileCacheOptions
+{
+    public static enum MemoryTier
+    {
+        /**
+         * The {@link File} is read and deserialized on every access
+         */
+        NONE,
+
+        /**
+         * The deserialized value is held in memory until the {@link File} changes. The same value instance is returned to all callers.
+         */
+        STRONG,
+
+        /**
+         * Similar to {@link #STRONG} but the value can be garbage collected under memory pressure
+         */
+        SOFT
+    }
+
+    private MemoryTier      memoryTier          = MemoryTier.NONE;
+    private TimeDuration    validationInterval  = TimeDuration.zero();
+    private ExecutorService writeBehindExecutor = null;
+
+    protected FileCacheOptions()
+    {
+        super();
+    }
+
+    public static FileCacheOptions newInstance()
+    {
+        return new FileCacheOptions();
+    }
+
+    public FileCacheOptions withMemoryTier(MemoryTier memoryTier)
+    {
+        this.memoryTier = memoryTier;
+        return this;
+    }
+
+    /**
+     * Checks the {@link File} for external changes at most once per the given {@link TimeDuration}. Within the interval the value in memory is returned
+     * without touching the file system.
+     * 
+     * @param validationInterval
+     * @return
+     */
+    public FileCacheOptions withValidationInterval(TimeDuration validationInterval)
+    {
+        this.validationInterval = validationInterval;
+        return this;
+    }
+
+    /**
+     * Writes updated values asynchronously into the {@link File}, while the value in memory is updated immediately. Multiple updates during a running write
+     * are coalesced, so only the latest value is written.<br>
+     * <br>
+     * The writes run on non daemon threads, so a pending write is finished before the JVM exits normally. Writes which are still pending when the JVM is
+     * shut down, e.g. by {@link System#exit(int)}, are written by a shutdown hook.
+     * 
+     * @see #withWriteBehind(ExecutorService)
+     * @return
+     */
+    public FileCacheOptions withWriteBehind()
+    {
+        return this.withWriteBehind(WriteBehindExecutorHolder.EXECUTOR_SERVICE);
+    }
+
+    /**
+     * Similar to {@link #withWriteBehind()} but runs the writes on the given {@link ExecutorService}. If it uses daemon threads, only the shutdown hook
+     * ensures pending writes are written before the JVM exits.
+     * 
+     * @param executorService
+     * @return
+     */
+    public FileCacheOptions withWriteBehind(ExecutorService executorService)
+    {
+        this.writeBehindExecutor = executorService;
+        return this;
+    }
+
+    private static class WriteBehindExecutorHolder
+    {
+        private static final ExecutorService EXECUTOR_SERVICE = createExecutorService();
+
+        private static ExecutorService createExecutorService()
+        {
+            int numberOfThreads = Runtime.getRuntime()
+                                         .availableProcessors();
+            AtomicLong counter = new AtomicLong();
+            ThreadPoolExecutor executorService = new ThreadPoolExecutor(numberOfThreads, numberOfThreads, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                                                                        runnable ->
+                                                                        {
+                                                                            Thread thread = new Thread(runnable, "file-cache-write-behind-"
+                                                                                    + counter.incrementAndGet());
+                                                                            thread.setDaemon(false);
+                                                                            return thread;
+                                                                        });
+            // idle threads terminate, so they do not keep the JVM alive
+            executorService.allowCoreThreadTimeOut(true);
+            return executorService;
+        }
+    }
+
+    public MemoryTier getMemoryTier()
+    {
+        return this.memoryTier;
+    }
+
+    public TimeDuration getValidationInterval()
+    {
+        return this.validationInterval;
+    }
+
+    public ExecutorService getWriteBehindExecutor()
+    {
+        return this.writeBehindExecutor;
+    }
+
+    public boolean isWriteBehind()
+    {
+        return this.writeBehindExecutor != null;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "FileCacheOptions [memoryTier=" + this.memoryTier + ", validationInterval=" + this.validationInterval + ", writeBehind=" + this.isWriteBehind()
+                + "]";
+    }
+
+}
@@ -19,10 +19,24 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.function.Function;
 
+import org.omnaest.utils.duration.TimeDuration;
+import org.omnaest.utils.element.cached.internal.SingleFlightLoader;
+
+/**
+ * {@link CachedFunction} which stores the results in a given {@link Map}. Concurrent calls for the same uncached key invoke the {@link Function} only
+ * once, the other callers wait for its result. This holds for any {@link Map} implementation, but the {@link Map} itself has to be {@link Thread}safe, if
+ * the {@link CachedFunction} is used concurrently.
+ * 
+ * @see CachedFunction#of(Function, Map)
+ * @author omnaest
+ * @param <T>
+ * @param <R>
+ */
 public class MapCachedFunction<T, R> implements CachedFunction<T, R>
 {
-    private Map<T, R>      map;
-    private Function<T, R> function;
+    private Map<T, R>                map;
+    private Function<T, R>           function;
+    private SingleFlightLoader<T, R> loader = new SingleFlightLoader<>();
 
     public MapCachedFunction(Map<T, R> map, Function<T, R> function)
     {
@@ -31,12 +45,37 @@ public class MapCachedFunction<T, R> implements CachedFunction<T, R>
         this.function = function;
     }
 
+    /**
+     * Limits the time a caller waits for the {@link Function} invoked by another caller for the same key. If the timeout is exceeded an
+     * {@link IllegalStateException} is thrown.
+     * 
+     * @param timeout
+     * @return
+     */
+    public MapCachedFunction<T, R> withLoadTimeout(TimeDuration timeout)
+    {
+        this.loader.withTimeout(timeout);
+        return this;
+    }
+
     @Override
     public R apply(T t)
     {
         return Optional.ofNullable(t)
-                       .map(v -> this.map.computeIfAbsent(v, this.function))
+                       .map(key -> Optional.ofNullable(this.map.get(key))
+                                           .orElseGet(() -> this.loader.load(key, () -> this.map.get(key), () -> this.loadAndStore(key))))
                        .orElseGet(() -> this.function.apply(t));
     }
 
+    private R loadAndStore(T key)
+    {
+        R value = this.function.apply(key);
+        if (value == null)
+        {
+            return null;
+        }
+        R previousValue = this.map.putIfAbsent(key, value);
+        return previousValue != null ? previousValue : value;
+    }
+
 }
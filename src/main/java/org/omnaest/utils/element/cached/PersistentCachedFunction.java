@@ -0,0 +1,403 @@
+/*******************************************************************************
+ * Copyright 2026 Danny Kunz
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.omnaest.utils.element.cached;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.omnaest.utils.element.cached.CachedElement.InputOutputStreamSerializerAndDeserializer;
+import org.omnaest.utils.exception.RuntimeIOException;
+import org.omnaest.utils.file.LogStructuredTextFileIndex;
+import org.omnaest.utils.file.TextFileIndex;
+
+/**
+ * {@link CachedFunction} which persists its entries within a given directory, so that they survive a restart of the JVM.<br>
+ * <br>
+ * The entries are written to a {@link LogStructuredTextFileIndex} and the most recently used ones are additionally held deserialized within a
+ * {@link BoundedCachedFunction}. The number of entries on disk can be limited by {@link #withMaximumNumberOfEntriesOnDisk(long)}, which removes the least
+ * recently used ones. On {@link #close()} the keys of the entries held in memory are written to the directory and loaded again by the next instance on its
+ * first access.
+ * 
+ * @see CachedFunction#persistent(Function, File, Function, Function, Function)
+ * @author omnaest
+ * @param <T>
+ * @param <R>
+ */
+public class PersistentCachedFunction<T, R> implements CachedFunction<T, R>, AutoCloseable
+{
+    private static final String ENTRIES_DIRECTORY_NAME                      = "entries";
+    private static final String HOT_SET_FILE_NAME                           = "hotset";
+    private static final long   DEFAULT_MAXIMUM_NUMBER_OF_ENTRIES_IN_MEMORY = 10000;
+
+    private final Function<T, R>      function;
+    private final File                directory;
+    private final Function<T, String> keySerializer;
+    private final Function<R, String> valueSerializer;
+    private final Function<String, R> valueDeserializer;
+
+    private long                      maximumNumberOfEntriesInMemory = DEFAULT_MAXIMUM_NUMBER_OF_ENTRIES_IN_MEMORY;
+    private long                      maximumNumberOfEntriesOnDisk   = Long.MAX_VALUE;
+
+    private volatile Storage<R>       storage;
+    private volatile boolean          closed                         = false;
+
+    protected PersistentCachedFunction(Function<T, R> function, File directory, Function<T, String> keySerializer, Function<R, String> valueSerializer,
+                                       Function<String, R> valueDeserializer)
+    {
+        super();
+        this.function = function;
+        this.directory = directory;
+        this.keySerializer = keySerializer;
+        this.valueSerializer = valueSerializer;
+        this.valueDeserializer = valueDeserializer;
+    }
+
+    /**
+     * Creates a new {@link PersistentCachedFunction} which stores its entries within the given directory. The serialized keys identify the entries on disk, so
+     * the key serializer has to return equal {@link String}s for equal keys.
+     * 
+     * @param function
+     * @param directory
+     * @param keySerializer
+     * @param valueSerializer
+     * @param valueDeserializer
+     * @return
+     */
+    public static <T, R> PersistentCachedFunction<T, R> of(Function<T, R> function, File directory, Function<T, String> keySerializer,
+                                                           Function<R, String> valueSerializer, Function<String, R> valueDeserializer)
+    {
+        return new PersistentCachedFunction<>(function, directory, keySerializer, valueSerializer, valueDeserializer);
+    }
+
+    /**
+     * Similar to {@link #of(Function, File, Function, Function, Function)} but uses a {@link InputOutputStreamSerializerAndDeserializer} for the values
+     * 
+     * @param function
+     * @param directory
+     * @param keySerializer
+     * @param serializerAndDeserializer
+     * @return
+     */
+    public static <T, R> PersistentCachedFunction<T, R> of(Function<T, R> function, File directory, Function<T, String> keySerializer,
+                                                           InputOutputStreamSerializerAndDeserializer<R> serializerAndDeserializer)
+    {
+        return of(function, directory, keySerializer, value ->
+        {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            serializerAndDeserializer.accept(value, outputStream);
+            return Base64.getEncoder()
+                         .encodeToString(outputStream.toByteArray());
+        }, data -> serializerAndDeserializer.apply(new ByteArrayInputStream(Base64.getDecoder()
+                                                                                   .decode(data))));
+    }
+
+    /**
+     * Sets the maximum number of deserialized entries held in memory, which is also the maximum number of entries loaded on a warm start. Default is 10000.
+     * Has to be set before the first call to {@link #apply(Object)}.
+     * 
+     * @param maximumNumberOfEntriesInMemory
+     * @return
+     */
+    public PersistentCachedFunction<T, R> withMaximumNumberOfEntriesInMemory(long maximumNumberOfEntriesInMemory)
+    {
+        this.maximumNumberOfEntriesInMemory = maximumNumberOfEntriesInMemory;
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of entries on disk. If exceeded by more than a tenth, the least recently used entries are removed. Default is unbounded. Has to
+     * be set before the first call to {@link #apply(Object)}.
+     * 
+     * @param maximumNumberOfEntriesOnDisk
+     * @return
+     */
+    public PersistentCachedFunction<T, R> withMaximumNumberOfEntriesOnDisk(long maximumNumberOfEntriesOnDisk)
+    {
+        this.maximumNumberOfEntriesOnDisk = maximumNumberOfEntriesOnDisk;
+        return this;
+    }
+
+    @Override
+    public R apply(T key)
+    {
+        if (key == null)
+        {
+            return this.function.apply(key);
+        }
+
+        Storage<R> storage = this.getStorage();
+        String serializedKey = this.keySerializer.apply(key);
+        storage.touch(serializedKey);
+        R value = storage.front.get(serializedKey, k -> this.loadFromDiskOrCompute(storage, k, key));
+
+        // evict outside of the loader, which runs while the front holds a lock on the entry of the key
+        this.evictFromDiskIfNecessary(storage);
+        return value;
+    }
+
+    /**
+     * Removes the entry of the given key from memory and disk
+     * 
+     * @param key
+     * @return
+     */
+    public PersistentCachedFunction<T, R> invalidate(T key)
+    {
+        if (key != null)
+        {
+            Storage<R> storage = this.getStorage();
+            String serializedKey = this.keySerializer.apply(key);
+            storage.front.invalidate(serializedKey);
+            storage.index.remove(serializedKey);
+            storage.keyToAccessTick.remove(serializedKey);
+        }
+        return this;
+    }
+
+    /**
+     * Removes all entries from memory and disk
+     * 
+     * @return
+     */
+    public PersistentCachedFunction<T, R> invalidateAll()
+    {
+        Storage<R> storage = this.getStorage();
+        synchronized (storage)
+        {
+            storage.front.invalidateAll();
+            storage.index.clear();
+            storage.keyToAccessTick.clear();
+        }
+        return this;
+    }
+
+    /**
+     * Returns the number of entries on disk
+     * 
+     * @return
+     */
+    public long size()
+    {
+        return this.getStorage().keyToAccessTick.size();
+    }
+
+    /**
+     * Writes the keys of the most recently used entries to the directory and closes the underlying {@link TextFileIndex}
+     */
+    @Override
+    public synchronized void close() throws Exception
+    {
+        if (this.closed)
+        {
+            return;
+        }
+        this.closed = true;
+
+        Storage<R> storage = this.storage;
+        this.storage = null;
+        if (storage != null)
+        {
+            List<String> lines = storage.keyToAccessTick.entrySet()
+                                                        .stream()
+                                                        .sorted(Collections.reverseOrder(Entry.comparingByValue()))
+                                                        .limit(this.maximumNumberOfEntriesInMemory)
+                                                        .map(Entry::getKey)
+                                                        .map(key -> Base64.getEncoder()
+                                                                          .encodeToString(key.getBytes(StandardCharsets.UTF_8)))
+                                                        .collect(Collectors.toList());
+            try
+            {
+                Files.write(new File(this.directory, HOT_SET_FILE_NAME).toPath(), lines, StandardCharsets.UTF_8);
+            }
+            finally
+            {
+                storage.index.close();
+            }
+        }
+    }
+
+    private R loadFromDiskOrCompute(Storage<R> storage, String serializedKey, T key)
+    {
+        R value = this.loadFromDisk(storage, serializedKey);
+        if (value == null)
+        {
+            value = this.function.apply(key);
+            if (value != null)
+            {
+                storage.index.put(serializedKey, this.valueSerializer.apply(value));
+                storage.keyToAccessTick.put(serializedKey, storage.tick.incrementAndGet());
+            }
+        }
+        return value;
+    }
+
+    private R loadFromDisk(Storage<R> storage, String serializedKey)
+    {
+        return storage.index.get(serializedKey)
+                            .map(this.valueDeserializer)
+                            .orElse(null);
+    }
+
+    private void evictFromDiskIfNecessary(Storage<R> storage)
+    {
+        long maximum = this.maximumNumberOfEntriesOnDisk;
+        long threshold = maximum + Math.max(1, maximum / 10);
+        if (maximum == Long.MAX_VALUE || storage.keyToAccessTick.size() < threshold)
+        {
+            return;
+        }
+
+        synchronized (storage)
+        {
+            int numberOfEvictions = storage.keyToAccessTick.size() - (int) maximum;
+            if (numberOfEvictions <= 0)
+            {
+                return;
+            }
+            List<String> evictedKeys = storage.keyToAccessTick.entrySet()
+                                                              .stream()
+                                                              .sorted(Entry.comparingByValue())
+                                                              .limit(numberOfEvictions)
+                                                              .map(Entry::getKey)
+                                                              .collect(Collectors.toList());
+            for (String evictedKey : evictedKeys)
+            {
+                storage.keyToAccessTick.remove(evictedKey);
+                storage.index.remove(evictedKey);
+                storage.front.invalidate(evictedKey);
+            }
+        }
+    }
+
+    private Storage<R> getStorage()
+    {
+        this.ensureOpen();
+        Storage<R> storage = this.storage;
+        if (storage == null)
+        {
+            synchronized (this)
+            {
+                this.ensureOpen();
+                storage = this.storage;
+                if (storage == null)
+                {
+                    storage = this.openStorage();
+                    this.storage = storage;
+                }
+            }
+        }
+        return storage;
+    }
+
+    private void ensureOpen()
+    {
+        if (this.closed)
+        {
+            throw new IllegalStateException("PersistentCachedFunction is already closed");
+        }
+    }
+
+    private Storage<R> openStorage()
+    {
+        TextFileIndex index = new LogStructuredTextFileIndex(new File(this.directory, ENTRIES_DIRECTORY_NAME));
+        Storage<R> storage = new Storage<>(index, BoundedCachedFunction.<String, R>of(key -> index.get(key)
+                                                                                            .map(this.valueDeserializer)
+                                                                                            .orElse(null))
+                                                                      .withMaximumSize(this.maximumNumberOfEntriesInMemory));
+        try (Stream<String> keys = index.keys())
+        {
+            keys.forEach(key -> storage.keyToAccessTick.put(key, storage.tick.get()));
+        }
+
+        List<String> hotSet = this.readHotSet();
+        Collections.reverse(hotSet);
+        for (String key : hotSet)
+        {
+            if (storage.keyToAccessTick.containsKey(key))
+            {
+                storage.keyToAccessTick.put(key, storage.tick.incrementAndGet());
+                storage.front.get(key, k -> this.loadFromDisk(storage, k));
+            }
+        }
+        return storage;
+    }
+
+    private List<String> readHotSet()
+    {
+        File file = new File(this.directory, HOT_SET_FILE_NAME);
+        if (!file.exists())
+        {
+            return new ArrayList<>();
+        }
+        try
+        {
+            return Files.readAllLines(file.toPath(), StandardCharsets.UTF_8)
+                        .stream()
+                        .filter(line -> !line.isEmpty())
+                        .map(line -> new String(Base64.getDecoder()
+                                                      .decode(line),
+                                                StandardCharsets.UTF_8))
+                        .collect(Collectors.toList());
+        }
+        catch (IOException e)
+        {
+            throw new RuntimeIOException(e);
+        }
+    }
+
+    @Override
+    public String toString()
+    {
+        return "PersistentCachedFunction [directory=" + this.directory + ", maximumNumberOfEntriesInMemory=" + this.maximumNumberOfEntriesInMemory
+                + ", maximumNumberOfEntriesOnDisk=" + this.maximumNumberOfEntriesOnDisk + "]";
+    }
+
+    private static class Storage<R>
+    {
+        private final TextFileIndex                    index;
+        private final BoundedCachedFunction<String, R> front;
+        private final Map<String, Long>                keyToAccessTick = new ConcurrentHashMap<>();
+        private final AtomicLong                       tick            = new AtomicLong();
+
+        public Storage(TextFileIndex index, BoundedCachedFunction<String, R> front)
+        {
+            super();
+            this.index = index;
+            this.front = front;
+        }
+
+        public void touch(String key)
+        {
+            this.keyToAccessTick.computeIfPresent(key, (k, previousTick) -> this.tick.incrementAndGet());
+        }
+    }
+
+}
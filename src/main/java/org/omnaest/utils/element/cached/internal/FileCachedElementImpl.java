@@ -36,7 +36,12 @@ package org.omnaest.utils.element.cached.internal;
 import java.io.File;
 import java.io.Reader;
 import java.io.Writer;
+import java.lang.ref.SoftReference;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
@@ -46,20 +51,40 @@ import java.util.function.UnaryOperator;
 
 import org.omnaest.utils.FileUtils;
 import org.omnaest.utils.element.cached.CachedElement;
+import org.omnaest.utils.element.cached.FileCacheOptions;
+import org.omnaest.utils.element.cached.FileCacheOptions.MemoryTier;
 
 /**
+ * {@link CachedElement} which persists the element in a {@link File}. Depending on the {@link FileCacheOptions} the deserialized element is additionally
+ * held in memory and the {@link File} is only read again, if its size or modification time has changed.
+ * 
  * @see CachedElement#of(Supplier)
+ * @see FileCacheOptions
  * @author omnaest
  * @param <E>
  */
 public class FileCachedElementImpl<E> implements CachedElement<E>
 {
-    private AtomicReference<Supplier<E>> supplier = new AtomicReference<>();
-    private File                         file;
-    private Consumer<E>                  toFileConsumer;
-    private Supplier<E>                  fromFileSupplier;
+    private static final Set<FileCachedElementImpl<?>> PENDING_WRITE_BEHIND_ELEMENTS = ConcurrentHashMap.newKeySet();
+
+    private AtomicReference<Supplier<E>>      supplier     = new AtomicReference<>();
+    private File                              file;
+    private Consumer<E>                       toFileConsumer;
+    private Supplier<E>                       fromFileSupplier;
+    private FileCacheOptions                  options;
+
+    private AtomicReference<MemoryEntry<E>>   memoryEntry  = new AtomicReference<>();
+    private AtomicReference<PendingWrite<E>>  pendingWrite = new AtomicReference<>();
+    private AtomicReference<RuntimeException> writeFailure = new AtomicReference<>();
+    private Object                            writeLock    = new Object();
 
     public FileCachedElementImpl(Supplier<E> supplier, File file, Function<E, String> serializer, Function<String, E> deserializer)
+    {
+        this(supplier, file, serializer, deserializer, FileCacheOptions.newInstance());
+    }
+
+    public FileCachedElementImpl(Supplier<E> supplier, File file, Function<E, String> serializer, Function<String, E> deserializer,
+                                 FileCacheOptions options)
     {
         super();
         this.file = file;
@@ -69,9 +94,16 @@ public class FileCachedElementImpl<E> implements CachedElement<E>
         this.fromFileSupplier = FileUtils.toSupplier(file)
                                          .with(deserializer);
         this.supplier.set(supplier);
+        this.options = options;
     }
 
     public FileCachedElementImpl(Supplier<E> supplier, File file, BiConsumer<E, Writer> serializer, Function<Reader, E> deserializer)
+    {
+        this(supplier, file, serializer, deserializer, FileCacheOptions.newInstance());
+    }
+
+    public FileCachedElementImpl(Supplier<E> supplier, File file, BiConsumer<E, Writer> serializer, Function<Reader, E> deserializer,
+                                 FileCacheOptions options)
     {
         super();
         this.file = file;
@@ -81,9 +113,16 @@ public class FileCachedElementImpl<E> implements CachedElement<E>
         this.fromFileSupplier = FileUtils.toReaderSupplierUTF8(file)
                                          .toSupplier(deserializer);
         this.supplier.set(supplier);
+        this.options = options;
     }
 
     public FileCachedElementImpl(Supplier<E> supplier, File file, InputOutputStreamSerializerAndDeserializer<E> serializerAndDeserializer)
+    {
+        this(supplier, file, serializerAndDeserializer, FileCacheOptions.newInstance());
+    }
+
+    public FileCachedElementImpl(Supplier<E> supplier, File file, InputOutputStreamSerializerAndDeserializer<E> serializerAndDeserializer,
+                                 FileCacheOptions options)
     {
         super();
         this.file = file;
@@ -93,12 +132,13 @@ public class FileCachedElementImpl<E> implements CachedElement<E>
         this.fromFileSupplier = FileUtils.toInputSupplier(file)
                                          .toSupplier(serializerAndDeserializer);
         this.supplier.set(supplier);
+        this.options = options;
     }
 
     @Override
     public E get()
     {
-        E retval = this.fromFileSupplier.get();
+        E retval = this.read();
         retval = this.getFromSupplierIfNull(retval);
         return retval;
     }
@@ -106,7 +146,7 @@ public class FileCachedElementImpl<E> implements CachedElement<E>
     @Override
     public Optional<E> getIfCached()
     {
-        E retval = this.fromFileSupplier.get();
+        E retval = this.read();
         return Optional.ofNullable(retval);
     }
 
@@ -116,24 +156,191 @@ public class FileCachedElementImpl<E> implements CachedElement<E>
         {
             retval = this.supplier.get()
                                   .get();
-            this.toFileConsumer.accept(retval);
+            this.write(retval);
         }
         return retval;
     }
 
+    /**
+     * Returns the pending write-behind element, the element in memory if the {@link File} has not been changed, or reads the element from the
+     * {@link File}
+     * 
+     * @return
+     */
+    private E read()
+    {
+        PendingWrite<E> pendingWrite = this.pendingWrite.get();
+        if (pendingWrite != null)
+        {
+            return pendingWrite.element;
+        }
+
+        if (this.options.getMemoryTier() == MemoryTier.NONE)
+        {
+            return this.fromFileSupplier.get();
+        }
+
+        long now = System.nanoTime();
+        MemoryEntry<E> memoryEntry = this.memoryEntry.get();
+        if (memoryEntry != null)
+        {
+            E element = memoryEntry.getElement();
+            if (element != null && this.isValid(memoryEntry, now))
+            {
+                return element;
+            }
+        }
+
+        FileState fileState = FileState.of(this.file);
+        E element = this.fromFileSupplier.get();
+        this.memoryEntry.compareAndSet(memoryEntry, this.createMemoryEntry(element, fileState, now));
+        return element;
+    }
+
+    private boolean isValid(MemoryEntry<E> memoryEntry, long now)
+    {
+        if (now - memoryEntry.validationTime < this.options.getValidationInterval()
+                                                           .as(TimeUnit.NANOSECONDS))
+        {
+            return true;
+        }
+
+        boolean valid = memoryEntry.fileState.equals(FileState.of(this.file));
+        if (valid)
+        {
+            memoryEntry.validationTime = now;
+        }
+        return valid;
+    }
+
+    private MemoryEntry<E> createMemoryEntry(E element, FileState fileState, long now)
+    {
+        return element == null || this.options.getMemoryTier() == MemoryTier.NONE ? null
+                : new MemoryEntry<>(element, this.options.getMemoryTier() == MemoryTier.SOFT, fileState, now);
+    }
+
+    private void write(E element)
+    {
+        if (this.options.isWriteBehind())
+        {
+            this.memoryEntry.set(null);
+            ShutdownHookHolder.register(this);
+            // a failed write-behind keeps its pending element, so the next update schedules a retry
+            if (this.pendingWrite.getAndSet(new PendingWrite<>(element)) == null || this.writeFailure.get() != null)
+            {
+                try
+                {
+                    this.options.getWriteBehindExecutor()
+                                .submit(this::flush);
+                }
+                catch (RejectedExecutionException e)
+                {
+                    this.flush();
+                }
+            }
+        }
+        else
+        {
+            synchronized (this.writeLock)
+            {
+                this.writeToFile(element);
+            }
+        }
+    }
+
+    private void writeToFile(E element)
+    {
+        this.memoryEntry.set(null);
+        this.toFileConsumer.accept(element);
+        this.memoryEntry.set(this.createMemoryEntry(element, FileState.of(this.file), System.nanoTime()));
+    }
+
+    /**
+     * Writes a pending write-behind element into the {@link File} immediately. If the write fails, the element stays pending and is written again by the
+     * next update, the next {@link #flush()} or when the JVM shuts down.
+     * 
+     * @return
+     * @throws RuntimeException
+     *             if the pending element could not be written
+     */
+    public FileCachedElementImpl<E> flush()
+    {
+        synchronized (this.writeLock)
+        {
+            PendingWrite<E> pendingWrite = this.pendingWrite.get();
+            while (pendingWrite != null)
+            {
+                try
+                {
+                    this.writeToFile(pendingWrite.element);
+                }
+                catch (RuntimeException e)
+                {
+                    this.writeFailure.set(e);
+                    throw e;
+                }
+                this.writeFailure.set(null);
+
+                // elements updated during the write are written right away
+                if (this.pendingWrite.compareAndSet(pendingWrite, null))
+                {
+                    pendingWrite = null;
+                }
+                else
+                {
+                    pendingWrite = this.pendingWrite.get();
+                }
+            }
+
+            PENDING_WRITE_BEHIND_ELEMENTS.remove(this);
+            if (this.pendingWrite.get() != null)
+            {
+                PENDING_WRITE_BEHIND_ELEMENTS.add(this);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Flushes all elements with pending write-behind elements when the JVM shuts down
+     */
+    private static class ShutdownHookHolder
+    {
+        static
+        {
+            Runtime.getRuntime()
+                   .addShutdownHook(new Thread(() -> PENDING_WRITE_BEHIND_ELEMENTS.forEach(element ->
+                   {
+                       try
+                       {
+                           element.flush();
+                       }
+                       catch (RuntimeException e)
+                       {
+                           // continue with the other elements
+                       }
+                   }), "file-cache-write-behind-flush"));
+        }
+
+        public static void register(FileCachedElementImpl<?> element)
+        {
+            PENDING_WRITE_BEHIND_ELEMENTS.add(element);
+        }
+    }
+
     @Override
     public E getAndReset()
     {
-        E retval = this.fromFileSupplier.get();
+        E retval = this.read();
         retval = this.getFromSupplierIfNull(retval);
-        this.toFileConsumer.accept(null);
+        this.write(null);
         return retval;
     }
 
     @Override
     public CachedElement<E> reset()
     {
-        this.toFileConsumer.accept(null);
+        this.write(null);
         return this;
     }
 
@@ -147,7 +354,7 @@ public class FileCachedElementImpl<E> implements CachedElement<E>
     @Override
     public String toString()
     {
-        return "FileCachedElementImpl [supplier=" + this.supplier + ", file=" + this.file + "]";
+        return "FileCachedElementImpl [supplier=" + this.supplier + ", file=" + this.file + ", options=" + this.options + "]";
     }
 
     @Override
@@ -159,8 +366,79 @@ public class FileCachedElementImpl<E> implements CachedElement<E>
     @Override
     public CachedElement<E> updateValue(UnaryOperator<E> updateFunction)
     {
-        this.toFileConsumer.accept(updateFunction.apply(this.fromFileSupplier.get()));
+        this.write(updateFunction.apply(this.read()));
         return this;
     }
 
+    private static class PendingWrite<E>
+    {
+        private final E element;
+
+        public PendingWrite(E element)
+        {
+            super();
+            this.element = element;
+        }
+    }
+
+    private static class MemoryEntry<E>
+    {
+        private final E                element;
+        private final SoftReference<E> softElement;
+        private final FileState        fileState;
+        private volatile long          validationTime;
+
+        public MemoryEntry(E element, boolean soft, FileState fileState, long validationTime)
+        {
+            super();
+            this.element = soft ? null : element;
+            this.softElement = soft ? new SoftReference<>(element) : null;
+            this.fileState = fileState;
+            this.validationTime = validationTime;
+        }
+
+        public E getElement()
+        {
+            return this.softElement != null ? this.softElement.get() : this.element;
+        }
+    }
+
+    private static class FileState
+    {
+        private final boolean exists;
+        private final long    length;
+        private final long    lastModified;
+
+        private FileState(boolean exists, long length, long lastModified)
+        {
+            super();
+            this.exists = exists;
+            this.length = length;
+            this.lastModified = lastModified;
+        }
+
+        public static FileState of(File file)
+        {
+            boolean exists = file.isFile();
+            return new FileState(exists, exists ? file.length() : 0, exists ? file.lastModified() : 0);
+        }
+
+        @Override
+        public boolean equals(Object obj)
+        {
+            if (!(obj instanceof FileState))
+            {
+                return false;
+            }
+            FileState other = (FileState) obj;
+            return this.exists == other.exists && this.length == other.length && this.lastModified == other.lastModified;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Long.hashCode(this.length) * 31 + Long.hashCode(this.lastModified);
+        }
+    }
+
 }
@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright 2026 Danny Kunz
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.omnaest.utils.element.cached.internal;
+
+/**
+ * Count-min sketch of 4-bit counters which estimates the access frequency of keys within a bounded amount of memory. After a number of increments
+ * proportional to the sketch size all counters are halved, so the frequencies age and the sketch adapts to changing access patterns.<br>
+ * <br>
+ * This class is not {@link Thread}safe.
+ * 
+ * @author omnaest
+ */
+public class FrequencySketch
+{
+    private static final int    MAX_FREQUENCY = 15;
+    private static final int    DEPTH         = 4;
+    private static final long[] SEEDS         = new long[] { 0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L };
+
+    private final byte[]        counters;
+    private final int           mask;
+    private final int           sampleSize;
+
+    private int                 numberOfIncrements = 0;
+
+    /**
+     * @param maximumNumberOfKeys
+     *            the expected number of distinct keys of interest, which determines the size of the sketch
+     */
+    public FrequencySketch(long maximumNumberOfKeys)
+    {
+        super();
+        int size = Integer.highestOneBit((int) Math.max(16, Math.min(1 << 24, maximumNumberOfKeys * 2 - 1)));
+        this.counters = new byte[size * 2];
+        this.mask = this.counters.length - 1;
+        this.sampleSize = (int) Math.min(Integer.MAX_VALUE, 10L * size);
+    }
+
+    /**
+     * Returns the estimated frequency of the given key between 0 and 15
+     * 
+     * @param key
+     * @return
+     */
+    public int frequency(Object key)
+    {
+        int hash = spread(key.hashCode());
+        int result = MAX_FREQUENCY;
+        for (int ii = 0; ii < DEPTH; ii++)
+        {
+            result = Math.min(result, this.counters[this.indexOf(hash, ii)]);
+        }
+        return result;
+    }
+
+    /**
+     * Increments the frequency of the given key
+     * 
+     * @param key
+     */
+    public void increment(Object key)
+    {
+        int hash = spread(key.hashCode());
+        boolean incremented = false;
+        for (int ii = 0; ii < DEPTH; ii++)
+        {
+            int index = this.indexOf(hash, ii);
+            if (this.counters[index] < MAX_FREQUENCY)
+            {
+                this.counters[index]++;
+                incremented = true;
+            }
+        }
+
+        if (incremented && ++this.numberOfIncrements >= this.sampleSize)
+        {
+            this.age();
+        }
+    }
+
+    private void age()
+    {
+        for (int ii = 0; ii < this.counters.length; ii++)
+        {
+            this.counters[ii] >>>= 1;
+        }
+        this.numberOfIncrements /= 2;
+    }
+
+    private int indexOf(int hash, int row)
+    {
+        long value = (hash + SEEDS[row]) * SEEDS[row];
+        value += value >>> 32;
+        return (int) value & this.mask;
+    }
+
+    private static int spread(int hash)
+    {
+        hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+        hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+        return (hash >>> 16) ^ hash;
+    }
+}
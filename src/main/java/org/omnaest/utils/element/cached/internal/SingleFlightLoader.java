@@ -0,0 +1,145 @@
+/*******************************************************************************
+ * Copyright 2026 Danny Kunz
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.omnaest.utils.element.cached.internal;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.omnaest.utils.ExecutorUtils.InterruptedRuntimeException;
+import org.omnaest.utils.duration.TimeDuration;
+
+/**
+ * Ensures that a value is loaded at most once at a time per key: the first caller of {@link #load(Object, Supplier, Supplier)} for a key runs the
+ * loader, all concurrent callers of the same key wait for its result instead of running the loader themselves. If the loader fails, all waiting callers
+ * receive the same exception.<br>
+ * <br>
+ * A loader which recursively requests its own key from the same {@link Thread} does not wait for itself, but runs the loader again.
+ * 
+ * @author omnaest
+ * @param <K>
+ * @param <V>
+ */
+public class SingleFlightLoader<K, V>
+{
+    private final Map<K, Loading<V>> loadings = new ConcurrentHashMap<>();
+
+    private TimeDuration             timeout;
+
+    /**
+     * Limits the time a caller waits for the load of another caller. If the timeout is exceeded, an {@link IllegalStateException} is thrown, while the
+     * running load continues. By default callers wait without limit.
+     * 
+     * @param timeout
+     * @return
+     */
+    public SingleFlightLoader<K, V> withTimeout(TimeDuration timeout)
+    {
+        this.timeout = timeout;
+        return this;
+    }
+
+    /**
+     * Returns the value of the given cache lookup, if present. Otherwise the loader is executed by exactly one of all concurrent callers for the key.
+     * 
+     * @param key
+     * @param lookup
+     *            returns the cached value or null, it is called again by the loading caller to ensure the value has not been loaded meanwhile
+     * @param loader
+     *            loads the value and stores it into the cache
+     * @return
+     * @throws InterruptedRuntimeException
+     *             if the {@link Thread} is interrupted while waiting
+     * @throws IllegalStateException
+     *             if the timeout is exceeded
+     */
+    public V load(K key, Supplier<V> lookup, Supplier<V> loader)
+    {
+        Loading<V> loading = new Loading<>();
+        Loading<V> runningLoading = this.loadings.putIfAbsent(key, loading);
+        if (runningLoading == null)
+        {
+            try
+            {
+                V value = lookup.get();
+                if (value == null)
+                {
+                    value = loader.get();
+                }
+                loading.future.complete(value);
+                return value;
+            }
+            catch (RuntimeException | Error e)
+            {
+                loading.future.completeExceptionally(e);
+                throw e;
+            }
+            finally
+            {
+                this.loadings.remove(key, loading);
+            }
+        }
+        else if (runningLoading.thread == Thread.currentThread())
+        {
+            return loader.get();
+        }
+        else
+        {
+            return this.await(key, runningLoading);
+        }
+    }
+
+    private V await(K key, Loading<V> loading)
+    {
+        try
+        {
+            return this.timeout != null ? loading.future.get(this.timeout.as(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS) : loading.future.get();
+        }
+        catch (ExecutionException e)
+        {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException)
+            {
+                throw (RuntimeException) cause;
+            }
+            else if (cause instanceof Error)
+            {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread()
+                  .interrupt();
+            throw new InterruptedRuntimeException(e);
+        }
+        catch (TimeoutException e)
+        {
+            throw new IllegalStateException("Timeout of " + this.timeout + " exceeded while waiting for the load of key: " + key, e);
+        }
+    }
+
+    private static class Loading<V>
+    {
+        private final CompletableFuture<V> future = new CompletableFuture<>();
+        private final Thread               thread = Thread.currentThread();
+    }
+}
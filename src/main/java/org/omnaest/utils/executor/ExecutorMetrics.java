@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * Copyright 2026 Danny Kunz
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.omnaest.utils.executor;
+
+import java.time.Duration;
+
+/**
+ * Snapshot of the metrics of an {@link InstrumentedExecutorService}
+ * 
+ * @author omnaest
+ */
+public class ExecutorMetrics
+{
+    private final String name;
+    private final long   submittedTasks;
+    private final long   startedTasks;
+    private final long   completedTasks;
+    private final long   totalQueueWaitNanos;
+    private final long   totalExecutionNanos;
+    private final long   maxExecutionNanos;
+
+    public ExecutorMetrics(String name, long submittedTasks, long startedTasks, long completedTasks, long totalQueueWaitNanos, long totalExecutionNanos,
+                           long maxExecutionNanos)
+    {
+        super();
+        this.name = name;
+        this.submittedTasks = submittedTasks;
+        this.startedTasks = startedTasks;
+        this.completedTasks = completedTasks;
+        this.totalQueueWaitNanos = totalQueueWaitNanos;
+        this.totalExecutionNanos = totalExecutionNanos;
+        this.maxExecutionNanos = maxExecutionNanos;
+    }
+
+    public String getName()
+    {
+        return this.name;
+    }
+
+    public long getSubmittedTasks()
+    {
+        return this.submittedTasks;
+    }
+
+    public long getCompletedTasks()
+    {
+        return this.completedTasks;
+    }
+
+    /**
+     * Returns the number of tasks which have been submitted but are not yet started
+     * 
+     * @return
+     */
+    public long getQueueDepth()
+    {
+        return Math.max(0, this.submittedTasks - this.startedTasks);
+    }
+
+    /**
+     * Returns the number of tasks which are currently executed, which equals the number of active threads
+     * 
+     * @return
+     */
+    public long getActiveTasks()
+    {
+        return Math.max(0, this.startedTasks - this.completedTasks);
+    }
+
+    /**
+     * Returns the average time the started tasks waited in the queue
+     * 
+     * @return
+     */
+    public Duration getAverageQueueWait()
+    {
+        return Duration.ofNanos(this.startedTasks > 0 ? this.totalQueueWaitNanos / this.startedTasks : 0);
+    }
+
+    /**
+     * Returns the average execution time of the completed tasks
+     * 
+     * @return
+     */
+    public Duration getAverageTaskLatency()
+    {
+        return Duration.ofNanos(this.completedTasks > 0 ? this.totalExecutionNanos / this.completedTasks : 0);
+    }
+
+    public Duration getMaxTaskLatency()
+    {
+        return Duration.ofNanos(this.maxExecutionNanos);
+    }
+
+    @Override
+    public String toString()
+    {
+        return "ExecutorMetrics [name=" + this.name + ", queueDepth=" + this.getQueueDepth() + ", activeTasks=" + this.getActiveTasks()
+                + ", submittedTasks=" + this.submittedTasks + ", completedTasks=" + this.completedTasks + ", averageQueueWait="
+                + this.getAverageQueueWait() + ", averageTaskLatency=" + this.getAverageTaskLatency() + ", maxTaskLatency=" + this.getMaxTaskLatency()
+                + "]";
+    }
+
+}
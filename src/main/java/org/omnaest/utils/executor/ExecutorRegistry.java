@@ -0,0 +1,172 @@
+/*******************************************************************************
+ * Copyright 2026 Danny Kunz
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.omnaest.utils.executor;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.function.Supplier;
+
+import org.omnaest.utils.ExecutorUtils;
+import org.omnaest.utils.executor.internal.InstrumentedExecutorServiceImpl;
+
+/**
+ * Registry of named, long living {@link InstrumentedExecutorService}s which are shared across the whole application. A pool is created on its first
+ * request and lives until it is removed via {@link #shutdown(String)} or {@link #shutdownAll()}. The pools behind
+ * {@link ExecutorUtils#sharedCachedThreadPool()} and {@link ExecutorUtils#sharedVirtualThreadExecutor()} are used by many utilities and are therefore
+ * never shut down by this registry.
+ * 
+ * @see ExecutorUtils#executorRegistry()
+ * @author omnaest
+ */
+public class ExecutorRegistry
+{
+    public static final String                             SHARED_CACHED_POOL_NAME  = "shared-pool";
+    public static final String                             SHARED_VIRTUAL_POOL_NAME = "shared-virtual";
+
+    private static final Set<String>                       PERMANENT_EXECUTOR_NAMES = new HashSet<>(Arrays.asList(SHARED_CACHED_POOL_NAME,
+                                                                                                                   SHARED_VIRTUAL_POOL_NAME));
+    private static final ExecutorRegistry                  INSTANCE                 = new ExecutorRegistry();
+
+    private final Map<String, InstrumentedExecutorService> executors                = new ConcurrentHashMap<>();
+
+    private ExecutorRegistry()
+    {
+        super();
+    }
+
+    public static ExecutorRegistry getInstance()
+    {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the pool with the given name or creates a new one with a fixed number of daemon threads
+     * 
+     * @param name
+     * @param numberOfThreads
+     * @return
+     */
+    public InstrumentedExecutorService getOrCreateFixed(String name, int numberOfThreads)
+    {
+        return this.getOrCreate(name, () -> Executors.newFixedThreadPool(numberOfThreads, ExecutorUtils.newDaemonThreadFactory(name + "-")));
+    }
+
+    /**
+     * Returns the pool with the given name or creates a new one with an unlimited number of daemon threads, which are reused
+     * 
+     * @param name
+     * @return
+     */
+    public InstrumentedExecutorService getOrCreateCached(String name)
+    {
+        return this.getOrCreate(name, () -> Executors.newCachedThreadPool(ExecutorUtils.newDaemonThreadFactory(name + "-")));
+    }
+
+    /**
+     * Returns the pool with the given name or creates a new work stealing {@link ForkJoinPool} with the given parallelism
+     * 
+     * @param name
+     * @param parallelism
+     * @return
+     */
+    public InstrumentedExecutorService getOrCreateWorkStealing(String name, int parallelism)
+    {
+        return this.getOrCreate(name, () -> new ForkJoinPool(parallelism, pool ->
+        {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName(name + "-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        }, null, true));
+    }
+
+    /**
+     * Returns the pool with the given name or creates a new one which runs every task on a new virtual thread. If the running java version does not
+     * support virtual threads, a pool like {@link #getOrCreateCached(String)} is created instead.
+     * 
+     * @param name
+     * @return
+     */
+    public InstrumentedExecutorService getOrCreateVirtual(String name)
+    {
+        return this.getOrCreate(name, () -> ExecutorUtils.newVirtualThreadPerTaskExecutor()
+                                                         .orElseGet(() -> Executors.newCachedThreadPool(ExecutorUtils.newDaemonThreadFactory(name + "-"))));
+    }
+
+    private InstrumentedExecutorService getOrCreate(String name, Supplier<ExecutorService> executorServiceFactory)
+    {
+        return this.executors.computeIfAbsent(name, n -> new InstrumentedExecutorServiceImpl(n, executorServiceFactory.get()));
+    }
+
+    public Optional<InstrumentedExecutorService> get(String name)
+    {
+        return Optional.ofNullable(this.executors.get(name));
+    }
+
+    /**
+     * Returns the current {@link ExecutorMetrics} of all registered pools sorted by their name
+     * 
+     * @return
+     */
+    public SortedMap<String, ExecutorMetrics> getMetrics()
+    {
+        SortedMap<String, ExecutorMetrics> result = new TreeMap<>();
+        this.executors.forEach((name, executorService) -> result.put(name, executorService.getMetrics()));
+        return result;
+    }
+
+    /**
+     * Shuts down and removes the pool with the given name. The shared pools named {@link #SHARED_CACHED_POOL_NAME} and {@link #SHARED_VIRTUAL_POOL_NAME}
+     * are ignored, since their threads are daemon threads and other utilities keep using them.
+     * 
+     * @param name
+     * @return
+     */
+    public ExecutorRegistry shutdown(String name)
+    {
+        if (PERMANENT_EXECUTOR_NAMES.contains(name))
+        {
+            return this;
+        }
+        Optional.ofNullable(this.executors.remove(name))
+                .ifPresent(ExecutorService::shutdown);
+        return this;
+    }
+
+    /**
+     * Shuts down and removes all pools, e.g. at the end of the application lifetime, except the shared pools
+     * 
+     * @see #shutdown(String)
+     * 
+     * @return
+     */
+    public ExecutorRegistry shutdownAll()
+    {
+        this.executors.keySet()
+                      .forEach(this::shutdown);
+        return this;
+    }
+}
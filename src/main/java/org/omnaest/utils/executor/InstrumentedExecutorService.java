@@ -0,0 +1,36 @@
+/*******************************************************************************
+ * Copyright 2026 Danny Kunz
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.omnaest.utils.executor;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Named {@link ExecutorService} which records {@link ExecutorMetrics} about its tasks
+ * 
+ * @see ExecutorRegistry
+ * @author omnaest
+ */
+public interface InstrumentedExecutorService extends ExecutorService
+{
+    public String getName();
+
+    /**
+     * Returns a snapshot of the current {@link ExecutorMetrics}
+     * 
+     * @return
+     */
+    public ExecutorMetrics getMetrics();
+}
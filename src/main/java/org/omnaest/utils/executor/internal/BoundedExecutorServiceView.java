@@ -0,0 +1,305 @@
+/*******************************************************************************
+ * Copyright 2026 Danny Kunz
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.omnaest.utils.executor.internal;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Short living view on a long living shared {@link ExecutorService}. It runs at most a given number of its tasks at the same time on the shared
+ * {@link ExecutorService} and queues the remaining ones.<br>
+ * <br>
+ * {@link #shutdown()}, {@link #shutdownNow()} and {@link #awaitTermination(long, TimeUnit)} only affect the tasks of this view, the shared
+ * {@link ExecutorService} is never shut down.<br>
+ * <br>
+ * If a {@link Semaphore} is given, every task additionally holds one of its permits while it runs. The permit is acquired without blocking before the
+ * task is handed over to the shared {@link ExecutorService}. Without a free permit the task stays queued, so waiting tasks never occupy a thread, and all
+ * views waiting for the same {@link Semaphore} are dispatched again as soon as one of its permits is released.
+ * 
+ * @author omnaest
+ */
+public class BoundedExecutorServiceView extends AbstractExecutorService
+{
+    private static final Map<Semaphore, Set<BoundedExecutorServiceView>> WAITING_VIEWS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final ExecutorService executorService;
+    private final int             maxConcurrency;
+    private final Semaphore       concurrencyLimiter;
+
+    private final Deque<Runnable> queue        = new ArrayDeque<>();
+    private final Set<Runnable>   pendingTasks = ConcurrentHashMap.newKeySet();
+    private int                   runningTasks = 0;
+    private boolean               shutdown     = false;
+
+    public BoundedExecutorServiceView(ExecutorService executorService, int maxConcurrency)
+    {
+        this(executorService, maxConcurrency, null);
+    }
+
+    public BoundedExecutorServiceView(ExecutorService executorService, int maxConcurrency, Semaphore concurrencyLimiter)
+    {
+        super();
+        this.executorService = executorService;
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.concurrencyLimiter = concurrencyLimiter;
+    }
+
+    @Override
+    public void execute(Runnable command)
+    {
+        synchronized (this)
+        {
+            if (this.shutdown)
+            {
+                throw new RejectedExecutionException("Executor view has already been shut down");
+            }
+            this.pendingTasks.add(command);
+            this.queue.add(command);
+        }
+        this.dispatch();
+    }
+
+    private void dispatch()
+    {
+        List<Runnable> tasksToStart = new ArrayList<>();
+        synchronized (this)
+        {
+            while (this.runningTasks < this.maxConcurrency && !this.queue.isEmpty() && this.tryAcquirePermit())
+            {
+                tasksToStart.add(this.queue.poll());
+                this.runningTasks++;
+            }
+        }
+        for (int ii = 0; ii < tasksToStart.size(); ii++)
+        {
+            Runnable task = tasksToStart.get(ii);
+            try
+            {
+                this.executorService.execute(() -> this.run(task));
+            }
+            catch (RejectedExecutionException e)
+            {
+                List<Runnable> tasksNotStarted = tasksToStart.subList(ii, tasksToStart.size());
+                this.releasePermits(tasksNotStarted.size());
+                this.abandon(tasksNotStarted);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Completes the given tasks, which have not been handed over to the shared {@link ExecutorService}, together with all queued tasks without running
+     * them. Tasks submitted as {@link Future} are cancelled, so that callers waiting for them do not block.
+     * 
+     * @param tasks
+     */
+    private void abandon(List<Runnable> tasks)
+    {
+        List<Runnable> queuedTasks;
+        synchronized (this)
+        {
+            queuedTasks = new ArrayList<>(this.queue);
+            this.queue.clear();
+        }
+
+        // cancel before any waiter of awaitTermination(...) is woken up by the completion
+        tasks.forEach(this::cancel);
+        queuedTasks.forEach(this::cancel);
+
+        synchronized (this)
+        {
+            this.pendingTasks.removeAll(queuedTasks);
+            tasks.forEach(this::complete);
+        }
+    }
+
+    private void cancel(Runnable task)
+    {
+        if (task instanceof Future)
+        {
+            ((Future<?>) task).cancel(false);
+        }
+    }
+
+    private void run(Runnable task)
+    {
+        try
+        {
+            task.run();
+        }
+        finally
+        {
+            this.releasePermits(1);
+            this.complete(task);
+            try
+            {
+                this.dispatch();
+            }
+            catch (RejectedExecutionException e)
+            {
+                // there is no caller to rethrow to, the tasks which could not be started have already been abandoned
+            }
+        }
+    }
+
+    /**
+     * Acquires a permit of the concurrency limiter without blocking. If no permit is available, this view is registered to be dispatched again on the next
+     * release.
+     * 
+     * @return
+     */
+    private boolean tryAcquirePermit()
+    {
+        if (this.concurrencyLimiter == null || this.concurrencyLimiter.tryAcquire())
+        {
+            return true;
+        }
+
+        Set<BoundedExecutorServiceView> waitingViews = WAITING_VIEWS.computeIfAbsent(this.concurrencyLimiter, semaphore -> ConcurrentHashMap.newKeySet());
+        waitingViews.add(this);
+
+        // a permit released before the registration would not dispatch this view again
+        if (this.concurrencyLimiter.tryAcquire())
+        {
+            waitingViews.remove(this);
+            return true;
+        }
+        return false;
+    }
+
+    private void releasePermits(int numberOfPermits)
+    {
+        if (this.concurrencyLimiter != null)
+        {
+            releasePermits(this.concurrencyLimiter, numberOfPermits);
+        }
+    }
+
+    /**
+     * Releases the given number of permits of the given {@link Semaphore} and dispatches all views which wait for a permit of it again. Other users of a
+     * {@link Semaphore} shared with views have to release their permits through this method, otherwise waiting views are not dispatched again.
+     * 
+     * @param semaphore
+     * @param numberOfPermits
+     */
+    public static void releasePermits(Semaphore semaphore, int numberOfPermits)
+    {
+        if (numberOfPermits <= 0)
+        {
+            return;
+        }
+        semaphore.release(numberOfPermits);
+
+        Set<BoundedExecutorServiceView> waitingViews = WAITING_VIEWS.get(semaphore);
+        if (waitingViews != null)
+        {
+            for (BoundedExecutorServiceView view : new ArrayList<>(waitingViews))
+            {
+                if (waitingViews.remove(view))
+                {
+                    try
+                    {
+                        view.dispatch();
+                    }
+                    catch (RejectedExecutionException e)
+                    {
+                        // the tasks of the other view which could not be started have already been abandoned
+                    }
+                }
+            }
+        }
+    }
+
+    private void complete(Runnable task)
+    {
+        synchronized (this)
+        {
+            this.runningTasks--;
+            this.pendingTasks.remove(task);
+            this.notifyAll();
+        }
+    }
+
+    @Override
+    public synchronized void shutdown()
+    {
+        this.shutdown = true;
+        this.notifyAll();
+    }
+
+    /**
+     * Removes all queued tasks and cancels all running tasks which have been submitted as {@link Future}
+     */
+    @Override
+    public List<Runnable> shutdownNow()
+    {
+        List<Runnable> queuedTasks;
+        synchronized (this)
+        {
+            this.shutdown = true;
+            queuedTasks = new ArrayList<>(this.queue);
+            this.queue.clear();
+            this.pendingTasks.removeAll(queuedTasks);
+            this.notifyAll();
+        }
+        this.pendingTasks.stream()
+                         .filter(task -> task instanceof Future)
+                         .forEach(task -> ((Future<?>) task).cancel(true));
+        return Collections.unmodifiableList(queuedTasks);
+    }
+
+    @Override
+    public synchronized boolean isShutdown()
+    {
+        return this.shutdown;
+    }
+
+    @Override
+    public synchronized boolean isTerminated()
+    {
+        return this.shutdown && this.pendingTasks.isEmpty();
+    }
+
+    @Override
+    public synchronized boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException
+    {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (!this.isTerminated())
+        {
+            long remainingNanos = deadline - System.nanoTime();
+            if (remainingNanos <= 0)
+            {
+                return false;
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, remainingNanos);
+        }
+        return true;
+    }
+
+}
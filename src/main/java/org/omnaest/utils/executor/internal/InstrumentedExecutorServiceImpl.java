@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright 2026 Danny Kunz
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.omnaest.utils.executor.internal;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.omnaest.utils.executor.ExecutorMetrics;
+import org.omnaest.utils.executor.InstrumentedExecutorService;
+
+/**
+ * {@link InstrumentedExecutorService} which wraps every task of an underlying {@link ExecutorService} to measure queue wait and execution time
+ * 
+ * @author omnaest
+ */
+public class InstrumentedExecutorServiceImpl extends AbstractExecutorService implements InstrumentedExecutorService
+{
+    private final String          name;
+    private final ExecutorService executorService;
+
+    private final LongAdder       submittedTasks      = new LongAdder();
+    private final LongAdder       startedTasks        = new LongAdder();
+    private final LongAdder       completedTasks      = new LongAdder();
+    private final LongAdder       totalQueueWaitNanos = new LongAdder();
+    private final LongAdder       totalExecutionNanos = new LongAdder();
+    private final LongAccumulator maxExecutionNanos   = new LongAccumulator(Math::max, 0);
+
+    public InstrumentedExecutorServiceImpl(String name, ExecutorService executorService)
+    {
+        super();
+        this.name = name;
+        this.executorService = executorService;
+    }
+
+    @Override
+    public void execute(Runnable command)
+    {
+        long submitTime = System.nanoTime();
+        this.submittedTasks.increment();
+        try
+        {
+            this.executorService.execute(() ->
+            {
+                long startTime = System.nanoTime();
+                this.startedTasks.increment();
+                this.totalQueueWaitNanos.add(startTime - submitTime);
+                try
+                {
+                    command.run();
+                }
+                finally
+                {
+                    long executionNanos = System.nanoTime() - startTime;
+                    this.totalExecutionNanos.add(executionNanos);
+                    this.maxExecutionNanos.accumulate(executionNanos);
+                    this.completedTasks.increment();
+                }
+            });
+        }
+        catch (RuntimeException e)
+        {
+            this.submittedTasks.decrement();
+            throw e;
+        }
+    }
+
+    @Override
+    public String getName()
+    {
+        return this.name;
+    }
+
+    @Override
+    public ExecutorMetrics getMetrics()
+    {
+        return new ExecutorMetrics(this.name, this.submittedTasks.sum(), this.startedTasks.sum(), this.completedTasks.sum(), this.totalQueueWaitNanos.sum(),
+                                   this.totalExecutionNanos.sum(), this.maxExecutionNanos.get());
+    }
+
+    @Override
+    public void shutdown()
+    {
+        this.executorService.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow()
+    {
+        return this.executorService.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown()
+    {
+        return this.executorService.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated()
+    {
+        return this.executorService.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException
+    {
+        return this.executorService.awaitTermination(timeout, unit);
+    }
+
+    @Override
+    public String toString()
+    {
+        return "InstrumentedExecutorService [name=" + this.name + "]";
+    }
+
+}
@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * Copyright 2026 Danny Kunz
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.omnaest.utils.file;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non blocking variant of a {@link TextFileIndex} which returns {@link CompletableFuture}s for all operations, so that callers can pipeline multiple
+ * index operations.
+ * 
+ * @see #of(TextFileIndex)
+ * @see TextFileIndex
+ * @author omnaest
+ */
+public interface AsyncTextFileIndex extends AutoCloseable
+{
+    public CompletableFuture<Void> putAsync(String key, String value);
+
+    public CompletableFuture<Void> putAllAsync(Map<String, String> map);
+
+    public CompletableFuture<Optional<String>> getAsync(String key);
+
+    public CompletableFuture<Map<String, String>> getAllAsync(Collection<String> keys);
+
+    public CompletableFuture<Void> removeAsync(String key);
+
+    /**
+     * Returns an {@link ExecutorAsyncTextFileIndex} which executes the operations of the given {@link TextFileIndex} asynchronously. The given
+     * {@link TextFileIndex} has to support concurrent access, like the {@link ConcurrentHashTextFileIndex}.
+     * 
+     * @param textFileIndex
+     * @return
+     */
+    public static ExecutorAsyncTextFileIndex of(TextFileIndex textFileIndex)
+    {
+        return new ExecutorAsyncTextFileIndex(textFileIndex);
+    }
+}
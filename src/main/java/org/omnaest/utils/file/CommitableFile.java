@@ -18,13 +18,26 @@ package org.omnaest.utils.file;
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import org.apache.commons.io.FileUtils;
+import org.omnaest.utils.ByteArrayUtils;
+import org.omnaest.utils.duration.TimeDuration;
 import org.omnaest.utils.element.cached.CachedElement;
 import org.omnaest.utils.exception.RuntimeIOException;
 
@@ -38,11 +51,13 @@ import org.omnaest.utils.exception.RuntimeIOException;
  */
 public class CommitableFile implements Consumer<byte[]>, Supplier<byte[]>
 {
-    private static final int          DEFAULT_SLOT    = 0;
+    private static final int                       DEFAULT_SLOT     = 0;
+    private static final Map<Path, GroupCommitter> GROUP_COMMITTERS = new ConcurrentHashMap<>();
 
-    private final CachedElement<Byte> commitFileState = CachedElement.of(() -> this.determineCommitFileStateFromFile());
+    private final CachedElement<Byte>              commitFileState  = CachedElement.of(() -> this.determineCommitFileStateFromFile());
+    private final CachedElement<Long>              commitVersion    = CachedElement.of(() -> this.determineCommitVersionFromFile());
 
-    private final File                file;
+    private final File                             file;
 
     private CommitableFile(File file)
     {
@@ -113,11 +128,9 @@ public class CommitableFile implements Consumer<byte[]>, Supplier<byte[]>
      */
     public Transaction transaction()
     {
-        CachedElement<Byte> newCommitFileState = CachedElement.of(() -> this.calculateNewCommitFileState());
-        return new TransactionWithPartialUpdate() {
-            private boolean        success    = true;
-
-            private List<Runnable> operations = new ArrayList<>();
+        return new TransactionWithPartialUpdate()
+        {
+            private List<FileSlotConsumer> operations = new ArrayList<>();
 
             @Override
             public Transaction accept(byte[] content, int slot)
@@ -134,18 +147,7 @@ public class CommitableFile implements Consumer<byte[]>, Supplier<byte[]>
             @Override
             public TransactionWithPartialUpdate operateOnFiles(FileSlotConsumer fileSlotConsumer)
             {
-                this.operations.add(() ->
-                {
-                    try
-                    {
-                        fileSlotConsumer.accept(slot -> CommitableFile.this.determineTargetFile(newCommitFileState.get(), slot));
-                    }
-                    catch (IOException e)
-                    {
-                        this.success = false;
-                        throw new RuntimeIOException(e);
-                    }
-                });
+                this.operations.add(fileSlotConsumer);
                 return this;
             }
 
@@ -162,21 +164,7 @@ public class CommitableFile implements Consumer<byte[]>, Supplier<byte[]>
             @Override
             public CommitableFile commit()
             {
-                this.operations.forEach(Runnable::run);
-                if (this.success)
-                {
-                    try
-                    {
-                        Byte newState = newCommitFileState.getAndReset();
-                        FileUtils.writeByteArrayToFile(CommitableFile.this.determineCommitFile(), new byte[] {newState});
-                        CommitableFile.this.commitFileState.setSuppliedValue(newState);
-                    }
-                    catch (IOException e)
-                    {
-                        throw new RuntimeIOException(e);
-                    }
-                }
-                return CommitableFile.this;
+                return CommitableFile.this.commit(this.operations, false);
             }
 
             @Override
@@ -195,13 +183,234 @@ public class CommitableFile implements Consumer<byte[]>, Supplier<byte[]>
             public CommitableFile commitFull()
             {
                 // two commits, so A / B files are written
-                this.commit();
-                return this.commit();
+                return CommitableFile.this.commit(this.operations, true);
             }
 
         };
     }
 
+    /**
+     * Enables the group commit mode for the directory of this {@link CommitableFile}. {@link Transaction}s of all {@link CommitableFile} instances of
+     * the same directory are then collected for at most the given latency or until the given batch size is reached and are made visible together with a
+     * single flip of the commit state, instead of one flip per {@link Transaction}.<br>
+     * <br>
+     * {@link Transaction#commit()} still blocks until the {@link Transaction} is committed. If any {@link Transaction} of a group fails, the whole group
+     * is not committed and all its {@link Transaction}s fail with the same exception.
+     * 
+     * @see #withoutGroupCommit()
+     * @param maxLatency
+     * @param maxBatchSize
+     * @return
+     */
+    public CommitableFile withGroupCommit(TimeDuration maxLatency, int maxBatchSize)
+    {
+        if (maxBatchSize < 1)
+        {
+            throw new IllegalArgumentException("Batch size must be at least 1, but was " + maxBatchSize);
+        }
+        GROUP_COMMITTERS.put(this.determineGroupCommitKey(), new GroupCommitter(this.file, maxLatency, maxBatchSize));
+        return this;
+    }
+
+    /**
+     * Disables the group commit mode for the directory of this {@link CommitableFile}
+     * 
+     * @see #withGroupCommit(TimeDuration, int)
+     * @return
+     */
+    public CommitableFile withoutGroupCommit()
+    {
+        GROUP_COMMITTERS.remove(this.determineGroupCommitKey());
+        return this;
+    }
+
+    private Path determineGroupCommitKey()
+    {
+        return this.file.toPath()
+                        .toAbsolutePath()
+                        .normalize();
+    }
+
+    private CommitableFile commit(List<FileSlotConsumer> operations, boolean full)
+    {
+        GroupCommitter groupCommitter = GROUP_COMMITTERS.get(this.determineGroupCommitKey());
+        if (groupCommitter != null)
+        {
+            groupCommitter.commit(operations, full);
+            this.commitFileState.reset();
+            this.commitVersion.reset();
+        }
+        else
+        {
+            this.commitOperations(Collections.singletonList(operations), full);
+        }
+        return this;
+    }
+
+    private void commitOperations(List<List<FileSlotConsumer>> operationsList, boolean full)
+    {
+        int numberOfCommits = full ? 2 : 1;
+        for (int ii = 0; ii < numberOfCommits; ii++)
+        {
+            byte newState = this.calculateNewCommitFileState();
+            try
+            {
+                for (List<FileSlotConsumer> operations : operationsList)
+                {
+                    for (FileSlotConsumer operation : operations)
+                    {
+                        operation.accept(slot -> this.determineTargetFile(newState, slot));
+                    }
+                }
+
+                long newVersion = this.commitVersion.get() + 1;
+                byte[] commitFileContent = new byte[Byte.BYTES + Long.BYTES];
+                commitFileContent[0] = newState;
+                ByteArrayUtils.writeLong(commitFileContent, Byte.BYTES, newVersion);
+                FileUtils.writeByteArrayToFile(this.determineCommitFile(), commitFileContent);
+                this.commitFileState.setSuppliedValue(newState);
+                this.commitVersion.setSuppliedValue(newVersion);
+            }
+            catch (IOException e)
+            {
+                throw new RuntimeIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Collects the {@link Transaction}s of multiple threads and commits them together. The first waiting thread acts as leader, waits for the commit
+     * window and commits the whole group, while all other threads only wait for the completion of their {@link Transaction}.
+     */
+    private static class GroupCommitter
+    {
+        private final File                     directory;
+        private final long                     maxLatencyInNanoseconds;
+        private final int                      maxBatchSize;
+
+        private final Lock                     leaderLock = new ReentrantLock();
+        private final Lock                     queueLock  = new ReentrantLock();
+        private final Condition                batchFull  = this.queueLock.newCondition();
+        private final List<PendingTransaction> pending    = new ArrayList<>();
+
+        public GroupCommitter(File directory, TimeDuration maxLatency, int maxBatchSize)
+        {
+            super();
+            this.directory = directory;
+            this.maxLatencyInNanoseconds = maxLatency.as(TimeUnit.NANOSECONDS);
+            this.maxBatchSize = maxBatchSize;
+        }
+
+        private static class PendingTransaction
+        {
+            private final List<FileSlotConsumer>  operations;
+            private final boolean                 full;
+            private final CompletableFuture<Void> result = new CompletableFuture<>();
+
+            public PendingTransaction(List<FileSlotConsumer> operations, boolean full)
+            {
+                super();
+                this.operations = operations;
+                this.full = full;
+            }
+
+        }
+
+        public void commit(List<FileSlotConsumer> operations, boolean full)
+        {
+            PendingTransaction pendingTransaction = new PendingTransaction(operations, full);
+            this.queueLock.lock();
+            try
+            {
+                this.pending.add(pendingTransaction);
+                if (this.pending.size() >= this.maxBatchSize)
+                {
+                    this.batchFull.signalAll();
+                }
+            }
+            finally
+            {
+                this.queueLock.unlock();
+            }
+
+            while (!pendingTransaction.result.isDone())
+            {
+                this.leaderLock.lock();
+                try
+                {
+                    if (!pendingTransaction.result.isDone())
+                    {
+                        this.commitGroup(this.awaitGroup());
+                    }
+                }
+                finally
+                {
+                    this.leaderLock.unlock();
+                }
+            }
+
+            try
+            {
+                pendingTransaction.result.join();
+            }
+            catch (CompletionException e)
+            {
+                if (e.getCause() instanceof RuntimeException)
+                {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+        }
+
+        private List<PendingTransaction> awaitGroup()
+        {
+            this.queueLock.lock();
+            try
+            {
+                long remainingNanoseconds = this.maxLatencyInNanoseconds;
+                while (this.pending.size() < this.maxBatchSize && remainingNanoseconds > 0)
+                {
+                    remainingNanoseconds = this.batchFull.awaitNanos(remainingNanoseconds);
+                }
+
+                List<PendingTransaction> batch = this.pending.subList(0, Math.min(this.maxBatchSize, this.pending.size()));
+                List<PendingTransaction> group = new ArrayList<>(batch);
+                batch.clear();
+                return group;
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread()
+                      .interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the group commit window", e);
+            }
+            finally
+            {
+                this.queueLock.unlock();
+            }
+        }
+
+        private void commitGroup(List<PendingTransaction> group)
+        {
+            try
+            {
+                boolean full = group.stream()
+                                    .anyMatch(pendingTransaction -> pendingTransaction.full);
+                CommitableFile.of(this.directory)
+                              .commitOperations(group.stream()
+                                                     .map(pendingTransaction -> pendingTransaction.operations)
+                                                     .collect(Collectors.toList()),
+                                                full);
+                group.forEach(pendingTransaction -> pendingTransaction.result.complete(null));
+            }
+            catch (RuntimeException e)
+            {
+                group.forEach(pendingTransaction -> pendingTransaction.result.completeExceptionally(e));
+            }
+        }
+    }
+
     private byte calculateNewCommitFileState()
     {
         return this.calculateNewCommitFileState(this.determineCommitFileState());
@@ -233,6 +442,22 @@ public class CommitableFile implements Consumer<byte[]>, Supplier<byte[]>
     }
 
     private byte determineCommitFileStateFromFile()
+    {
+        return this.readCommitFileContent()
+                   .filter(content -> content.length >= 1)
+                   .map(content -> content[0])
+                   .orElse((byte) 0);
+    }
+
+    private long determineCommitVersionFromFile()
+    {
+        return this.readCommitFileContent()
+                   .filter(content -> content.length >= Byte.BYTES + Long.BYTES)
+                   .map(content -> ByteArrayUtils.readLong(content, Byte.BYTES))
+                   .orElse(0l);
+    }
+
+    private Optional<byte[]> readCommitFileContent()
     {
         return Optional.ofNullable(this.determineCommitFile())
                        .filter(File::exists)
@@ -246,10 +471,19 @@ public class CommitableFile implements Consumer<byte[]>, Supplier<byte[]>
                            {
                                throw new RuntimeIOException(e);
                            }
-                       })
-                       .filter(content -> content.length >= 1)
-                       .map(content -> content[0])
-                       .orElse((byte) 0);
+                       });
+    }
+
+    /**
+     * Returns the number of commits which have been made so far. In contrast to the A/B commit state, which returns to its previous value after a
+     * {@link TransactionWithPartialUpdate#commitFull()}, this allows to detect any new commit, also from other {@link CommitableFile} instances. The value
+     * is always read from the {@link File} system.
+     * 
+     * @return
+     */
+    public long getCommitVersion()
+    {
+        return this.determineCommitVersionFromFile();
     }
 
     /**
@@ -16,6 +16,7 @@
 package org.omnaest.utils.file;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Map;
 import java.util.Optional;
@@ -32,8 +33,8 @@ import org.omnaest.utils.lock.LockMap;
  */
 public class ConcurrentHashTextFileIndex implements TextFileIndex
 {
-    private LockMap       lockMap;
-    private TextFileIndex fileIndex;
+    private LockMap           lockMap;
+    private HashTextFileIndex fileIndex;
 
     public ConcurrentHashTextFileIndex(File directory, int capacity)
     {
@@ -42,6 +43,16 @@ public class ConcurrentHashTextFileIndex implements TextFileIndex
         this.lockMap = new LockMap();
     }
 
+    /**
+     * @see HashTextFileIndex#withKeyDirectory()
+     * @return
+     */
+    public ConcurrentHashTextFileIndex withKeyDirectory()
+    {
+        this.fileIndex.withKeyDirectory();
+        return this;
+    }
+
     @Override
     public TextFileIndex put(String key, String value)
     {
@@ -88,10 +99,35 @@ public class ConcurrentHashTextFileIndex implements TextFileIndex
         this.fileIndex.close();
     }
 
+    /**
+     * @see HashTextFileIndex#getAll(Collection)
+     */
     @Override
     public Map<String, String> getAll(Collection<String> keys)
     {
-        // TODO Auto-generated method stub
-        return null;
+        return this.fileIndex.getAll(keys);
+    }
+
+    /**
+     * Writes the given key value pairs in parallel groups, where every group holds the locks of all its keys
+     * 
+     * @see HashTextFileIndex#putAll(Map)
+     */
+    @Override
+    public TextFileIndex putAll(Map<String, String> map)
+    {
+        this.fileIndex.putAll(map, (keys, operation) -> this.lockMap.run(new ArrayList<Object>(keys), operation));
+        return this;
+    }
+
+    /**
+     * @see HashTextFileIndex#withNumberOfIOThreads(int)
+     * @param numberOfIOThreads
+     * @return
+     */
+    public ConcurrentHashTextFileIndex withNumberOfIOThreads(int numberOfIOThreads)
+    {
+        this.fileIndex.withNumberOfIOThreads(numberOfIOThreads);
+        return this;
     }
 }
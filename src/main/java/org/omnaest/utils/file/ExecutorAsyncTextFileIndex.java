@@ -0,0 +1,177 @@
+/*******************************************************************************
+ * Copyright 2026 Danny Kunz
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.omnaest.utils.file;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+import org.omnaest.utils.ExecutorUtils;
+import org.omnaest.utils.element.cached.CachedElement;
+
+/**
+ * {@link AsyncTextFileIndex} which runs the operations of a wrapped {@link TextFileIndex} on a bounded thread pool or on virtual threads.<br>
+ * <br>
+ * The number of operations in flight is limited, callers block on submit if the limit is reached, which provides backpressure to producers which
+ * are faster than the underlying file system.
+ * 
+ * @see AsyncTextFileIndex#of(TextFileIndex)
+ * @author omnaest
+ */
+public class ExecutorAsyncTextFileIndex implements AsyncTextFileIndex
+{
+    private final TextFileIndex                  textFileIndex;
+    private final CachedElement<ExecutorService> executorService;
+
+    private Supplier<ExecutorService>            executorServiceFactory = () -> ExecutorUtils.newFixedThreadPoolWithNumberOfThreadsPerCPUCore(2.0);
+    private Semaphore                            inFlightLimiter        = new Semaphore(1024);
+
+    ExecutorAsyncTextFileIndex(TextFileIndex textFileIndex)
+    {
+        super();
+        this.textFileIndex = textFileIndex;
+        this.executorService = CachedElement.of(() -> this.executorServiceFactory.get())
+                                            .asSynchronized();
+    }
+
+    /**
+     * Executes the operations on a fixed thread pool with the given number of threads. Default is two threads per CPU core.
+     * 
+     * @param numberOfThreads
+     * @return
+     */
+    public ExecutorAsyncTextFileIndex withNumberOfThreads(int numberOfThreads)
+    {
+        return this.withExecutorServiceFactory(() -> Executors.newFixedThreadPool(numberOfThreads));
+    }
+
+    /**
+     * Executes every operation on its own virtual thread, if the running java version supports virtual threads, otherwise the default thread pool is
+     * used. Combine this with {@link #withMaxInFlight(int)} to limit the number of concurrently open files.
+     * 
+     * @return
+     */
+    public ExecutorAsyncTextFileIndex withVirtualThreads()
+    {
+        if (ExecutorUtils.isVirtualThreadSupported())
+        {
+            this.withExecutorServiceFactory(() -> ExecutorUtils.newVirtualThreadPerTaskExecutor()
+                                                               .get());
+        }
+        return this;
+    }
+
+    private ExecutorAsyncTextFileIndex withExecutorServiceFactory(Supplier<ExecutorService> executorServiceFactory)
+    {
+        if (this.executorService.getIfCached()
+                                .isPresent())
+        {
+            throw new IllegalStateException("Executor can not be changed after the first operation");
+        }
+        this.executorServiceFactory = executorServiceFactory;
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of operations which can be in flight at the same time. Further operations block the submitting thread until an operation
+     * completes. Default is 1024.
+     * 
+     * @param maxInFlight
+     * @return
+     */
+    public ExecutorAsyncTextFileIndex withMaxInFlight(int maxInFlight)
+    {
+        this.inFlightLimiter = new Semaphore(Math.max(1, maxInFlight));
+        return this;
+    }
+
+    @Override
+    public CompletableFuture<Void> putAsync(String key, String value)
+    {
+        return this.submit(() ->
+        {
+            this.textFileIndex.put(key, value);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> putAllAsync(Map<String, String> map)
+    {
+        return this.submit(() ->
+        {
+            this.textFileIndex.putAll(map);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Optional<String>> getAsync(String key)
+    {
+        return this.submit(() -> this.textFileIndex.get(key));
+    }
+
+    @Override
+    public CompletableFuture<Map<String, String>> getAllAsync(Collection<String> keys)
+    {
+        return this.submit(() -> this.textFileIndex.getAll(keys));
+    }
+
+    @Override
+    public CompletableFuture<Void> removeAsync(String key)
+    {
+        return this.submit(() ->
+        {
+            this.textFileIndex.remove(key);
+            return null;
+        });
+    }
+
+    private <R> CompletableFuture<R> submit(Supplier<R> operation)
+    {
+        Semaphore inFlightLimiter = this.inFlightLimiter;
+        inFlightLimiter.acquireUninterruptibly();
+        try
+        {
+            CompletableFuture<R> result = CompletableFuture.supplyAsync(operation, this.executorService.get());
+            result.whenComplete((value, exception) -> inFlightLimiter.release());
+            return result;
+        }
+        catch (RuntimeException e)
+        {
+            inFlightLimiter.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Waits for all operations in flight and shuts down the executor. The wrapped {@link TextFileIndex} is closed as well.
+     */
+    @Override
+    public void close() throws Exception
+    {
+        this.executorService.getIfCached()
+                            .ifPresent(executorService -> ExecutorUtils.shutdown(executorService)
+                                                                       .awaitTermination());
+        this.textFileIndex.close();
+    }
+
+}
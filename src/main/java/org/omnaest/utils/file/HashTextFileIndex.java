@@ -17,17 +17,29 @@ package org.omnaest.utils.file;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.filefilter.FileFilterUtils;
 import org.apache.commons.io.filefilter.TrueFileFilter;
 import org.omnaest.utils.EncoderUtils;
+import org.omnaest.utils.ExecutorUtils;
 import org.omnaest.utils.PredicateUtils;
 import org.omnaest.utils.exception.RuntimeIOException;
+import org.omnaest.utils.exception.handler.ExceptionHandler;
 
 /**
  * {@link String} key and value store which relies on a simple hashing and direct file read and write
@@ -38,8 +50,10 @@ import org.omnaest.utils.exception.RuntimeIOException;
  */
 public class HashTextFileIndex implements TextFileIndex
 {
-    private File directory;
-    private int  capacity;
+    private File                      directory;
+    private int                       capacity;
+    private TextFileIndexKeyDirectory keyDirectory;
+    private int                       numberOfIOThreads = ExecutorUtils.calculateNumberOfThreadsByPerCPU(2.0);
 
     public HashTextFileIndex(File directory)
     {
@@ -55,6 +69,23 @@ public class HashTextFileIndex implements TextFileIndex
         this.capacity = capacity;
     }
 
+    /**
+     * Enables an in memory directory of all keys, which is persisted next to the index files and loaded again on open. {@link #get(String)} then answers
+     * missing keys without any file access and {@link #keys()} streams from the directory instead of walking all index files.<br>
+     * <br>
+     * All modifications of the index have to go through instances with an enabled key directory, otherwise the directory gets out of sync.
+     * 
+     * @return
+     */
+    public HashTextFileIndex withKeyDirectory()
+    {
+        if (this.keyDirectory == null)
+        {
+            this.keyDirectory = TextFileIndexKeyDirectory.open(this.directory, () -> this.readKeysFromFiles());
+        }
+        return this;
+    }
+
     private File determineTargetFile(String key)
     {
         String suffix = "_" + org.omnaest.utils.StringUtils.limitText(EncoderUtils.newInstance()
@@ -90,6 +121,10 @@ public class HashTextFileIndex implements TextFileIndex
     @Override
     public TextFileIndex put(String key, String value)
     {
+        if (this.keyDirectory != null)
+        {
+            this.keyDirectory.add(key);
+        }
         CommitableFile.of(this.determineTargetFile(key))
                       .transaction()
                       .accept(value, 0)
@@ -101,6 +136,10 @@ public class HashTextFileIndex implements TextFileIndex
     @Override
     public Optional<String> get(String key)
     {
+        if (this.keyDirectory != null && !this.keyDirectory.contains(key))
+        {
+            return Optional.empty();
+        }
         return Optional.ofNullable(CommitableFile.of(this.determineTargetFile(key))
                                                  .getAsString());
     }
@@ -124,6 +163,10 @@ public class HashTextFileIndex implements TextFileIndex
                 throw new RuntimeIOException(e);
             }
         }
+        if (this.keyDirectory != null)
+        {
+            this.keyDirectory.clear();
+        }
         return this;
     }
 
@@ -133,11 +176,24 @@ public class HashTextFileIndex implements TextFileIndex
         File targetFile = this.determineTargetFile(key);
         CommitableFile.of(targetFile)
                       .delete();
+        if (this.keyDirectory != null)
+        {
+            this.keyDirectory.remove(key);
+        }
         return this;
     }
 
     @Override
     public Stream<String> keys()
+    {
+        if (this.keyDirectory != null)
+        {
+            return this.keyDirectory.keys();
+        }
+        return this.readKeysFromFiles();
+    }
+
+    private Stream<String> readKeysFromFiles()
     {
         return FileUtils.listFilesAndDirs(this.directory, FileFilterUtils.directoryFileFilter(), TrueFileFilter.INSTANCE)
                         .stream()
@@ -149,13 +205,136 @@ public class HashTextFileIndex implements TextFileIndex
     @Override
     public void close() throws Exception
     {
-        // do nothing        
+        if (this.keyDirectory != null)
+        {
+            this.keyDirectory.close();
+        }
     }
 
+    /**
+     * Reads the values of all given keys. The keys are grouped by their hash bucket directories and the groups are read in parallel.
+     * 
+     * @see #withNumberOfIOThreads(int)
+     */
     @Override
     public Map<String, String> getAll(Collection<String> keys)
     {
-        // TODO Auto-generated method stub
-        return null;
+        List<String> existingKeys = Optional.ofNullable(keys)
+                                            .orElse(Collections.emptyList())
+                                            .stream()
+                                            .filter(PredicateUtils.notNull())
+                                            .distinct()
+                                            .filter(key -> this.keyDirectory == null || this.keyDirectory.contains(key))
+                                            .collect(Collectors.toList());
+        Map<String, String> result = new HashMap<>();
+        this.executeOnBucketGroups(existingKeys, bucketGroup ->
+        {
+            Map<String, String> keyToValue = new HashMap<>();
+            bucketGroup.forEach(key -> this.get(key)
+                                           .ifPresent(value -> keyToValue.put(key, value)));
+            return keyToValue;
+        })
+            .forEach(result::putAll);
+        return result;
+    }
+
+    /**
+     * Writes all given key value pairs. The keys are grouped by their hash bucket directories and the groups are written in parallel.
+     * 
+     * @see #withNumberOfIOThreads(int)
+     */
+    @Override
+    public TextFileIndex putAll(Map<String, String> map)
+    {
+        return this.putAll(map, (bucketGroup, operation) -> operation.run());
+    }
+
+    /**
+     * Similar to {@link #putAll(Map)} but runs the write operation of every bucket group through the given guard, which allows to lock the keys of the
+     * group.
+     * 
+     * @param map
+     * @param bucketGroupGuard
+     * @return
+     */
+    TextFileIndex putAll(Map<String, String> map, BiConsumer<List<String>, Runnable> bucketGroupGuard)
+    {
+        Map<String, String> keyToValue = Optional.ofNullable(map)
+                                                 .orElse(Collections.emptyMap());
+        this.executeOnBucketGroups(keyToValue.keySet(), bucketGroup ->
+        {
+            bucketGroupGuard.accept(bucketGroup, () -> bucketGroup.forEach(key -> this.put(key, keyToValue.get(key))));
+            return null;
+        });
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of threads used by {@link #getAll(Collection)} and {@link #putAll(Map)}. Default is two threads per CPU core.
+     * 
+     * @param numberOfIOThreads
+     * @return
+     */
+    public HashTextFileIndex withNumberOfIOThreads(int numberOfIOThreads)
+    {
+        this.numberOfIOThreads = Math.max(1, numberOfIOThreads);
+        return this;
+    }
+
+    private <R> List<R> executeOnBucketGroups(Collection<String> keys, Function<List<String>, R> bucketGroupFunction)
+    {
+        List<List<String>> bucketGroups = this.determineBucketGroups(keys);
+        if (bucketGroups.size() <= 1)
+        {
+            return bucketGroups.stream()
+                               .map(bucketGroupFunction)
+                               .collect(Collectors.toList());
+        }
+        else
+        {
+            return ExecutorUtils.parallel()
+                                .withNumberOfThreads(Math.min(this.numberOfIOThreads, bucketGroups.size()))
+                                .withExceptionHandler(ExceptionHandler.rethrowingExceptionHandler())
+                                .executeTasks(bucketGroups.stream()
+                                                          .map(bucketGroup -> (Callable<R>) () -> bucketGroupFunction.apply(bucketGroup)))
+                                .get()
+                                .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Groups the given keys by their bucket directory and combines neighboring buckets to groups of similar size. The keys within every group are
+     * sorted.
+     * 
+     * @param keys
+     * @return
+     */
+    private List<List<String>> determineBucketGroups(Collection<String> keys)
+    {
+        SortedMap<String, List<String>> bucketToKeys = new TreeMap<>();
+        keys.forEach(key -> bucketToKeys.computeIfAbsent(this.determineTargetFile(key)
+                                                             .getParent(),
+                                                         bucket -> new ArrayList<>())
+                                        .add(key));
+
+        int groupSize = Math.max(1, keys.size() / (4 * this.numberOfIOThreads));
+        List<List<String>> bucketGroups = new ArrayList<>();
+        List<String> bucketGroup = new ArrayList<>();
+        for (List<String> bucketKeys : bucketToKeys.values())
+        {
+            bucketGroup.addAll(bucketKeys);
+            if (bucketGroup.size() >= groupSize)
+            {
+                Collections.sort(bucketGroup);
+                bucketGroups.add(bucketGroup);
+                bucketGroup = new ArrayList<>();
+            }
+        }
+        if (!bucketGroup.isEmpty())
+        {
+            Collections.sort(bucketGroup);
+            bucketGroups.add(bucketGroup);
+        }
+        return bucketGroups;
     }
 }
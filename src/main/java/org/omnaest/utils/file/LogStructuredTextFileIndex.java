@@ -0,0 +1,773 @@
+/*******************************************************************************
+ * Copyright 2026 Danny Kunz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.omnaest.utils.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import org.apache.commons.io.FileUtils;
+import org.omnaest.utils.exception.RuntimeIOException;
+
+/**
+ * {@link TextFileIndex} which appends all records to a small number of segment {@link File}s within a single directory and keeps an in memory hash
+ * directory of the key to record positions. <br>
+ * <br>
+ * Overwritten and removed records are reclaimed by a background compaction which copies the remaining live records of the sealed segments into the
+ * active segment and deletes the sealed segments afterwards. Every record is protected by a {@link CRC32} checksum, so a torn write at the tail of a
+ * segment is detected and truncated when the index is opened again.<br>
+ * <br>
+ * This implementation is thread safe and can be used as a drop in replacement for {@link HashTextFileIndex} and {@link ConcurrentHashTextFileIndex}.
+ *
+ * @see TextFileIndex
+ * @see HashTextFileIndex
+ * @author omnaest
+ */
+public class LogStructuredTextFileIndex implements TextFileIndex
+{
+    private static final Pattern SEGMENT_FILE_NAME_PATTERN        = Pattern.compile("segment\\.([0-9]+)\\.log");
+    private static final long    DEFAULT_MAX_SEGMENT_SIZE         = 64l * 1024 * 1024;
+    private static final double  DEFAULT_COMPACTION_GARBAGE_RATIO = 0.5;
+
+    private static final byte    RECORD_TYPE_PUT                  = 1;
+    private static final byte    RECORD_TYPE_REMOVE               = 2;
+
+    /**
+     * crc (int), type (byte), key length (int), value length (int)
+     */
+    private static final int     RECORD_HEADER_SIZE               = Integer.BYTES + Byte.BYTES + Integer.BYTES + Integer.BYTES;
+
+    private final File                       directory;
+    private final long                       maxSegmentSize;
+    private final double                     compactionGarbageRatio;
+    private boolean                          forceOnWrite        = false;
+
+    private final ReadWriteLock              lock                = new ReentrantReadWriteLock();
+    private final Map<String, RecordPointer> keyToRecordPointer  = new HashMap<>();
+    private final TreeMap<Long, Segment>     segments            = new TreeMap<>();
+    private Segment                          activeSegment;
+
+    private final ExecutorService            compactionExecutorService;
+    private final AtomicBoolean              compactionScheduled = new AtomicBoolean(false);
+    private volatile boolean                 closed              = false;
+
+    public LogStructuredTextFileIndex(File directory)
+    {
+        this(directory, DEFAULT_MAX_SEGMENT_SIZE);
+    }
+
+    public LogStructuredTextFileIndex(File directory, long maxSegmentSize)
+    {
+        this(directory, maxSegmentSize, DEFAULT_COMPACTION_GARBAGE_RATIO);
+    }
+
+    /**
+     * @param directory
+     * @param maxSegmentSize
+     *            maximum number of bytes of a single segment {@link File} before a new segment is started
+     * @param compactionGarbageRatio
+     *            ratio of overwritten or removed bytes to all bytes of the sealed segments above which a background compaction is triggered
+     */
+    public LogStructuredTextFileIndex(File directory, long maxSegmentSize, double compactionGarbageRatio)
+    {
+        super();
+        this.directory = directory;
+        this.maxSegmentSize = Math.max(RECORD_HEADER_SIZE, maxSegmentSize);
+        this.compactionGarbageRatio = compactionGarbageRatio;
+        this.compactionExecutorService = Executors.newSingleThreadExecutor(runnable ->
+        {
+            Thread thread = new Thread(runnable, "LogStructuredTextFileIndex-compaction");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.open();
+    }
+
+    /**
+     * If set to true, every {@link #put(String, String)} and {@link #remove(String)} forces the written record to the storage device before it
+     * returns. Otherwise the records are only handed over to the operating system, which survives a crash of the JVM but not a power loss.
+     *
+     * @param forceOnWrite
+     * @return
+     */
+    public LogStructuredTextFileIndex withForceOnWrite(boolean forceOnWrite)
+    {
+        this.forceOnWrite = forceOnWrite;
+        return this;
+    }
+
+    private static class RecordPointer
+    {
+        private final long segmentId;
+        private final long position;
+        private final int  keyLength;
+        private final int  valueLength;
+
+        public RecordPointer(long segmentId, long position, int keyLength, int valueLength)
+        {
+            super();
+            this.segmentId = segmentId;
+            this.position = position;
+            this.keyLength = keyLength;
+            this.valueLength = valueLength;
+        }
+
+        public int getRecordLength()
+        {
+            return RECORD_HEADER_SIZE + this.keyLength + this.valueLength;
+        }
+
+        public long getValuePosition()
+        {
+            return this.position + RECORD_HEADER_SIZE + this.keyLength;
+        }
+
+    }
+
+    private static class Segment
+    {
+        private final long        id;
+        private final File        file;
+        private final FileChannel fileChannel;
+        private long              size;
+        private long              garbageSize;
+        private final Set<String> liveKeys = new HashSet<>();
+
+        public Segment(long id, File file) throws IOException
+        {
+            super();
+            this.id = id;
+            this.file = file;
+            this.fileChannel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.size = this.fileChannel.size();
+        }
+
+        public long append(ByteBuffer record) throws IOException
+        {
+            long position = this.size;
+            long currentPosition = position;
+            while (record.hasRemaining())
+            {
+                currentPosition += this.fileChannel.write(record, currentPosition);
+            }
+            this.size = currentPosition;
+            return position;
+        }
+
+        public ByteBuffer read(long position, int length) throws IOException
+        {
+            ByteBuffer buffer = ByteBuffer.allocate(length);
+            long currentPosition = position;
+            while (buffer.hasRemaining())
+            {
+                int numberOfReadBytes = this.fileChannel.read(buffer, currentPosition);
+                if (numberOfReadBytes < 0)
+                {
+                    break;
+                }
+                currentPosition += numberOfReadBytes;
+            }
+            buffer.flip();
+            return buffer;
+        }
+
+        public void truncate(long size) throws IOException
+        {
+            this.fileChannel.truncate(size);
+            this.size = size;
+        }
+
+        public void force() throws IOException
+        {
+            // the channel of a sealed segment is closed, if a compaction reading it has been interrupted
+            if (this.fileChannel.isOpen())
+            {
+                this.fileChannel.force(false);
+            }
+        }
+
+        public void close() throws IOException
+        {
+            this.fileChannel.close();
+        }
+
+        public void delete() throws IOException
+        {
+            this.close();
+            Files.deleteIfExists(this.file.toPath());
+        }
+
+        public double getGarbageRatio()
+        {
+            return this.size > 0 ? this.garbageSize / (double) this.size : 0.0;
+        }
+    }
+
+    private void open()
+    {
+        try
+        {
+            FileUtils.forceMkdir(this.directory);
+            List<File> segmentFiles = Optional.ofNullable(this.directory.listFiles(file -> SEGMENT_FILE_NAME_PATTERN.matcher(file.getName())
+                                                                                                                     .matches()))
+                                              .map(files -> Stream.of(files)
+                                                                  .sorted(Comparator.comparing(file -> this.determineSegmentId(file)))
+                                                                  .collect(Collectors.toList()))
+                                              .orElse(new ArrayList<>());
+            for (File segmentFile : segmentFiles)
+            {
+                Segment segment = new Segment(this.determineSegmentId(segmentFile), segmentFile);
+                this.segments.put(segment.id, segment);
+                this.recover(segment);
+            }
+
+            this.activeSegment = this.segments.isEmpty() ? this.createNewSegment(0) : this.segments.lastEntry()
+                                                                                                   .getValue();
+        }
+        catch (IOException e)
+        {
+            throw new RuntimeIOException("Unable to open index at " + this.directory, e);
+        }
+    }
+
+    private long determineSegmentId(File segmentFile)
+    {
+        Matcher matcher = SEGMENT_FILE_NAME_PATTERN.matcher(segmentFile.getName());
+        return matcher.matches() ? Long.parseLong(matcher.group(1)) : -1;
+    }
+
+    /**
+     * Replays all records of the given {@link Segment} into the key directory and truncates the {@link Segment} at the first incomplete or corrupt record
+     *
+     * @param segment
+     * @throws IOException
+     */
+    private void recover(Segment segment) throws IOException
+    {
+        long position = 0;
+        while (position + RECORD_HEADER_SIZE <= segment.size)
+        {
+            ByteBuffer header = segment.read(position, RECORD_HEADER_SIZE);
+            int crc = header.getInt();
+            byte type = header.get();
+            int keyLength = header.getInt();
+            int valueLength = header.getInt();
+
+            boolean validHeader = (type == RECORD_TYPE_PUT || type == RECORD_TYPE_REMOVE) && keyLength >= 0 && valueLength >= 0
+                    && position + RECORD_HEADER_SIZE + keyLength + valueLength <= segment.size;
+            if (!validHeader)
+            {
+                break;
+            }
+
+            ByteBuffer record = segment.read(position, RECORD_HEADER_SIZE + keyLength + valueLength);
+            if (crc != this.calculateChecksum(record))
+            {
+                break;
+            }
+
+            String key = new String(record.array(), RECORD_HEADER_SIZE, keyLength, StandardCharsets.UTF_8);
+            RecordPointer recordPointer = new RecordPointer(segment.id, position, keyLength, valueLength);
+            if (type == RECORD_TYPE_PUT)
+            {
+                this.putRecordPointer(key, recordPointer);
+            }
+            else
+            {
+                this.removeRecordPointer(key);
+                segment.garbageSize += recordPointer.getRecordLength();
+            }
+            position += recordPointer.getRecordLength();
+        }
+
+        if (position < segment.size)
+        {
+            segment.truncate(position);
+        }
+    }
+
+    private Segment createNewSegment(long segmentId) throws IOException
+    {
+        Segment segment = new Segment(segmentId, new File(this.directory, "segment." + segmentId + ".log"));
+        this.segments.put(segmentId, segment);
+        return segment;
+    }
+
+    private int calculateChecksum(ByteBuffer record)
+    {
+        CRC32 crc32 = new CRC32();
+        crc32.update(record.array(), Integer.BYTES, record.limit() - Integer.BYTES);
+        return (int) crc32.getValue();
+    }
+
+    private ByteBuffer createRecord(byte type, byte[] key, byte[] value)
+    {
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_SIZE + key.length + value.length);
+        record.putInt(0)
+              .put(type)
+              .putInt(key.length)
+              .putInt(value.length)
+              .put(key)
+              .put(value);
+        record.flip();
+        record.putInt(0, this.calculateChecksum(record));
+        return record;
+    }
+
+    /**
+     * Registers the given {@link RecordPointer} for the given key and releases the previous one. Has to be called while holding the write lock.
+     *
+     * @param key
+     * @param recordPointer
+     */
+    private void putRecordPointer(String key, RecordPointer recordPointer)
+    {
+        this.releaseRecordPointer(key, this.keyToRecordPointer.put(key, recordPointer));
+        this.segments.get(recordPointer.segmentId).liveKeys.add(key);
+    }
+
+    private void removeRecordPointer(String key)
+    {
+        this.releaseRecordPointer(key, this.keyToRecordPointer.remove(key));
+    }
+
+    private void releaseRecordPointer(String key, RecordPointer recordPointer)
+    {
+        this.markAsGarbage(recordPointer);
+        if (recordPointer != null)
+        {
+            Optional.ofNullable(this.segments.get(recordPointer.segmentId))
+                    .ifPresent(segment -> segment.liveKeys.remove(key));
+        }
+    }
+
+    private void markAsGarbage(RecordPointer recordPointer)
+    {
+        if (recordPointer != null)
+        {
+            Optional.ofNullable(this.segments.get(recordPointer.segmentId))
+                    .ifPresent(segment -> segment.garbageSize += recordPointer.getRecordLength());
+        }
+    }
+
+    /**
+     * Appends the given record to the active {@link Segment}. Has to be called while holding the write lock.
+     *
+     * @param record
+     * @return
+     * @throws IOException
+     */
+    private RecordPointer append(ByteBuffer record, int keyLength, int valueLength) throws IOException
+    {
+        if (this.activeSegment.size > 0 && this.activeSegment.size + record.remaining() > this.maxSegmentSize)
+        {
+            this.activeSegment.force();
+            this.activeSegment = this.createNewSegment(this.activeSegment.id + 1);
+            this.scheduleCompactionIfRequired();
+        }
+
+        long position = this.activeSegment.append(record);
+        if (this.forceOnWrite)
+        {
+            this.activeSegment.force();
+        }
+        return new RecordPointer(this.activeSegment.id, position, keyLength, valueLength);
+    }
+
+    @Override
+    public TextFileIndex put(String key, String value)
+    {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        byte[] valueBytes = Optional.ofNullable(value)
+                                    .map(v -> v.getBytes(StandardCharsets.UTF_8))
+                                    .orElse(new byte[0]);
+        ByteBuffer record = this.createRecord(RECORD_TYPE_PUT, keyBytes, valueBytes);
+
+        this.lock.writeLock()
+                 .lock();
+        try
+        {
+            this.ensureOpen();
+            this.putRecordPointer(key, this.append(record, keyBytes.length, valueBytes.length));
+        }
+        catch (IOException e)
+        {
+            throw new RuntimeIOException("Unable to write key " + key, e);
+        }
+        finally
+        {
+            this.lock.writeLock()
+                     .unlock();
+        }
+        return this;
+    }
+
+    @Override
+    public Optional<String> get(String key)
+    {
+        this.lock.readLock()
+                 .lock();
+        try
+        {
+            this.ensureOpen();
+            RecordPointer recordPointer = this.keyToRecordPointer.get(key);
+            if (recordPointer == null)
+            {
+                return Optional.empty();
+            }
+
+            ByteBuffer value = this.segments.get(recordPointer.segmentId)
+                                            .read(recordPointer.getValuePosition(), recordPointer.valueLength);
+            return Optional.of(new String(value.array(), 0, value.limit(), StandardCharsets.UTF_8));
+        }
+        catch (IOException e)
+        {
+            throw new RuntimeIOException("Unable to read key " + key, e);
+        }
+        finally
+        {
+            this.lock.readLock()
+                     .unlock();
+        }
+    }
+
+    @Override
+    public TextFileIndex clear()
+    {
+        this.lock.writeLock()
+                 .lock();
+        try
+        {
+            this.ensureOpen();
+            long nextSegmentId = this.activeSegment.id + 1;
+            for (Segment segment : this.segments.values())
+            {
+                segment.delete();
+            }
+            this.segments.clear();
+            this.keyToRecordPointer.clear();
+            this.activeSegment = this.createNewSegment(nextSegmentId);
+        }
+        catch (IOException e)
+        {
+            throw new RuntimeIOException("Unable to clear index at " + this.directory, e);
+        }
+        finally
+        {
+            this.lock.writeLock()
+                     .unlock();
+        }
+        return this;
+    }
+
+    @Override
+    public TextFileIndex remove(String key)
+    {
+        this.lock.writeLock()
+                 .lock();
+        try
+        {
+            this.ensureOpen();
+            if (this.keyToRecordPointer.containsKey(key))
+            {
+                byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+                RecordPointer tombstonePointer = this.append(this.createRecord(RECORD_TYPE_REMOVE, keyBytes, new byte[0]), keyBytes.length, 0);
+                this.markAsGarbage(tombstonePointer);
+                this.removeRecordPointer(key);
+            }
+        }
+        catch (IOException e)
+        {
+            throw new RuntimeIOException("Unable to remove key " + key, e);
+        }
+        finally
+        {
+            this.lock.writeLock()
+                     .unlock();
+        }
+        return this;
+    }
+
+    @Override
+    public Stream<String> keys()
+    {
+        this.lock.readLock()
+                 .lock();
+        try
+        {
+            this.ensureOpen();
+            return new ArrayList<>(this.keyToRecordPointer.keySet()).stream();
+        }
+        finally
+        {
+            this.lock.readLock()
+                     .unlock();
+        }
+    }
+
+    private void scheduleCompactionIfRequired()
+    {
+        if (this.isCompactionRequired() && this.compactionScheduled.compareAndSet(false, true))
+        {
+            this.compactionExecutorService.execute(() ->
+            {
+                try
+                {
+                    this.compact();
+                }
+                catch (RuntimeException e)
+                {
+                    if (!this.closed)
+                    {
+                        throw e;
+                    }
+                }
+                finally
+                {
+                    this.compactionScheduled.set(false);
+                }
+            });
+        }
+    }
+
+    private boolean isCompactionRequired()
+    {
+        long size = 0;
+        long garbageSize = 0;
+        for (Segment segment : this.segments.headMap(this.activeSegment.id)
+                                            .values())
+        {
+            size += segment.size;
+            garbageSize += segment.garbageSize;
+        }
+        return size > 0 && garbageSize / (double) size > this.compactionGarbageRatio;
+    }
+
+    /**
+     * Copies all live records of the currently sealed segments into the active segment and deletes the sealed segments afterwards. The segments are
+     * processed from the oldest to the newest, so a removal record is never deleted before the records it removes.<br>
+     * <br>
+     * This is triggered automatically in the background, if the garbage ratio of the sealed segments exceeds the configured threshold.
+     *
+     * @return
+     */
+    public LogStructuredTextFileIndex compact()
+    {
+        List<Long> sealedSegmentIds = this.callWithReadLock(() ->
+        {
+            this.ensureOpen();
+            return new ArrayList<>(this.segments.headMap(this.activeSegment.id)
+                                                .keySet());
+        });
+        for (long segmentId : sealedSegmentIds)
+        {
+            try
+            {
+                this.compactSegment(segmentId);
+            }
+            catch (IOException e)
+            {
+                throw new RuntimeIOException("Unable to compact segment " + segmentId + " of index at " + this.directory, e);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Copies the live records of the given sealed {@link Segment} into the active {@link Segment} and deletes it afterwards. The records are read
+     * without holding the lock and a copy only replaces the {@link RecordPointer} of its key, if the key has not been written in the meantime.
+     *
+     * @param segmentId
+     * @throws IOException
+     */
+    private void compactSegment(long segmentId) throws IOException
+    {
+        Segment segment;
+        Map<String, RecordPointer> liveRecordPointers = new HashMap<>();
+        this.lock.readLock()
+                 .lock();
+        try
+        {
+            this.ensureOpen();
+            segment = this.segments.get(segmentId);
+            if (!this.isOldestSealedSegment(segment))
+            {
+                return;
+            }
+            segment.liveKeys.forEach(key -> liveRecordPointers.put(key, this.keyToRecordPointer.get(key)));
+        }
+        finally
+        {
+            this.lock.readLock()
+                     .unlock();
+        }
+
+        for (Map.Entry<String, RecordPointer> entry : liveRecordPointers.entrySet())
+        {
+            String key = entry.getKey();
+            RecordPointer recordPointer = entry.getValue();
+            ByteBuffer record;
+            try
+            {
+                record = segment.read(recordPointer.position, recordPointer.getRecordLength());
+            }
+            catch (IOException e)
+            {
+                // a concurrent clear() or close() closes the segment
+                if (this.callWithReadLock(() -> this.closed || this.segments.get(segmentId) != segment))
+                {
+                    this.ensureOpen();
+                    return;
+                }
+                throw e;
+            }
+
+            this.lock.writeLock()
+                     .lock();
+            try
+            {
+                this.ensureOpen();
+                if (this.keyToRecordPointer.get(key) == recordPointer)
+                {
+                    this.putRecordPointer(key, this.append(record, recordPointer.keyLength, recordPointer.valueLength));
+                }
+            }
+            finally
+            {
+                this.lock.writeLock()
+                         .unlock();
+            }
+        }
+
+        this.lock.writeLock()
+                 .lock();
+        try
+        {
+            this.ensureOpen();
+            if (this.isOldestSealedSegment(segment) && segment.liveKeys.isEmpty())
+            {
+                this.activeSegment.force();
+                this.segments.remove(segmentId);
+                segment.delete();
+            }
+        }
+        finally
+        {
+            this.lock.writeLock()
+                     .unlock();
+        }
+    }
+
+    private boolean isOldestSealedSegment(Segment segment)
+    {
+        return segment != null && segment != this.activeSegment && this.segments.firstEntry()
+                                                                                 .getValue() == segment;
+    }
+
+    private <R> R callWithReadLock(Supplier<R> supplier)
+    {
+        this.lock.readLock()
+                 .lock();
+        try
+        {
+            return supplier.get();
+        }
+        finally
+        {
+            this.lock.readLock()
+                     .unlock();
+        }
+    }
+
+    private void ensureOpen()
+    {
+        if (this.closed)
+        {
+            throw new IllegalStateException("Index at " + this.directory + " has already been closed");
+        }
+    }
+
+    /**
+     * Stops a running background compaction and closes all segments. Any further access to the index throws an {@link IllegalStateException}.
+     */
+    @Override
+    public void close() throws Exception
+    {
+        this.lock.writeLock()
+                 .lock();
+        try
+        {
+            if (this.closed)
+            {
+                return;
+            }
+            this.closed = true;
+        }
+        finally
+        {
+            this.lock.writeLock()
+                     .unlock();
+        }
+
+        // a running compaction only reads sealed segments outside of the write lock, so the interrupt can not tear a record of the active segment
+        this.compactionExecutorService.shutdownNow();
+        if (!this.compactionExecutorService.awaitTermination(1, TimeUnit.MINUTES))
+        {
+            throw new IllegalStateException("Compaction of index at " + this.directory + " did not terminate");
+        }
+
+        this.lock.writeLock()
+                 .lock();
+        try
+        {
+            for (Segment segment : this.segments.values())
+            {
+                segment.force();
+                segment.close();
+            }
+        }
+        finally
+        {
+            this.lock.writeLock()
+                     .unlock();
+        }
+    }
+}
@@ -20,8 +20,10 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -33,11 +35,12 @@ import org.omnaest.utils.StreamUtils;
 import org.omnaest.utils.element.bi.BiElement;
 
 /**
- * Hash based {@link TextFileIndex} which utilizes an internal {@link ExecutorService} to read and write in a concurrent manner.
+ * Hash based {@link TextFileIndex} which utilizes an internal {@link ExecutorService} to read and write in a concurrent manner. The
+ * {@link AsyncTextFileIndex} operations return without waiting for the internal {@link ExecutorService}.
  * 
  * @author omnaest
  */
-public class MultithreadedHashTextFileIndex implements TextFileIndex
+public class MultithreadedHashTextFileIndex implements TextFileIndex, AsyncTextFileIndex
 {
     private TextFileIndex   fileIndex;
     private ExecutorService executorService;
@@ -120,6 +123,56 @@ public class MultithreadedHashTextFileIndex implements TextFileIndex
         return this.submitToExecutorService(() -> this.fileIndex.keys());
     }
 
+    @Override
+    public CompletableFuture<Void> putAsync(String key, String value)
+    {
+        return CompletableFuture.runAsync(() -> this.fileIndex.put(key, value), this.executorService);
+    }
+
+    @Override
+    public CompletableFuture<Void> putAllAsync(Map<String, String> map)
+    {
+        return CompletableFuture.allOf(Optional.ofNullable(map)
+                                               .orElse(Collections.emptyMap())
+                                               .entrySet()
+                                               .stream()
+                                               .map(entry -> this.putAsync(entry.getKey(), entry.getValue()))
+                                               .toArray(CompletableFuture[]::new));
+    }
+
+    @Override
+    public CompletableFuture<Optional<String>> getAsync(String key)
+    {
+        return CompletableFuture.supplyAsync(() -> this.fileIndex.get(key), this.executorService);
+    }
+
+    @Override
+    public CompletableFuture<Map<String, String>> getAllAsync(Collection<String> keys)
+    {
+        Map<String, CompletableFuture<Optional<String>>> keyToFuture = Optional.ofNullable(keys)
+                                                                               .orElse(Collections.emptyList())
+                                                                               .stream()
+                                                                               .filter(PredicateUtils.notNull())
+                                                                               .distinct()
+                                                                               .collect(Collectors.toMap(key -> key, this::getAsync));
+        return CompletableFuture.allOf(keyToFuture.values()
+                                                  .toArray(new CompletableFuture<?>[0]))
+                                .thenApply(v -> keyToFuture.entrySet()
+                                                           .stream()
+                                                           .filter(entry -> entry.getValue()
+                                                                                 .join()
+                                                                                 .isPresent())
+                                                           .collect(Collectors.toMap(Entry::getKey, entry -> entry.getValue()
+                                                                                                                  .join()
+                                                                                                                  .get())));
+    }
+
+    @Override
+    public CompletableFuture<Void> removeAsync(String key)
+    {
+        return CompletableFuture.runAsync(() -> this.fileIndex.remove(key), this.executorService);
+    }
+
     private <R> List<R> submitToExecutorService(List<Callable<R>> callables)
     {
         return callables.stream()
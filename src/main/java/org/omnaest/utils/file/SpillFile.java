@@ -0,0 +1,223 @@
+/*******************************************************************************
+ * Copyright 2026 Danny Kunz
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.omnaest.utils.file;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.apache.commons.io.FileUtils;
+import org.omnaest.utils.StreamUtils;
+import org.omnaest.utils.exception.RuntimeIOException;
+
+/**
+ * Temporary {@link File} which buffers elements on disk, if they do not fit into memory. The elements are appended one after another and are read back
+ * in the same order as {@link Stream}.<br>
+ * <br>
+ * Each element is stored as length prefixed UTF-8 {@link String} of the given serializer, so the serialized form can contain any character. A null
+ * element is stored without calling the serializer. {@link #close()} deletes the {@link File}.
+ * 
+ * @see #of(File, Function, Function)
+ * @author omnaest
+ * @param <E>
+ */
+public class SpillFile<E> implements AutoCloseable
+{
+    private static final int          BUFFER_SIZE = 64 * 1024;
+    private static final int          NULL_LENGTH = -1;
+
+    private final File                file;
+    private final Function<E, String> serializer;
+    private final Function<String, E> deserializer;
+
+    private DataOutputStream          outputStream;
+    private long                      size        = 0;
+
+    protected SpillFile(File file, Function<E, String> serializer, Function<String, E> deserializer)
+    {
+        super();
+        this.file = file;
+        this.serializer = serializer;
+        this.deserializer = deserializer;
+    }
+
+    public static <E> SpillFile<E> of(File file, Function<E, String> serializer, Function<String, E> deserializer)
+    {
+        return new SpillFile<>(file, serializer, deserializer);
+    }
+
+    /**
+     * Appends the given element to the end of the {@link File}
+     * 
+     * @param element
+     * @return
+     * @throws RuntimeIOException
+     */
+    public SpillFile<E> append(E element)
+    {
+        try
+        {
+            if (this.outputStream == null)
+            {
+                this.outputStream = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(this.file, this.size > 0), BUFFER_SIZE));
+            }
+
+            if (element == null)
+            {
+                this.outputStream.writeInt(NULL_LENGTH);
+            }
+            else
+            {
+                byte[] data = this.serializer.apply(element)
+                                             .getBytes(StandardCharsets.UTF_8);
+                this.outputStream.writeInt(data.length);
+                this.outputStream.write(data);
+            }
+            this.size++;
+            return this;
+        }
+        catch (IOException e)
+        {
+            throw new RuntimeIOException(e);
+        }
+    }
+
+    /**
+     * Returns the number of appended elements
+     * 
+     * @return
+     */
+    public long size()
+    {
+        return this.size;
+    }
+
+    /**
+     * Returns a {@link Stream} of all elements appended so far. The {@link Stream} should be closed to release the underlying {@link File} handle.
+     * 
+     * @return
+     * @throws RuntimeIOException
+     */
+    public Stream<E> stream()
+    {
+        this.closeOutputStream();
+        if (this.size == 0)
+        {
+            return Stream.empty();
+        }
+
+        try
+        {
+            long size = this.size;
+            DataInputStream inputStream = new DataInputStream(new BufferedInputStream(new FileInputStream(this.file), BUFFER_SIZE));
+            return StreamUtils.fromIterator(new Iterator<E>()
+            {
+                private long position = 0;
+
+                @Override
+                public boolean hasNext()
+                {
+                    return this.position < size;
+                }
+
+                @Override
+                public E next()
+                {
+                    if (!this.hasNext())
+                    {
+                        throw new NoSuchElementException();
+                    }
+                    try
+                    {
+                        this.position++;
+                        int length = inputStream.readInt();
+                        if (length == NULL_LENGTH)
+                        {
+                            return null;
+                        }
+                        byte[] data = new byte[length];
+                        inputStream.readFully(data);
+                        return SpillFile.this.deserializer.apply(new String(data, StandardCharsets.UTF_8));
+                    }
+                    catch (IOException e)
+                    {
+                        throw new RuntimeIOException(e);
+                    }
+                }
+            })
+                              .onClose(() ->
+                              {
+                                  try
+                                  {
+                                      inputStream.close();
+                                  }
+                                  catch (IOException e)
+                                  {
+                                      throw new RuntimeIOException(e);
+                                  }
+                              });
+        }
+        catch (IOException e)
+        {
+            throw new RuntimeIOException(e);
+        }
+    }
+
+    private void closeOutputStream()
+    {
+        if (this.outputStream != null)
+        {
+            try
+            {
+                this.outputStream.close();
+            }
+            catch (IOException e)
+            {
+                throw new RuntimeIOException(e);
+            }
+            finally
+            {
+                this.outputStream = null;
+            }
+        }
+    }
+
+    /**
+     * Closes and deletes the {@link File}
+     */
+    @Override
+    public void close()
+    {
+        try
+        {
+            this.closeOutputStream();
+        }
+        finally
+        {
+            FileUtils.deleteQuietly(this.file);
+        }
+    }
+}
@@ -0,0 +1,251 @@
+/*******************************************************************************
+ * Copyright 2026 Danny Kunz
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.omnaest.utils.file;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.apache.commons.io.FileUtils;
+import org.omnaest.utils.ByteArrayUtils;
+import org.omnaest.utils.exception.RuntimeIOException;
+
+/**
+ * Directory of all keys of a {@link TextFileIndex}, which answers lookups of missing keys without any file access.<br>
+ * <br>
+ * The keys are persisted as append only log next to the index files and are loaded on open. If no log exists yet, the keys are collected once from
+ * the given key {@link Supplier}. A key is logged before its value file is written and after its value file is deleted, so the directory may
+ * contain a key without a value file, but never misses an existing one.
+ * 
+ * @author omnaest
+ */
+class TextFileIndexKeyDirectory implements AutoCloseable
+{
+    private static final String FILE_NAME   = "keys.directory.log";
+    private static final byte   TYPE_ADD    = 1;
+    private static final byte   TYPE_REMOVE = 2;
+
+    private final File          directory;
+    private final Set<String>   keys        = ConcurrentHashMap.newKeySet();
+
+    private OutputStream        outputStream;
+
+    private TextFileIndexKeyDirectory(File directory)
+    {
+        super();
+        this.directory = directory;
+    }
+
+    public static TextFileIndexKeyDirectory open(File directory, Supplier<Stream<String>> keysSupplier)
+    {
+        TextFileIndexKeyDirectory keyDirectory = new TextFileIndexKeyDirectory(directory);
+        File file = keyDirectory.determineFile();
+        if (file.exists())
+        {
+            int numberOfEntries = keyDirectory.readLog(file);
+            if (numberOfEntries > keyDirectory.keys.size())
+            {
+                keyDirectory.writeCompactedLog();
+            }
+        }
+        else if (directory.exists())
+        {
+            keysSupplier.get()
+                        .forEach(keyDirectory.keys::add);
+            keyDirectory.writeCompactedLog();
+        }
+        return keyDirectory;
+    }
+
+    private int readLog(File file)
+    {
+        try
+        {
+            ByteBuffer buffer = ByteBuffer.wrap(FileUtils.readFileToByteArray(file));
+            int numberOfEntries = 0;
+            while (buffer.hasRemaining())
+            {
+                try
+                {
+                    byte type = buffer.get();
+                    byte[] key = new byte[ByteArrayUtils.readVarInteger(buffer)];
+                    buffer.get(key);
+                    if (type == TYPE_ADD)
+                    {
+                        this.keys.add(new String(key, StandardCharsets.UTF_8));
+                    }
+                    else if (type == TYPE_REMOVE)
+                    {
+                        this.keys.remove(new String(key, StandardCharsets.UTF_8));
+                    }
+                    numberOfEntries++;
+                }
+                catch (BufferUnderflowException | NegativeArraySizeException e)
+                {
+                    // incomplete last entry of an interrupted write
+                    numberOfEntries = Integer.MAX_VALUE;
+                    break;
+                }
+            }
+            return numberOfEntries;
+        }
+        catch (IOException e)
+        {
+            throw new RuntimeIOException(e);
+        }
+    }
+
+    private synchronized void writeCompactedLog()
+    {
+        try
+        {
+            this.closeOutputStream();
+            File file = this.determineFile();
+            File temporaryFile = new File(this.directory, FILE_NAME + ".tmp");
+            FileUtils.forceMkdir(this.directory);
+            try (OutputStream outputStream = Files.newOutputStream(temporaryFile.toPath()))
+            {
+                for (String key : this.keys)
+                {
+                    outputStream.write(this.createEntry(TYPE_ADD, key));
+                }
+            }
+            Files.move(temporaryFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (IOException e)
+        {
+            throw new RuntimeIOException(e);
+        }
+    }
+
+    private byte[] createEntry(byte type, String key)
+    {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        byte[] entry = new byte[1 + ByteArrayUtils.determineVarIntegerSize(keyBytes.length) + keyBytes.length];
+        entry[0] = type;
+        int offset = ByteArrayUtils.writeVarInteger(entry, 1, keyBytes.length);
+        System.arraycopy(keyBytes, 0, entry, offset, keyBytes.length);
+        return entry;
+    }
+
+    private synchronized void appendToLog(byte type, String key)
+    {
+        try
+        {
+            if (this.outputStream == null)
+            {
+                FileUtils.forceMkdir(this.directory);
+                this.outputStream = new FileOutputStream(this.determineFile(), true);
+            }
+            this.outputStream.write(this.createEntry(type, key));
+        }
+        catch (IOException e)
+        {
+            throw new RuntimeIOException(e);
+        }
+    }
+
+    private File determineFile()
+    {
+        return new File(this.directory, FILE_NAME);
+    }
+
+    /**
+     * Registers the given key. Has to be called before the value of the key is written.
+     * 
+     * @param key
+     */
+    public synchronized void add(String key)
+    {
+        if (!this.keys.contains(key))
+        {
+            this.appendToLog(TYPE_ADD, key);
+            this.keys.add(key);
+        }
+    }
+
+    /**
+     * Unregisters the given key. Has to be called after the value of the key has been deleted.
+     * 
+     * @param key
+     */
+    public synchronized void remove(String key)
+    {
+        if (this.keys.remove(key))
+        {
+            this.appendToLog(TYPE_REMOVE, key);
+        }
+    }
+
+    /**
+     * Returns false, if the given key is not present in the index. Returns true, if the key has been registered, even if writing its value has not
+     * finished yet.
+     * 
+     * @param key
+     * @return
+     */
+    public boolean contains(String key)
+    {
+        return this.keys.contains(key);
+    }
+
+    public Stream<String> keys()
+    {
+        return new ArrayList<>(this.keys).stream();
+    }
+
+    public synchronized void clear()
+    {
+        this.closeOutputStream();
+        this.keys.clear();
+    }
+
+    private synchronized void closeOutputStream()
+    {
+        if (this.outputStream != null)
+        {
+            try
+            {
+                this.outputStream.close();
+            }
+            catch (IOException e)
+            {
+                throw new RuntimeIOException(e);
+            }
+            finally
+            {
+                this.outputStream = null;
+            }
+        }
+    }
+
+    @Override
+    public void close()
+    {
+        this.closeOutputStream();
+    }
+}
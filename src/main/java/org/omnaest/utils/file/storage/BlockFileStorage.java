@@ -1,8 +1,39 @@
 package org.omnaest.utils.file.storage;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
 public interface BlockFileStorage<E>
 {
     public E read(int rowIndex);
 
     public void write(int rowIndex, E data);
+
+    /**
+     * Reads all given rows and returns them in the order of the given row indices
+     * 
+     * @param rowIndices
+     * @return
+     */
+    public default Map<Integer, E> readAll(IntStream rowIndices)
+    {
+        Map<Integer, E> result = new LinkedHashMap<>();
+        rowIndices.forEach(rowIndex -> result.put(rowIndex, this.read(rowIndex)));
+        return result;
+    }
+
+    /**
+     * Writes all given rows
+     * 
+     * @param rowIndexToData
+     */
+    public default void writeAll(Map<Integer, E> rowIndexToData)
+    {
+        Optional.ofNullable(rowIndexToData)
+                .orElse(Collections.emptyMap())
+                .forEach(this::write);
+    }
 }
@@ -0,0 +1,56 @@
+package org.omnaest.utils.file.storage;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Read only view on a {@link ByteArrayBlockFileStorage} which resolves rows without opening any file per lookup.
+ * 
+ * @see RandomAccessLogarithmicBlockFileStorage#snapshot()
+ * @author omnaest
+ */
+public interface BlockFileStorageSnapshot extends AutoCloseable
+{
+    /**
+     * Returns the uncompressed data of the given row, similar to {@link ByteArrayBlockFileStorage#read(int)}
+     * 
+     * @param rowIndex
+     * @return
+     */
+    public byte[] read(int rowIndex);
+
+    /**
+     * Returns the uncompressed data of the given row as read only {@link ByteBuffer}. If the storage is uncompressed and the row fits into a single
+     * partition, the returned {@link ByteBuffer} is a slice of the memory mapped file without any copy.
+     * 
+     * @param rowIndex
+     * @return
+     */
+    public ByteBuffer readAsByteBuffer(int rowIndex);
+
+    /**
+     * Returns the stored, potentially compressed, blocks of the given row as read only slices of the memory mapped partition files without any copy
+     * 
+     * @param rowIndex
+     * @return
+     */
+    public List<ByteBuffer> readRawBlocks(int rowIndex);
+
+    /**
+     * Maps the files again, if a new commit has been made since this snapshot has been mapped. The switch to the new mapping is atomic for all
+     * concurrent readers.
+     * 
+     * @return true, if the snapshot has been refreshed
+     */
+    public boolean refresh();
+
+    /**
+     * Returns true, if a new commit has been made since this snapshot has been mapped
+     * 
+     * @return
+     */
+    public boolean isOutdated();
+
+    @Override
+    public void close();
+}
@@ -0,0 +1,317 @@
+package org.omnaest.utils.file.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.omnaest.utils.MathUtils;
+import org.omnaest.utils.compression.CompressionCodec;
+import org.omnaest.utils.file.CommitableFile;
+
+/**
+ * {@link BlockFileStorageSnapshot} which maps the mapping and data file of every partition of a {@link RandomAccessLogarithmicBlockFileStorage} once
+ * into memory and resolves rows by pure position arithmetic.<br>
+ * <br>
+ * The {@link CommitableFile} of the storage only writes into the files of the mapped A/B state after its commit version has been increased. The commit
+ * version therefore acts as sequence lock: every read is validated against the commit version of the mapping after the data has been read. If a commit
+ * happened in between, the files are mapped again and the read is retried, so no torn rows are returned. Rows which are appended after the mapping
+ * are not visible before {@link #refresh()} or a retried read.<br>
+ * <br>
+ * The zero copy {@link ByteBuffer}s of {@link #readRawBlocks(int)} and {@link #readAsByteBuffer(int)} are validated when they are returned, but remain
+ * views of the mapped files, so their content is only stable while {@link #isOutdated()} returns false.
+ * 
+ * @author omnaest
+ */
+class MappedBlockFileStorageSnapshot implements BlockFileStorageSnapshot
+{
+    private static final int MAXIMUM_REGION_SIZE             = 1 << 30;
+    private static final int MAPPING_ENTRY_SIZE              = Integer.BYTES + Long.BYTES;
+    private static final int MAXIMUM_NUMBER_OF_READ_ATTEMPTS = 10;
+
+    private final File             directory;
+    private final int              initialBlockSize;
+    private final CompressionCodec compressionCodec;
+
+    private volatile MappedState   state;
+
+    public MappedBlockFileStorageSnapshot(File directory, int initialBlockSize, CompressionCodec compressionCodec)
+    {
+        super();
+        this.directory = directory;
+        this.initialBlockSize = initialBlockSize;
+        this.compressionCodec = compressionCodec;
+        this.state = this.createMappedState();
+    }
+
+    private static class MappedState
+    {
+        private final long                  commitVersion;
+        private final List<MappedPartition> partitions;
+
+        public MappedState(long commitVersion, List<MappedPartition> partitions)
+        {
+            super();
+            this.commitVersion = commitVersion;
+            this.partitions = partitions;
+        }
+
+    }
+
+    private static class MappedPartition
+    {
+        private final MappedRegions mappingFile;
+        private final MappedRegions dataFile;
+        private final int           blockSize;
+
+        public MappedPartition(MappedRegions mappingFile, MappedRegions dataFile, int blockSize)
+        {
+            super();
+            this.mappingFile = mappingFile;
+            this.dataFile = dataFile;
+            this.blockSize = blockSize;
+        }
+
+    }
+
+    /**
+     * Memory mapped {@link File} split into regions of a multiple of a given unit size, so that no unit spans two regions
+     */
+    private static class MappedRegions
+    {
+        private final long               size;
+        private final int                regionSize;
+        private final MappedByteBuffer[] regions;
+
+        public MappedRegions(File file, int unitSize) throws IOException
+        {
+            super();
+            this.regionSize = Math.max(1, MAXIMUM_REGION_SIZE / unitSize) * unitSize;
+            if (file.exists())
+            {
+                try (FileChannel fileChannel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+                {
+                    this.size = fileChannel.size();
+                    this.regions = new MappedByteBuffer[(int) ((this.size + this.regionSize - 1) / this.regionSize)];
+                    for (int ii = 0; ii < this.regions.length; ii++)
+                    {
+                        long position = (long) ii * this.regionSize;
+                        this.regions[ii] = fileChannel.map(MapMode.READ_ONLY, position, Math.min(this.regionSize, this.size - position));
+                    }
+                }
+            }
+            else
+            {
+                this.size = 0;
+                this.regions = new MappedByteBuffer[0];
+            }
+        }
+
+        /**
+         * Returns a read only slice of the given range or null, if the range is not available
+         * 
+         * @param position
+         * @param length
+         * @return
+         */
+        public ByteBuffer slice(long position, int length)
+        {
+            if (position < 0 || position + length > this.size)
+            {
+                return null;
+            }
+            int offset = (int) (position % this.regionSize);
+            ByteBuffer slice = this.regions[(int) (position / this.regionSize)].duplicate();
+            slice.position(offset)
+                 .limit(offset + length);
+            return slice.slice()
+                        .asReadOnlyBuffer();
+        }
+    }
+
+    private MappedState createMappedState()
+    {
+        CommitableFile commitableFile = CommitableFile.of(this.directory);
+        long commitVersion;
+        List<MappedPartition> partitions;
+        do
+        {
+            commitVersion = commitableFile.getCommitVersion();
+            partitions = CommitableFile.of(this.directory)
+                                       .operateOnCurrentFiles(fileProvider ->
+                                       {
+                                           List<MappedPartition> result = new ArrayList<>();
+                                           for (int subArrayIndex = 0;; subArrayIndex++)
+                                           {
+                                               File dataFile = fileProvider.apply(subArrayIndex * 2);
+                                               File mappingFile = fileProvider.apply(subArrayIndex * 2 + 1);
+                                               if (!mappingFile.exists())
+                                               {
+                                                   break;
+                                               }
+
+                                               int blockSize = this.initialBlockSize * MathUtils.pow2(subArrayIndex);
+                                               result.add(new MappedPartition(new MappedRegions(mappingFile, MAPPING_ENTRY_SIZE),
+                                                                              new MappedRegions(dataFile, blockSize), blockSize));
+                                           }
+                                           return result;
+                                       });
+        }
+        while (commitVersion != commitableFile.getCommitVersion());
+        return new MappedState(commitVersion, partitions);
+    }
+
+    /**
+     * Applies the given reader to the current {@link MappedState} and validates afterwards, that no commit has happened during the read. Since the commit
+     * version only increases, a version which is unchanged after the read also has been unchanged before and during the read.
+     * 
+     * @param reader
+     * @return
+     */
+    private <R> R readConsistently(Function<MappedState, R> reader)
+    {
+        for (int attempt = 0; attempt < MAXIMUM_NUMBER_OF_READ_ATTEMPTS; attempt++)
+        {
+            MappedState state = this.getState();
+            try
+            {
+                R result = reader.apply(state);
+                if (this.determineCommitVersion() == state.commitVersion)
+                {
+                    return result;
+                }
+            }
+            catch (RuntimeException e)
+            {
+                // a read of a concurrently written mapping can fail with arbitrary errors
+                if (this.determineCommitVersion() == state.commitVersion)
+                {
+                    throw e;
+                }
+            }
+            this.refresh();
+        }
+        throw new IllegalStateException("Row could not be read consistently within " + MAXIMUM_NUMBER_OF_READ_ATTEMPTS
+                + " attempts, since the storage has been committed concurrently");
+    }
+
+    private long determineCommitVersion()
+    {
+        return CommitableFile.of(this.directory)
+                             .getCommitVersion();
+    }
+
+    @Override
+    public List<ByteBuffer> readRawBlocks(int rowIndex)
+    {
+        return this.readConsistently(state -> this.readRawBlocks(state, rowIndex));
+    }
+
+    private List<ByteBuffer> readRawBlocks(MappedState state, int rowIndex)
+    {
+        List<ByteBuffer> blocks = new ArrayList<>();
+        for (MappedPartition partition : state.partitions)
+        {
+            ByteBuffer mappingEntry = partition.mappingFile.slice((long) MAPPING_ENTRY_SIZE * rowIndex, MAPPING_ENTRY_SIZE);
+            int size = mappingEntry != null ? mappingEntry.getInt(0) : 0;
+            if (size <= 0)
+            {
+                break;
+            }
+
+            long dataFileRowPosition = mappingEntry.getLong(Integer.BYTES);
+            ByteBuffer block = partition.dataFile.slice(dataFileRowPosition * partition.blockSize, size);
+            if (block == null)
+            {
+                throw new IllegalStateException("Mapping entry of row " + rowIndex + " points beyond the mapped data file: " + dataFileRowPosition);
+            }
+            blocks.add(block);
+        }
+        return blocks;
+    }
+
+    @Override
+    public byte[] read(int rowIndex)
+    {
+        // the blocks are copied within the validated read, since they are views of the mapped files
+        byte[] data = this.readConsistently(state ->
+        {
+            List<ByteBuffer> blocks = this.readRawBlocks(state, rowIndex);
+            byte[] result = new byte[blocks.stream()
+                                           .mapToInt(ByteBuffer::remaining)
+                                           .sum()];
+            int position = 0;
+            for (ByteBuffer block : blocks)
+            {
+                int length = block.remaining();
+                block.get(result, position, length);
+                position += length;
+            }
+            return result;
+        });
+        return this.compressionCodec.uncompress(data);
+    }
+
+    @Override
+    public ByteBuffer readAsByteBuffer(int rowIndex)
+    {
+        if (this.compressionCodec == CompressionCodec.none())
+        {
+            List<ByteBuffer> blocks = this.readRawBlocks(rowIndex);
+            if (blocks.isEmpty())
+            {
+                return ByteBuffer.allocate(0)
+                                 .asReadOnlyBuffer();
+            }
+            else if (blocks.size() == 1)
+            {
+                return blocks.get(0);
+            }
+        }
+        return ByteBuffer.wrap(this.read(rowIndex))
+                         .asReadOnlyBuffer();
+    }
+
+    @Override
+    public synchronized boolean refresh()
+    {
+        if (this.isOutdated())
+        {
+            this.state = this.createMappedState();
+            return true;
+        }
+        else
+        {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean isOutdated()
+    {
+        return this.getState().commitVersion != this.determineCommitVersion();
+    }
+
+    private MappedState getState()
+    {
+        MappedState state = this.state;
+        if (state == null)
+        {
+            throw new IllegalStateException("Snapshot has already been closed");
+        }
+        return state;
+    }
+
+    @Override
+    public synchronized void close()
+    {
+        // the mapped buffers are released by the garbage collector
+        this.state = null;
+    }
+}
@@ -1,25 +1,39 @@
 package org.omnaest.utils.file.storage;
 
 import java.io.File;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Optional;
-import java.util.function.UnaryOperator;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.BiConsumer;
 import java.util.stream.IntStream;
 
 import org.omnaest.utils.ByteArrayUtils;
 import org.omnaest.utils.FileUtils;
-import org.omnaest.utils.IOUtils;
+import org.omnaest.utils.FileUtils.RandomFileAccessorSession;
 import org.omnaest.utils.MathUtils;
+import org.omnaest.utils.compression.CompressionCodec;
+import org.omnaest.utils.duration.TimeDuration;
 import org.omnaest.utils.file.CommitableFile;
+import org.omnaest.utils.file.CommitableFile.FileProvider;
 
 public class RandomAccessLogarithmicBlockFileStorage implements ByteArrayBlockFileStorage
 {
-    private File            directory;
-    private int             initialBlockSize = 64 * 1024;
-    private CompressionMode compressionMode  = CompressionMode.COMPRESSED;
+    private File             directory;
+    private int              initialBlockSize = 64 * 1024;
+    private CompressionCodec compressionCodec = CompressionCodec.zip();
 
     public static enum CompressionMode
     {
@@ -34,7 +48,36 @@ public class RandomAccessLogarithmicBlockFileStorage implements ByteArrayBlockFi
 
     public RandomAccessLogarithmicBlockFileStorage withCompressionMode(CompressionMode compressionMode)
     {
-        this.compressionMode = compressionMode;
+        return this.withCompressionCodec(CompressionMode.COMPRESSED.equals(compressionMode) ? CompressionCodec.zip() : CompressionCodec.none());
+    }
+
+    /**
+     * Sets the {@link CompressionCodec} which is applied to every row. The default is {@link CompressionCodec#zip()} which equals
+     * {@link CompressionMode#COMPRESSED}, {@link CompressionCodec#deflate()} is much faster and smaller for small rows. Existing data can only be read
+     * with the same {@link CompressionCodec} it has been written with.
+     * 
+     * @param compressionCodec
+     * @return
+     */
+    public RandomAccessLogarithmicBlockFileStorage withCompressionCodec(CompressionCodec compressionCodec)
+    {
+        this.compressionCodec = Optional.ofNullable(compressionCodec)
+                                        .orElse(CompressionCodec.none());
+        return this;
+    }
+
+    /**
+     * Enables the group commit mode of the underlying {@link CommitableFile}, so that concurrent writes are committed together
+     * 
+     * @see CommitableFile#withGroupCommit(TimeDuration, int)
+     * @param maxLatency
+     * @param maxBatchSize
+     * @return
+     */
+    public RandomAccessLogarithmicBlockFileStorage withGroupCommit(TimeDuration maxLatency, int maxBatchSize)
+    {
+        CommitableFile.of(this.directory)
+                      .withGroupCommit(maxLatency, maxBatchSize);
         return this;
     }
 
@@ -55,38 +98,46 @@ public class RandomAccessLogarithmicBlockFileStorage implements ByteArrayBlockFi
     @Override
     public void write(int rowIndex, byte[] data)
     {
-        byte[][] subArrays = ByteArrayUtils.splitIntoTwoPotencySubArrays(Optional.ofNullable(data)
-                                                                                 .map(this.createCompressor())
-                                                                                 .orElse(new byte[0]),
-                                                                         this.initialBlockSize);
-        IntStream.range(0, subArrays.length)
-                 .forEach(subArrayIndex -> this.createPartition(subArrayIndex)
-                                               .write(rowIndex, subArrays[subArrayIndex]));
-        this.createPartition(subArrays.length)
-            .write(rowIndex, new byte[0]); // end token
+        this.writeAll(Collections.singletonMap(rowIndex, data));
     }
 
-    private UnaryOperator<byte[]> createCompressor()
-    {
-        if (CompressionMode.COMPRESSED.equals(this.compressionMode))
-        {
-            return data -> IOUtils.compress(data);
-        }
-        else
-        {
-            return data -> data;
-        }
-    }
-
-    private UnaryOperator<byte[]> createUncompressor()
+    /**
+     * Writes all given rows within a single transaction. The rows are grouped by their partitions and written in the order of their file positions,
+     * consecutive rows are written with a single gathering write operation.
+     */
+    @Override
+    public void writeAll(Map<Integer, byte[]> rowIndexToData)
     {
-        if (CompressionMode.COMPRESSED.equals(this.compressionMode))
-        {
-            return data -> IOUtils.uncompress(data);
-        }
-        else
+        SortedMap<Integer, SortedMap<Integer, byte[]>> subArrayIndexToRowIndexToSubArray = new TreeMap<>();
+        Optional.ofNullable(rowIndexToData)
+                .orElse(Collections.emptyMap())
+                .forEach((rowIndex, data) ->
+                {
+                    byte[][] subArrays = ByteArrayUtils.splitIntoTwoPotencySubArrays(Optional.ofNullable(data)
+                                                                                             .map(this.compressionCodec::compress)
+                                                                                             .orElse(new byte[0]),
+                                                                                     this.initialBlockSize);
+                    for (int subArrayIndex = 0; subArrayIndex <= subArrays.length; subArrayIndex++)
+                    {
+                        byte[] subArray = subArrayIndex < subArrays.length ? subArrays[subArrayIndex] : new byte[0]; // end token
+                        subArrayIndexToRowIndexToSubArray.computeIfAbsent(subArrayIndex, index -> new TreeMap<>())
+                                                         .put(rowIndex, subArray);
+                    }
+                });
+
+        if (!subArrayIndexToRowIndexToSubArray.isEmpty())
         {
-            return data -> data;
+            CommitableFile.of(this.directory)
+                          .transaction()
+                          .operateOnFiles(fileProvider ->
+                          {
+                              for (Entry<Integer, SortedMap<Integer, byte[]>> entry : subArrayIndexToRowIndexToSubArray.entrySet())
+                              {
+                                  this.createPartition(entry.getKey())
+                                      .writeAll(fileProvider, entry.getValue());
+                              }
+                          })
+                          .commitFull();
         }
     }
 
@@ -98,21 +149,48 @@ public class RandomAccessLogarithmicBlockFileStorage implements ByteArrayBlockFi
     @Override
     public byte[] read(int rowIndex)
     {
-        //
-        List<byte[]> subArrays = new ArrayList<>();
-        {
-            byte[] subArray = null;
-            int subArrayIndex = 0;
-            do
-            {
-                PartitionFileAccessor partitionFileAccessor = this.createPartition(subArrayIndex++);
+        return this.readAll(IntStream.of(rowIndex))
+                   .get(rowIndex);
+    }
 
-                subArray = partitionFileAccessor.read(rowIndex);
-                subArrays.add(subArray);
-            }
-            while (subArray.length > 0);
-        }
+    /**
+     * Reads all given rows based on a single resolved commit state. The rows are read partition by partition in the order of their file positions,
+     * consecutive rows are read with a single scattering read operation.
+     */
+    @Override
+    public Map<Integer, byte[]> readAll(IntStream rowIndices)
+    {
+        Map<Integer, List<byte[]>> rowIndexToSubArrays = new LinkedHashMap<>();
+        rowIndices.forEach(rowIndex -> rowIndexToSubArrays.put(rowIndex, new ArrayList<>()));
+
+        CommitableFile.of(this.directory)
+                      .operateOnCurrentFiles(fileProvider ->
+                      {
+                          SortedSet<Integer> remainingRowIndices = new TreeSet<>(rowIndexToSubArrays.keySet());
+                          int subArrayIndex = 0;
+                          while (!remainingRowIndices.isEmpty())
+                          {
+                              Map<Integer, byte[]> rowIndexToSubArray = this.createPartition(subArrayIndex++)
+                                                                            .readAll(fileProvider, remainingRowIndices);
+                              rowIndexToSubArray.forEach((rowIndex, subArray) ->
+                              {
+                                  rowIndexToSubArrays.get(rowIndex)
+                                                     .add(subArray);
+                                  if (subArray.length == 0)
+                                  {
+                                      remainingRowIndices.remove(rowIndex);
+                                  }
+                              });
+                          }
+                      });
+
+        Map<Integer, byte[]> result = new LinkedHashMap<>();
+        rowIndexToSubArrays.forEach((rowIndex, subArrays) -> result.put(rowIndex, this.mergeAndUncompress(subArrays)));
+        return result;
+    }
 
+    private byte[] mergeAndUncompress(List<byte[]> subArrays)
+    {
         //
         int length = subArrays.stream()
                               .mapToInt(subArray -> subArray.length)
@@ -124,20 +202,23 @@ public class RandomAccessLogarithmicBlockFileStorage implements ByteArrayBlockFi
             int position = 0;
             for (byte[] subArray : subArrays)
             {
-                for (byte value : subArray)
-                {
-                    result[position++] = value;
-                }
+                System.arraycopy(subArray, 0, result, position, subArray.length);
+                position += subArray.length;
             }
         }
 
         return Optional.ofNullable(result)
-                       .map(this.createUncompressor())
+                       .map(this.compressionCodec::uncompress)
                        .orElse(new byte[0]);
     }
 
     private static class PartitionFileAccessor
     {
+        /**
+         * remaining byte size (int), rowIndex in data file (long)
+         */
+        private static final int MAPPING_ENTRY_SIZE = Integer.BYTES + Long.BYTES;
+
         private int  subArrayIndex;
         private File directory;
         private int  initialBlockSize;
@@ -150,77 +231,142 @@ public class RandomAccessLogarithmicBlockFileStorage implements ByteArrayBlockFi
             this.directory = directory;
         }
 
-        public byte[] read(int rowIndex)
+        public Map<Integer, byte[]> readAll(FileProvider fileProvider, SortedSet<Integer> rowIndices)
+        {
+            File dataFile = fileProvider.apply(this.determineDataFileSlot());
+            File mappingFile = fileProvider.apply(this.determineMappingFileSlot());
+
+            Map<Integer, byte[]> result = new HashMap<>();
+            if (!mappingFile.exists())
+            {
+                rowIndices.forEach(rowIndex -> result.put(rowIndex, new byte[0]));
+                return result;
+            }
+
+            int blockSize = this.determineBlockSize();
+            try (RandomFileAccessorSession mappingFileAccessor = FileUtils.toRandomFileAccessorSession(mappingFile);
+                    RandomFileAccessorSession dataFileAccessor = FileUtils.toRandomFileAccessorSession(dataFile))
+            {
+                SortedMap<Long, ByteBuffer> rowIndexToMappingEntry = this.readMappingEntries(mappingFileAccessor, rowIndices);
+
+                SortedMap<Long, ByteBuffer> dataFileRowPositionToBlock = new TreeMap<>();
+                Map<Integer, ByteBuffer> rowIndexToBlock = new HashMap<>();
+                Map<Integer, Integer> rowIndexToSize = new HashMap<>();
+                rowIndexToMappingEntry.forEach((rowIndex, mappingEntry) ->
+                {
+                    int size = ByteArrayUtils.readInteger(mappingEntry.array(), 0);
+                    long dataFileRowPosition = ByteArrayUtils.readLong(mappingEntry.array(), Integer.BYTES);
+                    if (size > 0)
+                    {
+                        ByteBuffer block = ByteBuffer.allocate(blockSize);
+                        dataFileRowPositionToBlock.put(dataFileRowPosition, block);
+                        rowIndexToBlock.put(rowIndex.intValue(), block);
+                        rowIndexToSize.put(rowIndex.intValue(), size);
+                    }
+                });
+
+                operateOnConsecutiveRuns(dataFileRowPositionToBlock, blockSize, (position, blocks) -> dataFileAccessor.atPosition(position)
+                                                                                                                    .readScattering(blocks));
+
+                rowIndices.forEach(rowIndex -> result.put(rowIndex, Optional.ofNullable(rowIndexToBlock.get(rowIndex))
+                                                                            .map(block -> Arrays.copyOf(block.array(), rowIndexToSize.get(rowIndex)))
+                                                                            .orElse(new byte[0])));
+            }
+            return result;
+        }
+
+        public void writeAll(FileProvider fileProvider, SortedMap<Integer, byte[]> rowIndexToSubArray)
         {
-            return CommitableFile.of(this.directory)
-                                 .operateOnCurrentFiles(fileProvider ->
-                                 {
-                                     File dataFile = fileProvider.apply(this.determineDataFileSlot());
-                                     File mappingFile = fileProvider.apply(this.determineMappingFileSlot());
-
-                                     // remaining byte size, rowIndex in data file
-                                     long position = (Integer.BYTES + Long.BYTES) * rowIndex;
-                                     int size = mappingFile.exists() ? FileUtils.toRandomFileAccessor(mappingFile)
-                                                                                .atPosition(position)
-                                                                                .readInteger()
-                                             : 0;
-                                     if (size > 0)
-                                     {
-                                         long dataFileRowPosition = FileUtils.toRandomFileAccessor(mappingFile)
-                                                                             .atPosition(position)
-                                                                             .skip(Integer.BYTES)
-                                                                             .readLong();
-
-                                         int blockSize = this.determineBlockSize();
-                                         return Arrays.copyOf(FileUtils.toRandomFileAccessor(dataFile)
-                                                                       .atPosition(dataFileRowPosition * blockSize)
-                                                                       .readBytes(blockSize),
-                                                              size);
-                                     }
-                                     else
-                                     {
-                                         return new byte[0];
-                                     }
-                                 });
+            File dataFile = fileProvider.apply(this.determineDataFileSlot());
+            File mappingFile = fileProvider.apply(this.determineMappingFileSlot());
+
+            int blockSize = this.determineBlockSize();
+            try (RandomFileAccessorSession mappingFileAccessor = FileUtils.toRandomFileAccessorSession(mappingFile);
+                    RandomFileAccessorSession dataFileAccessor = FileUtils.toRandomFileAccessorSession(dataFile))
+            {
+                SortedMap<Long, ByteBuffer> rowIndexToMappingEntry = mappingFile.exists() ? this.readMappingEntries(mappingFileAccessor,
+                                                                                                                    rowIndexToSubArray.keySet())
+                        : this.createEmptyMappingEntries(rowIndexToSubArray.keySet());
+
+                long nextDataFileRowPosition = dataFileAccessor.size() / blockSize;
+                SortedMap<Long, ByteBuffer> dataFileRowPositionToBlock = new TreeMap<>();
+                for (Entry<Integer, byte[]> entry : rowIndexToSubArray.entrySet())
+                {
+                    byte[] subArray = entry.getValue();
+                    ByteBuffer mappingEntry = rowIndexToMappingEntry.get((long) entry.getKey());
+
+                    int previousSize = ByteArrayUtils.readInteger(mappingEntry.array(), 0);
+                    long previousDataFileRowPosition = ByteArrayUtils.readLong(mappingEntry.array(), Integer.BYTES);
+
+                    // an existing block is kept reserved for the row, even if the row does not need it anymore
+                    long dataFileRowPosition = previousSize > 0 ? previousDataFileRowPosition : subArray.length > 0 ? nextDataFileRowPosition++ : 0;
+                    if (dataFileRowPosition < 0)
+                    {
+                        throw new IllegalStateException("row position must be greater or equal to zero, but was " + dataFileRowPosition);
+                    }
+                    ByteArrayUtils.writeLong(mappingEntry.array(), ByteArrayUtils.writeInteger(mappingEntry.array(), 0, subArray.length), dataFileRowPosition);
+                    mappingEntry.clear();
+
+                    if (subArray.length > 0)
+                    {
+                        dataFileRowPositionToBlock.put(dataFileRowPosition, ByteBuffer.wrap(ByteArrayUtils.ensureMinimumSize(subArray, blockSize)));
+                    }
+                }
+
+                operateOnConsecutiveRuns(rowIndexToMappingEntry, MAPPING_ENTRY_SIZE, (position, mappingEntries) -> mappingFileAccessor.atPosition(position)
+                                                                                                                                   .writeGathering(mappingEntries));
+                operateOnConsecutiveRuns(dataFileRowPositionToBlock, blockSize, (position, blocks) -> dataFileAccessor.atPosition(position)
+                                                                                                                    .writeGathering(blocks));
+            }
         }
 
-        public void write(int rowIndex, byte[] subArray)
+        private SortedMap<Long, ByteBuffer> createEmptyMappingEntries(Collection<Integer> rowIndices)
         {
-            CommitableFile.of(this.directory)
-                          .transaction()
-                          .operateOnFiles(fileProvider ->
-                          {
-                              File dataFile = fileProvider.apply(this.determineDataFileSlot());
-                              File mappingFile = fileProvider.apply(this.determineMappingFileSlot());
-
-                              // remaining byte size, rowIndex in data file
-                              long position = (Integer.BYTES + Long.BYTES) * rowIndex;
-                              int previousSize = mappingFile.exists() ? FileUtils.toRandomFileAccessor(mappingFile)
-                                                                                 .atPosition(position)
-                                                                                 .readInteger()
-                                      : 0;
-                              long previousDataFileRowPosition = mappingFile.exists() ? FileUtils.toRandomFileAccessor(mappingFile)
-                                                                                                 .atPosition(position)
-                                                                                                 .skip(Integer.BYTES)
-                                                                                                 .readLong()
-                                      : 0;
-
-                              long dataFileRowPosition = previousSize > 0 ? previousDataFileRowPosition : this.determineNextDataFileRowPosition(dataFile);
-                              if (dataFileRowPosition < 0)
-                              {
-                                  throw new IllegalStateException("row position must be greater or equal to zero, but was " + dataFileRowPosition);
-                              }
-                              FileUtils.toRandomFileAccessor(mappingFile)
-                                       .atPosition(position)
-                                       .write(ByteArrayUtils.encodeIntegerAsByteArray(subArray.length))
-                                       .write(ByteArrayUtils.encodeLongAsByteArray(dataFileRowPosition));
-
-                              int blockSize = this.determineBlockSize();
-                              FileUtils.toRandomFileAccessor(dataFile)
-                                       .atPosition(dataFileRowPosition * blockSize)
-                                       .write(ByteArrayUtils.ensureMinimumSize(subArray, blockSize));
-                          })
-                          .commitFull();
+            SortedMap<Long, ByteBuffer> rowIndexToMappingEntry = new TreeMap<>();
+            rowIndices.forEach(rowIndex -> rowIndexToMappingEntry.put((long) rowIndex, ByteBuffer.allocate(MAPPING_ENTRY_SIZE)));
+            return rowIndexToMappingEntry;
+        }
+
+        private SortedMap<Long, ByteBuffer> readMappingEntries(RandomFileAccessorSession mappingFileAccessor, Collection<Integer> rowIndices)
+        {
+            SortedMap<Long, ByteBuffer> rowIndexToMappingEntry = this.createEmptyMappingEntries(rowIndices);
+            operateOnConsecutiveRuns(rowIndexToMappingEntry, MAPPING_ENTRY_SIZE, (position, mappingEntries) -> mappingFileAccessor.atPosition(position)
+                                                                                                                               .readScattering(mappingEntries));
+            return rowIndexToMappingEntry;
+        }
+
+        /**
+         * Groups the given {@link ByteBuffer}s into runs of consecutive indices and calls the given {@link BiConsumer} for each run with the file
+         * position of the run
+         * 
+         * @param indexToBuffer
+         * @param unitSize
+         * @param runConsumer
+         */
+        private static void operateOnConsecutiveRuns(SortedMap<Long, ByteBuffer> indexToBuffer, int unitSize, BiConsumer<Long, ByteBuffer[]> runConsumer)
+        {
+            List<ByteBuffer> run = new ArrayList<>();
+            long runStartIndex = 0;
+            long previousIndex = 0;
+            for (Entry<Long, ByteBuffer> entry : indexToBuffer.entrySet())
+            {
+                long index = entry.getKey();
+                if (!run.isEmpty() && index != previousIndex + 1)
+                {
+                    runConsumer.accept(runStartIndex * unitSize, run.toArray(new ByteBuffer[run.size()]));
+                    run.clear();
+                }
+                if (run.isEmpty())
+                {
+                    runStartIndex = index;
+                }
+                run.add(entry.getValue());
+                previousIndex = index;
+            }
+            if (!run.isEmpty())
+            {
+                runConsumer.accept(runStartIndex * unitSize, run.toArray(new ByteBuffer[run.size()]));
+            }
         }
 
         private int determineDataFileSlot()
@@ -233,13 +379,6 @@ public class RandomAccessLogarithmicBlockFileStorage implements ByteArrayBlockFi
             return this.subArrayIndex * 2 + 1;
         }
 
-        private long determineNextDataFileRowPosition(File dataFile)
-        {
-            int blockSize = this.determineBlockSize();
-            long nextDataFileRowPosition = dataFile.length() / blockSize;
-            return nextDataFileRowPosition;
-        }
-
         private int determineBlockSize()
         {
             return this.initialBlockSize * MathUtils.pow2(this.subArrayIndex);
@@ -247,6 +386,17 @@ public class RandomAccessLogarithmicBlockFileStorage implements ByteArrayBlockFi
 
     }
 
+    /**
+     * Returns a read only {@link BlockFileStorageSnapshot} which maps all partition files into memory once and resolves rows without any further file
+     * access. Call {@link BlockFileStorageSnapshot#refresh()} to pick up later writes.
+     * 
+     * @return
+     */
+    public BlockFileStorageSnapshot snapshot()
+    {
+        return new MappedBlockFileStorageSnapshot(this.directory, this.initialBlockSize, this.compressionCodec);
+    }
+
     @Override
     public StringBlockFileStorage asStringBlockFileStorage()
     {
@@ -265,6 +415,27 @@ public class RandomAccessLogarithmicBlockFileStorage implements ByteArrayBlockFi
                 return new String(RandomAccessLogarithmicBlockFileStorage.this.read(rowIndex), StandardCharsets.UTF_8);
             }
 
+            @Override
+            public void writeAll(Map<Integer, String> rowIndexToContent)
+            {
+                Map<Integer, byte[]> rowIndexToData = new LinkedHashMap<>();
+                Optional.ofNullable(rowIndexToContent)
+                        .orElse(Collections.emptyMap())
+                        .forEach((rowIndex, content) -> rowIndexToData.put(rowIndex, Optional.ofNullable(content)
+                                                                                             .map(contentText -> contentText.getBytes(StandardCharsets.UTF_8))
+                                                                                             .orElse(null)));
+                RandomAccessLogarithmicBlockFileStorage.this.writeAll(rowIndexToData);
+            }
+
+            @Override
+            public Map<Integer, String> readAll(IntStream rowIndices)
+            {
+                Map<Integer, String> result = new LinkedHashMap<>();
+                RandomAccessLogarithmicBlockFileStorage.this.readAll(rowIndices)
+                                                            .forEach((rowIndex, data) -> result.put(rowIndex, new String(data, StandardCharsets.UTF_8)));
+                return result;
+            }
+
         };
     }
 }
@@ -0,0 +1,366 @@
+/*******************************************************************************
+ * Copyright 2026 Danny Kunz
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.omnaest.utils.join;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.apache.commons.io.FileUtils;
+import org.omnaest.utils.element.bi.BiElement;
+import org.omnaest.utils.exception.RuntimeIOException;
+import org.omnaest.utils.file.SpillFile;
+
+/**
+ * Hash join with build and probe semantics: the build elements are collected into a hash table by their key, while the probe elements are streamed and
+ * looked up in that table. The result follows the encounter order of the probe elements, unmatched build elements of an outer join are appended at the
+ * end.<br>
+ * <br>
+ * Keys do not have to be unique, every matching pair of elements is returned. A null key never matches any other key.<br>
+ * <br>
+ * If the number of build elements exceeds {@link #withMaxNumberOfBuildElementsInMemory(int)}, both sides are partitioned by the hash of their key into
+ * {@link SpillFile}s and the partitions are joined one after another. This requires serializers for both sides and returns the result grouped by
+ * partition. Each single partition has to fit into memory.
+ * 
+ * @author omnaest
+ * @param <P>
+ *            type of the probe elements
+ * @param <B>
+ *            type of the build elements
+ * @param <K>
+ *            type of the key
+ */
+public class HashJoiner<P, B, K>
+{
+    public static final int      DEFAULT_NUMBER_OF_SPILL_PARTITIONS = 64;
+
+    private final Stream<P>      probeElements;
+    private final Stream<B>      buildElements;
+    private final Function<P, K> probeKeyMapper;
+    private final Function<B, K> buildKeyMapper;
+
+    private boolean              includeUnmatchedProbeElements      = false;
+    private boolean              includeUnmatchedBuildElements      = false;
+    private int                  maxNumberOfBuildElementsInMemory   = Integer.MAX_VALUE;
+    private int                  numberOfSpillPartitions            = DEFAULT_NUMBER_OF_SPILL_PARTITIONS;
+    private File                 spillDirectory;
+    private Function<P, String>  probeSerializer;
+    private Function<String, P>  probeDeserializer;
+    private Function<B, String>  buildSerializer;
+    private Function<String, B>  buildDeserializer;
+
+    protected HashJoiner(Stream<P> probeElements, Function<P, K> probeKeyMapper, Stream<B> buildElements, Function<B, K> buildKeyMapper)
+    {
+        super();
+        this.probeElements = probeElements;
+        this.probeKeyMapper = probeKeyMapper;
+        this.buildElements = buildElements;
+        this.buildKeyMapper = buildKeyMapper;
+    }
+
+    public static <P, B, K> HashJoiner<P, B, K> of(Stream<P> probeElements, Function<P, K> probeKeyMapper, Stream<B> buildElements,
+                                                   Function<B, K> buildKeyMapper)
+    {
+        return new HashJoiner<>(probeElements, probeKeyMapper, buildElements, buildKeyMapper);
+    }
+
+    /**
+     * Probe elements without any matching build element are returned together with a null build element
+     * 
+     * @return
+     */
+    public HashJoiner<P, B, K> withUnmatchedProbeElements()
+    {
+        this.includeUnmatchedProbeElements = true;
+        return this;
+    }
+
+    /**
+     * Build elements without any matching probe element are returned together with a null probe element after all probe elements
+     * 
+     * @return
+     */
+    public HashJoiner<P, B, K> withUnmatchedBuildElements()
+    {
+        this.includeUnmatchedBuildElements = true;
+        return this;
+    }
+
+    public HashJoiner<P, B, K> withMaxNumberOfBuildElementsInMemory(int maxNumberOfBuildElementsInMemory)
+    {
+        this.maxNumberOfBuildElementsInMemory = Math.max(1, maxNumberOfBuildElementsInMemory);
+        return this;
+    }
+
+    public HashJoiner<P, B, K> withNumberOfSpillPartitions(int numberOfSpillPartitions)
+    {
+        this.numberOfSpillPartitions = Math.max(1, numberOfSpillPartitions);
+        return this;
+    }
+
+    /**
+     * Sets the parent directory of the temporary spill files. By default the system temporary directory is used.
+     * 
+     * @param spillDirectory
+     * @return
+     */
+    public HashJoiner<P, B, K> withSpillDirectory(File spillDirectory)
+    {
+        this.spillDirectory = spillDirectory;
+        return this;
+    }
+
+    public HashJoiner<P, B, K> withSpillSerializers(Function<P, String> probeSerializer, Function<String, P> probeDeserializer,
+                                                    Function<B, String> buildSerializer, Function<String, B> buildDeserializer)
+    {
+        this.probeSerializer = probeSerializer;
+        this.probeDeserializer = probeDeserializer;
+        this.buildSerializer = buildSerializer;
+        this.buildDeserializer = buildDeserializer;
+        return this;
+    }
+
+    /**
+     * Reads all build elements and returns the joined elements, which are resolved while the probe elements are streamed
+     * 
+     * @return
+     * @throws IllegalStateException
+     *             if the build elements exceed the memory limit and no spill serializers are available
+     * @throws RuntimeIOException
+     */
+    public Stream<BiElement<P, B>> join()
+    {
+        BuildTable<B, K> buildTable = new BuildTable<>(this.buildKeyMapper);
+        Iterator<B> buildIterator = this.buildElements.iterator();
+        while (buildIterator.hasNext())
+        {
+            if (buildTable.size() >= this.maxNumberOfBuildElementsInMemory)
+            {
+                return this.joinSpilled(buildTable, buildIterator)
+                           .onClose(this.buildElements::close)
+                           .onClose(this.probeElements::close);
+            }
+            buildTable.add(buildIterator.next());
+        }
+
+        return this.probe(this.probeElements, buildTable)
+                   .onClose(this.buildElements::close)
+                   .onClose(this.probeElements::close);
+    }
+
+    private Stream<BiElement<P, B>> probe(Stream<P> probeElements, BuildTable<B, K> buildTable)
+    {
+        Stream<BiElement<P, B>> matchedElements = probeElements.flatMap(probeElement ->
+        {
+            List<BuildEntry<B>> buildEntries = buildTable.get(this.probeKeyMapper.apply(probeElement));
+            if (buildEntries.isEmpty())
+            {
+                return this.includeUnmatchedProbeElements ? Stream.of(BiElement.of(probeElement, (B) null)) : Stream.empty();
+            }
+            return buildEntries.stream()
+                               .map(buildEntry -> BiElement.of(probeElement, buildEntry.match()));
+        });
+
+        if (!this.includeUnmatchedBuildElements)
+        {
+            return matchedElements;
+        }
+
+        // the unmatched build elements are only known after all probe elements have been processed, so the result has to be sequential
+        return Stream.concat(matchedElements, Stream.of(buildTable)
+                                                    .flatMap(table -> table.unmatchedElements()
+                                                                           .map(buildElement -> BiElement.of((P) null, buildElement))))
+                     .sequential();
+    }
+
+    private Stream<BiElement<P, B>> joinSpilled(BuildTable<B, K> buildTable, Iterator<B> remainingBuildElements)
+    {
+        if (this.probeSerializer == null || this.probeDeserializer == null || this.buildSerializer == null || this.buildDeserializer == null)
+        {
+            throw new IllegalStateException("The build elements exceed the limit of " + this.maxNumberOfBuildElementsInMemory
+                    + " elements in memory, but no spill serializers are configured");
+        }
+
+        File directory = this.createSpillDirectory();
+        List<SpillFile<B>> buildPartitions = IntStream.range(0, this.numberOfSpillPartitions)
+                                                      .mapToObj(partition -> SpillFile.of(new File(directory, "build." + partition), this.buildSerializer,
+                                                                                          this.buildDeserializer))
+                                                      .collect(Collectors.toList());
+        List<SpillFile<P>> probePartitions = IntStream.range(0, this.numberOfSpillPartitions)
+                                                      .mapToObj(partition -> SpillFile.of(new File(directory, "probe." + partition), this.probeSerializer,
+                                                                                          this.probeDeserializer))
+                                                      .collect(Collectors.toList());
+        Runnable spillFilesRemover = () ->
+        {
+            buildPartitions.forEach(SpillFile::close);
+            probePartitions.forEach(SpillFile::close);
+            FileUtils.deleteQuietly(directory);
+        };
+
+        try
+        {
+            buildTable.elements()
+                      .forEach(buildElement -> buildPartitions.get(this.determinePartition(this.buildKeyMapper.apply(buildElement)))
+                                                              .append(buildElement));
+            buildTable.clear();
+            remainingBuildElements.forEachRemaining(buildElement -> buildPartitions.get(this.determinePartition(this.buildKeyMapper.apply(buildElement)))
+                                                                                   .append(buildElement));
+            this.probeElements.sequential()
+                              .forEach(probeElement -> probePartitions.get(this.determinePartition(this.probeKeyMapper.apply(probeElement)))
+                                                                      .append(probeElement));
+        }
+        catch (RuntimeException e)
+        {
+            spillFilesRemover.run();
+            throw e;
+        }
+
+        return IntStream.range(0, this.numberOfSpillPartitions)
+                        .boxed()
+                        .flatMap(partition ->
+                        {
+                            BuildTable<B, K> partitionBuildTable = new BuildTable<>(this.buildKeyMapper);
+                            try (Stream<B> partitionBuildElements = buildPartitions.get(partition)
+                                                                                   .stream())
+                            {
+                                partitionBuildElements.forEach(partitionBuildTable::add);
+                            }
+                            buildPartitions.get(partition)
+                                           .close();
+
+                            SpillFile<P> probePartition = probePartitions.get(partition);
+                            return this.probe(probePartition.stream(), partitionBuildTable)
+                                       .onClose(probePartition::close);
+                        })
+                        .onClose(spillFilesRemover);
+    }
+
+    private int determinePartition(K key)
+    {
+        return key != null ? Math.floorMod(key.hashCode(), this.numberOfSpillPartitions) : 0;
+    }
+
+    private File createSpillDirectory()
+    {
+        try
+        {
+            File directory = this.spillDirectory != null ? Files.createTempDirectory(this.spillDirectory.toPath(), "join")
+                                                                 .toFile()
+                    : Files.createTempDirectory("join")
+                           .toFile();
+            directory.deleteOnExit();
+            return directory;
+        }
+        catch (IOException e)
+        {
+            throw new RuntimeIOException(e);
+        }
+    }
+
+    private static class BuildEntry<B>
+    {
+        private final B          element;
+        private volatile boolean matched = false;
+
+        public BuildEntry(B element)
+        {
+            super();
+            this.element = element;
+        }
+
+        public B match()
+        {
+            this.matched = true;
+            return this.element;
+        }
+
+        public boolean isMatched()
+        {
+            return this.matched;
+        }
+
+        public B getElement()
+        {
+            return this.element;
+        }
+    }
+
+    private static class BuildTable<B, K>
+    {
+        private final Function<B, K>              keyMapper;
+        private final Map<K, List<BuildEntry<B>>> keyToEntries = new HashMap<>();
+        private final List<BuildEntry<B>>         entries      = new ArrayList<>();
+
+        public BuildTable(Function<B, K> keyMapper)
+        {
+            super();
+            this.keyMapper = keyMapper;
+        }
+
+        public void add(B element)
+        {
+            BuildEntry<B> entry = new BuildEntry<>(element);
+            this.entries.add(entry);
+
+            K key = this.keyMapper.apply(element);
+            if (key != null)
+            {
+                this.keyToEntries.computeIfAbsent(key, k -> new ArrayList<>(1))
+                                 .add(entry);
+            }
+        }
+
+        public List<BuildEntry<B>> get(K key)
+        {
+            List<BuildEntry<B>> entries = key != null ? this.keyToEntries.get(key) : null;
+            return entries != null ? entries : Collections.emptyList();
+        }
+
+        public int size()
+        {
+            return this.entries.size();
+        }
+
+        public Stream<B> elements()
+        {
+            return this.entries.stream()
+                               .map(BuildEntry::getElement);
+        }
+
+        public Stream<B> unmatchedElements()
+        {
+            return this.entries.stream()
+                               .filter(entry -> !entry.isMatched())
+                               .map(BuildEntry::getElement);
+        }
+
+        public void clear()
+        {
+            this.keyToEntries.clear();
+            this.entries.clear();
+        }
+    }
+}
@@ -0,0 +1,283 @@
+/*******************************************************************************
+ * Copyright 2026 Danny Kunz
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.omnaest.utils.join;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.omnaest.utils.StreamUtils;
+import org.omnaest.utils.element.bi.BiElement;
+
+/**
+ * Sort merge join of two {@link Stream}s which are both sorted ascending by their key. Both sides are streamed and only the elements of the right side
+ * which share the current key are held in memory, so the join works for arbitrarily large inputs.<br>
+ * <br>
+ * Keys do not have to be unique, every matching pair of elements is returned. A null key never matches any other key, such elements are returned
+ * immediately, if the outer join includes their side. If the keys of a side are not sorted, the join fails with an {@link IllegalStateException}.
+ * 
+ * @author omnaest
+ * @param <E1>
+ * @param <E2>
+ * @param <K>
+ */
+public class SortMergeJoiner<E1, E2, K>
+{
+    private final Stream<E1>            leftElements;
+    private final Function<E1, K>       leftKeyMapper;
+    private final Stream<E2>            rightElements;
+    private final Function<E2, K>       rightKeyMapper;
+    private final Comparator<? super K> comparator;
+
+    private boolean                     includeUnmatchedLeftElements  = false;
+    private boolean                     includeUnmatchedRightElements = false;
+
+    protected SortMergeJoiner(Stream<E1> leftElements, Function<E1, K> leftKeyMapper, Stream<E2> rightElements, Function<E2, K> rightKeyMapper,
+                              Comparator<? super K> comparator)
+    {
+        super();
+        this.leftElements = leftElements;
+        this.leftKeyMapper = leftKeyMapper;
+        this.rightElements = rightElements;
+        this.rightKeyMapper = rightKeyMapper;
+        this.comparator = comparator;
+    }
+
+    public static <E1, E2, K> SortMergeJoiner<E1, E2, K> of(Stream<E1> leftElements, Function<E1, K> leftKeyMapper, Stream<E2> rightElements,
+                                                            Function<E2, K> rightKeyMapper, Comparator<? super K> comparator)
+    {
+        return new SortMergeJoiner<>(leftElements, leftKeyMapper, rightElements, rightKeyMapper, comparator);
+    }
+
+    public SortMergeJoiner<E1, E2, K> withUnmatchedLeftElements()
+    {
+        this.includeUnmatchedLeftElements = true;
+        return this;
+    }
+
+    public SortMergeJoiner<E1, E2, K> withUnmatchedRightElements()
+    {
+        this.includeUnmatchedRightElements = true;
+        return this;
+    }
+
+    public Stream<BiElement<E1, E2>> join()
+    {
+        return StreamUtils.fromIterator(new MergeIterator())
+                          .onClose(this.leftElements::close)
+                          .onClose(this.rightElements::close);
+    }
+
+    private class MergeIterator implements Iterator<BiElement<E1, E2>>
+    {
+        private final SortedSide<E1>            left   = new SortedSide<>(SortMergeJoiner.this.leftElements.iterator(), SortMergeJoiner.this.leftKeyMapper,
+                                                                          "left");
+        private final SortedSide<E2>            right  = new SortedSide<>(SortMergeJoiner.this.rightElements.iterator(),
+                                                                          SortMergeJoiner.this.rightKeyMapper, "right");
+        private final Deque<BiElement<E1, E2>>  buffer = new ArrayDeque<>();
+
+        private List<E2>                        rightGroup;
+        private K                               rightGroupKey;
+
+        @Override
+        public boolean hasNext()
+        {
+            while (this.buffer.isEmpty() && this.readNext())
+            {
+                // read until there are joined elements
+            }
+            return !this.buffer.isEmpty();
+        }
+
+        @Override
+        public BiElement<E1, E2> next()
+        {
+            if (!this.hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+            return this.buffer.poll();
+        }
+
+        /**
+         * Reads the next element of one side
+         * 
+         * @return false, if both sides are exhausted
+         */
+        private boolean readNext()
+        {
+            if (this.rightGroup != null)
+            {
+                if (this.left.hasNextWithKey() && this.compare(this.left.peekKey(), this.rightGroupKey) == 0)
+                {
+                    E1 leftElement = this.left.next();
+                    this.rightGroup.forEach(rightElement -> this.buffer.add(BiElement.of(leftElement, rightElement)));
+                    return true;
+                }
+                this.rightGroup = null;
+                this.rightGroupKey = null;
+            }
+
+            if (this.left.hasNextWithoutKey())
+            {
+                this.addUnmatchedLeft(this.left.next());
+                return true;
+            }
+            if (this.right.hasNextWithoutKey())
+            {
+                this.addUnmatchedRight(this.right.next());
+                return true;
+            }
+
+            boolean leftHasNext = this.left.hasNext();
+            boolean rightHasNext = this.right.hasNext();
+            if (!leftHasNext && !rightHasNext)
+            {
+                return false;
+            }
+            else if (!rightHasNext)
+            {
+                this.addUnmatchedLeft(this.left.next());
+                return true;
+            }
+            else if (!leftHasNext)
+            {
+                this.addUnmatchedRight(this.right.next());
+                return true;
+            }
+
+            int comparison = this.compare(this.left.peekKey(), this.right.peekKey());
+            if (comparison < 0)
+            {
+                this.addUnmatchedLeft(this.left.next());
+            }
+            else if (comparison > 0)
+            {
+                this.addUnmatchedRight(this.right.next());
+            }
+            else
+            {
+                this.rightGroupKey = this.right.peekKey();
+                this.rightGroup = new ArrayList<>();
+                while (this.right.hasNextWithKey() && this.compare(this.right.peekKey(), this.rightGroupKey) == 0)
+                {
+                    this.rightGroup.add(this.right.next());
+                }
+            }
+            return true;
+        }
+
+        private int compare(K key1, K key2)
+        {
+            return SortMergeJoiner.this.comparator.compare(key1, key2);
+        }
+
+        private void addUnmatchedLeft(E1 element)
+        {
+            if (SortMergeJoiner.this.includeUnmatchedLeftElements)
+            {
+                this.buffer.add(BiElement.of(element, null));
+            }
+        }
+
+        private void addUnmatchedRight(E2 element)
+        {
+            if (SortMergeJoiner.this.includeUnmatchedRightElements)
+            {
+                this.buffer.add(BiElement.of(null, element));
+            }
+        }
+    }
+
+    /**
+     * One side of the join which allows to peek at the next element and verifies the sort order of the keys
+     * 
+     * @author omnaest
+     * @param <E>
+     */
+    private class SortedSide<E>
+    {
+        private final Iterator<E>     iterator;
+        private final Function<E, K>  keyMapper;
+        private final String          name;
+
+        private boolean               peeked   = false;
+        private E                     nextElement;
+        private K                     nextKey;
+        private K                     lastKey;
+
+        public SortedSide(Iterator<E> iterator, Function<E, K> keyMapper, String name)
+        {
+            super();
+            this.iterator = iterator;
+            this.keyMapper = keyMapper;
+            this.name = name;
+        }
+
+        public boolean hasNext()
+        {
+            if (!this.peeked && this.iterator.hasNext())
+            {
+                this.nextElement = this.iterator.next();
+                this.nextKey = this.keyMapper.apply(this.nextElement);
+                this.peeked = true;
+                if (this.nextKey != null)
+                {
+                    if (this.lastKey != null && SortMergeJoiner.this.comparator.compare(this.lastKey, this.nextKey) > 0)
+                    {
+                        throw new IllegalStateException("The " + this.name + " elements are not sorted by their key: " + this.lastKey + " > " + this.nextKey);
+                    }
+                    this.lastKey = this.nextKey;
+                }
+            }
+            return this.peeked;
+        }
+
+        public boolean hasNextWithKey()
+        {
+            return this.hasNext() && this.nextKey != null;
+        }
+
+        public boolean hasNextWithoutKey()
+        {
+            return this.hasNext() && this.nextKey == null;
+        }
+
+        public K peekKey()
+        {
+            return this.nextKey;
+        }
+
+        public E next()
+        {
+            if (!this.hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+            this.peeked = false;
+            E element = this.nextElement;
+            this.nextElement = null;
+            this.nextKey = null;
+            return element;
+        }
+    }
+}
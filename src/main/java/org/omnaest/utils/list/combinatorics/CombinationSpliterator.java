@@ -0,0 +1,167 @@
+/*******************************************************************************
+ * Copyright 2026 Danny Kunz
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.omnaest.utils.list.combinatorics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+
+/**
+ * {@link Spliterator} over all combinations of k elements of a {@link List} in lexicographic order of the element positions. The elements of each
+ * combination keep the order of the given {@link List}.<br>
+ * <br>
+ * Splits start at their first combination via {@link #nthCombination(List, int, long)}, all further combinations are derived from their predecessor.
+ * 
+ * @author omnaest
+ * @param <E>
+ */
+public class CombinationSpliterator<E> extends IndexRangeSpliterator<List<E>>
+{
+    private final List<E> elements;
+    private final int[]   indexes;
+
+    protected CombinationSpliterator(List<E> elements, int k, long index, long fence)
+    {
+        super(index, fence);
+        this.elements = elements;
+        this.indexes = new int[k];
+    }
+
+    public static <E> CombinationSpliterator<E> of(List<E> elements, int k)
+    {
+        return new CombinationSpliterator<>(new ArrayList<>(elements), k, 0, numberOfCombinations(elements.size(), k));
+    }
+
+    /**
+     * Returns the binomial coefficient n choose k
+     * 
+     * @param numberOfElements
+     * @param k
+     * @return
+     * @throws IllegalArgumentException
+     *             if the result exceeds the range of long
+     */
+    public static long numberOfCombinations(int numberOfElements, int k)
+    {
+        if (k < 0 || k > numberOfElements)
+        {
+            return 0;
+        }
+
+        try
+        {
+            int kk = Math.min(k, numberOfElements - k);
+            long result = 1;
+            for (int ii = 0; ii < kk; ii++)
+            {
+                result = Math.multiplyExact(result, numberOfElements - ii) / (ii + 1);
+            }
+            return result;
+        }
+        catch (ArithmeticException e)
+        {
+            throw new IllegalArgumentException("The number of combinations of " + k + " out of " + numberOfElements + " elements exceeds the range of long",
+                                               e);
+        }
+    }
+
+    /**
+     * Returns the combination of k elements with the given index in lexicographic order of the element positions
+     * 
+     * @param elements
+     * @param k
+     * @param index
+     *            0 <= index < {@link #numberOfCombinations(int, int)}
+     * @return
+     */
+    public static <E> List<E> nthCombination(List<E> elements, int k, long index)
+    {
+        int[] indexes = new int[k];
+        determineCombinationIndexes(elements.size(), index, indexes);
+        return createCombination(elements, indexes);
+    }
+
+    private static void determineCombinationIndexes(int numberOfElements, long index, int[] indexes)
+    {
+        int k = indexes.length;
+        if (index < 0 || index >= numberOfCombinations(numberOfElements, k))
+        {
+            throw new IndexOutOfBoundsException("Combination index " + index + " is out of range for " + k + " out of " + numberOfElements + " elements");
+        }
+
+        long remainingIndex = index;
+        int position = 0;
+        for (int ii = 0; ii < k; ii++)
+        {
+            long numberOfCombinationsWithPosition = numberOfCombinations(numberOfElements - 1 - position, k - 1 - ii);
+            while (remainingIndex >= numberOfCombinationsWithPosition)
+            {
+                remainingIndex -= numberOfCombinationsWithPosition;
+                position++;
+                numberOfCombinationsWithPosition = numberOfCombinations(numberOfElements - 1 - position, k - 1 - ii);
+            }
+            indexes[ii] = position++;
+        }
+    }
+
+    private static <E> List<E> createCombination(List<E> elements, int[] indexes)
+    {
+        List<E> result = new ArrayList<>(indexes.length);
+        for (int index : indexes)
+        {
+            result.add(elements.get(index));
+        }
+        return result;
+    }
+
+    @Override
+    protected void positionAt(long index)
+    {
+        determineCombinationIndexes(this.elements.size(), index, this.indexes);
+    }
+
+    @Override
+    protected void advanceTo(long index)
+    {
+        int[] indexes = this.indexes;
+        int k = indexes.length;
+        int numberOfElements = this.elements.size();
+
+        int pivot = k - 1;
+        while (indexes[pivot] == numberOfElements - k + pivot)
+        {
+            pivot--;
+        }
+
+        indexes[pivot]++;
+        for (int ii = pivot + 1; ii < k; ii++)
+        {
+            indexes[ii] = indexes[ii - 1] + 1;
+        }
+    }
+
+    @Override
+    protected List<E> createElement()
+    {
+        return createCombination(this.elements, this.indexes);
+    }
+
+    @Override
+    protected CombinationSpliterator<E> newSpliterator(long index, long fence)
+    {
+        return new CombinationSpliterator<>(this.elements, this.indexes.length, index, fence);
+    }
+}
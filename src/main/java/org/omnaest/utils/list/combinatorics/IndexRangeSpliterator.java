@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright 2026 Danny Kunz
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.omnaest.utils.list.combinatorics;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Base {@link Spliterator} for enumerations which can be ranked by a long index. The first element of every split is computed directly from its index, all
+ * further elements are derived incrementally from their predecessor.
+ * 
+ * @author omnaest
+ * @param <T>
+ */
+abstract class IndexRangeSpliterator<T> implements Spliterator<T>
+{
+    private long    index;
+    private long    fence;
+    private boolean positioned = false;
+
+    protected IndexRangeSpliterator(long index, long fence)
+    {
+        super();
+        this.index = index;
+        this.fence = fence;
+    }
+
+    /**
+     * Sets the internal state to the element with the given index
+     * 
+     * @param index
+     */
+    protected abstract void positionAt(long index);
+
+    /**
+     * Moves the internal state from the element at index - 1 to the element with the given index
+     * 
+     * @param index
+     */
+    protected abstract void advanceTo(long index);
+
+    /**
+     * Creates a new element from the current internal state
+     * 
+     * @return
+     */
+    protected abstract T createElement();
+
+    protected abstract IndexRangeSpliterator<T> newSpliterator(long index, long fence);
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action)
+    {
+        if (this.index >= this.fence)
+        {
+            return false;
+        }
+
+        if (this.positioned)
+        {
+            this.advanceTo(this.index);
+        }
+        else
+        {
+            this.positionAt(this.index);
+            this.positioned = true;
+        }
+        this.index++;
+
+        action.accept(this.createElement());
+        return true;
+    }
+
+    @Override
+    public Spliterator<T> trySplit()
+    {
+        long size = this.fence - this.index;
+        if (size < 2)
+        {
+            return null;
+        }
+
+        long middle = this.index + size / 2;
+        Spliterator<T> prefix = this.newSpliterator(this.index, middle);
+        this.index = middle;
+        this.positioned = false;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize()
+    {
+        return this.fence - this.index;
+    }
+
+    @Override
+    public int characteristics()
+    {
+        return ORDERED | SIZED | SUBSIZED | IMMUTABLE | NONNULL;
+    }
+}
@@ -0,0 +1,178 @@
+/*******************************************************************************
+ * Copyright 2026 Danny Kunz
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.omnaest.utils.list.combinatorics;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Spliterator;
+
+/**
+ * {@link Spliterator} over all permutations of a {@link List} in lexicographic order of the element positions. Elements are distinguished by their
+ * position, so equal elements lead to equal permutations.<br>
+ * <br>
+ * Each permutation is computed from its predecessor by a single next-permutation step on an index array. Splits start at their first permutation via
+ * {@link #nthPermutation(List, long)}, which allows to enumerate the permutations in parallel.
+ * 
+ * @author omnaest
+ * @param <E>
+ */
+public class PermutationSpliterator<E> extends IndexRangeSpliterator<List<E>>
+{
+    /**
+     * 20! is the largest factorial which fits into a long
+     */
+    public static final int MAX_NUMBER_OF_ELEMENTS = 20;
+
+    private final List<E>   elements;
+    private final int[]     indexes;
+
+    protected PermutationSpliterator(List<E> elements, long index, long fence)
+    {
+        super(index, fence);
+        this.elements = elements;
+        this.indexes = new int[elements.size()];
+    }
+
+    public static <E> PermutationSpliterator<E> of(Collection<E> elements)
+    {
+        return new PermutationSpliterator<>(new ArrayList<>(elements), 0, numberOfPermutations(elements.size()));
+    }
+
+    /**
+     * Returns n!
+     * 
+     * @param numberOfElements
+     * @return
+     * @throws IllegalArgumentException
+     *             if the number of elements exceeds {@link #MAX_NUMBER_OF_ELEMENTS}
+     */
+    public static long numberOfPermutations(int numberOfElements)
+    {
+        if (numberOfElements > MAX_NUMBER_OF_ELEMENTS)
+        {
+            throw new IllegalArgumentException("The number of permutations of " + numberOfElements + " elements exceeds the range of long");
+        }
+
+        long result = 1;
+        for (int ii = 2; ii <= numberOfElements; ii++)
+        {
+            result *= ii;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the permutation with the given index in lexicographic order of the element positions
+     * 
+     * @param elements
+     * @param index
+     *            0 <= index < {@link #numberOfPermutations(int)}
+     * @return
+     */
+    public static <E> List<E> nthPermutation(List<E> elements, long index)
+    {
+        int[] indexes = new int[elements.size()];
+        determinePermutationIndexes(index, indexes);
+        return createPermutation(elements, indexes);
+    }
+
+    private static void determinePermutationIndexes(long index, int[] indexes)
+    {
+        int size = indexes.length;
+        if (index < 0 || index >= numberOfPermutations(size))
+        {
+            throw new IndexOutOfBoundsException("Permutation index " + index + " is out of range for " + size + " elements");
+        }
+
+        for (int ii = 0; ii < size; ii++)
+        {
+            indexes[ii] = ii;
+        }
+
+        long remainingIndex = index;
+        for (int ii = 0; ii < size; ii++)
+        {
+            long factorial = numberOfPermutations(size - 1 - ii);
+            int offset = (int) (remainingIndex / factorial);
+            remainingIndex %= factorial;
+
+            // rotate the selected index to the front of the remaining indexes, which keeps the remaining indexes sorted
+            int selected = indexes[ii + offset];
+            System.arraycopy(indexes, ii, indexes, ii + 1, offset);
+            indexes[ii] = selected;
+        }
+    }
+
+    private static <E> List<E> createPermutation(List<E> elements, int[] indexes)
+    {
+        List<E> result = new ArrayList<>(indexes.length);
+        for (int index : indexes)
+        {
+            result.add(elements.get(index));
+        }
+        return result;
+    }
+
+    @Override
+    protected void positionAt(long index)
+    {
+        determinePermutationIndexes(index, this.indexes);
+    }
+
+    @Override
+    protected void advanceTo(long index)
+    {
+        int[] indexes = this.indexes;
+
+        int pivot = indexes.length - 2;
+        while (indexes[pivot] > indexes[pivot + 1])
+        {
+            pivot--;
+        }
+
+        int successor = indexes.length - 1;
+        while (indexes[successor] < indexes[pivot])
+        {
+            successor--;
+        }
+        swap(indexes, pivot, successor);
+
+        for (int left = pivot + 1, right = indexes.length - 1; left < right; left++, right--)
+        {
+            swap(indexes, left, right);
+        }
+    }
+
+    private static void swap(int[] indexes, int index1, int index2)
+    {
+        int temp = indexes[index1];
+        indexes[index1] = indexes[index2];
+        indexes[index2] = temp;
+    }
+
+    @Override
+    protected List<E> createElement()
+    {
+        return createPermutation(this.elements, this.indexes);
+    }
+
+    @Override
+    protected PermutationSpliterator<E> newSpliterator(long index, long fence)
+    {
+        return new PermutationSpliterator<>(this.elements, index, fence);
+    }
+}
@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright 2026 Danny Kunz
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.omnaest.utils.list.combinatorics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+
+/**
+ * {@link Spliterator} over all non empty subsets of a {@link List} in binary reflected Gray code order, so that two consecutive subsets differ by exactly
+ * one element. The elements of each subset keep the order of the given {@link List}.<br>
+ * <br>
+ * The subset with index i contains the elements at the positions of the set bits of i ^ (i >>> 1), which allows to start each split directly at its first
+ * subset.
+ * 
+ * @author omnaest
+ * @param <E>
+ */
+public class SubsetSpliterator<E> extends IndexRangeSpliterator<List<E>>
+{
+    /**
+     * The subsets are encoded as bit mask of a long
+     */
+    public static final int MAX_NUMBER_OF_ELEMENTS = 62;
+
+    private final List<E>   elements;
+    private long            mask;
+
+    protected SubsetSpliterator(List<E> elements, long index, long fence)
+    {
+        super(index, fence);
+        this.elements = elements;
+    }
+
+    public static <E> SubsetSpliterator<E> of(List<E> elements)
+    {
+        return new SubsetSpliterator<>(new ArrayList<>(elements), 1, numberOfSubsets(elements.size()));
+    }
+
+    /**
+     * Returns 2^n which includes the empty subset
+     * 
+     * @param numberOfElements
+     * @return
+     * @throws IllegalArgumentException
+     *             if the number of elements exceeds {@link #MAX_NUMBER_OF_ELEMENTS}
+     */
+    public static long numberOfSubsets(int numberOfElements)
+    {
+        if (numberOfElements > MAX_NUMBER_OF_ELEMENTS)
+        {
+            throw new IllegalArgumentException("The number of subsets of " + numberOfElements + " elements exceeds the range of long");
+        }
+        return 1L << numberOfElements;
+    }
+
+    @Override
+    protected void positionAt(long index)
+    {
+        this.mask = index ^ (index >>> 1);
+    }
+
+    @Override
+    protected void advanceTo(long index)
+    {
+        this.mask ^= 1L << Long.numberOfTrailingZeros(index);
+    }
+
+    @Override
+    protected List<E> createElement()
+    {
+        List<E> result = new ArrayList<>(Long.bitCount(this.mask));
+        for (long remaining = this.mask; remaining != 0; remaining &= remaining - 1)
+        {
+            result.add(this.elements.get(Long.numberOfTrailingZeros(remaining)));
+        }
+        return result;
+    }
+
+    @Override
+    protected SubsetSpliterator<E> newSpliterator(long index, long fence)
+    {
+        return new SubsetSpliterator<>(this.elements, index, fence);
+    }
+}
@@ -15,15 +15,20 @@
  ******************************************************************************/
 package org.omnaest.utils.lock;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
@@ -84,36 +89,54 @@ public class LockMap
         return this;
     }
 
+    /**
+     * Executes the given {@link Callable} while all {@link Lock}s of the given keys are held. The {@link Lock}s are always acquired in the same global
+     * order, so that concurrent calls with overlapping key sets can not deadlock.
+     * 
+     * @param keys
+     * @param callable
+     * @return
+     * @throws Exception
+     */
     public <R> R call(Collection<Object> keys, Callable<R> callable) throws Exception
     {
-        List<LockHolder> lockHolders = Optional.ofNullable(keys)
-                                               .orElse(Collections.emptyList())
-                                               .stream()
-                                               .map(key ->
-
-                                               this.locks.compute(key, (k, l) -> Optional.ofNullable(l)
-                                                                                         .orElseGet(() -> new LockHolder())
-                                                                                         .incrementThreadCounter()
-                                                                                         .lock()))
-                                               .collect(Collectors.toList());
+        Set<Object> distinctKeys = new LinkedHashSet<>(Optional.ofNullable(keys)
+                                                               .orElse(Collections.emptyList()));
+        List<LockHolder> lockHolders = distinctKeys.stream()
+                                                   .map(key -> this.locks.compute(key, (k, l) -> Optional.ofNullable(l)
+                                                                                                         .orElseGet(() -> new LockHolder())
+                                                                                                         .incrementThreadCounter()))
+                                                   .sorted(Comparator.comparingLong(LockHolder::getOrder))
+                                                   .collect(Collectors.toList());
+        List<LockHolder> lockedLockHolders = new ArrayList<>(lockHolders.size());
         try
         {
+            for (LockHolder lockHolder : lockHolders)
+            {
+                lockedLockHolders.add(lockHolder.lock());
+            }
             return callable.call();
         }
         finally
         {
-            lockHolders.forEach(lockHolder -> lockHolder.unlock()
-                                                        .decrementThreadCounter());
-            Optional.ofNullable(keys)
-                    .orElse(Collections.emptyList())
-                    .forEach(key -> this.locks.computeIfPresent(key, (k, l) -> l.hasNoActiveThreads() ? null : l));
+            lockedLockHolders.forEach(LockHolder::unlock);
+            lockHolders.forEach(LockHolder::decrementThreadCounter);
+            distinctKeys.forEach(key -> this.locks.computeIfPresent(key, (k, l) -> l.hasNoActiveThreads() ? null : l));
         }
     }
 
     private static class LockHolder
     {
-        private Lock          lock                = new ReentrantLock(true);
-        private AtomicInteger activeThreadCounter = new AtomicInteger();
+        private static final AtomicLong ORDER_SEQUENCE      = new AtomicLong();
+
+        private long                    order               = ORDER_SEQUENCE.getAndIncrement();
+        private Lock                    lock                = new ReentrantLock(true);
+        private AtomicInteger           activeThreadCounter = new AtomicInteger();
+
+        public long getOrder()
+        {
+            return this.order;
+        }
 
         public LockHolder unlock()
         {
@@ -0,0 +1,183 @@
+/*******************************************************************************
+ * Copyright 2026 Danny Kunz
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.omnaest.utils.stream;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * {@link Spliterator} which traverses a source {@link Spliterator} strictly sequentially, but allows parallel processing of the elements by splitting off
+ * batches of elements which are buffered into an array, similar to {@link Spliterators.AbstractSpliterator}.<br>
+ * <br>
+ * The batch size starts small, so that short {@link java.util.stream.Stream}s are distributed to several threads, and doubles with every split up to a
+ * maximum batch size, so that the buffering overhead of long {@link java.util.stream.Stream}s stays low. For a {@link Spliterator#SIZED} source a batch
+ * never exceeds half of the remaining elements. The source {@link Spliterator} itself is never split, so any state of a sequential source operation stays
+ * consistent.
+ * 
+ * @see #of(Spliterator)
+ * @see #of(Iterator)
+ * @author omnaest
+ * @param <E>
+ */
+public class BatchSpliterator<E> implements Spliterator<E>
+{
+    public static final int      DEFAULT_INITIAL_BATCH_SIZE = 64;
+    public static final int      DEFAULT_MAX_BATCH_SIZE     = 1 << 24;
+
+    private final Spliterator<E> source;
+    private int                  batchSize                  = DEFAULT_INITIAL_BATCH_SIZE;
+    private int                  maxBatchSize               = DEFAULT_MAX_BATCH_SIZE;
+
+    protected BatchSpliterator(Spliterator<E> source)
+    {
+        super();
+        this.source = source;
+    }
+
+    /**
+     * Returns a {@link BatchSpliterator} for the given source {@link Spliterator} which is only traversed sequentially and never split
+     * 
+     * @param source
+     * @return
+     */
+    public static <E> BatchSpliterator<E> of(Spliterator<E> source)
+    {
+        return new BatchSpliterator<>(source);
+    }
+
+    /**
+     * Returns an {@link Spliterator#ORDERED} {@link BatchSpliterator} of unknown size for the given {@link Iterator}
+     * 
+     * @param iterator
+     * @return
+     */
+    public static <E> BatchSpliterator<E> of(Iterator<E> iterator)
+    {
+        return of(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED));
+    }
+
+    public BatchSpliterator<E> withInitialBatchSize(int initialBatchSize)
+    {
+        this.batchSize = Math.max(1, initialBatchSize);
+        this.maxBatchSize = Math.max(this.batchSize, this.maxBatchSize);
+        return this;
+    }
+
+    public BatchSpliterator<E> withMaxBatchSize(int maxBatchSize)
+    {
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.batchSize = Math.min(this.batchSize, this.maxBatchSize);
+        return this;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super E> action)
+    {
+        return this.source.tryAdvance(action);
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super E> action)
+    {
+        this.source.forEachRemaining(action);
+    }
+
+    @Override
+    public Spliterator<E> trySplit()
+    {
+        long estimatedSize = this.source.estimateSize();
+        if (estimatedSize <= 1)
+        {
+            return null;
+        }
+
+        long size = Math.min(estimatedSize, this.batchSize);
+        if (this.source.hasCharacteristics(Spliterator.SIZED))
+        {
+            size = Math.min(size, Math.max(1, estimatedSize / 2));
+        }
+
+        BatchCollector<E> batchCollector = new BatchCollector<>((int) size);
+        while (batchCollector.hasCapacity() && this.source.tryAdvance(batchCollector))
+        {
+            // fill the batch
+        }
+        if (batchCollector.getSize() == 0)
+        {
+            return null;
+        }
+
+        this.batchSize = (int) Math.min(this.maxBatchSize, this.batchSize * 2l);
+        int batchCharacteristics = this.source.characteristics()
+                & (Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.IMMUTABLE);
+        return Spliterators.spliterator(batchCollector.getBatch(), 0, batchCollector.getSize(), batchCharacteristics);
+    }
+
+    @Override
+    public long estimateSize()
+    {
+        return this.source.estimateSize();
+    }
+
+    @Override
+    public int characteristics()
+    {
+        int characteristics = this.source.characteristics();
+        return this.source.hasCharacteristics(Spliterator.SIZED) ? characteristics | Spliterator.SUBSIZED : characteristics & ~Spliterator.SUBSIZED;
+    }
+
+    @Override
+    public Comparator<? super E> getComparator()
+    {
+        return this.source.getComparator();
+    }
+
+    private static class BatchCollector<E> implements Consumer<E>
+    {
+        private final Object[] batch;
+        private int            size = 0;
+
+        private BatchCollector(int capacity)
+        {
+            super();
+            this.batch = new Object[capacity];
+        }
+
+        @Override
+        public void accept(E element)
+        {
+            this.batch[this.size++] = element;
+        }
+
+        public boolean hasCapacity()
+        {
+            return this.size < this.batch.length;
+        }
+
+        public Object[] getBatch()
+        {
+            return this.batch;
+        }
+
+        public int getSize()
+        {
+            return this.size;
+        }
+    }
+}
@@ -0,0 +1,280 @@
+/*******************************************************************************
+ * Copyright 2026 Danny Kunz
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.omnaest.utils.stream;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.omnaest.utils.FileUtils;
+import org.omnaest.utils.StreamUtils;
+import org.omnaest.utils.exception.RuntimeIOException;
+import org.omnaest.utils.file.SpillFile;
+
+/**
+ * External merge sort for {@link Stream}s which do not fit into memory.<br>
+ * <br>
+ * The source {@link Stream} is read in runs of at most {@link #withMaxNumberOfElementsInMemory(int)} elements, each run is sorted in parallel and spilled
+ * into a {@link SpillFile} within a random temporary directory. The returned {@link Stream} merges the sorted runs lazily. If there are more runs than
+ * {@link #withMaxNumberOfRunsPerMerge(int)}, runs are merged into larger runs upfront, which limits the number of open files. If the source fits into a
+ * single run, no files are written at all.<br>
+ * <br>
+ * The sort is stable. Closing the returned {@link Stream} deletes all temporary files.
+ * 
+ * @author omnaest
+ * @param <E>
+ */
+public class ExternalSorter<E>
+{
+    public static final int               DEFAULT_MAX_NUMBER_OF_ELEMENTS_IN_MEMORY = 1000000;
+    public static final int               DEFAULT_MAX_NUMBER_OF_RUNS_PER_MERGE     = 128;
+
+    private final Stream<E>               elements;
+    private final Comparator<? super E>   comparator;
+    private final Function<E, String>     serializer;
+    private final Function<String, E>     deserializer;
+
+    private int                           maxNumberOfElementsInMemory              = DEFAULT_MAX_NUMBER_OF_ELEMENTS_IN_MEMORY;
+    private int                           maxNumberOfRunsPerMerge                  = DEFAULT_MAX_NUMBER_OF_RUNS_PER_MERGE;
+
+    protected ExternalSorter(Stream<E> elements, Comparator<? super E> comparator, Function<E, String> serializer, Function<String, E> deserializer)
+    {
+        super();
+        this.elements = elements;
+        this.comparator = comparator;
+        this.serializer = serializer;
+        this.deserializer = deserializer;
+    }
+
+    public static <E> ExternalSorter<E> of(Stream<E> elements, Comparator<? super E> comparator, Function<E, String> serializer,
+                                           Function<String, E> deserializer)
+    {
+        return new ExternalSorter<>(elements, comparator, serializer, deserializer);
+    }
+
+    /**
+     * Sets the maximum number of elements which are sorted in memory as one run. Default is {@value #DEFAULT_MAX_NUMBER_OF_ELEMENTS_IN_MEMORY}
+     * 
+     * @param maxNumberOfElementsInMemory
+     * @return
+     */
+    public ExternalSorter<E> withMaxNumberOfElementsInMemory(int maxNumberOfElementsInMemory)
+    {
+        this.maxNumberOfElementsInMemory = Math.max(1, maxNumberOfElementsInMemory);
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of runs which are merged at once, which is the maximum number of files opened at the same time. Default is
+     * {@value #DEFAULT_MAX_NUMBER_OF_RUNS_PER_MERGE}
+     * 
+     * @param maxNumberOfRunsPerMerge
+     * @return
+     */
+    public ExternalSorter<E> withMaxNumberOfRunsPerMerge(int maxNumberOfRunsPerMerge)
+    {
+        this.maxNumberOfRunsPerMerge = Math.max(2, maxNumberOfRunsPerMerge);
+        return this;
+    }
+
+    /**
+     * Reads all source elements, spills the sorted runs and returns the lazily merged {@link Stream}
+     * 
+     * @return
+     * @throws RuntimeIOException
+     */
+    public Stream<E> sort()
+    {
+        List<SpillFile<E>> runs = new ArrayList<>();
+        File directory = null;
+        try
+        {
+            Iterator<E> iterator = this.elements.iterator();
+            List<E> run = this.readRun(iterator);
+            if (!iterator.hasNext())
+            {
+                this.elements.close();
+                return this.sortRun(run)
+                           .stream();
+            }
+
+            directory = FileUtils.createRandomTempDirectory();
+            while (!run.isEmpty())
+            {
+                runs.add(this.spill(this.sortRun(run)
+                                        .stream(),
+                                    directory, runs.size()));
+                run = this.readRun(iterator);
+            }
+            this.elements.close();
+
+            int runIndex = runs.size();
+            while (runs.size() > this.maxNumberOfRunsPerMerge)
+            {
+                List<SpillFile<E>> mergedRuns = new ArrayList<>();
+                for (int ii = 0; ii < runs.size(); ii += this.maxNumberOfRunsPerMerge)
+                {
+                    List<SpillFile<E>> group = runs.subList(ii, Math.min(runs.size(), ii + this.maxNumberOfRunsPerMerge));
+                    try (Stream<E> mergedStream = this.merge(group))
+                    {
+                        mergedRuns.add(this.spill(mergedStream, directory, runIndex++));
+                    }
+                }
+                runs = mergedRuns;
+            }
+
+            File finalDirectory = directory;
+            List<SpillFile<E>> finalRuns = runs;
+            return this.merge(runs)
+                       .onClose(() -> this.delete(finalRuns, finalDirectory));
+        }
+        catch (IOException e)
+        {
+            this.delete(runs, directory);
+            throw new RuntimeIOException(e);
+        }
+        catch (RuntimeException e)
+        {
+            this.delete(runs, directory);
+            throw e;
+        }
+    }
+
+    private List<E> readRun(Iterator<E> iterator)
+    {
+        List<E> run = new ArrayList<>();
+        while (run.size() < this.maxNumberOfElementsInMemory && iterator.hasNext())
+        {
+            run.add(iterator.next());
+        }
+        return run;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<E> sortRun(List<E> run)
+    {
+        E[] array = (E[]) run.toArray();
+        Arrays.parallelSort(array, this.comparator);
+        return Arrays.asList(array);
+    }
+
+    private SpillFile<E> spill(Stream<E> sortedElements, File directory, int runIndex)
+    {
+        SpillFile<E> spillFile = SpillFile.of(new File(directory, "run." + runIndex), this.serializer, this.deserializer);
+        sortedElements.forEach(spillFile::append);
+        return spillFile;
+    }
+
+    /**
+     * Merges the given sorted runs. Equal elements are returned in the order of their runs, which keeps the sort stable. The given runs are deleted when the
+     * returned {@link Stream} is closed.
+     * 
+     * @param runs
+     * @return
+     */
+    private Stream<E> merge(List<SpillFile<E>> runs)
+    {
+        List<Stream<E>> streams = runs.stream()
+                                      .map(SpillFile::stream)
+                                      .collect(Collectors.toList());
+        List<SpillFile<E>> closedRuns = new ArrayList<>(runs);
+        return StreamUtils.fromIterator(new MergeIterator<>(streams.stream()
+                                                                   .map(Stream::iterator)
+                                                                   .collect(Collectors.toList()),
+                                                            this.comparator))
+                          .onClose(() ->
+                          {
+                              streams.forEach(Stream::close);
+                              closedRuns.forEach(SpillFile::close);
+                          });
+    }
+
+    private void delete(List<SpillFile<E>> runs, File directory)
+    {
+        runs.forEach(SpillFile::close);
+        if (directory != null)
+        {
+            org.apache.commons.io.FileUtils.deleteQuietly(directory);
+        }
+    }
+
+    private static class MergeIterator<E> implements Iterator<E>
+    {
+        private final List<Iterator<E>>         iterators;
+        private final PriorityQueue<RunHead<E>> heads;
+
+        public MergeIterator(List<Iterator<E>> iterators, Comparator<? super E> comparator)
+        {
+            super();
+            this.iterators = iterators;
+            this.heads = new PriorityQueue<>(Math.max(1, iterators.size()), Comparator.<RunHead<E>, E>comparing(head -> head.element, comparator)
+                                                                                      .thenComparingInt(head -> head.runIndex));
+            for (int runIndex = 0; runIndex < iterators.size(); runIndex++)
+            {
+                this.addHead(runIndex);
+            }
+        }
+
+        private void addHead(int runIndex)
+        {
+            Iterator<E> iterator = this.iterators.get(runIndex);
+            if (iterator.hasNext())
+            {
+                this.heads.add(new RunHead<>(iterator.next(), runIndex));
+            }
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return !this.heads.isEmpty();
+        }
+
+        @Override
+        public E next()
+        {
+            RunHead<E> head = this.heads.poll();
+            if (head == null)
+            {
+                throw new NoSuchElementException();
+            }
+            this.addHead(head.runIndex);
+            return head.element;
+        }
+    }
+
+    private static class RunHead<E>
+    {
+        private final E   element;
+        private final int runIndex;
+
+        public RunHead(E element, int runIndex)
+        {
+            super();
+            this.element = element;
+            this.runIndex = runIndex;
+        }
+    }
+}
@@ -0,0 +1,421 @@
+/*******************************************************************************
+ * Copyright 2026 Danny Kunz
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.omnaest.utils.stream;
+
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+
+/**
+ * {@link Spliterator} which combines the elements of a primitive source {@link Spliterator} into frames of a fixed size, without boxing any element.<br>
+ * <br>
+ * E.g. [1,2,3,4,5] -> [1,2],[3,4],[5] for a frame size = 2 and [1,2],[3,4],[5,0] if the size of the last frame is preserved.<br>
+ * <br>
+ * If the source is {@link Spliterator#SUBSIZED} this {@link Spliterator} can be split for parallel processing. The split points are aligned to the frame
+ * boundaries, so the frames are identical to the ones of a sequential traversal. With {@link #withReusedFrame()} every full frame is written into the same
+ * array, which is only valid until the next frame is emitted.
+ * 
+ * @see #of(Spliterator.OfInt, int)
+ * @see #of(Spliterator.OfLong, int)
+ * @see #of(Spliterator.OfDouble, int)
+ * @author omnaest
+ * @param <A>
+ *            primitive array type
+ * @param <S>
+ *            primitive source {@link Spliterator} type
+ */
+public abstract class FramingSpliterator<A, S extends Spliterator.OfPrimitive<?, ?, S>> implements Spliterator<A>
+{
+    protected final S           source;
+    protected final int         frameSize;
+    private boolean             preserveSize   = false;
+    private boolean             reuseFrame     = false;
+
+    private A                   tail;
+    private int                 tailLength     = 0;
+    private int                 tailPosition   = 0;
+    private A                   reusableFrame;
+
+    protected A                 frame;
+    protected int               count          = 0;
+    private Consumer<? super A> frameConsumer;
+
+    protected FramingSpliterator(S source, int frameSize)
+    {
+        super();
+        if (frameSize <= 0)
+        {
+            throw new IllegalArgumentException("Frame size must be positive: " + frameSize);
+        }
+        this.source = source;
+        this.frameSize = frameSize;
+    }
+
+    public static FramingSpliterator<int[], Spliterator.OfInt> of(Spliterator.OfInt source, int frameSize)
+    {
+        return new OfInt(source, frameSize);
+    }
+
+    public static FramingSpliterator<long[], Spliterator.OfLong> of(Spliterator.OfLong source, int frameSize)
+    {
+        return new OfLong(source, frameSize);
+    }
+
+    public static FramingSpliterator<double[], Spliterator.OfDouble> of(Spliterator.OfDouble source, int frameSize)
+    {
+        return new OfDouble(source, frameSize);
+    }
+
+    /**
+     * The last frame is padded with zeros to the frame size instead of being reduced to the number of remaining elements
+     * 
+     * @return
+     */
+    public FramingSpliterator<A, S> withPreservedSize()
+    {
+        this.preserveSize = true;
+        return this;
+    }
+
+    /**
+     * Every full frame is written into the same array, so only a single array is allocated for all full frames. The array is only valid until the next
+     * frame is emitted.
+     * 
+     * @return
+     */
+    public FramingSpliterator<A, S> withReusedFrame()
+    {
+        this.reuseFrame = true;
+        return this;
+    }
+
+    protected abstract A newArray(int size);
+
+    protected abstract void fillWithZeros(A frame, int fromIndex, int toIndex);
+
+    /**
+     * Reads a single element from the {@link #source} into the {@link #frame} and calls {@link #onElementAdded()}
+     * 
+     * @return false, if the {@link #source} has no more elements
+     */
+    protected abstract boolean tryAdvanceSourceIntoFrame();
+
+    /**
+     * Reads all remaining elements of the {@link #source} into the {@link #frame} calling {@link #onElementAdded()} for each of them
+     */
+    protected abstract void forEachRemainingSourceIntoFrame();
+
+    protected abstract FramingSpliterator<A, S> newInstance(S source);
+
+    protected void onElementAdded()
+    {
+        if (++this.count == this.frameSize && this.frameConsumer != null)
+        {
+            this.frameConsumer.accept(this.frame);
+            this.startFrame();
+        }
+    }
+
+    private void startFrame()
+    {
+        this.frame = this.reuseFrame && this.reusableFrame != null ? this.reusableFrame : this.newArray(this.frameSize);
+        this.count = 0;
+        if (this.reuseFrame)
+        {
+            this.reusableFrame = this.frame;
+        }
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super A> action)
+    {
+        this.startFrame();
+        while (this.count < this.frameSize && this.tryAdvanceSourceIntoFrame())
+        {
+            // fill the frame
+        }
+        return this.finishFrame(action);
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super A> action)
+    {
+        this.startFrame();
+        this.frameConsumer = action;
+        try
+        {
+            this.forEachRemainingSourceIntoFrame();
+        }
+        finally
+        {
+            this.frameConsumer = null;
+        }
+        while (this.finishFrame(action))
+        {
+            this.startFrame();
+        }
+    }
+
+    /**
+     * Completes the current {@link #frame} with the tail elements and passes it to the given {@link Consumer}
+     * 
+     * @param action
+     * @return false, if the frame has been empty
+     */
+    private boolean finishFrame(Consumer<? super A> action)
+    {
+        int numberOfTailElements = Math.min(this.frameSize - this.count, this.tailLength - this.tailPosition);
+        if (numberOfTailElements > 0)
+        {
+            System.arraycopy(this.tail, this.tailPosition, this.frame, this.count, numberOfTailElements);
+            this.tailPosition += numberOfTailElements;
+            this.count += numberOfTailElements;
+        }
+
+        A frame = this.frame;
+        int count = this.count;
+        this.frame = null;
+        this.count = 0;
+        if (count == 0)
+        {
+            return false;
+        }
+
+        if (count < this.frameSize)
+        {
+            if (!this.preserveSize)
+            {
+                A reducedFrame = this.newArray(count);
+                System.arraycopy(frame, 0, reducedFrame, 0, count);
+                frame = reducedFrame;
+            }
+            else if (this.reuseFrame)
+            {
+                this.fillWithZeros(frame, count, this.frameSize);
+            }
+        }
+        action.accept(frame);
+        return true;
+    }
+
+    /**
+     * Splits the source, if it is {@link Spliterator#SUBSIZED}. The elements needed to complete the last frame of the prefix are moved from this
+     * {@link Spliterator} into the tail of the prefix, so that every split starts at a frame boundary.
+     */
+    @Override
+    public Spliterator<A> trySplit()
+    {
+        if (!this.source.hasCharacteristics(Spliterator.SUBSIZED))
+        {
+            return null;
+        }
+
+        S prefixSource = this.source.trySplit();
+        if (prefixSource == null)
+        {
+            return null;
+        }
+
+        FramingSpliterator<A, S> prefix = this.newInstance(prefixSource);
+        prefix.preserveSize = this.preserveSize;
+        prefix.reuseFrame = this.reuseFrame;
+
+        int remainder = (int) (prefixSource.getExactSizeIfKnown() % this.frameSize);
+        if (remainder > 0)
+        {
+            int numberOfMissingElements = this.frameSize - remainder;
+            this.frame = this.newArray(numberOfMissingElements);
+            this.count = 0;
+            while (this.count < numberOfMissingElements && this.tryAdvanceSourceIntoFrame())
+            {
+                // fill the tail of the prefix
+            }
+            int numberOfTailElements = Math.min(numberOfMissingElements - this.count, this.tailLength - this.tailPosition);
+            if (numberOfTailElements > 0)
+            {
+                System.arraycopy(this.tail, this.tailPosition, this.frame, this.count, numberOfTailElements);
+                this.tailPosition += numberOfTailElements;
+                this.count += numberOfTailElements;
+            }
+            prefix.tail = this.frame;
+            prefix.tailLength = this.count;
+            this.frame = null;
+            this.count = 0;
+        }
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize()
+    {
+        long sourceSize = this.source.getExactSizeIfKnown();
+        if (sourceSize < 0)
+        {
+            return Long.MAX_VALUE;
+        }
+        long numberOfElements = sourceSize + this.tailLength - this.tailPosition;
+        return numberOfElements / this.frameSize + (numberOfElements % this.frameSize > 0 ? 1 : 0);
+    }
+
+    @Override
+    public int characteristics()
+    {
+        int characteristics = this.source.characteristics() & (Spliterator.ORDERED | Spliterator.IMMUTABLE);
+        if (this.source.hasCharacteristics(Spliterator.SIZED))
+        {
+            characteristics |= Spliterator.SIZED | (this.source.characteristics() & Spliterator.SUBSIZED);
+        }
+        return characteristics | Spliterator.NONNULL;
+    }
+
+    private static class OfInt extends FramingSpliterator<int[], Spliterator.OfInt> implements IntConsumer
+    {
+        private OfInt(Spliterator.OfInt source, int frameSize)
+        {
+            super(source, frameSize);
+        }
+
+        @Override
+        public void accept(int value)
+        {
+            this.frame[this.count] = value;
+            this.onElementAdded();
+        }
+
+        @Override
+        protected int[] newArray(int size)
+        {
+            return new int[size];
+        }
+
+        @Override
+        protected void fillWithZeros(int[] frame, int fromIndex, int toIndex)
+        {
+            Arrays.fill(frame, fromIndex, toIndex, 0);
+        }
+
+        @Override
+        protected boolean tryAdvanceSourceIntoFrame()
+        {
+            return this.source.tryAdvance((IntConsumer) this);
+        }
+
+        @Override
+        protected void forEachRemainingSourceIntoFrame()
+        {
+            this.source.forEachRemaining((IntConsumer) this);
+        }
+
+        @Override
+        protected FramingSpliterator<int[], Spliterator.OfInt> newInstance(Spliterator.OfInt source)
+        {
+            return new OfInt(source, this.frameSize);
+        }
+    }
+
+    private static class OfLong extends FramingSpliterator<long[], Spliterator.OfLong> implements LongConsumer
+    {
+        private OfLong(Spliterator.OfLong source, int frameSize)
+        {
+            super(source, frameSize);
+        }
+
+        @Override
+        public void accept(long value)
+        {
+            this.frame[this.count] = value;
+            this.onElementAdded();
+        }
+
+        @Override
+        protected long[] newArray(int size)
+        {
+            return new long[size];
+        }
+
+        @Override
+        protected void fillWithZeros(long[] frame, int fromIndex, int toIndex)
+        {
+            Arrays.fill(frame, fromIndex, toIndex, 0l);
+        }
+
+        @Override
+        protected boolean tryAdvanceSourceIntoFrame()
+        {
+            return this.source.tryAdvance((LongConsumer) this);
+        }
+
+        @Override
+        protected void forEachRemainingSourceIntoFrame()
+        {
+            this.source.forEachRemaining((LongConsumer) this);
+        }
+
+        @Override
+        protected FramingSpliterator<long[], Spliterator.OfLong> newInstance(Spliterator.OfLong source)
+        {
+            return new OfLong(source, this.frameSize);
+        }
+    }
+
+    private static class OfDouble extends FramingSpliterator<double[], Spliterator.OfDouble> implements DoubleConsumer
+    {
+        private OfDouble(Spliterator.OfDouble source, int frameSize)
+        {
+            super(source, frameSize);
+        }
+
+        @Override
+        public void accept(double value)
+        {
+            this.frame[this.count] = value;
+            this.onElementAdded();
+        }
+
+        @Override
+        protected double[] newArray(int size)
+        {
+            return new double[size];
+        }
+
+        @Override
+        protected void fillWithZeros(double[] frame, int fromIndex, int toIndex)
+        {
+            Arrays.fill(frame, fromIndex, toIndex, 0.0);
+        }
+
+        @Override
+        protected boolean tryAdvanceSourceIntoFrame()
+        {
+            return this.source.tryAdvance((DoubleConsumer) this);
+        }
+
+        @Override
+        protected void forEachRemainingSourceIntoFrame()
+        {
+            this.source.forEachRemaining((DoubleConsumer) this);
+        }
+
+        @Override
+        protected FramingSpliterator<double[], Spliterator.OfDouble> newInstance(Spliterator.OfDouble source)
+        {
+            return new OfDouble(source, this.frameSize);
+        }
+    }
+}
@@ -0,0 +1,212 @@
+/*******************************************************************************
+ * Copyright 2026 Danny Kunz
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.omnaest.utils.stream;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.omnaest.utils.executor.internal.BoundedExecutorServiceView;
+
+/**
+ * {@link Iterator} which applies a mapping {@link Function} to the elements of a source {@link Iterator} on an {@link ExecutorService}. At most a
+ * given number of tasks are in flight, and a new task is submitted as soon as a result is consumed, so there is no barrier between groups of
+ * elements.<br>
+ * <br>
+ * In ordered mode the results are returned in the order of the source elements as soon as the head element is completed. In unordered mode the results
+ * are returned in the order of their completion.<br>
+ * <br>
+ * If a concurrency limiter {@link Semaphore} is given, a permit is acquired by the consuming {@link Thread} before a task is submitted and released when the
+ * task has completed, so tasks waiting for a permit never occupy a thread of the {@link ExecutorService}. The consuming {@link Thread} only blocks for a
+ * permit while none of its own tasks is in flight.
+ * 
+ * @author omnaest
+ * @param <T>
+ * @param <R>
+ */
+public class ParallelMappingIterator<T, R> implements Iterator<R>, AutoCloseable
+{
+    private static final int                          TASK_SUBMITTED = 0;
+    private static final int                          TASK_STARTED   = 1;
+    private static final int                          TASK_ABANDONED = 2;
+
+    private final Iterator<T>                         source;
+    private final Function<T, R>                      mappingFunction;
+    private final ExecutorService                     executorService;
+    private final int                                 maxInFlight;
+    private final boolean                             ordered;
+    private final Semaphore                           concurrencyLimiter;
+
+    private final Deque<CompletableFuture<R>>         inFlight  = new ArrayDeque<>();
+    private final BlockingQueue<CompletableFuture<R>> completed = new LinkedBlockingQueue<>();
+    private boolean                                   closed    = false;
+
+    public ParallelMappingIterator(Iterator<T> source, Function<T, R> mappingFunction, ExecutorService executorService, int maxInFlight,
+                                   boolean ordered)
+    {
+        this(source, mappingFunction, executorService, maxInFlight, ordered, null);
+    }
+
+    public ParallelMappingIterator(Iterator<T> source, Function<T, R> mappingFunction, ExecutorService executorService, int maxInFlight,
+                                   boolean ordered, Semaphore concurrencyLimiter)
+    {
+        super();
+        this.source = source;
+        this.mappingFunction = mappingFunction;
+        this.executorService = executorService;
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.ordered = ordered;
+        this.concurrencyLimiter = concurrencyLimiter;
+    }
+
+    private void fill()
+    {
+        while (!this.closed && this.inFlight.size() < this.maxInFlight && this.source.hasNext() && this.acquirePermit())
+        {
+            T element = this.source.next();
+            CompletableFuture<R> future = this.submit(element);
+            this.inFlight.add(future);
+            if (!this.ordered)
+            {
+                future.whenComplete((result, exception) -> this.completed.add(future));
+            }
+        }
+    }
+
+    private boolean acquirePermit()
+    {
+        if (this.concurrencyLimiter == null)
+        {
+            return true;
+        }
+        else if (this.inFlight.isEmpty())
+        {
+            this.concurrencyLimiter.acquireUninterruptibly();
+            return true;
+        }
+        else
+        {
+            return this.concurrencyLimiter.tryAcquire();
+        }
+    }
+
+    private CompletableFuture<R> submit(T element)
+    {
+        if (this.concurrencyLimiter == null)
+        {
+            return CompletableFuture.supplyAsync(() -> this.mappingFunction.apply(element), this.executorService);
+        }
+
+        // the permit is released exactly once, either after the mapping has run or if the task is cancelled before it has started
+        AtomicInteger state = new AtomicInteger(TASK_SUBMITTED);
+        CompletableFuture<R> future = CompletableFuture.supplyAsync(() ->
+        {
+            if (!state.compareAndSet(TASK_SUBMITTED, TASK_STARTED))
+            {
+                return null;
+            }
+            try
+            {
+                return this.mappingFunction.apply(element);
+            }
+            finally
+            {
+                BoundedExecutorServiceView.releasePermits(this.concurrencyLimiter, 1);
+            }
+        }, this.executorService);
+        future.whenComplete((result, exception) ->
+        {
+            if (state.compareAndSet(TASK_SUBMITTED, TASK_ABANDONED))
+            {
+                BoundedExecutorServiceView.releasePermits(this.concurrencyLimiter, 1);
+            }
+        });
+        return future;
+    }
+
+    @Override
+    public boolean hasNext()
+    {
+        this.fill();
+        return !this.inFlight.isEmpty();
+    }
+
+    @Override
+    public R next()
+    {
+        if (!this.hasNext())
+        {
+            throw new NoSuchElementException();
+        }
+
+        CompletableFuture<R> future = this.ordered ? this.inFlight.poll() : this.takeCompleted();
+        try
+        {
+            return future.join();
+        }
+        catch (CompletionException e)
+        {
+            this.close();
+            if (e.getCause() instanceof RuntimeException)
+            {
+                throw (RuntimeException) e.getCause();
+            }
+            else if (e.getCause() instanceof Error)
+            {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private CompletableFuture<R> takeCompleted()
+    {
+        try
+        {
+            CompletableFuture<R> future = this.completed.take();
+            this.inFlight.remove(future);
+            return future;
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread()
+                  .interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a parallel mapping result", e);
+        }
+    }
+
+    /**
+     * Cancels all tasks which are still in flight
+     */
+    @Override
+    public void close()
+    {
+        this.closed = true;
+        this.inFlight.forEach(future -> future.cancel(true));
+        this.inFlight.clear();
+        this.completed.clear();
+    }
+
+}
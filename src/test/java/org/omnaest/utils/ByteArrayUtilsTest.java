@@ -4,6 +4,8 @@ import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -158,6 +160,65 @@ public class ByteArrayUtilsTest
         }
     }
 
+    @Test
+    public void testWriteAndReadIntegerAndLong() throws Exception
+    {
+        byte[] array = new byte[Integer.BYTES + Long.BYTES + 1];
+        int offset = ByteArrayUtils.writeInteger(array, 1, -423333333);
+        ByteArrayUtils.writeLong(array, offset, 423333333333l);
+        assertEquals(-423333333, ByteArrayUtils.readInteger(array, 1));
+        assertEquals(423333333333l, ByteArrayUtils.readLong(array, offset));
+        assertArrayEquals(ByteArrayUtils.encodeIntegerAsByteArray(-423333333), Arrays.copyOfRange(array, 1, offset));
+
+        int[] integers = IntStream.generate(() -> RandomUtils.nextInt())
+                                  .limit(100)
+                                  .toArray();
+        assertArrayEquals(integers, ByteArrayUtils.decodeIntegersFromByteArray(ByteArrayUtils.encodeIntegersAsByteArray(integers)));
+
+        long[] longs = LongStream.generate(() -> -RandomUtils.nextLong())
+                                 .limit(100)
+                                 .toArray();
+        assertArrayEquals(longs, ByteArrayUtils.decodeLongsFromByteArray(ByteArrayUtils.encodeLongsAsByteArray(longs)));
+    }
+
+    @Test
+    public void testWriteAndReadVarInteger() throws Exception
+    {
+        byte[] array = new byte[10];
+        IntStream.of(0, 1, 127, 128, 16383, 16384, Integer.MAX_VALUE, -1, Integer.MIN_VALUE)
+                 .forEach(value ->
+                 {
+                     int offset = ByteArrayUtils.writeVarInteger(array, 1, value);
+                     assertEquals(ByteArrayUtils.determineVarIntegerSize(value), offset - 1);
+                     assertEquals(value, ByteArrayUtils.readVarInteger(array, 1));
+
+                     ByteBuffer buffer = ByteArrayUtils.writeVarInteger(ByteBuffer.allocate(5), value)
+                                                       .flip();
+                     assertEquals(value, ByteArrayUtils.readVarInteger(buffer));
+                     assertEquals(offset - 1, buffer.position());
+                 });
+        assertEquals(1, ByteArrayUtils.writeVarInteger(array, 0, ByteArrayUtils.encodeZigZag(-1)));
+        assertEquals(-1, ByteArrayUtils.decodeZigZag(ByteArrayUtils.readVarInteger(array, 0)));
+    }
+
+    @Test
+    public void testWriteAndReadVarLong() throws Exception
+    {
+        byte[] array = new byte[10];
+        LongStream.of(0, 1, 127, 128, Integer.MAX_VALUE, Long.MAX_VALUE, -1, Long.MIN_VALUE)
+                  .forEach(value ->
+                  {
+                      int offset = ByteArrayUtils.writeVarLong(array, 0, value);
+                      assertEquals(ByteArrayUtils.determineVarLongSize(value), offset);
+                      assertEquals(value, ByteArrayUtils.readVarLong(array, 0));
+                      assertEquals(value, ByteArrayUtils.decodeZigZag(ByteArrayUtils.encodeZigZag(value)));
+
+                      ByteBuffer buffer = ByteArrayUtils.writeVarLong(ByteBuffer.allocate(10), value)
+                                                        .flip();
+                      assertEquals(value, ByteArrayUtils.readVarLong(buffer));
+                  });
+    }
+
     @Test
     public void testToMultiByteArrayContainer() throws Exception
     {
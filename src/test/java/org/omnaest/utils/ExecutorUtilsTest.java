@@ -17,16 +17,24 @@ package org.omnaest.utils;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import org.junit.Test;
+import org.omnaest.utils.executor.ExecutorMetrics;
+import org.omnaest.utils.executor.ExecutorRegistry;
+import org.omnaest.utils.executor.InstrumentedExecutorService;
 
 public class ExecutorUtilsTest
 {
@@ -99,4 +107,112 @@ public class ExecutorUtilsTest
                                   .collect(Collectors.toList()));
     }
 
+    @Test
+    public void testSharedExecutor() throws Exception
+    {
+        InstrumentedExecutorService executorService = ExecutorUtils.executorRegistry()
+                                                                   .getOrCreateFixed("test-shared", 4);
+        try
+        {
+            AtomicInteger running = new AtomicInteger();
+            AtomicInteger maxRunning = new AtomicInteger();
+            for (int ii = 0; ii < 3; ii++)
+            {
+                List<Integer> result = ExecutorUtils.parallel()
+                                                    .withSharedExecutor("test-shared")
+                                                    .withNumberOfThreads(2)
+                                                    .executeTasks(IntStream.range(0, 20)
+                                                                           .mapToObj(value -> (Callable<Integer>) () ->
+                                                                           {
+                                                                               maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                                                                               ThreadUtils.sleepSilently(1, TimeUnit.MILLISECONDS);
+                                                                               running.decrementAndGet();
+                                                                               return value;
+                                                                           }))
+                                                    .get()
+                                                    .collect(Collectors.toList());
+                assertEquals(20, result.size());
+            }
+
+            assertFalse(executorService.isShutdown());
+            assertTrue(maxRunning.get() <= 2);
+            ExecutorMetrics metrics = executorService.getMetrics();
+            assertEquals(60, metrics.getSubmittedTasks());
+            assertEquals(0, metrics.getQueueDepth());
+            assertTrue(ExecutorUtils.executorRegistry()
+                                    .getMetrics()
+                                    .containsKey("test-shared"));
+        }
+        finally
+        {
+            ExecutorUtils.executorRegistry()
+                         .shutdown("test-shared");
+        }
+    }
+
+    @Test
+    public void testSharedPoolsSurviveRegistryShutdown() throws Exception
+    {
+        ExecutorUtils.executorRegistry()
+                     .shutdown(ExecutorRegistry.SHARED_CACHED_POOL_NAME)
+                     .shutdownAll();
+
+        assertFalse(ExecutorUtils.sharedCachedThreadPool()
+                                 .isShutdown());
+        assertFalse(ExecutorUtils.sharedVirtualThreadExecutor()
+                                 .isShutdown());
+        assertEquals(3, ExecutorUtils.parallel()
+                                     .executeTasks(IntStream.range(0, 3)
+                                                            .mapToObj(value -> (Callable<Integer>) () -> value))
+                                     .get()
+                                     .count());
+    }
+
+    @Test
+    public void testVirtualThreadsWithConcurrencyLimiter() throws Exception
+    {
+        Semaphore semaphore = new Semaphore(3);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        long count = ExecutorUtils.parallel()
+                                  .withVirtualThreads()
+                                  .withConcurrencyLimiter(semaphore)
+                                  .executeOperations(IntStream.range(0, 200)
+                                                              .mapToObj(value -> (Runnable) () ->
+                                                              {
+                                                                  maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                                                                  ThreadUtils.sleepSilently(1, TimeUnit.MILLISECONDS);
+                                                                  running.decrementAndGet();
+                                                              }))
+                                  .get()
+                                  .count();
+        assertEquals(200, count);
+        assertTrue(maxRunning.get() <= 3);
+        assertEquals(3, semaphore.availablePermits());
+    }
+
+    @Test
+    public void testConcurrencyLimiterDoesNotStartThreadPerWaitingTask() throws Exception
+    {
+        ThreadPoolExecutor executorService = (ThreadPoolExecutor) Executors.newCachedThreadPool();
+        try
+        {
+            Semaphore semaphore = new Semaphore(2);
+            long count = ExecutorUtils.parallel()
+                                      .withExecutorService(executorService)
+                                      .withConcurrencyLimiter(semaphore)
+                                      .executeOperations(IntStream.range(0, 500)
+                                                                  .mapToObj(value -> (Runnable) () -> ThreadUtils.sleepSilently(1, TimeUnit.MILLISECONDS)))
+                                      .get()
+                                      .count();
+            assertEquals(500, count);
+            assertEquals(2, semaphore.availablePermits());
+            assertTrue(executorService.getLargestPoolSize() <= 10);
+        }
+        finally
+        {
+            executorService.shutdown();
+        }
+    }
+
 }
@@ -38,6 +38,7 @@ import static org.junit.Assert.assertEquals;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
@@ -48,6 +49,7 @@ import org.junit.Test;
 import org.omnaest.utils.FileUtils.FileReaderLoader.MergedFilesContent;
 import org.omnaest.utils.FileUtils.FileStringContentConsumer;
 import org.omnaest.utils.FileUtils.FileStringContentSupplier;
+import org.omnaest.utils.FileUtils.RandomFileAccessorSession;
 
 public class FileUtilsTest
 {
@@ -199,6 +201,35 @@ public class FileUtilsTest
                                         .readString(6));
     }
 
+    @Test
+    public void testToRandomFileAccessorSession() throws Exception
+    {
+        for (int regionSize : new int[] { 0, 4 })
+        {
+            File tempFile = FileUtils.createRandomTempFile();
+            try (RandomFileAccessorSession session = FileUtils.toRandomFileAccessorSession(tempFile)
+                                                              .withMemoryMapping(regionSize))
+            {
+                session.write("first")
+                       .atPosition(7)
+                       .write("test")
+                       .write("me")
+                       .atPosition(5)
+                       .write(ByteBuffer.wrap("of".getBytes(StandardCharsets.UTF_8)));
+                assertEquals(13, session.size());
+
+                ByteBuffer buffer = ByteBuffer.allocate(6);
+                session.atPosition(5)
+                       .readBytes(0);
+                session.readInto(buffer);
+                assertEquals("oftest", new String(buffer.array(), StandardCharsets.UTF_8));
+            }
+
+            assertEquals("firstoftestme", FileUtils.toSupplier(tempFile)
+                                                   .get());
+        }
+    }
+
     @Test
     public void testToFileSinkInputStreamSupplier() throws Exception
     {
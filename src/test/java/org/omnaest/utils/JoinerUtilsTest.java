@@ -16,10 +16,13 @@
 package org.omnaest.utils;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
 
 import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import org.junit.Test;
 
@@ -47,6 +50,121 @@ public class JoinerUtilsTest
 
     }
 
+    @Test
+    public void testJoinInnerWithMultiValuedKeys() throws Exception
+    {
+        List<String> list1 = Arrays.asList("a1", "a2", "b1", "c1");
+        List<String> list2 = Arrays.asList("a3", "b2", "b3", "d1");
+        List<String> result = JoinerUtils.join(list1)
+                                         .with(list2)
+                                         .inner()
+                                         .usingKey(e -> e.charAt(0), e -> e.charAt(0))
+                                         .map(e -> e.getFirst() + e.getSecond())
+                                         .sorted()
+                                         .collect(Collectors.toList());
+        assertEquals(Arrays.asList("a1a3", "a2a3", "b1b2", "b1b3"), result);
+    }
+
+    @Test
+    public void testJoinOuter() throws Exception
+    {
+        List<String> list1 = Arrays.asList("a", "b", "c");
+        List<String> list2 = Arrays.asList("b", "c", "d", "e");
+
+        assertEquals(Arrays.asList("anull", "bb", "cc"), JoinerUtils.join(list1)
+                                                                   .with(list2)
+                                                                   .leftOuter()
+                                                                   .usingKey(e -> e, e -> e)
+                                                                   .map(e -> e.getFirst() + e.getSecond())
+                                                                   .sorted()
+                                                                   .collect(Collectors.toList()));
+        assertEquals(Arrays.asList("bb", "cc", "nulld", "nulle"), JoinerUtils.join(list1)
+                                                                             .with(list2)
+                                                                             .rightOuter()
+                                                                             .usingKey(e -> e, e -> e)
+                                                                             .map(e -> e.getFirst() + e.getSecond())
+                                                                             .sorted()
+                                                                             .collect(Collectors.toList()));
+        assertEquals(Arrays.asList("anull", "bb", "cc", "nulld", "nulle"), JoinerUtils.join(list2)
+                                                                                      .with(list1)
+                                                                                      .fullOuter()
+                                                                                      .usingKey(e -> e, e -> e)
+                                                                                      .map(e -> e.getSecond() + e.getFirst())
+                                                                                      .sorted()
+                                                                                      .collect(Collectors.toList()));
+        assertEquals(Arrays.asList("anull", "bb", "cc", "nulld", "nulle"), JoinerUtils.join(list1.stream())
+                                                                                      .with(list2.stream())
+                                                                                      .fullOuter()
+                                                                                      .usingKey(e -> e, e -> e)
+                                                                                      .map(e -> e.getFirst() + e.getSecond())
+                                                                                      .sorted()
+                                                                                      .collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testJoinUsingSortedKey() throws Exception
+    {
+        Stream<String> stream1 = Stream.of("a1", "a2", "b1", "c1", "e1");
+        Stream<String> stream2 = Stream.of("a3", "b2", "b3", "d1", "e2");
+        List<String> result = JoinerUtils.join(stream1)
+                                         .with(stream2)
+                                         .fullOuter()
+                                         .usingSortedKey(e -> e.charAt(0), e -> e.charAt(0))
+                                         .map(e -> e.getFirst() + e.getSecond())
+                                         .collect(Collectors.toList());
+        assertEquals(Arrays.asList("a1a3", "a2a3", "b1b2", "b1b3", "c1null", "nulld1", "e1e2"), result);
+    }
+
+    @Test
+    public void testJoinUsingSortedKeyUnsorted() throws Exception
+    {
+        try
+        {
+            JoinerUtils.join(Stream.of("b", "a"))
+                       .with(Stream.of("a", "b"))
+                       .inner()
+                       .usingSortedKey(e -> e, e -> e)
+                       .collect(Collectors.toList());
+            fail();
+        }
+        catch (IllegalStateException e)
+        {
+            // expected
+        }
+    }
+
+    @Test
+    public void testJoinSpilled() throws Exception
+    {
+        List<String> result = JoinerUtils.join(IntStream.range(0, 1000)
+                                                        .mapToObj(String::valueOf))
+                                         .with(IntStream.range(500, 1500)
+                                                        .boxed())
+                                         .withMaxNumberOfBuildElementsInMemory(100)
+                                         .withSpillSerializers(String::valueOf, String::valueOf, String::valueOf, Integer::valueOf)
+                                         .fullOuter()
+                                         .usingKey(Integer::valueOf, e -> e)
+                                         .map(e -> e.getFirst() + ":" + e.getSecond())
+                                         .sorted()
+                                         .collect(Collectors.toList());
+        assertEquals(1500, result.size());
+        assertEquals(IntStream.range(0, 1500)
+                              .mapToObj(i -> (i < 1000 ? String.valueOf(i) : "null") + ":" + (i >= 500 ? String.valueOf(i) : "null"))
+                              .sorted()
+                              .collect(Collectors.toList()),
+                     result);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testJoinSpilledWithoutSerializers() throws Exception
+    {
+        JoinerUtils.join(Stream.of(1, 2, 3))
+                   .with(Stream.of(1, 2, 3))
+                   .withMaxNumberOfBuildElementsInMemory(1)
+                   .inner()
+                   .usingKey(e -> e, e -> e);
+    }
+
     @Test
     public void testCartesianJoin() throws Exception
     {
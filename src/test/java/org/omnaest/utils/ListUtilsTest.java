@@ -42,6 +42,7 @@ import static org.junit.Assert.fail;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
@@ -351,6 +352,74 @@ public class ListUtilsTest
                      ListUtils.allPermutations(Arrays.asList("a", "b", "c")));
     }
 
+    @Test
+    public void testPermutations() throws Exception
+    {
+        assertEquals(Arrays.asList(Arrays.asList("a", "b", "c"), Arrays.asList("a", "c", "b"), Arrays.asList("b", "a", "c"), Arrays.asList("b", "c", "a"),
+                                   Arrays.asList("c", "a", "b"), Arrays.asList("c", "b", "a")),
+                     ListUtils.permutations(Arrays.asList("a", "b", "c"))
+                              .collect(Collectors.toList()));
+
+        List<Integer> elements = IntStream.range(0, 8)
+                                          .boxed()
+                                          .collect(Collectors.toList());
+        List<List<Integer>> sequential = ListUtils.permutations(elements)
+                                                  .collect(Collectors.toList());
+        assertEquals(40320, sequential.size());
+        assertEquals(40320, new HashSet<>(sequential).size());
+        assertEquals(sequential, ListUtils.permutations(elements)
+                                          .parallel()
+                                          .collect(Collectors.toList()));
+        assertEquals(sequential.get(12345), ListUtils.nthPermutation(elements, 12345));
+        assertEquals(sequential.get(40319), ListUtils.nthPermutation(elements, 40319));
+        assertEquals(Arrays.asList(Collections.emptyList()), ListUtils.permutations(Collections.emptyList())
+                                                                      .collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testCombinations() throws Exception
+    {
+        List<List<String>> subsets = ListUtils.combinations(Arrays.asList("a", "b", "c"))
+                                              .collect(Collectors.toList());
+        assertEquals(Arrays.asList(Arrays.asList("a"), Arrays.asList("a", "b"), Arrays.asList("b"), Arrays.asList("b", "c"), Arrays.asList("a", "b", "c"),
+                                   Arrays.asList("a", "c"), Arrays.asList("c")),
+                     subsets);
+
+        List<Integer> elements = IntStream.range(0, 12)
+                                          .boxed()
+                                          .collect(Collectors.toList());
+        List<List<Integer>> sequential = ListUtils.combinations(elements)
+                                                  .collect(Collectors.toList());
+        assertEquals(4095, sequential.size());
+        assertEquals(4095, new HashSet<>(sequential).size());
+        assertEquals(sequential, ListUtils.combinations(elements)
+                                          .parallel()
+                                          .collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testCombinationsOfSizeK() throws Exception
+    {
+        assertEquals(Arrays.asList(Arrays.asList("a", "b"), Arrays.asList("a", "c"), Arrays.asList("a", "d"), Arrays.asList("b", "c"), Arrays.asList("b", "d"),
+                                   Arrays.asList("c", "d")),
+                     ListUtils.combinations(Arrays.asList("a", "b", "c", "d"), 2)
+                              .collect(Collectors.toList()));
+
+        List<Integer> elements = IntStream.range(0, 20)
+                                          .boxed()
+                                          .collect(Collectors.toList());
+        List<List<Integer>> sequential = ListUtils.combinations(elements, 5)
+                                                  .collect(Collectors.toList());
+        assertEquals(ListUtils.numberOfCombinations(20, 5), sequential.size());
+        assertEquals(15504, new HashSet<>(sequential).size());
+        assertEquals(sequential, ListUtils.combinations(elements, 5)
+                                          .parallel()
+                                          .collect(Collectors.toList()));
+        assertEquals(sequential.get(1000), ListUtils.nthCombination(elements, 5, 1000));
+        assertEquals(0, ListUtils.combinations(elements, 21)
+                                 .count());
+    }
+
     @Test
     public void testSublistsFromStart() throws Exception
     {
@@ -41,21 +41,34 @@ import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.DoubleStream;
 import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
 import org.junit.Test;
 import org.omnaest.utils.StreamUtils.Drainage;
 import org.omnaest.utils.StreamUtils.Page;
+import org.omnaest.utils.StreamUtils.Parallelism;
 import org.omnaest.utils.StreamUtils.SplittedStream;
 import org.omnaest.utils.StreamUtils.StreamablePage;
 import org.omnaest.utils.StreamUtils.TerminationSignal;
@@ -63,6 +76,7 @@ import org.omnaest.utils.StreamUtils.UnaryMergeEntry;
 import org.omnaest.utils.element.bi.BiElement;
 import org.omnaest.utils.element.bi.IntUnaryBiElement;
 import org.omnaest.utils.element.lar.LeftAndRight;
+import org.omnaest.utils.stream.ExternalSorter;
 
 public class StreamUtilsTest
 {
@@ -258,6 +272,64 @@ public class StreamUtilsTest
                                                                                             .toList());
     }
 
+    @Test
+    public void testFramedPrimitiveStreams()
+    {
+        assertEquals(List.of(List.of(0l, 1l, 2l), List.of(3l, 4l)), StreamUtils.framed(3, LongStream.range(0, 5))
+                                                                             .map(org.apache.commons.lang3.ArrayUtils::toObject)
+                                                                             .map(Arrays::asList)
+                                                                             .toList());
+        assertEquals(List.of(List.of(0.0, 1.0), List.of(2.0, 0.0)), StreamUtils.framedPreserveSize(2, DoubleStream.of(0.0, 1.0, 2.0))
+                                                                              .map(org.apache.commons.lang3.ArrayUtils::toObject)
+                                                                              .map(Arrays::asList)
+                                                                              .toList());
+        assertEquals(List.of(List.of(1, 2), List.of(3, 0)), StreamUtils.framedPreserveSize(2, IntStream.of(1, 2, 3))
+                                                                      .map(org.apache.commons.lang3.ArrayUtils::toObject)
+                                                                      .map(Arrays::asList)
+                                                                      .toList());
+        assertEquals(0, StreamUtils.framed(2, IntStream.empty())
+                                   .count());
+    }
+
+    @Test
+    public void testFramedWithReusedFrame()
+    {
+        Set<long[]> frames = new HashSet<>();
+        List<Long> sums = StreamUtils.framedWithReusedFrame(3, LongStream.range(0, 10))
+                                     .peek(frames::add)
+                                     .map(frame -> LongStream.of(frame)
+                                                             .sum())
+                                     .toList();
+        assertEquals(List.of(3l, 12l, 21l, 9l), sums);
+        assertEquals(2, frames.size());
+    }
+
+    @Test
+    public void testFramedParallel()
+    {
+        int frameSize = 7;
+        List<List<Long>> sequential = StreamUtils.framed(frameSize, LongStream.range(0, 100_003))
+                                                 .map(org.apache.commons.lang3.ArrayUtils::toObject)
+                                                 .map(Arrays::asList)
+                                                 .toList();
+        List<List<Long>> parallel = StreamUtils.framed(frameSize, LongStream.range(0, 100_003)
+                                                                            .parallel())
+                                               .map(org.apache.commons.lang3.ArrayUtils::toObject)
+                                               .map(Arrays::asList)
+                                               .toList();
+        assertEquals(sequential, parallel);
+        assertEquals(14287, parallel.size());
+
+        long sum = StreamUtils.framedWithReusedFrame(frameSize, LongStream.range(0, 100_003)
+                                                                          .parallel())
+                              .mapToLong(frame -> LongStream.of(frame)
+                                                            .sum())
+                              .sum();
+        assertEquals(LongStream.range(0, 100_003)
+                               .sum(),
+                     sum);
+    }
+
     @Test
     public void testMerge() throws Exception
     {
@@ -417,6 +489,101 @@ public class StreamUtilsTest
         assertTrue(result.contains("value999"));
     }
 
+    @Test
+    public void testParallelOrdered()
+    {
+        List<Integer> result = StreamUtils.parallel(IntStream.range(0, 200)
+                                                             .boxed(),
+                                                    i ->
+                                                    {
+                                                        ThreadUtils.sleepSilently(i % 7, TimeUnit.MILLISECONDS);
+                                                        return i * 2;
+                                                    }, new Parallelism().withNumberOfThreads(8))
+                                          .collect(Collectors.toList());
+        assertEquals(IntStream.range(0, 200)
+                              .map(i -> i * 2)
+                              .boxed()
+                              .collect(Collectors.toList()),
+                     result);
+    }
+
+    @Test
+    public void testParallelUnordered()
+    {
+        Set<Integer> result = StreamUtils.parallel(IntStream.range(0, 200)
+                                                            .boxed(),
+                                                   i -> i * 2, new Parallelism().withNumberOfThreads(8)
+                                                                                .withVirtualThreads()
+                                                                                .unordered())
+                                         .collect(Collectors.toSet());
+        assertEquals(200, result.size());
+        assertTrue(result.contains(398));
+    }
+
+    @Test
+    public void testParallelWithConcurrencyLimiter()
+    {
+        Semaphore semaphore = new Semaphore(2);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        long count = StreamUtils.parallel(IntStream.range(0, 100)
+                                                   .boxed(),
+                                          i ->
+                                          {
+                                              maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                                              ThreadUtils.sleepSilently(1, TimeUnit.MILLISECONDS);
+                                              running.decrementAndGet();
+                                              return i;
+                                          }, new Parallelism().withVirtualThreads()
+                                                              .withMaxInFlight(50)
+                                                              .withConcurrencyLimiter(semaphore))
+                                .count();
+        assertEquals(100, count);
+        assertTrue(maxRunning.get() <= 2);
+    }
+
+    @Test
+    public void testParallelWithConcurrencyLimiterDoesNotOccupyThreads()
+    {
+        ThreadPoolExecutor executorService = (ThreadPoolExecutor) Executors.newCachedThreadPool();
+        try
+        {
+            Semaphore semaphore = new Semaphore(2);
+            long count = StreamUtils.parallel(IntStream.range(0, 200)
+                                                       .boxed(),
+                                              i ->
+                                              {
+                                                  ThreadUtils.sleepSilently(1, TimeUnit.MILLISECONDS);
+                                                  return i;
+                                              }, new Parallelism().withExecutorService(executorService)
+                                                                  .withMaxInFlight(100)
+                                                                  .withConcurrencyLimiter(semaphore))
+                                    .count();
+            assertEquals(200, count);
+            assertTrue(executorService.getLargestPoolSize() <= 10);
+        }
+        finally
+        {
+            executorService.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testParallelException()
+    {
+        StreamUtils.parallel(IntStream.range(0, 20)
+                                      .boxed(),
+                             i ->
+                             {
+                                 if (i == 10)
+                                 {
+                                     throw new IllegalStateException();
+                                 }
+                                 return i;
+                             })
+                   .collect(Collectors.toList());
+    }
+
     @Test
     public void testBuilder() throws Exception
     {
@@ -492,6 +659,39 @@ public class StreamUtilsTest
         assertEquals(4, result.size());
     }
 
+    @Test
+    public void testChopParallel() throws Exception
+    {
+        assertEquals(List.of(List.of(), List.of(0, 1, 2), List.of(3, 4, 5), List.of(6)), StreamUtils.chop(IntStream.range(0, 7)
+                                                                                                                     .boxed()
+                                                                                                                     .parallel(),
+                                                                                                           element -> element % 3 == 0)
+                                                                                                     .toList());
+        assertEquals(10000, StreamUtils.chop(IntStream.range(0, 100000)
+                                                      .boxed()
+                                                      .parallel(),
+                                             element -> element % 10 == 0)
+                                       .filter(chunk -> chunk.size() == 10)
+                                       .count());
+    }
+
+    @Test
+    public void testAggregateParallel() throws Exception
+    {
+        List<Integer> sums = StreamUtils.aggregate(IntStream.range(0, 10000)
+                                                            .boxed()
+                                                            .parallel(),
+                                                   element -> element % 100 == 0, element -> element % 100 == 99,
+                                                   group -> Stream.of(group.mapToInt(Integer::intValue)
+                                                                           .sum()))
+                                        .toList();
+        assertEquals(100, sums.size());
+        assertEquals(IntStream.range(0, 100)
+                              .sum(),
+                     sums.get(0)
+                         .intValue());
+    }
+
     @Test
     public void testAggregate() throws Exception
     {
@@ -846,6 +1046,84 @@ public class StreamUtilsTest
                                                  .toList());
     }
 
+    @Test
+    public void testFromPageProviderWithPrefetch()
+    {
+        List<Integer> elements = IntStream.range(0, 10)
+                                          .boxed()
+                                          .toList();
+        Set<Integer> requestedPages = ConcurrentHashMap.newKeySet();
+        CountDownLatch followingPagesRequested = new CountDownLatch(2);
+        assertEquals(elements, StreamUtils.fromPageProvider()
+                                          .withPageSize(3)
+                                          .withPrefetch(2)
+                                          .usingPageProvider(paging ->
+                                          {
+                                              if (requestedPages.add(paging.getPageIndex()) && paging.getPageIndex() > 0)
+                                              {
+                                                  followingPagesRequested.countDown();
+                                              }
+                                              return Page.of(elements.subList(Math.min(elements.size(), paging.getStartIndex()),
+                                                                              Math.min(elements.size(), paging.getStopIndexExclusive())));
+                                          })
+                                          .asElements()
+                                          .stream()
+                                          .peek(element ->
+                                          {
+                                              if (element == 0)
+                                              {
+                                                  // the following pages are retrieved while the first page is consumed
+                                                  try
+                                                  {
+                                                      assertTrue(followingPagesRequested.await(10, TimeUnit.SECONDS));
+                                                  }
+                                                  catch (InterruptedException e)
+                                                  {
+                                                      throw new IllegalStateException(e);
+                                                  }
+                                              }
+                                          })
+                                          .toList());
+        // the read ahead does not know the last page in advance, so it can request up to the prefetch number of pages beyond it
+        assertTrue(requestedPages.containsAll(Set.of(0, 1, 2, 3)));
+        assertTrue(requestedPages.size() <= 4 + 2);
+    }
+
+    @Test
+    public void testFromPageProviderWithPrefetchCancelledOnClose() throws InterruptedException
+    {
+        CountDownLatch prefetchStarted = new CountDownLatch(1);
+        CountDownLatch prefetchCancelled = new CountDownLatch(1);
+        try (Stream<Integer> stream = StreamUtils.fromPageProvider()
+                                                 .withPageSize(2)
+                                                 .withPrefetch(1)
+                                                 .usingPageProvider(paging ->
+                                                 {
+                                                     if (paging.getPageIndex() > 0)
+                                                     {
+                                                         prefetchStarted.countDown();
+                                                         try
+                                                         {
+                                                             Thread.sleep(60000);
+                                                         }
+                                                         catch (InterruptedException e)
+                                                         {
+                                                             prefetchCancelled.countDown();
+                                                         }
+                                                     }
+                                                     return Page.of(List.of(paging.getStartIndex(), paging.getStartIndex() + 1));
+                                                 })
+                                                 .asElements()
+                                                 .stream())
+        {
+            assertEquals(0, stream.findFirst()
+                                  .get()
+                                  .intValue());
+            assertTrue(prefetchStarted.await(10, TimeUnit.SECONDS));
+        }
+        assertTrue(prefetchCancelled.await(10, TimeUnit.SECONDS));
+    }
+
     @Test
     public void testFromPageProviderWithMultiplePages()
     {
@@ -1283,4 +1561,42 @@ public class StreamUtilsTest
         }
     }
 
+    @Test
+    public void testSortedExternally() throws Exception
+    {
+        List<Integer> elements = new Random(1).ints(10000, 0, 1000)
+                                              .boxed()
+                                              .collect(Collectors.toList());
+        try (Stream<Integer> sorted = StreamUtils.sortedExternally(elements.stream(), Comparator.naturalOrder(), String::valueOf, Integer::valueOf, 300))
+        {
+            assertEquals(elements.stream()
+                                 .sorted()
+                                 .collect(Collectors.toList()),
+                         sorted.collect(Collectors.toList()));
+        }
+
+        assertEquals(Arrays.asList("a", "b", "c"), StreamUtils.sortedExternally(Stream.of("c", "a", "b"), 10)
+                                                              .collect(Collectors.toList()));
+        assertEquals(0, StreamUtils.sortedExternally(Stream.<String>empty(), 10)
+                                   .count());
+    }
+
+    @Test
+    public void testSortedExternallyIsStableAcrossMergePasses() throws Exception
+    {
+        List<String> elements = IntStream.range(0, 2000)
+                                         .mapToObj(index -> (index % 7) + ":" + index)
+                                         .collect(Collectors.toList());
+        Comparator<String> comparator = Comparator.comparing(element -> element.substring(0, 1));
+        try (Stream<String> sorted = ExternalSorter.of(elements.stream(), comparator, Function.identity(), Function.identity())
+                                                   .withMaxNumberOfElementsInMemory(10)
+                                                   .withMaxNumberOfRunsPerMerge(3)
+                                                   .sort())
+        {
+            assertEquals(elements.stream()
+                                 .sorted(comparator)
+                                 .collect(Collectors.toList()),
+                         sorted.collect(Collectors.toList()));
+        }
+    }
 }
@@ -0,0 +1,60 @@
+/*******************************************************************************
+ * Copyright 2026 Danny Kunz
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.omnaest.utils.buffer;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+/**
+ * @see CharCyclicBuffer
+ * @author omnaest
+ */
+public class CharCyclicBufferTest
+{
+    @Test
+    public void testWindowsOfCharSequence() throws Exception
+    {
+        List<String> windows = new CharCyclicBuffer(3).withSource("abcd")
+                                                      .asStream()
+                                                      .map(window -> window.getWindow(1, 1)
+                                                                           .toString())
+                                                      .collect(Collectors.toList());
+        assertEquals(Arrays.asList("ab", "abc", "bcd", "cd"), windows);
+    }
+
+    @Test
+    public void testWindowsOfReader() throws Exception
+    {
+        List<String> windows = new CharCyclicBuffer(5).withSource(new StringReader("abcdef"))
+                                                      .asStream()
+                                                      .map(window -> window.snapshot())
+                                                      .collect(Collectors.toList())
+                                                      .stream()
+                                                      .map(window -> window.getBefore(1)
+                                                                           .toString()
+                                                              + window.get() + window.getAfter(2)
+                                                                                     .subSequence(0, Math.min(1, window.getAfter(2)
+                                                                                                                       .length())))
+                                                      .collect(Collectors.toList());
+        assertEquals(Arrays.asList("ab", "abc", "bcd", "cde", "def", "ef"), windows);
+    }
+}
@@ -18,9 +18,13 @@ package org.omnaest.utils.buffer;
 import static org.junit.Assert.assertEquals;
 
 import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import org.omnaest.utils.buffer.CyclicBuffer.Window;
+
 import org.junit.Test;
 
 /**
@@ -112,4 +116,39 @@ public class CyclicBufferTest
                      result);
     }
 
+    @Test
+    public void testSnapshot() throws Exception
+    {
+        List<String> sourceList = Arrays.asList("a", "b", "c", "d", "e", "f", "g", "h");
+        CyclicBuffer<String> buffer = new CyclicBuffer<String>(5).withSource(sourceList);
+
+        List<Window<String>> windows = buffer.asStream()
+                                             .map(window -> window.snapshot())
+                                             .collect(Collectors.toList());
+
+        assertEquals(8, windows.size());
+        assertEquals(Arrays.asList("a", "b", "c"), windows.get(0)
+                                                          .getWindow(2, 2));
+        assertEquals(Arrays.asList("b", "c", "d", "e", "f"), windows.get(3)
+                                                                    .getWindow(2, 2));
+        assertEquals(Arrays.asList("f", "g", "h"), windows.get(7)
+                                                          .getWindow(2, 2));
+        assertEquals("d", windows.get(3)
+                                 .get());
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void testOutdatedWindow() throws Exception
+    {
+        List<String> sourceList = Arrays.asList("a", "b", "c", "d", "e", "f", "g", "h");
+        Iterator<Window<String>> iterator = new CyclicBuffer<String>(5).withSource(sourceList)
+                                                                       .asIterator();
+
+        List<String> view = iterator.next()
+                                    .getWindow(2, 2);
+        assertEquals(Arrays.asList("a", "b", "c"), view);
+        iterator.next();
+        view.get(0);
+    }
+
 }
@@ -0,0 +1,78 @@
+/*******************************************************************************
+ * Copyright 2026 Danny Kunz
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.omnaest.utils.buffer;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+import org.omnaest.utils.buffer.IntCyclicBuffer.IntWindow;
+
+/**
+ * @see IntCyclicBuffer
+ * @author omnaest
+ */
+public class IntCyclicBufferTest
+{
+    @Test
+    public void testAsStream() throws Exception
+    {
+        List<Integer> sums = new IntCyclicBuffer(3).withSource(1, 2, 3, 4, 5)
+                                                   .asStream()
+                                                   .map(window -> window.getWindow(1, 1)
+                                                                        .sum())
+                                                   .collect(Collectors.toList());
+        assertEquals(5, sums.size());
+        assertEquals(3, sums.get(0)
+                            .intValue());
+        assertEquals(6, sums.get(1)
+                            .intValue());
+        assertEquals(9, sums.get(4)
+                            .intValue());
+    }
+
+    @Test
+    public void testSnapshotAndOffset() throws Exception
+    {
+        List<IntWindow> windows = new IntCyclicBuffer(5).withSource(1, 2, 3, 4, 5)
+                                                        .asStream()
+                                                        .map(IntWindow::snapshot)
+                                                        .collect(Collectors.toList());
+        assertEquals(5, windows.size());
+        assertArrayEquals(new int[] { 1, 2, 3, 4, 5 }, windows.get(2)
+                                                              .getWindow(2, 2)
+                                                              .toArray());
+        assertEquals(2, windows.get(2)
+                               .get(-1));
+        assertEquals(5, windows.get(4)
+                               .get());
+        assertArrayEquals(new int[] { 3, 4 }, windows.get(4)
+                                                     .getBefore(2)
+                                                     .toArray());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testOffsetOutsideOfSource() throws Exception
+    {
+        new IntCyclicBuffer(5).withSource(1, 2, 3)
+                              .asIterator()
+                              .next()
+                              .get(-1);
+    }
+}
@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * Copyright 2026 Danny Kunz
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.omnaest.utils.compression;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.zip.Deflater;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Test;
+
+/**
+ * @see CompressionCodec
+ * @author omnaest
+ */
+public class CompressionCodecTest
+{
+    @Test
+    public void testDeflate() throws Exception
+    {
+        CompressionCodec compressionCodec = CompressionCodec.deflate(Deflater.BEST_SPEED);
+
+        byte[] data = ("This text should be compressed " + StringUtils.repeat("-", 500)).getBytes(StandardCharsets.UTF_8);
+        byte[] compressedData = compressionCodec.compress(data);
+        assertTrue(compressedData.length < data.length);
+        assertArrayEquals(data, compressionCodec.uncompress(compressedData));
+
+        byte[] smallData = "abc".getBytes(StandardCharsets.UTF_8);
+        assertEquals(smallData.length + 1, compressionCodec.compress(smallData).length);
+        assertArrayEquals(smallData, compressionCodec.uncompress(compressionCodec.compress(smallData)));
+
+        assertArrayEquals(new byte[0], compressionCodec.uncompress(compressionCodec.compress(new byte[0])));
+        assertArrayEquals(new byte[0], compressionCodec.uncompress(new byte[0]));
+    }
+
+    @Test
+    public void testDeflateWithDictionary() throws Exception
+    {
+        List<byte[]> samples = IntStream.range(0, 100)
+                                        .mapToObj(index -> ("{\"identifier\":" + index + ",\"name\":\"sample name\",\"description\":\"similar row\"}").getBytes(StandardCharsets.UTF_8))
+                                        .collect(Collectors.toList());
+        byte[] dictionary = CompressionCodec.trainDictionary(samples, 1024);
+        assertTrue(dictionary.length > 0);
+
+        CompressionCodec compressionCodec = CompressionCodec.deflate(Deflater.DEFAULT_COMPRESSION, dictionary);
+        byte[] data = "{\"identifier\":12345,\"name\":\"sample name\",\"description\":\"similar row\"}".getBytes(StandardCharsets.UTF_8);
+        byte[] compressedData = compressionCodec.compress(data);
+        assertTrue(compressedData.length < CompressionCodec.deflate()
+                                                           .compress(data).length);
+        assertArrayEquals(data, compressionCodec.uncompress(compressedData));
+    }
+
+    @Test
+    public void testZipAndNone() throws Exception
+    {
+        byte[] data = ("This text should be compressed " + StringUtils.repeat("-", 500)).getBytes(StandardCharsets.UTF_8);
+        assertArrayEquals(data, CompressionCodec.zip()
+                                                .uncompress(CompressionCodec.zip()
+                                                                            .compress(data)));
+        assertArrayEquals(data, CompressionCodec.none()
+                                                .compress(data));
+    }
+}
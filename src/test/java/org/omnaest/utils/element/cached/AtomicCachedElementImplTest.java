@@ -34,12 +34,24 @@
 package org.omnaest.utils.element.cached;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.junit.Test;
+import org.omnaest.utils.ThreadUtils;
+import org.omnaest.utils.duration.TimeDuration;
 
 public class AtomicCachedElementImplTest
 {
@@ -78,4 +90,69 @@ public class AtomicCachedElementImplTest
                                             .orElse(null));
     }
 
+    @Test
+    public void testGetSingleFlight() throws Exception
+    {
+        AtomicInteger supplierCounter = new AtomicInteger();
+        CountDownLatch startLatch = new CountDownLatch(1);
+        CachedElement<Integer> cachedElement = CachedElement.of(() ->
+        {
+            ThreadUtils.sleepSilently(100, TimeUnit.MILLISECONDS);
+            return supplierCounter.incrementAndGet();
+        });
+
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        List<Future<Integer>> futures = IntStream.range(0, 8)
+                                                 .mapToObj(index -> executorService.submit(() ->
+                                                 {
+                                                     startLatch.await();
+                                                     return cachedElement.get();
+                                                 }))
+                                                 .collect(Collectors.toList());
+        startLatch.countDown();
+        for (Future<Integer> future : futures)
+        {
+            assertEquals(1, future.get()
+                                  .intValue());
+        }
+        executorService.shutdown();
+        assertEquals(1, supplierCounter.get());
+    }
+
+    @Test
+    public void testGetSingleFlightFailure() throws Exception
+    {
+        CachedElement<String> cachedElement = CachedElement.of(() ->
+        {
+            throw new IllegalArgumentException("failed");
+        });
+        try
+        {
+            cachedElement.get();
+            fail();
+        }
+        catch (IllegalArgumentException e)
+        {
+            // expected
+        }
+        assertFalse(cachedElement.getIfCached()
+                                 .isPresent());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testGetWithLoadTimeout() throws Exception
+    {
+        CountDownLatch loadingLatch = new CountDownLatch(1);
+        CachedElement<String> cachedElement = CachedElement.of(() ->
+        {
+            loadingLatch.countDown();
+            ThreadUtils.sleepSilently(2, TimeUnit.SECONDS);
+            return "value";
+        }, TimeDuration.ofMilliseconds(50));
+
+        Executors.newSingleThreadExecutor()
+                 .submit(() -> cachedElement.get());
+        loadingLatch.await();
+        cachedElement.get();
+    }
 }
@@ -0,0 +1,230 @@
+/*******************************************************************************
+ * Copyright 2026 Danny Kunz
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.omnaest.utils.element.cached;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Test;
+import org.omnaest.utils.duration.TimeDuration;
+import org.omnaest.utils.element.cached.BoundedCachedFunction.EvictionPolicy;
+
+/**
+ * @see BoundedCachedFunction
+ * @author omnaest
+ */
+public class BoundedCachedFunctionTest
+{
+    @Test
+    public void testApply() throws Exception
+    {
+        AtomicInteger loadCounter = new AtomicInteger();
+        BoundedCachedFunction<String, String> function = CachedFunction.bounded(value ->
+        {
+            loadCounter.incrementAndGet();
+            return value + value;
+        }, 10);
+
+        assertEquals("aa", function.apply("a"));
+        assertEquals("aa", function.apply("a"));
+        assertEquals("bb", function.apply("b"));
+        assertEquals(2, loadCounter.get());
+
+        CacheStatistics statistics = function.getStatistics();
+        assertEquals(1, statistics.getHitCount());
+        assertEquals(2, statistics.getMissCount());
+        assertEquals(2, statistics.getLoadSuccessCount());
+        assertEquals(1.0 / 3, statistics.getHitRate(), 0.0001);
+
+        function.invalidate("a");
+        assertEquals("aa", function.apply("a"));
+        assertEquals(3, loadCounter.get());
+    }
+
+    @Test
+    public void testMaximumSize() throws Exception
+    {
+        for (EvictionPolicy evictionPolicy : EvictionPolicy.values())
+        {
+            BoundedCachedFunction<Integer, Integer> function = CachedFunction.bounded((Integer value) -> value * 2, 100)
+                                                                             .withEvictionPolicy(evictionPolicy);
+            IntStream.range(0, 1000)
+                     .forEach(value -> assertEquals(value * 2, function.apply(value)
+                                                                       .intValue()));
+            function.cleanUp();
+            assertEquals(100, function.size());
+            assertEquals(900, function.getStatistics()
+                                      .getEvictionCount());
+        }
+    }
+
+    @Test
+    public void testMaximumWeight() throws Exception
+    {
+        BoundedCachedFunction<Integer, String> function = BoundedCachedFunction.of((Integer value) -> StringUtils.repeat("x", value))
+                                                                               .withMaximumWeight(100, (key, value) -> value.length());
+        IntStream.range(1, 50)
+                 .forEach(function::apply);
+        function.cleanUp();
+        assertTrue(function.size() < 14);
+        assertTrue(function.getStatistics()
+                           .getEvictionCount() > 35);
+    }
+
+    @Test
+    public void testWindowTinyLFUKeepsFrequentEntriesDuringScan() throws Exception
+    {
+        AtomicInteger loadCounter = new AtomicInteger();
+        BoundedCachedFunction<Integer, Integer> function = CachedFunction.bounded((Integer value) ->
+        {
+            loadCounter.incrementAndGet();
+            return value;
+        }, 100);
+
+        for (int ii = 0; ii < 20; ii++)
+        {
+            IntStream.range(0, 50)
+                     .forEach(function::apply);
+        }
+        IntStream.range(1000, 10000)
+                 .forEach(function::apply);
+
+        loadCounter.set(0);
+        IntStream.range(0, 50)
+                 .forEach(function::apply);
+        assertTrue("Reloaded frequent entries: " + loadCounter.get(), loadCounter.get() < 10);
+    }
+
+    @Test
+    public void testExpireAfterWrite() throws Exception
+    {
+        AtomicLong time = new AtomicLong();
+        AtomicInteger loadCounter = new AtomicInteger();
+        BoundedCachedFunction<String, Integer> function = BoundedCachedFunction.of((String value) -> loadCounter.incrementAndGet())
+                                                                               .withExpireAfterWrite(TimeDuration.ofSeconds(10))
+                                                                               .withTicker(time::get);
+
+        assertEquals(1, function.apply("a")
+                                .intValue());
+        time.set(TimeUnit.SECONDS.toNanos(9));
+        assertEquals(1, function.apply("a")
+                                .intValue());
+        time.set(TimeUnit.SECONDS.toNanos(10));
+        assertEquals(2, function.apply("a")
+                                .intValue());
+
+        function.apply("b");
+        time.set(TimeUnit.SECONDS.toNanos(30));
+        function.cleanUp();
+        assertEquals(0, function.size());
+    }
+
+    @Test
+    public void testExpireAfterWriteDoesNotRetainRemovedEntries() throws Exception
+    {
+        BoundedCachedFunction<Integer, String> function = BoundedCachedFunction.of((Integer value) -> "value" + value)
+                                                                               .withMaximumSize(100)
+                                                                               .withExpireAfterWrite(TimeDuration.of(1, TimeUnit.HOURS));
+
+        IntStream.range(0, 20000)
+                 .forEach(function::apply);
+        IntStream.range(19950, 20000)
+                 .forEach(function::invalidate);
+        function.cleanUp();
+
+        assertEquals(function.size(), function.getWriteOrderSize());
+        assertTrue(function.size() <= 100);
+    }
+
+    @Test
+    public void testExpireAfterAccess() throws Exception
+    {
+        AtomicLong time = new AtomicLong();
+        AtomicInteger loadCounter = new AtomicInteger();
+        BoundedCachedFunction<String, Integer> function = BoundedCachedFunction.of((String value) -> loadCounter.incrementAndGet())
+                                                                               .withExpireAfterAccess(TimeDuration.ofSeconds(10))
+                                                                               .withTicker(time::get);
+
+        assertEquals(1, function.apply("a")
+                                .intValue());
+        time.set(TimeUnit.SECONDS.toNanos(8));
+        assertEquals(1, function.apply("a")
+                                .intValue());
+        time.set(TimeUnit.SECONDS.toNanos(16));
+        assertEquals(1, function.apply("a")
+                                .intValue());
+        time.set(TimeUnit.SECONDS.toNanos(30));
+        assertEquals(2, function.apply("a")
+                                .intValue());
+    }
+
+    @Test
+    public void testRefreshAfterWrite() throws Exception
+    {
+        AtomicLong time = new AtomicLong();
+        AtomicInteger loadCounter = new AtomicInteger();
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        BoundedCachedFunction<String, Integer> function = BoundedCachedFunction.of((String value) -> loadCounter.incrementAndGet())
+                                                                               .withRefreshAfterWrite(TimeDuration.ofSeconds(10), executorService)
+                                                                               .withTicker(time::get);
+
+        assertEquals(1, function.apply("a")
+                                .intValue());
+        time.set(TimeUnit.SECONDS.toNanos(11));
+        assertEquals(1, function.apply("a")
+                                .intValue());
+
+        executorService.shutdown();
+        executorService.awaitTermination(10, TimeUnit.SECONDS);
+        assertEquals(2, function.apply("a")
+                                .intValue());
+        assertEquals(2, loadCounter.get());
+    }
+
+    @Test
+    public void testConcurrentAccess() throws Exception
+    {
+        AtomicInteger loadCounter = new AtomicInteger();
+        BoundedCachedFunction<Integer, Integer> function = CachedFunction.bounded((Integer value) ->
+        {
+            loadCounter.incrementAndGet();
+            return value * 2;
+        }, 500);
+
+        IntStream.range(0, 100000)
+                 .parallel()
+                 .forEach(index ->
+                 {
+                     int value = index % 1000;
+                     assertEquals(value * 2, function.apply(value)
+                                                     .intValue());
+                 });
+        function.cleanUp();
+        assertTrue(function.size() <= 500);
+        assertEquals(100000, function.getStatistics()
+                                     .getRequestCount());
+        assertEquals(loadCounter.get(), function.getStatistics()
+                                                .getMissCount());
+    }
+}
@@ -0,0 +1,145 @@
+/*******************************************************************************
+ * Copyright 2026 Danny Kunz
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.omnaest.utils.element.cached;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+import org.omnaest.utils.duration.TimeDuration;
+
+/**
+ * @see DurationCachedElement
+ * @author omnaest
+ */
+public class DurationCachedElementTest
+{
+    private AtomicLong     time            = new AtomicLong();
+    private AtomicInteger  supplierCounter = new AtomicInteger();
+    private CountDownLatch refreshLatch    = new CountDownLatch(1);
+
+    /**
+     * Returns a single thread {@link ExecutorService} which does not run any refresh before the {@link #refreshLatch} is released, so the stale element
+     * can be asserted deterministically
+     * 
+     * @return
+     */
+    private ExecutorService newBlockedSingleThreadExecutor()
+    {
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        executorService.submit(() ->
+        {
+            this.refreshLatch.await();
+            return null;
+        });
+        return executorService;
+    }
+
+    @Test
+    public void testGet() throws Exception
+    {
+        DurationCachedElement<Integer> cachedElement = CachedElement.of(this.supplierCounter::incrementAndGet)
+                                                                    .asDurationLimitedCachedElement(TimeDuration.ofSeconds(10))
+                                                                    .withTicker(this.time::get);
+
+        assertEquals(1, cachedElement.get()
+                                     .intValue());
+        this.time.set(TimeUnit.SECONDS.toNanos(9));
+        assertEquals(1, cachedElement.get()
+                                     .intValue());
+        this.time.set(TimeUnit.SECONDS.toNanos(10));
+        assertEquals(2, cachedElement.get()
+                                     .intValue());
+    }
+
+    @Test
+    public void testGetWithRefreshAhead() throws Exception
+    {
+        ExecutorService executorService = this.newBlockedSingleThreadExecutor();
+        DurationCachedElement<Integer> cachedElement = CachedElement.of(this.supplierCounter::incrementAndGet)
+                                                                    .asDurationLimitedCachedElement(TimeDuration.ofSeconds(10))
+                                                                    .withRefreshAhead(TimeDuration.ofSeconds(2), executorService)
+                                                                    .withTicker(this.time::get);
+
+        assertEquals(1, cachedElement.get()
+                                     .intValue());
+        this.time.set(TimeUnit.SECONDS.toNanos(9));
+        assertEquals(1, cachedElement.get()
+                                     .intValue());
+
+        this.refreshLatch.countDown();
+        executorService.shutdown();
+        executorService.awaitTermination(10, TimeUnit.SECONDS);
+        assertEquals(2, cachedElement.get()
+                                     .intValue());
+
+        // the refreshed element is cached for the full duration again
+        this.time.set(TimeUnit.SECONDS.toNanos(15));
+        assertEquals(2, cachedElement.get()
+                                     .intValue());
+        assertEquals(2, this.supplierCounter.get());
+    }
+
+    @Test
+    public void testGetWithMaxStale() throws Exception
+    {
+        ExecutorService executorService = this.newBlockedSingleThreadExecutor();
+        DurationCachedElement<Integer> cachedElement = CachedElement.of(this.supplierCounter::incrementAndGet)
+                                                                    .asDurationLimitedCachedElement(TimeDuration.ofSeconds(10))
+                                                                    .withMaxStale(TimeDuration.ofSeconds(5))
+                                                                    .withRefreshExecutor(executorService)
+                                                                    .withTicker(this.time::get);
+
+        assertEquals(1, cachedElement.get()
+                                     .intValue());
+        this.time.set(TimeUnit.SECONDS.toNanos(12));
+        assertEquals(1, cachedElement.get()
+                                     .intValue());
+        this.refreshLatch.countDown();
+        executorService.shutdown();
+        executorService.awaitTermination(10, TimeUnit.SECONDS);
+        assertEquals(2, cachedElement.get()
+                                     .intValue());
+
+        this.time.set(TimeUnit.SECONDS.toNanos(40));
+        assertEquals(3, cachedElement.get()
+                                     .intValue());
+    }
+
+    @Test
+    public void testGetWithJitter() throws Exception
+    {
+        DurationCachedElement<Integer> cachedElement = CachedElement.of(this.supplierCounter::incrementAndGet)
+                                                                    .asDurationLimitedCachedElement(TimeDuration.ofSeconds(10))
+                                                                    .withJitter(0.5)
+                                                                    .withTicker(this.time::get);
+
+        assertEquals(1, cachedElement.get()
+                                     .intValue());
+        this.time.set(TimeUnit.SECONDS.toNanos(4));
+        assertEquals(1, cachedElement.get()
+                                     .intValue());
+        this.time.set(TimeUnit.SECONDS.toNanos(10));
+        assertEquals(2, cachedElement.get()
+                                     .intValue());
+    }
+}
@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * Copyright 2026 Danny Kunz
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.omnaest.utils.element.cached;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+import org.omnaest.utils.ThreadUtils;
+
+/**
+ * @see MapCachedFunction
+ * @author omnaest
+ */
+public class MapCachedFunctionTest
+{
+    @Test
+    public void testApplySingleFlight() throws Exception
+    {
+        AtomicInteger functionCounter = new AtomicInteger();
+        Map<Integer, String> map = new ConcurrentSkipListMap<>();
+        CachedFunction<Integer, String> function = CachedFunction.of(key ->
+        {
+            functionCounter.incrementAndGet();
+            ThreadUtils.sleepSilently(20, TimeUnit.MILLISECONDS);
+            return "value" + key;
+        }, map);
+
+        IntStream.range(0, 64)
+                 .parallel()
+                 .forEach(index -> assertEquals("value" + (index % 4), function.apply(index % 4)));
+        assertEquals(4, functionCounter.get());
+        assertEquals(4, map.size());
+    }
+
+    @Test
+    public void testApplyRecursive() throws Exception
+    {
+        Map<Integer, Long> map = new ConcurrentHashMap<>();
+        AtomicInteger functionCounter = new AtomicInteger();
+        @SuppressWarnings("unchecked")
+        CachedFunction<Integer, Long>[] fibonacci = new CachedFunction[1];
+        fibonacci[0] = CachedFunction.of(value ->
+        {
+            functionCounter.incrementAndGet();
+            return value < 2 ? (long) value : fibonacci[0].apply(value - 1) + fibonacci[0].apply(value - 2);
+        }, map);
+
+        assertEquals(12586269025L, fibonacci[0].apply(50)
+                                               .longValue());
+        assertEquals(51, functionCounter.get());
+    }
+}
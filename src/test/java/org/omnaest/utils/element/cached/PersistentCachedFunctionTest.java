@@ -0,0 +1,217 @@
+/*******************************************************************************
+ * Copyright 2026 Danny Kunz
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.omnaest.utils.element.cached;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+import org.omnaest.utils.FileUtils;
+import org.omnaest.utils.element.cached.CachedElement.InputOutputStreamSerializerAndDeserializer;
+
+/**
+ * @see PersistentCachedFunction
+ * @author omnaest
+ */
+public class PersistentCachedFunctionTest
+{
+    @Test
+    public void testApplyAcrossInstances() throws Exception
+    {
+        File directory = FileUtils.createRandomTempDirectory();
+        AtomicInteger functionCounter = new AtomicInteger();
+        Function<Integer, String> function = key ->
+        {
+            functionCounter.incrementAndGet();
+            return "value" + key;
+        };
+
+        try (PersistentCachedFunction<Integer, String> cachedFunction = this.newCachedFunction(function, directory, new AtomicInteger()))
+        {
+            IntStream.range(0, 10)
+                     .forEach(index -> assertEquals("value" + index, cachedFunction.apply(index)));
+            assertEquals("value1", cachedFunction.apply(1));
+            assertEquals(10, functionCounter.get());
+        }
+
+        try (PersistentCachedFunction<Integer, String> cachedFunction = this.newCachedFunction(function, directory, new AtomicInteger()))
+        {
+            IntStream.range(0, 10)
+                     .forEach(index -> assertEquals("value" + index, cachedFunction.apply(index)));
+            assertEquals(10, functionCounter.get());
+            assertEquals(10, cachedFunction.size());
+
+            cachedFunction.invalidate(3);
+            assertEquals("value3", cachedFunction.apply(3));
+            assertEquals(11, functionCounter.get());
+        }
+    }
+
+    @Test
+    public void testWarmStart() throws Exception
+    {
+        File directory = FileUtils.createRandomTempDirectory();
+        Function<Integer, String> function = key -> "value" + key;
+
+        try (PersistentCachedFunction<Integer, String> cachedFunction = this.newCachedFunction(function, directory, new AtomicInteger())
+                                                                            .withMaximumNumberOfEntriesInMemory(3))
+        {
+            IntStream.range(0, 10)
+                     .forEach(cachedFunction::apply);
+            IntStream.range(7, 10)
+                     .forEach(cachedFunction::apply);
+        }
+
+        AtomicInteger deserializationCounter = new AtomicInteger();
+        try (PersistentCachedFunction<Integer, String> cachedFunction = this.newCachedFunction(function, directory, deserializationCounter)
+                                                                            .withMaximumNumberOfEntriesInMemory(3))
+        {
+            assertEquals("value9", cachedFunction.apply(9));
+            assertEquals(3, deserializationCounter.get());
+
+            assertEquals("value7", cachedFunction.apply(7));
+            assertEquals("value8", cachedFunction.apply(8));
+            assertEquals(3, deserializationCounter.get());
+
+            assertEquals("value0", cachedFunction.apply(0));
+            assertEquals(4, deserializationCounter.get());
+        }
+    }
+
+    @Test
+    public void testMaximumNumberOfEntriesOnDisk() throws Exception
+    {
+        File directory = FileUtils.createRandomTempDirectory();
+        AtomicInteger functionCounter = new AtomicInteger();
+        Function<Integer, String> function = key ->
+        {
+            functionCounter.incrementAndGet();
+            return "value" + key;
+        };
+
+        try (PersistentCachedFunction<Integer, String> cachedFunction = this.newCachedFunction(function, directory, new AtomicInteger())
+                                                                            .withMaximumNumberOfEntriesInMemory(1)
+                                                                            .withMaximumNumberOfEntriesOnDisk(10))
+        {
+            IntStream.range(0, 100)
+                     .forEach(index ->
+                     {
+                         cachedFunction.apply(0);
+                         cachedFunction.apply(index);
+                     });
+            assertEquals(true, cachedFunction.size() <= 11);
+        }
+
+        functionCounter.set(0);
+        try (PersistentCachedFunction<Integer, String> cachedFunction = this.newCachedFunction(function, directory, new AtomicInteger()))
+        {
+            assertEquals(true, cachedFunction.size() <= 11);
+            assertEquals("value0", cachedFunction.apply(0));
+            assertEquals("value99", cachedFunction.apply(99));
+            assertEquals(0, functionCounter.get());
+
+            assertEquals("value1", cachedFunction.apply(1));
+            assertEquals(1, functionCounter.get());
+        }
+    }
+
+    @Test(timeout = 60000)
+    public void testApplyConcurrentlyWithMaximumNumberOfEntriesOnDisk() throws Exception
+    {
+        File directory = FileUtils.createRandomTempDirectory();
+        try (PersistentCachedFunction<Integer, String> cachedFunction = this.newCachedFunction(key -> "value" + key, directory, new AtomicInteger())
+                                                                            .withMaximumNumberOfEntriesInMemory(4)
+                                                                            .withMaximumNumberOfEntriesOnDisk(8))
+        {
+            IntStream.range(0, 10000)
+                     .parallel()
+                     .forEach(index ->
+                     {
+                         assertEquals("value" + (index % 50), cachedFunction.apply(index % 50));
+                         if (index % 1000 == 0)
+                         {
+                             cachedFunction.invalidateAll();
+                         }
+                     });
+            assertEquals(true, cachedFunction.size() <= 9);
+        }
+    }
+
+    @Test
+    public void testApplyWithStreamSerializer() throws Exception
+    {
+        File directory = FileUtils.createRandomTempDirectory();
+        InputOutputStreamSerializerAndDeserializer<byte[]> serializerAndDeserializer = InputOutputStreamSerializerAndDeserializer.newByteArrayInstance();
+        AtomicInteger functionCounter = new AtomicInteger();
+        Function<String, byte[]> function = key ->
+        {
+            functionCounter.incrementAndGet();
+            return key.getBytes();
+        };
+
+        try (PersistentCachedFunction<String, byte[]> cachedFunction = PersistentCachedFunction.of(function, directory, key -> key,
+                                                                                                   serializerAndDeserializer))
+        {
+            assertEquals("abc", new String(cachedFunction.apply("abc")));
+        }
+        try (PersistentCachedFunction<String, byte[]> cachedFunction = PersistentCachedFunction.of(function, directory, key -> key,
+                                                                                                   serializerAndDeserializer))
+        {
+            assertEquals("abc", new String(cachedFunction.apply("abc")));
+            assertEquals(1, functionCounter.get());
+        }
+    }
+
+    @Test
+    public void testAccessAfterClose() throws Exception
+    {
+        PersistentCachedFunction<Integer, String> cachedFunction = this.newCachedFunction(key -> "value" + key, FileUtils.createRandomTempDirectory(),
+                                                                                          new AtomicInteger());
+        assertEquals("value1", cachedFunction.apply(1));
+        cachedFunction.close();
+
+        List<Runnable> operations = Arrays.asList(() -> cachedFunction.apply(1), () -> cachedFunction.invalidate(1), () -> cachedFunction.size());
+        for (Runnable operation : operations)
+        {
+            try
+            {
+                operation.run();
+                fail();
+            }
+            catch (IllegalStateException e)
+            {
+                // expected
+            }
+        }
+    }
+
+    private PersistentCachedFunction<Integer, String> newCachedFunction(Function<Integer, String> function, File directory,
+                                                                        AtomicInteger deserializationCounter)
+    {
+        return CachedFunction.persistent(function, directory, String::valueOf, value -> value, data ->
+        {
+            deserializationCounter.incrementAndGet();
+            return data;
+        });
+    }
+}
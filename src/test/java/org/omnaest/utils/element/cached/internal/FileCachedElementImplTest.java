@@ -0,0 +1,176 @@
+/*******************************************************************************
+ * Copyright 2026 Danny Kunz
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.omnaest.utils.element.cached.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.Test;
+import org.omnaest.utils.FileUtils;
+import org.omnaest.utils.ThreadUtils;
+import org.omnaest.utils.element.cached.FileCacheOptions;
+import org.omnaest.utils.element.cached.FileCacheOptions.MemoryTier;
+
+/**
+ * @see FileCachedElementImpl
+ * @author omnaest
+ */
+public class FileCachedElementImplTest
+{
+    private AtomicInteger            deserializerCounter = new AtomicInteger();
+    private Function<String, String> deserializer        = data ->
+                                                         {
+                                                             if (data != null)
+                                                             {
+                                                                 this.deserializerCounter.incrementAndGet();
+                                                             }
+                                                             return data;
+                                                         };
+
+    @Test
+    public void testGetWithMemoryTier() throws Exception
+    {
+        File file = new File(FileUtils.createRandomTempDirectory(), "element.txt");
+        FileCachedElementImpl<String> cachedElement = new FileCachedElementImpl<>(() -> "value", file, Function.identity(), this.deserializer,
+                                                                                  FileCacheOptions.newInstance()
+                                                                                                  .withMemoryTier(MemoryTier.SOFT));
+
+        assertEquals("value", cachedElement.get());
+        assertEquals("value", cachedElement.get());
+        assertEquals("value", cachedElement.get());
+        assertEquals(0, this.deserializerCounter.get());
+        assertEquals("value", FileUtils.toSupplier(file)
+                                       .get());
+
+        FileUtils.toConsumer(file)
+                 .accept("changed value");
+        assertEquals("changed value", cachedElement.get());
+        assertEquals("changed value", cachedElement.get());
+        assertEquals(1, this.deserializerCounter.get());
+    }
+
+    @Test
+    public void testGetWithoutMemoryTier() throws Exception
+    {
+        File file = new File(FileUtils.createRandomTempDirectory(), "element.txt");
+        FileCachedElementImpl<String> cachedElement = new FileCachedElementImpl<>(() -> "value", file, Function.identity(), this.deserializer);
+
+        assertEquals("value", cachedElement.get());
+        assertEquals("value", cachedElement.get());
+        assertEquals("value", cachedElement.get());
+        assertEquals(2, this.deserializerCounter.get());
+    }
+
+    @Test
+    public void testUpdateValueWithWriteBehind() throws Exception
+    {
+        File file = new File(FileUtils.createRandomTempDirectory(), "element.txt");
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        FileCachedElementImpl<String> cachedElement = new FileCachedElementImpl<>(() -> "0", file, Function.identity(), this.deserializer,
+                                                                                  FileCacheOptions.newInstance()
+                                                                                                  .withMemoryTier(MemoryTier.STRONG)
+                                                                                                  .withWriteBehind(executorService));
+
+        assertEquals("0", cachedElement.get());
+        for (int ii = 0; ii < 100; ii++)
+        {
+            cachedElement.updateValue(value -> String.valueOf(Integer.valueOf(value) + 1));
+        }
+        assertEquals("100", cachedElement.get());
+
+        executorService.shutdown();
+        executorService.awaitTermination(10, TimeUnit.SECONDS);
+        assertEquals("100", FileUtils.toSupplier(file)
+                                     .get());
+        assertEquals("100", cachedElement.get());
+        assertEquals(0, this.deserializerCounter.get());
+
+        cachedElement.reset();
+        assertEquals(null, FileUtils.toSupplier(file)
+                                    .get());
+    }
+
+    @Test
+    public void testWriteBehindOnNonDaemonThread() throws Exception
+    {
+        File file = new File(FileUtils.createRandomTempDirectory(), "element.txt");
+        AtomicBoolean writtenByDaemonThread = new AtomicBoolean(true);
+        FileCachedElementImpl<String> cachedElement = new FileCachedElementImpl<>(() -> "value", file, value ->
+        {
+            writtenByDaemonThread.set(Thread.currentThread()
+                                            .isDaemon());
+            return value;
+        }, this.deserializer, FileCacheOptions.newInstance()
+                                              .withWriteBehind());
+
+        assertEquals("value", cachedElement.get());
+        for (int ii = 0; ii < 500 && !"value".equals(FileUtils.toSupplier(file)
+                                                             .get()); ii++)
+        {
+            ThreadUtils.sleepSilently(10, TimeUnit.MILLISECONDS);
+        }
+        assertEquals("value", FileUtils.toSupplier(file)
+                                       .get());
+        assertFalse(writtenByDaemonThread.get());
+    }
+
+    @Test
+    public void testWriteBehindKeepsElementAfterWriteFailure() throws Exception
+    {
+        File file = new File(FileUtils.createRandomTempDirectory(), "element.txt");
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        AtomicBoolean failing = new AtomicBoolean(true);
+        FileCachedElementImpl<String> cachedElement = new FileCachedElementImpl<>(() -> "value", file, value ->
+        {
+            if (failing.get())
+            {
+                throw new IllegalStateException("write failure");
+            }
+            return value;
+        }, this.deserializer, FileCacheOptions.newInstance()
+                                              .withWriteBehind(executorService));
+
+        assertEquals("value", cachedElement.get());
+        executorService.shutdown();
+        executorService.awaitTermination(10, TimeUnit.SECONDS);
+        assertEquals("value", cachedElement.get());
+        assertFalse(file.exists());
+
+        try
+        {
+            cachedElement.flush();
+            fail();
+        }
+        catch (IllegalStateException e)
+        {
+            assertEquals("write failure", e.getMessage());
+        }
+
+        failing.set(false);
+        cachedElement.flush();
+        assertEquals("value", FileUtils.toSupplier(file)
+                                       .get());
+    }
+}
@@ -0,0 +1,126 @@
+/*******************************************************************************
+ * Copyright 2026 Danny Kunz
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.omnaest.utils.executor.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+/**
+ * @see BoundedExecutorServiceView
+ * @author omnaest
+ */
+public class BoundedExecutorServiceViewTest
+{
+    @Test(timeout = 10000)
+    public void testRejectionOnExecute() throws Exception
+    {
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        executorService.shutdown();
+
+        BoundedExecutorServiceView view = new BoundedExecutorServiceView(executorService, 2);
+        try
+        {
+            view.submit(() -> "value");
+            fail();
+        }
+        catch (RejectedExecutionException e)
+        {
+            // expected
+        }
+        view.shutdown();
+        assertTrue(view.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test(timeout = 10000)
+    public void testRejectionOfQueuedTasks() throws Exception
+    {
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        BoundedExecutorServiceView view = new BoundedExecutorServiceView(executorService, 1);
+
+        CountDownLatch latch = new CountDownLatch(1);
+        Future<?> runningTask = view.submit(() ->
+        {
+            latch.await();
+            return null;
+        });
+        Future<?> queuedTask1 = view.submit(() -> "value1");
+        Future<?> queuedTask2 = view.submit(() -> "value2");
+
+        executorService.shutdown();
+        latch.countDown();
+        runningTask.get();
+
+        view.shutdown();
+        assertTrue(view.awaitTermination(5, TimeUnit.SECONDS));
+        assertTrue(queuedTask1.isCancelled());
+        assertTrue(queuedTask2.isCancelled());
+    }
+
+    @Test(timeout = 30000)
+    public void testSharedConcurrencyLimiterOnSmallPool() throws Exception
+    {
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        ExecutorService submitterService = Executors.newFixedThreadPool(4);
+        try
+        {
+            Semaphore semaphore = new Semaphore(2);
+            AtomicInteger counter = new AtomicInteger();
+            List<BoundedExecutorServiceView> views = IntStream.range(0, 4)
+                                                              .mapToObj(index -> new BoundedExecutorServiceView(executorService, 2, semaphore))
+                                                              .collect(Collectors.toList());
+            List<Future<?>> submitters = new ArrayList<>();
+            for (BoundedExecutorServiceView view : views)
+            {
+                submitters.add(submitterService.submit(() ->
+                {
+                    for (int ii = 0; ii < 500; ii++)
+                    {
+                        view.execute(counter::incrementAndGet);
+                    }
+                    view.shutdown();
+                    return view.awaitTermination(20, TimeUnit.SECONDS);
+                }));
+            }
+            for (Future<?> submitter : submitters)
+            {
+                assertEquals(true, submitter.get());
+            }
+            assertEquals(2000, counter.get());
+            assertEquals(2, semaphore.availablePermits());
+        }
+        finally
+        {
+            submitterService.shutdownNow();
+            executorService.shutdownNow();
+        }
+    }
+}
@@ -16,12 +16,19 @@
 package org.omnaest.utils.file;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import java.io.File;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import org.junit.Test;
 import org.omnaest.utils.FileUtils;
+import org.omnaest.utils.duration.TimeDuration;
 
 /**
  * @see CommitableFile
@@ -64,6 +71,39 @@ public class CommitableFileTest
                  });
     }
 
+    @Test
+    public void testGroupCommit() throws Exception
+    {
+        File tempDirectory = FileUtils.createRandomTempDirectory();
+        CommitableFile file = CommitableFile.of(new File(tempDirectory, "test_group.dat"))
+                                            .withGroupCommit(TimeDuration.ofMilliseconds(200), 100);
+        try
+        {
+            int numberOfTransactions = 16;
+            ExecutorService executorService = Executors.newFixedThreadPool(numberOfTransactions);
+            List<Future<?>> futures = IntStream.range(0, numberOfTransactions)
+                                               .mapToObj(slot -> executorService.submit(() -> CommitableFile.of(new File(tempDirectory, "test_group.dat"))
+                                                                                                            .transaction()
+                                                                                                            .operateOnFile(slot, targetFile -> FileUtils.toConsumer(targetFile)
+                                                                                                                                                        .accept("value" + slot))
+                                                                                                            .commitFull()))
+                                               .collect(Collectors.toList());
+            for (Future<?> future : futures)
+            {
+                future.get();
+            }
+            executorService.shutdown();
+
+            IntStream.range(0, numberOfTransactions)
+                     .forEach(slot -> assertEquals("value" + slot, file.getAsString(slot)));
+            assertTrue(file.getCommitVersion() < 2 * numberOfTransactions);
+        }
+        finally
+        {
+            file.withoutGroupCommit();
+        }
+    }
+
     @Test
     public void testGetAsString() throws Exception
     {
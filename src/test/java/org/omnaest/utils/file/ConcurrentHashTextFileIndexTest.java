@@ -0,0 +1,56 @@
+/*******************************************************************************
+ * Copyright 2026 Danny Kunz
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.omnaest.utils.file;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+import org.omnaest.utils.FileUtils;
+
+/**
+ * @see ConcurrentHashTextFileIndex
+ * @author omnaest
+ */
+public class ConcurrentHashTextFileIndexTest
+{
+    private ConcurrentHashTextFileIndex index = new ConcurrentHashTextFileIndex(FileUtils.createRandomTempDirectoryQuietly()
+                                                                                         .get(),
+                                                                                Integer.MAX_VALUE).withNumberOfIOThreads(4);
+
+    @Test(timeout = 60000)
+    public void testConcurrentPutAllAndGetAll() throws Exception
+    {
+        IntStream.range(0, 8)
+                 .parallel()
+                 .forEach(iteration ->
+                 {
+                     Map<String, String> map = IntStream.range(0, 500)
+                                                        .mapToObj(counter -> "" + counter)
+                                                        .collect(Collectors.toMap(key -> key, key -> "value" + key));
+                     this.index.putAll(map);
+                 });
+
+        Map<String, String> result = this.index.getAll(IntStream.range(0, 500)
+                                                                .mapToObj(counter -> "" + counter)
+                                                                .collect(Collectors.toList()));
+        assertEquals(500, result.size());
+        result.forEach((key, value) -> assertEquals("value" + key, value));
+    }
+}
@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * Copyright 2026 Danny Kunz
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.omnaest.utils.file;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+import org.omnaest.utils.FileUtils;
+
+/**
+ * @see ExecutorAsyncTextFileIndex
+ * @author omnaest
+ */
+public class ExecutorAsyncTextFileIndexTest
+{
+    @Test
+    public void testPutAndGetAsync() throws Exception
+    {
+        try (AsyncTextFileIndex index = AsyncTextFileIndex.of(new ConcurrentHashTextFileIndex(FileUtils.createRandomTempDirectory(), Integer.MAX_VALUE))
+                                                          .withVirtualThreads()
+                                                          .withMaxInFlight(4))
+        {
+            List<CompletableFuture<Void>> puts = IntStream.range(0, 100)
+                                                          .mapToObj(counter -> index.putAsync("" + counter, "value" + counter))
+                                                          .collect(Collectors.toList());
+            CompletableFuture.allOf(puts.toArray(new CompletableFuture[0]))
+                             .join();
+
+            assertEquals("value5", index.getAsync("5")
+                                        .join()
+                                        .get());
+            assertFalse(index.getAsync("unknown")
+                             .join()
+                             .isPresent());
+
+            index.removeAsync("5")
+                 .join();
+            Map<String, String> result = index.getAllAsync(IntStream.range(0, 100)
+                                                                    .mapToObj(counter -> "" + counter)
+                                                                    .collect(Collectors.toList()))
+                                              .join();
+            assertEquals(99, result.size());
+            assertEquals("value7", result.get("7"));
+        }
+    }
+
+    @Test
+    public void testMultithreadedHashTextFileIndexAsync() throws Exception
+    {
+        try (MultithreadedHashTextFileIndex index = new MultithreadedHashTextFileIndex(FileUtils.createRandomTempDirectory()))
+        {
+            index.putAllAsync(IntStream.range(0, 50)
+                                       .boxed()
+                                       .collect(Collectors.toMap(counter -> "" + counter, counter -> "value" + counter)))
+                 .join();
+            Map<String, String> result = index.getAllAsync(IntStream.range(0, 60)
+                                                                    .mapToObj(counter -> "" + counter)
+                                                                    .collect(Collectors.toList()))
+                                              .join();
+            assertEquals(50, result.size());
+            assertEquals("value3", result.get("3"));
+        }
+    }
+}
@@ -16,8 +16,12 @@
 package org.omnaest.utils.file;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
+import java.io.File;
 import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -67,4 +71,57 @@ public class HashTextFileIndexTest
                  });
     }
 
+    @Test
+    public void testKeyDirectory() throws Exception
+    {
+        File directory = FileUtils.createRandomTempDirectory();
+        HashTextFileIndex index = new HashTextFileIndex(directory).withKeyDirectory();
+        index.put("1", "value1")
+             .put("2", "value2")
+             .put("3", "value3")
+             .remove("2");
+        assertEquals(false, index.get("2")
+                                 .isPresent());
+        assertEquals(false, index.get("unknown")
+                                 .isPresent());
+        assertEquals("value1", index.get("1")
+                                    .get());
+        assertEquals(new HashSet<>(Arrays.asList("1", "3")), index.keys()
+                                                                  .collect(Collectors.toSet()));
+        index.close();
+
+        // reopen from the persisted directory
+        try (HashTextFileIndex reopenedIndex = new HashTextFileIndex(directory).withKeyDirectory())
+        {
+            assertEquals(new HashSet<>(Arrays.asList("1", "3")), reopenedIndex.keys()
+                                                                              .collect(Collectors.toSet()));
+            assertEquals("value3", reopenedIndex.get("3")
+                                                .get());
+            assertEquals(false, reopenedIndex.get("2")
+                                             .isPresent());
+        }
+
+        // rebuild from the index files
+        assertTrue(new File(directory, "keys.directory.log").delete());
+        try (HashTextFileIndex rebuiltIndex = new HashTextFileIndex(directory).withKeyDirectory())
+        {
+            assertEquals(new HashSet<>(Arrays.asList("1", "3")), rebuiltIndex.keys()
+                                                                             .collect(Collectors.toSet()));
+        }
+    }
+
+    @Test
+    public void testPutAllAndGetAll() throws Exception
+    {
+        Map<String, String> map = IntStream.range(0, 1000)
+                                           .mapToObj(counter -> "" + counter)
+                                           .collect(Collectors.toMap(key -> key, key -> "value" + key));
+        this.index.putAll(map);
+
+        Map<String, String> result = this.index.getAll(IntStream.range(0, 1100)
+                                                                .mapToObj(counter -> "" + counter)
+                                                                .collect(Collectors.toList()));
+        assertEquals(map, result);
+    }
+
 }
@@ -0,0 +1,223 @@
+/*******************************************************************************
+ * Copyright 2026 Danny Kunz
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.omnaest.utils.file;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+import org.omnaest.utils.FileUtils;
+
+/**
+ * @see LogStructuredTextFileIndex
+ * @author omnaest
+ */
+public class LogStructuredTextFileIndexTest
+{
+    private File directory = FileUtils.createRandomTempDirectoryQuietly()
+                                      .get();
+
+    @Test
+    public void testPutAndGet() throws Exception
+    {
+        try (TextFileIndex index = new LogStructuredTextFileIndex(this.directory))
+        {
+            assertEquals(false, index.get("1")
+                                     .isPresent());
+            IntStream.range(0, 10)
+                     .forEach(keyCounter -> IntStream.range(0, 10)
+                                                     .forEach(counter ->
+                                                     {
+                                                         String value = "123" + counter;
+                                                         String key = "" + keyCounter;
+                                                         assertEquals(value, index.put(key, value)
+                                                                                  .get(key)
+                                                                                  .get());
+                                                     }));
+        }
+    }
+
+    @Test
+    public void testKeysAndRemove() throws Exception
+    {
+        try (TextFileIndex index = new LogStructuredTextFileIndex(this.directory))
+        {
+            IntStream.range(0, 5)
+                     .forEach(counter ->
+                     {
+                         index.put("1", "value1" + counter)
+                              .put("2", "value2" + counter);
+                         assertEquals(Arrays.asList("1", "2")
+                                            .stream()
+                                            .collect(Collectors.toSet()),
+                                      index.keys()
+                                           .collect(Collectors.toSet()));
+                     });
+
+            index.remove("1");
+            assertFalse(index.get("1")
+                             .isPresent());
+            assertEquals(Arrays.asList("2")
+                               .stream()
+                               .collect(Collectors.toSet()),
+                         index.keys()
+                              .collect(Collectors.toSet()));
+        }
+    }
+
+    @Test
+    public void testRecoveryAfterReopen() throws Exception
+    {
+        Map<String, String> map = IntStream.range(0, 100)
+                                           .mapToObj(counter -> "" + counter)
+                                           .collect(Collectors.toMap(key -> key, key -> "value" + key));
+        try (TextFileIndex index = new LogStructuredTextFileIndex(this.directory, 512))
+        {
+            index.putAll(map);
+            index.remove("0");
+        }
+
+        // simulate a torn write at the tail of the last segment
+        File lastSegmentFile = Arrays.asList(this.directory.listFiles())
+                                     .stream()
+                                     .max(Comparator.comparing((File file) -> file.getName()
+                                                                             .length())
+                                                   .thenComparing(File::getName))
+                                     .get();
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(lastSegmentFile, "rw"))
+        {
+            randomAccessFile.seek(randomAccessFile.length());
+            randomAccessFile.write(new byte[] { 1, 2, 3, 4, 5, 6, 7 });
+        }
+
+        try (TextFileIndex index = new LogStructuredTextFileIndex(this.directory, 512))
+        {
+            assertEquals(99, index.keys()
+                                  .count());
+            assertFalse(index.get("0")
+                             .isPresent());
+            map.forEach((key, value) ->
+            {
+                if (!key.equals("0"))
+                {
+                    assertEquals(value, index.get(key)
+                                             .get());
+                }
+            });
+            assertEquals("new", index.put("new", "new")
+                                     .get("new")
+                                     .get());
+        }
+    }
+
+    @Test
+    public void testCompaction() throws Exception
+    {
+        try (LogStructuredTextFileIndex index = new LogStructuredTextFileIndex(this.directory, 1024))
+        {
+            IntStream.range(0, 20)
+                     .forEach(round -> IntStream.range(0, 10)
+                                                .forEach(counter -> index.put("" + counter, "value" + round)));
+            index.remove("9");
+            index.compact();
+
+            assertEquals(9, index.keys()
+                                 .count());
+            IntStream.range(0, 9)
+                     .forEach(counter -> assertEquals("value19", index.get("" + counter)
+                                                                      .get()));
+            assertEquals(1, this.directory.listFiles().length);
+        }
+
+        try (TextFileIndex index = new LogStructuredTextFileIndex(this.directory, 1024))
+        {
+            assertEquals(9, index.keys()
+                                 .count());
+            assertFalse(index.get("9")
+                             .isPresent());
+        }
+    }
+
+    @Test
+    public void testCompactionDuringConcurrentWrites() throws Exception
+    {
+        try (LogStructuredTextFileIndex index = new LogStructuredTextFileIndex(this.directory, 1024))
+        {
+            AtomicBoolean active = new AtomicBoolean(true);
+            Thread compactor = new Thread(() ->
+            {
+                while (active.get())
+                {
+                    index.compact();
+                }
+            });
+            compactor.start();
+            try
+            {
+                IntStream.range(0, 200)
+                         .forEach(round -> IntStream.range(0, 10)
+                                                    .forEach(counter -> index.put("" + counter, "value" + round)));
+            }
+            finally
+            {
+                active.set(false);
+                compactor.join();
+            }
+
+            index.compact();
+            IntStream.range(0, 10)
+                     .forEach(counter -> assertEquals("value199", index.get("" + counter)
+                                                                       .get()));
+            assertEquals(1, this.directory.listFiles().length);
+        }
+
+        try (TextFileIndex index = new LogStructuredTextFileIndex(this.directory, 1024))
+        {
+            IntStream.range(0, 10)
+                     .forEach(counter -> assertEquals("value199", index.get("" + counter)
+                                                                       .get()));
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testPutAfterClose() throws Exception
+    {
+        LogStructuredTextFileIndex index = new LogStructuredTextFileIndex(this.directory);
+        index.put("1", "value1");
+        index.close();
+        index.put("2", "value2");
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testGetAfterClose() throws Exception
+    {
+        LogStructuredTextFileIndex index = new LogStructuredTextFileIndex(this.directory);
+        index.put("1", "value1");
+        index.close();
+        index.close();
+        index.get("1");
+    }
+
+}
@@ -0,0 +1,87 @@
+/*******************************************************************************
+ * Copyright 2026 Danny Kunz
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package org.omnaest.utils.stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+import org.junit.Test;
+
+/**
+ * @see BatchSpliterator
+ * @author omnaest
+ */
+public class BatchSpliteratorTest
+{
+    @Test
+    public void testTrySplit() throws Exception
+    {
+        BatchSpliterator<Integer> spliterator = BatchSpliterator.of(IntStream.range(0, 1000)
+                                                                             .boxed()
+                                                                             .iterator())
+                                                                .withInitialBatchSize(10);
+        assertEquals(10, spliterator.trySplit()
+                                    .estimateSize());
+        assertEquals(20, spliterator.trySplit()
+                                    .estimateSize());
+        Spliterator<Integer> batch = spliterator.trySplit();
+        assertEquals(40, batch.getExactSizeIfKnown());
+        assertTrue(batch.hasCharacteristics(Spliterator.ORDERED));
+        assertTrue(spliterator.tryAdvance(element -> assertEquals(70, element.intValue())));
+    }
+
+    @Test
+    public void testTrySplitOfSizedSource() throws Exception
+    {
+        BatchSpliterator<Integer> spliterator = BatchSpliterator.of(List.of(1, 2, 3)
+                                                                        .spliterator());
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED));
+        assertEquals(1, spliterator.trySplit()
+                                   .estimateSize());
+        assertEquals(2, spliterator.estimateSize());
+        assertEquals(1, spliterator.trySplit()
+                                   .estimateSize());
+        assertNull(spliterator.trySplit());
+    }
+
+    @Test
+    public void testParallelStream() throws Exception
+    {
+        ConcurrentHashMap.KeySetView<String, Boolean> threads = ConcurrentHashMap.newKeySet();
+        List<Integer> result = StreamSupport.stream(BatchSpliterator.of(IntStream.range(0, 100000)
+                                                                                 .boxed()
+                                                                                 .iterator()),
+                                                    true)
+                                            .peek(element -> threads.add(Thread.currentThread()
+                                                                               .getName()))
+                                            .map(element -> element * 2)
+                                            .toList();
+        assertEquals(IntStream.range(0, 100000)
+                              .map(element -> element * 2)
+                              .boxed()
+                              .toList(),
+                     result);
+        assertTrue(threads.size() >= Math.min(2, Runtime.getRuntime()
+                                                        .availableProcessors()));
+    }
+}